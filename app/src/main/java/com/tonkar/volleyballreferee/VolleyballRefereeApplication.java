@@ -2,13 +2,14 @@ package com.tonkar.volleyballreferee;
 
 import android.app.Application;
 
-import com.tonkar.volleyballreferee.engine.PrefUtils;
+import com.tonkar.volleyballreferee.engine.*;
 
 public class VolleyballRefereeApplication extends Application {
 
     @Override
     public void onCreate() {
         super.onCreate();
+        EngineLog.setSink(new AndroidLogSink());
         PrefUtils.applyNightMode(getApplicationContext());
     }
 
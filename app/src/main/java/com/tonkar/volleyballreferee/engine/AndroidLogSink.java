@@ -0,0 +1,16 @@
+package com.tonkar.volleyballreferee.engine;
+
+import android.util.Log;
+
+public class AndroidLogSink implements LogSink {
+
+    @Override
+    public void info(String tag, String message) {
+        Log.i(tag, message);
+    }
+
+    @Override
+    public void error(String tag, String message) {
+        Log.e(tag, message);
+    }
+}
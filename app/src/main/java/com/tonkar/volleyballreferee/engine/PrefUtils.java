@@ -23,6 +23,10 @@ public class PrefUtils {
     private static final String PREF_USER              = "pref_user_4.3";
     private static final String PREF_USER_TOKEN        = "pref_user_token_4.3";
     private static final String PREF_USER_TOKEN_EXPIRY = "pref_user_token_expiry_4.3";
+    private static final String PREF_SYNC_CURSOR       = "pref_sync_cursor_";
+
+    public static final String SYNC_GAMES = "games";
+    public static final String SYNC_TEAMS = "teams";
 
     public static final String PREF_ONBOARDING_MAIN = "pref_onboarding_main";
 
@@ -53,6 +57,8 @@ public class PrefUtils {
                 .putString(PREF_USER, JsonConverters.GSON.toJson(userToken.getUser()))
                 .putString(PREF_USER_TOKEN, userToken.getToken())
                 .putLong(PREF_USER_TOKEN_EXPIRY, userToken.getTokenExpiry())
+                .remove(PREF_SYNC_CURSOR + SYNC_GAMES)
+                .remove(PREF_SYNC_CURSOR + SYNC_TEAMS)
                 .apply();
     }
 
@@ -72,7 +78,14 @@ public class PrefUtils {
 
     public static void signOut(Context context) {
         SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(context);
-        sharedPreferences.edit().remove(PREF_USER).remove(PREF_USER_TOKEN).remove(PREF_USER_TOKEN_EXPIRY).apply();
+        sharedPreferences
+                .edit()
+                .remove(PREF_USER)
+                .remove(PREF_USER_TOKEN)
+                .remove(PREF_USER_TOKEN_EXPIRY)
+                .remove(PREF_SYNC_CURSOR + SYNC_GAMES)
+                .remove(PREF_SYNC_CURSOR + SYNC_TEAMS)
+                .apply();
     }
 
     public static boolean isSignedIn(Context context) {
@@ -105,6 +118,19 @@ public class PrefUtils {
         return hasServerUrl(context) && VbrApi.isConnectedToInternet(context) && isSignedIn(context);
     }
 
+    /**
+     * The server cursor up to which the collection was synchronised, or 0 when it must be fully reconciled.
+     */
+    public static long getSyncCursor(Context context, String collection) {
+        SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(context);
+        return sharedPreferences.getLong(PREF_SYNC_CURSOR + collection, 0L);
+    }
+
+    public static void setSyncCursor(Context context, String collection, long cursor) {
+        SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(context);
+        sharedPreferences.edit().putLong(PREF_SYNC_CURSOR + collection, cursor).apply();
+    }
+
     public static void applyNightMode(Context context) {
         SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(context);
         String nightMode = sharedPreferences.getString(PrefUtils.PREF_NIGHT_MODE, "system");
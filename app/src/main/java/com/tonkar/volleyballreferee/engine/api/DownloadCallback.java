@@ -0,0 +1,82 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonParseException;
+import com.tonkar.volleyballreferee.engine.service.TransferResult;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import okhttp3.*;
+
+/**
+ * Decodes a downloaded item from the response stream and stores it, then reports the outcome to the download pipeline once the item is
+ * committed. The network errors, the server errors and the rate limiting are transient failures.
+ */
+public class DownloadCallback<T> implements Callback {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final String                            mTag;
+    private final String                            mEndpoint;
+    private final Class<T>                          mType;
+    private final Function<T, CompletableFuture<?>> mStore;
+    private final TransferResult                    mResult;
+
+    public DownloadCallback(String tag, String endpoint, Class<T> type, Function<T, CompletableFuture<?>> store, TransferResult result) {
+        mTag = tag;
+        mEndpoint = endpoint;
+        mType = type;
+        mStore = store;
+        mResult = result;
+    }
+
+    @Override
+    public void onFailure(@NonNull Call call, @NonNull IOException e) {
+        call.cancel();
+        Log.e(mTag, String.format("Failed to download %s: %s", mType.getSimpleName(), e.getMessage()));
+        mResult.failed(true);
+    }
+
+    @Override
+    public void onResponse(@NonNull Call call, @NonNull Response response) {
+        try (ResponseBody body = response.body()) {
+            if (response.code() == HttpURLConnection.HTTP_OK) {
+                T item = ResponseDecoder.decode(mEndpoint, body.byteStream(), mType);
+
+                if (item == null) {
+                    Log.e(mTag, String.format("Failed to decode %s: empty response", mType.getSimpleName()));
+                    mResult.failed(false);
+                } else {
+                    mStore.apply(item).whenComplete((ignored, throwable) -> {
+                        if (throwable == null) {
+                            mResult.succeeded();
+                        } else {
+                            Log.e(mTag, String.format("Failed to store %s: %s", mType.getSimpleName(), throwable.getMessage()));
+                            mResult.failed(false);
+                        }
+                    });
+                }
+            } else {
+                Log.e(mTag, String.format(Locale.getDefault(), "Error %d while downloading %s", response.code(), mType.getSimpleName()));
+                mResult.failed(isTransientFailure(response.code()));
+            }
+        } catch (IOException e) {
+            Log.e(mTag, String.format("Failed to read %s: %s", mType.getSimpleName(), e.getMessage()));
+            mResult.failed(true);
+        } catch (JsonParseException e) {
+            Log.e(mTag, String.format("Failed to decode %s: %s", mType.getSimpleName(), e.getMessage()));
+            mResult.failed(false);
+        }
+    }
+
+    public static boolean isTransientFailure(int code) {
+        return code >= HttpURLConnection.HTTP_INTERNAL_ERROR || code == HTTP_TOO_MANY_REQUESTS;
+    }
+}
@@ -7,7 +7,6 @@ import androidx.preference.PreferenceManager;
 
 import com.tonkar.volleyballreferee.engine.PrefUtils;
 import com.tonkar.volleyballreferee.engine.api.model.*;
-import com.tonkar.volleyballreferee.engine.service.StoredGame;
 
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +18,9 @@ public class VbrApi {
     private static final String    AUTHORIZATION_HEADER = "Authorization";
     private static final MediaType JSON_MEDIA_TYPE      = MediaType.parse("application/json; charset=utf-8");
 
+    // Below the 5 requests per host of the OkHttp dispatcher, so that a sync leaves a connection to the other calls
+    public static final int SYNC_DOWNLOAD_CONCURRENCY = 4;
+
     private static VbrApi                  sVbrApi;
     private final  String                  mBaseUrl;
     private        OkHttpClient            mHttpClient;
@@ -69,13 +71,23 @@ public class VbrApi {
     }
 
     public Request buildGet(String path, int page, int size, UserTokenDto userToken) {
+        return buildGet(path, page, size, 0L, userToken);
+    }
+
+    // With a cursor, the server returns only the items updated since it and the ids of the items deleted since it
+    private Request buildGet(String path, int page, int size, long since, UserTokenDto userToken) {
+        HttpUrl.Builder urlBuilder = HttpUrl
+                .parse(String.format(Locale.US, "%s/%s", mBaseUrl, path))
+                .newBuilder()
+                .addQueryParameter("page", Integer.toString(page))
+                .addQueryParameter("size", Integer.toString(size));
+
+        if (since > 0L) {
+            urlBuilder.addQueryParameter("since", Long.toString(since));
+        }
+
         return new Request.Builder()
-                .url(HttpUrl
-                             .parse(String.format(Locale.US, "%s/%s", mBaseUrl, path))
-                             .newBuilder()
-                             .addQueryParameter("page", Integer.toString(page))
-                             .addQueryParameter("size", Integer.toString(size))
-                             .build())
+                .url(urlBuilder.build())
                 .addHeader(AUTHORIZATION_HEADER, bearerToken(userToken.getToken()))
                 .build();
     }
@@ -213,8 +225,8 @@ public class VbrApi {
         getHttpClient(context).newCall(request).enqueue(callback);
     }
 
-    public void getTeamPage(int page, int size, Context context, Callback callback) {
-        Request request = buildGet("teams", page, size, PrefUtils.getUserToken(context));
+    public void getTeamPage(int page, int size, long since, Context context, Callback callback) {
+        Request request = buildGet("teams", page, size, since, PrefUtils.getUserToken(context));
         getHttpClient(context).newCall(request).enqueue(callback);
     }
 
@@ -245,8 +257,8 @@ public class VbrApi {
         getHttpClient(context).newCall(request).enqueue(callback);
     }
 
-    public void getCompletedGames(int page, int size, Context context, Callback callback) {
-        Request request = buildGet("games/completed", page, size, PrefUtils.getUserToken(context));
+    public void getCompletedGames(int page, int size, long since, Context context, Callback callback) {
+        Request request = buildGet("games/completed", page, size, since, PrefUtils.getUserToken(context));
         getHttpClient(context).newCall(request).enqueue(callback);
     }
 
@@ -273,11 +285,12 @@ public class VbrApi {
         getHttpClient(context).newCall(request).enqueue(callback);
     }
 
-    public void updateSet(StoredGame game, Context context, Callback callback) {
-        int setIndex = game.currentSetIndex();
-        String json = JsonConverters.GSON.toJson(game.getSets().get(setIndex), SetDto.class);
-        Request request = buildPatch(String.format(Locale.US, "games/%s/set/%d", game.getId(), 1 + setIndex), json,
-                                     PrefUtils.getUserToken(context));
+    public void sendOutboxMessage(String method, String path, byte[] content, Context context, Callback callback) {
+        Request request = new Request.Builder()
+                .url(String.format(Locale.US, "%s/%s", mBaseUrl, path))
+                .addHeader(AUTHORIZATION_HEADER, bearerToken(PrefUtils.getUserToken(context).getToken()))
+                .method(method, RequestBody.create(content, JSON_MEDIA_TYPE))
+                .build();
         getHttpClient(context).newCall(request).enqueue(callback);
     }
 }
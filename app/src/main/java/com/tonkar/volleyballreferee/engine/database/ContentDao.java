@@ -0,0 +1,15 @@
+package com.tonkar.volleyballreferee.engine.database;
+
+import java.util.List;
+
+/**
+ * The tables whose JSON content is stored by CompressedJson.
+ */
+public interface ContentDao {
+
+    byte[] findContentById(String id);
+
+    List<String> listLegacyContentIds(String afterId, int limit);
+
+    void updateContent(String id, byte[] content);
+}
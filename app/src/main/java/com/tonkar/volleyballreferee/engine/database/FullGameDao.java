@@ -8,7 +8,7 @@ import com.tonkar.volleyballreferee.engine.database.model.FullGameEntity;
 public interface FullGameDao {
 
     @Query("SELECT content FROM full_games WHERE type = :type")
-    String findContentByType(String type);
+    byte[] findContentByType(String type);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(FullGameEntity fullGameEntity);
@@ -1,5 +1,7 @@
 package com.tonkar.volleyballreferee.engine.database;
 
+import android.database.Cursor;
+
 import androidx.room.*;
 
 import com.tonkar.volleyballreferee.engine.api.model.GameSummaryDto;
@@ -8,15 +10,49 @@ import com.tonkar.volleyballreferee.engine.database.model.GameEntity;
 import java.util.*;
 
 @Dao
-public interface GameDao {
+public interface GameDao extends ContentDao {
+
+    String SUMMARY_COLUMNS = "id, createdBy, createdAt, updatedAt, synced, scheduledAt, kind, gender, usage, leagueName, divisionName, homeTeamName, guestTeamName, homeSets, guestSets, score, IFNULL(refereeName, '') AS refereeName";
+
+    // Keyset pagination on the (scheduledAt, id) index, the page starts after the game with the given scheduledAt and id
+    String BEFORE_GAME = "scheduledAt <= :scheduledAt AND (scheduledAt < :scheduledAt OR id < :id) ORDER BY scheduledAt DESC, id DESC LIMIT :limit";
 
-    @Query("SELECT id, createdBy, createdAt, updatedAt, synced, scheduledAt, kind, gender, usage, leagueName, divisionName, homeTeamName, guestTeamName, homeSets, guestSets, score FROM games ORDER BY scheduledAt DESC")
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM games ORDER BY scheduledAt DESC")
     List<GameSummaryDto> listGames();
 
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM games WHERE " + BEFORE_GAME)
+    List<GameSummaryDto> listGamesBefore(long scheduledAt, String id, int limit);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM games WHERE rowid IN (SELECT docid FROM games_fts WHERE games_fts MATCH :match) AND " + BEFORE_GAME)
+    List<GameSummaryDto> searchGamesBefore(String match, long scheduledAt, String id, int limit);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM games WHERE id = :id")
+    GameSummaryDto findSummaryById(String id);
+
     @Query("SELECT content FROM games WHERE id = :id")
-    String findContentById(String id);
+    byte[] findContentById(String id);
+
+    // A cursor pages the contents through its window, so that exporting the games does not load them all in memory
+    @Query("SELECT content FROM games ORDER BY scheduledAt DESC, id DESC")
+    Cursor cursorContents();
+
+    @Query("SELECT id FROM games WHERE id > :afterId AND hex(substr(content, 1, 1)) <> '00' ORDER BY id LIMIT :limit")
+    List<String> listLegacyContentIds(String afterId, int limit);
+
+    @Query("UPDATE games SET content = :content WHERE id = :id")
+    void updateContent(String id, byte[] content);
+
+    @Query("SELECT updatedAt FROM games WHERE id = :id")
+    Long findUpdatedAtById(String id);
+
+    @Query("SELECT id FROM games WHERE id > :afterId AND refereeName IS NULL ORDER BY id LIMIT :limit")
+    List<String> listMissingRefereeNameIds(String afterId, int limit);
+
+    @Query("UPDATE games SET refereeName = :refereeName WHERE id = :id")
+    void updateRefereeName(String id, String refereeName);
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    // An upsert updates the row in place, a replacement would delete it without running the delete trigger of games_fts
+    @Upsert
     void insert(GameEntity gameEntity);
 
     @Query("DELETE FROM games")
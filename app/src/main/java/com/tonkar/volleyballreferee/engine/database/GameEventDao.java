@@ -0,0 +1,29 @@
+package com.tonkar.volleyballreferee.engine.database;
+
+import androidx.room.*;
+
+import com.tonkar.volleyballreferee.engine.database.model.GameEventEntity;
+
+import java.util.List;
+
+@Dao
+public interface GameEventDao {
+
+    @Query("SELECT content FROM game_events WHERE gameId = :gameId AND seq > :seq ORDER BY seq ASC")
+    List<String> listContentAfter(String gameId, long seq);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(GameEventEntity gameEventEntity);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAll(List<GameEventEntity> gameEventEntities);
+
+    @Query("DELETE FROM game_events WHERE gameId = :gameId AND seq <= :seq")
+    void deleteUpTo(String gameId, long seq);
+
+    @Query("DELETE FROM game_events WHERE gameId <> :gameId")
+    void deleteOtherGames(String gameId);
+
+    @Query("DELETE FROM game_events")
+    void deleteAll();
+}
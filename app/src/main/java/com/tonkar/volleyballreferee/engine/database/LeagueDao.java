@@ -9,7 +9,7 @@ import com.tonkar.volleyballreferee.engine.game.GameType;
 import java.util.List;
 
 @Dao
-public interface LeagueDao {
+public interface LeagueDao extends ContentDao {
 
     @Query("SELECT id, createdBy, createdAt, updatedAt, synced, name, kind FROM leagues ORDER BY name ASC")
     List<LeagueSummaryDto> listLeagues();
@@ -18,10 +18,19 @@ public interface LeagueDao {
     List<LeagueSummaryDto> listLeaguesByKind(GameType kind);
 
     @Query("SELECT content FROM leagues WHERE id = :id")
-    String findContentById(String id);
+    byte[] findContentById(String id);
 
     @Query("SELECT content FROM leagues WHERE name = :name AND kind = :kind")
-    String findContentByNameAndKind(String name, GameType kind);
+    byte[] findContentByNameAndKind(String name, GameType kind);
+
+    @Query("SELECT id FROM leagues WHERE id > :afterId AND hex(substr(content, 1, 1)) <> '00' ORDER BY id LIMIT :limit")
+    List<String> listLegacyContentIds(String afterId, int limit);
+
+    @Query("UPDATE leagues SET content = :content WHERE id = :id")
+    void updateContent(String id, byte[] content);
+
+    @Query("SELECT updatedAt FROM leagues WHERE id = :id")
+    Long findUpdatedAtById(String id);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(LeagueEntity leagueEntity);
@@ -0,0 +1,25 @@
+package com.tonkar.volleyballreferee.engine.database;
+
+import androidx.room.*;
+
+import com.tonkar.volleyballreferee.engine.database.model.OutboxEntity;
+
+@Dao
+public interface OutboxDao {
+
+    @Query("SELECT * FROM outbox ORDER BY seq ASC LIMIT 1")
+    OutboxEntity findFirst();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(OutboxEntity outboxEntity);
+
+    // A message queued again since it was read has a newer seq and is kept
+    @Query("DELETE FROM outbox WHERE id = :id AND seq = :seq")
+    void deleteByIdAndSeq(String id, long seq);
+
+    @Query("DELETE FROM outbox WHERE gameId = :gameId")
+    void deleteByGameId(String gameId);
+
+    @Query("SELECT COUNT(*) FROM outbox")
+    int count();
+}
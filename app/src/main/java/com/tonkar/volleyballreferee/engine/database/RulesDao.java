@@ -9,7 +9,7 @@ import com.tonkar.volleyballreferee.engine.game.GameType;
 import java.util.*;
 
 @Dao
-public interface RulesDao {
+public interface RulesDao extends ContentDao {
 
     @Query("SELECT id, createdBy, createdAt, updatedAt, synced, name, kind FROM rules ORDER BY name ASC")
     List<RulesSummaryDto> listRules();
@@ -18,10 +18,19 @@ public interface RulesDao {
     List<RulesSummaryDto> listRulesByKind(GameType kind);
 
     @Query("SELECT content FROM rules WHERE id = :id")
-    String findContentById(String id);
+    byte[] findContentById(String id);
 
     @Query("SELECT content FROM rules WHERE name = :name AND kind = :kind")
-    String findContentByNameAndKind(String name, GameType kind);
+    byte[] findContentByNameAndKind(String name, GameType kind);
+
+    @Query("SELECT id FROM rules WHERE id > :afterId AND hex(substr(content, 1, 1)) <> '00' ORDER BY id LIMIT :limit")
+    List<String> listLegacyContentIds(String afterId, int limit);
+
+    @Query("UPDATE rules SET content = :content WHERE id = :id")
+    void updateContent(String id, byte[] content);
+
+    @Query("SELECT updatedAt FROM rules WHERE id = :id")
+    Long findUpdatedAtById(String id);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(RulesEntity rulesEntity);
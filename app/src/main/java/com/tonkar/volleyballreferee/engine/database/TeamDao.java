@@ -10,7 +10,7 @@ import com.tonkar.volleyballreferee.engine.team.GenderType;
 import java.util.*;
 
 @Dao
-public interface TeamDao {
+public interface TeamDao extends ContentDao {
 
     @Query("SELECT id, createdBy, createdAt, updatedAt, synced, name, kind, gender FROM teams ORDER BY name ASC")
     List<TeamSummaryDto> listTeams();
@@ -22,10 +22,19 @@ public interface TeamDao {
     List<TeamSummaryDto> listTeamsByGenderAndKind(GenderType gender, GameType kind);
 
     @Query("SELECT content FROM teams WHERE id = :id")
-    String findContentById(String id);
+    byte[] findContentById(String id);
 
     @Query("SELECT content FROM teams WHERE name = :name AND gender = :gender AND kind = :kind")
-    String findContentByNameAndGenderAndKind(String name, GenderType gender, GameType kind);
+    byte[] findContentByNameAndGenderAndKind(String name, GenderType gender, GameType kind);
+
+    @Query("SELECT id FROM teams WHERE id > :afterId AND hex(substr(content, 1, 1)) <> '00' ORDER BY id LIMIT :limit")
+    List<String> listLegacyContentIds(String afterId, int limit);
+
+    @Query("UPDATE teams SET content = :content WHERE id = :id")
+    void updateContent(String id, byte[] content);
+
+    @Query("SELECT updatedAt FROM teams WHERE id = :id")
+    Long findUpdatedAtById(String id);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(TeamEntity teamEntity);
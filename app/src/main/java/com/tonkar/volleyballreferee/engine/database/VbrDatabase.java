@@ -1,43 +1,81 @@
 package com.tonkar.volleyballreferee.engine.database;
 
 import android.content.Context;
+import android.util.Log;
 
 import androidx.room.*;
 import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
+import com.google.gson.JsonParseException;
+import com.tonkar.volleyballreferee.engine.Tags;
+import com.tonkar.volleyballreferee.engine.api.*;
+import com.tonkar.volleyballreferee.engine.api.model.GameDto;
 import com.tonkar.volleyballreferee.engine.database.model.*;
+import com.tonkar.volleyballreferee.engine.service.WriteQueue;
 
+import java.io.File;
+import java.util.List;
 import java.util.concurrent.*;
 
-@Database(entities = { RulesEntity.class, TeamEntity.class, GameEntity.class, FullGameEntity.class, LeagueEntity.class, FriendEntity.class
-}, version = 5)
+@Database(entities = {
+        RulesEntity.class, TeamEntity.class, GameEntity.class, GameFtsEntity.class, FullGameEntity.class, GameEventEntity.class, LeagueEntity.class,
+        FriendEntity.class, OutboxEntity.class
+}, version = 10)
 @TypeConverters({ DatabaseConverters.class })
 public abstract class VbrDatabase extends RoomDatabase {
 
-    private static final int NUMBER_OF_THREADS = 4;
+    private static final String DATABASE_NAME          = "vbr-db";
+    private static final int    NUMBER_OF_READ_THREADS = 2;
+    private static final int    COMPRESSION_BATCH_SIZE = 50;
 
-    private static VbrDatabase sInstance = null;
+    private static volatile VbrDatabase sInstance = null;
 
-    static final ExecutorService sDatabaseWriteExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    // All the writes go through this queue, on a single connection and in submission order, it is set before the instance is published
+    static volatile WriteQueue sDatabaseWriteQueue = null;
+
+    // The compression, the backfills and the imports, which run their own transactions and a vacuum outside of the write queue
+    static final ExecutorService sDatabaseMaintenanceExecutor = Executors.newSingleThreadExecutor();
+
+    // The reads and their JSON parsing, off the UI thread and never queued behind the writes
+    static final ExecutorService sDatabaseReadExecutor = Executors.newFixedThreadPool(NUMBER_OF_READ_THREADS);
 
     public static VbrDatabase getInstance(Context context) {
         if (sInstance == null) {
             synchronized (VbrDatabase.class) {
-                sInstance = Room
-                        .databaseBuilder(context, VbrDatabase.class, "vbr-db")
-                        .addMigrations(MIGRATION_1_2)
-                        .addMigrations(MIGRATION_2_3)
-                        .addMigrations(MIGRATION_3_4)
-                        .addMigrations(MIGRATION_4_5)
-                        .allowMainThreadQueries()
-                        .build();
+                if (sInstance == null) {
+                    sInstance = createInstance(context);
+                }
             }
         }
 
         return sInstance;
     }
 
+    private static VbrDatabase createInstance(Context context) {
+        final VbrDatabase database = Room
+                .databaseBuilder(context, VbrDatabase.class, DATABASE_NAME)
+                .addMigrations(MIGRATION_1_2)
+                .addMigrations(MIGRATION_2_3)
+                .addMigrations(MIGRATION_3_4)
+                .addMigrations(MIGRATION_4_5)
+                .addMigrations(MIGRATION_5_6)
+                .addMigrations(MIGRATION_6_7)
+                .addMigrations(MIGRATION_7_8)
+                .addMigrations(MIGRATION_8_9)
+                .addMigrations(MIGRATION_9_10)
+                .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                .build();
+        final File databaseFile = context.getDatabasePath(DATABASE_NAME);
+        sDatabaseWriteQueue = new WriteQueue("vbr-db-writer", database::runInTransaction);
+        sDatabaseMaintenanceExecutor.execute(() -> {
+            database.compressLegacyContents(databaseFile);
+            database.fillRefereeNames();
+        });
+
+        return database;
+    }
+
     public abstract RulesDao rulesDao();
 
     public abstract TeamDao teamDao();
@@ -46,10 +84,79 @@ public abstract class VbrDatabase extends RoomDatabase {
 
     public abstract FullGameDao fullGameDao();
 
+    public abstract GameEventDao gameEventDao();
+
     public abstract LeagueDao leagueDao();
 
     public abstract FriendDao friendDao();
 
+    public abstract OutboxDao outboxDao();
+
+    /**
+     * Rewrites the JSON contents stored before MIGRATION_7_8 with CompressedJson, a few rows per transaction so that
+     * the other writes are not blocked for long. The rows are read in the order of their ids, each batch starting after the last id
+     * of the previous one.
+     */
+    private void compressLegacyContents(File databaseFile) {
+        long sizeBefore = databaseFile.length();
+        int compressedRows = 0;
+
+        for (ContentDao contentDao : List.of(gameDao(), teamDao(), rulesDao(), leagueDao())) {
+            List<String> ids = contentDao.listLegacyContentIds("", COMPRESSION_BATCH_SIZE);
+
+            while (!ids.isEmpty()) {
+                final List<String> batch = ids;
+                runInTransaction(() -> {
+                    for (String id : batch) {
+                        contentDao.updateContent(id, CompressedJson.encode(CompressedJson.decode(contentDao.findContentById(id))));
+                    }
+                });
+                compressedRows += batch.size();
+                ids = contentDao.listLegacyContentIds(batch.get(batch.size() - 1), COMPRESSION_BATCH_SIZE);
+            }
+        }
+
+        if (compressedRows > 0) {
+            // The free pages are only given back to the file system by a vacuum
+            try {
+                getOpenHelper().getWritableDatabase().execSQL("VACUUM");
+            } catch (RuntimeException e) {
+                Log.e(Tags.DATABASE, "Exception while vacuuming the database", e);
+            }
+            Log.i(Tags.DATABASE, String.format("Compressed %d rows, the database size went from %d to %d bytes", compressedRows, sizeBefore,
+                                               databaseFile.length()));
+        }
+    }
+
+    /**
+     * Copies the referee names of the games stored before MIGRATION_8_9 from their content, so that they can be searched.
+     * The games are read in the order of their ids, each batch starting after the last id of the previous one.
+     */
+    private void fillRefereeNames() {
+        GameDao gameDao = gameDao();
+        List<String> ids = gameDao.listMissingRefereeNameIds("", COMPRESSION_BATCH_SIZE);
+
+        while (!ids.isEmpty()) {
+            final List<String> batch = ids;
+            runInTransaction(() -> {
+                for (String id : batch) {
+                    String refereeName = "";
+                    try {
+                        GameDto game = JsonConverters.GSON.fromJson(CompressedJson.decode(gameDao.findContentById(id)), GameDto.class);
+                        if (game != null && game.getRefereeName() != null) {
+                            refereeName = game.getRefereeName();
+                        }
+                    } catch (JsonParseException e) {
+                        // The name of a malformed game stays empty, so that the game is not read again at the next start
+                        Log.e(Tags.DATABASE, String.format("Failed to read the referee name of the game %s: %s", id, e.getMessage()));
+                    }
+                    gameDao.updateRefereeName(id, refereeName);
+                }
+            });
+            ids = gameDao.listMissingRefereeNameIds(batch.get(batch.size() - 1), COMPRESSION_BATCH_SIZE);
+        }
+    }
+
     private static final Migration MIGRATION_1_2 = new Migration(1, 2) {
         @Override
         public void migrate(SupportSQLiteDatabase database) {
@@ -127,4 +234,92 @@ public abstract class VbrDatabase extends RoomDatabase {
             database.execSQL("DROP TABLE IF EXISTS `teams_old`");
         }
     };
+
+    private static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "CREATE TABLE `game_events` (`gameId` TEXT NOT NULL, `seq` INTEGER NOT NULL, `content` TEXT NOT NULL, PRIMARY KEY(`gameId`, `seq`))");
+        }
+    };
+
+    // The JSON snapshots are kept as they are, they are still decoded and are replaced by binary snapshots when saved again
+    private static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `full_games` RENAME TO `full_games_old`");
+            database.execSQL("CREATE TABLE `full_games` (`type` TEXT NOT NULL, `content` BLOB NOT NULL, PRIMARY KEY(`type`))");
+            database.execSQL("INSERT INTO `full_games` SELECT `type`, CAST(`content` AS BLOB) FROM `full_games_old`");
+            database.execSQL("DROP TABLE IF EXISTS `full_games_old`");
+        }
+    };
+
+    // The content columns become BLOBs, the JSON contents are compressed in the background by compressLegacyContents
+    private static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `games` RENAME TO `games_old`");
+            database.execSQL("ALTER TABLE `leagues` RENAME TO `leagues_old`");
+            database.execSQL("ALTER TABLE `rules` RENAME TO `rules_old`");
+            database.execSQL("ALTER TABLE `teams` RENAME TO `teams_old`");
+
+            database.execSQL(
+                    "CREATE TABLE `games` (`id` TEXT NOT NULL, `createdBy` TEXT, `createdAt` INTEGER NOT NULL, `updatedAt` INTEGER NOT NULL, `scheduledAt` INTEGER NOT NULL, `synced` INTEGER NOT NULL, `kind` TEXT NOT NULL, `gender` TEXT NOT NULL, `usage` TEXT NOT NULL, `leagueName` TEXT, `divisionName` TEXT, `homeTeamName` TEXT NOT NULL, `guestTeamName` TEXT NOT NULL, `homeSets` INTEGER NOT NULL, `guestSets` INTEGER NOT NULL, `score` TEXT NOT NULL, `content` BLOB NOT NULL, PRIMARY KEY(`id`))");
+            database.execSQL(
+                    "CREATE TABLE `leagues` (`id` TEXT NOT NULL, `createdBy` TEXT, `createdAt` INTEGER NOT NULL, `updatedAt` INTEGER NOT NULL, `synced` INTEGER NOT NULL, `name` TEXT NOT NULL, `kind` TEXT NOT NULL, `content` BLOB NOT NULL, PRIMARY KEY(`id`))");
+            database.execSQL(
+                    "CREATE TABLE `rules` (`id` TEXT NOT NULL, `createdBy` TEXT, `createdAt` INTEGER NOT NULL, `updatedAt` INTEGER NOT NULL, `synced` INTEGER NOT NULL, `name` TEXT NOT NULL, `kind` TEXT NOT NULL, `content` BLOB NOT NULL, PRIMARY KEY(`id`))");
+            database.execSQL(
+                    "CREATE TABLE `teams` (`id` TEXT NOT NULL, `createdBy` TEXT, `createdAt` INTEGER NOT NULL, `updatedAt` INTEGER NOT NULL, `synced` INTEGER NOT NULL, `name` TEXT NOT NULL, `kind` TEXT NOT NULL, `gender` TEXT NOT NULL, `content` BLOB NOT NULL, PRIMARY KEY(`id`))");
+
+            database.execSQL(
+                    "INSERT INTO `games` SELECT `id`, `createdBy`, `createdAt`, `updatedAt`, `scheduledAt`, `synced`, `kind`, `gender`, `usage`, `leagueName`, `divisionName`, `homeTeamName`, `guestTeamName`, `homeSets`, `guestSets`, `score`, CAST(`content` AS BLOB) FROM `games_old`");
+            database.execSQL(
+                    "INSERT INTO `leagues` SELECT `id`, `createdBy`, `createdAt`, `updatedAt`, `synced`, `name`, `kind`, CAST(`content` AS BLOB) FROM `leagues_old`");
+            database.execSQL(
+                    "INSERT INTO `rules` SELECT `id`, `createdBy`, `createdAt`, `updatedAt`, `synced`, `name`, `kind`, CAST(`content` AS BLOB) FROM `rules_old`");
+            database.execSQL(
+                    "INSERT INTO `teams` SELECT `id`, `createdBy`, `createdAt`, `updatedAt`, `synced`, `name`, `kind`, `gender`, CAST(`content` AS BLOB) FROM `teams_old`");
+
+            database.execSQL("DROP TABLE IF EXISTS `games_old`");
+            database.execSQL("DROP TABLE IF EXISTS `leagues_old`");
+            database.execSQL("DROP TABLE IF EXISTS `rules_old`");
+            database.execSQL("DROP TABLE IF EXISTS `teams_old`");
+        }
+    };
+
+    // The names of the games are indexed by an external content FTS4 table, with the triggers that Room creates for GameFtsEntity.
+    // The referee names of the existing games are filled in the background by fillRefereeNames.
+    private static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `games` ADD COLUMN `refereeName` TEXT");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_scheduledAt_id` ON `games` (`scheduledAt`, `id`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_kind` ON `games` (`kind`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_leagueName` ON `games` (`leagueName`)");
+
+            database.execSQL(
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS `games_fts` USING FTS4(`homeTeamName` TEXT, `guestTeamName` TEXT, `leagueName` TEXT, `divisionName` TEXT, `refereeName` TEXT, tokenize=unicode61, content=`games`)");
+            database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_games_fts_BEFORE_UPDATE BEFORE UPDATE ON `games` BEGIN DELETE FROM `games_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_games_fts_BEFORE_DELETE BEFORE DELETE ON `games` BEGIN DELETE FROM `games_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_games_fts_AFTER_UPDATE AFTER UPDATE ON `games` BEGIN INSERT INTO `games_fts`(`docid`, `homeTeamName`, `guestTeamName`, `leagueName`, `divisionName`, `refereeName`) VALUES (NEW.`rowid`, NEW.`homeTeamName`, NEW.`guestTeamName`, NEW.`leagueName`, NEW.`divisionName`, NEW.`refereeName`); END");
+            database.execSQL(
+                    "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_games_fts_AFTER_INSERT AFTER INSERT ON `games` BEGIN INSERT INTO `games_fts`(`docid`, `homeTeamName`, `guestTeamName`, `leagueName`, `divisionName`, `refereeName`) VALUES (NEW.`rowid`, NEW.`homeTeamName`, NEW.`guestTeamName`, NEW.`leagueName`, NEW.`divisionName`, NEW.`refereeName`); END");
+            database.execSQL("INSERT INTO `games_fts`(`games_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    // The pushes of the live games waiting to be sent to the server
+    private static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "CREATE TABLE `outbox` (`id` TEXT NOT NULL, `gameId` TEXT NOT NULL, `method` TEXT NOT NULL, `path` TEXT NOT NULL, `content` BLOB NOT NULL, `seq` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_outbox_seq` ON `outbox` (`seq`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_outbox_gameId` ON `outbox` (`gameId`)");
+        }
+    };
 }
@@ -1,37 +1,48 @@
 package com.tonkar.volleyballreferee.engine.database;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
 
-import com.google.gson.reflect.TypeToken;
-import com.tonkar.volleyballreferee.engine.api.JsonConverters;
+import com.tonkar.volleyballreferee.engine.Tags;
+import com.tonkar.volleyballreferee.engine.api.*;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.database.model.*;
 import com.tonkar.volleyballreferee.engine.game.*;
 import com.tonkar.volleyballreferee.engine.service.*;
 import com.tonkar.volleyballreferee.engine.team.GenderType;
 
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 public class VbrRepository {
 
     private static final String sCurrentGame = "current";
     private static final String sSetupGame   = "setup";
 
-    private final FriendDao   mFriendDao;
-    private final FullGameDao mFullGameDao;
-    private final GameDao     mGameDao;
-    private final LeagueDao   mLeagueDao;
-    private final RulesDao    mRulesDao;
-    private final TeamDao     mTeamDao;
+    private final FriendDao    mFriendDao;
+    private final FullGameDao  mFullGameDao;
+    private final GameEventDao mGameEventDao;
+    private final GameDao      mGameDao;
+    private final LeagueDao    mLeagueDao;
+    private final OutboxDao    mOutboxDao;
+    private final RulesDao     mRulesDao;
+    private final TeamDao      mTeamDao;
+    private final WriteQueue   mWriteQueue;
 
     public VbrRepository(Context context) {
         VbrDatabase db = VbrDatabase.getInstance(context);
         mFriendDao = db.friendDao();
         mFullGameDao = db.fullGameDao();
+        mGameEventDao = db.gameEventDao();
         mGameDao = db.gameDao();
         mLeagueDao = db.leagueDao();
+        mOutboxDao = db.outboxDao();
         mRulesDao = db.rulesDao();
         mTeamDao = db.teamDao();
+        mWriteQueue = VbrDatabase.sDatabaseWriteQueue;
     }
 
     public void insertFriend(final String friendId, final String friendPseudo, boolean syncInsertion) {
@@ -42,15 +53,11 @@ public class VbrRepository {
             mFriendDao.insert(friendEntity);
         };
 
-        if (syncInsertion) {
-            runnable.run();
-        } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(runnable);
-        }
+        write("friends/" + friendId, runnable, syncInsertion);
     }
 
     public void removeFriend(final String friendId) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mFriendDao.deleteById(friendId));
+        mWriteQueue.submit("friends/" + friendId, () -> mFriendDao.deleteById(friendId));
     }
 
     public void insertFriends(final List<FriendDto> friends, boolean syncInsertion) {
@@ -66,11 +73,7 @@ public class VbrRepository {
             mFriendDao.insertAll(friendEntities);
         };
 
-        if (syncInsertion) {
-            runnable.run();
-        } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(runnable);
-        }
+        write(null, runnable, syncInsertion);
     }
 
     public List<LeagueSummaryDto> listLeagues() {
@@ -81,11 +84,19 @@ public class VbrRepository {
         return mLeagueDao.listLeaguesByKind(kind);
     }
 
+    public CompletableFuture<List<LeagueSummaryDto>> listLeaguesAsync(GameType kind) {
+        return read(() -> listLeagues(kind));
+    }
+
     public LeagueDto getLeague(String id) {
-        String json = mLeagueDao.findContentById(id);
+        String json = CompressedJson.decode(mLeagueDao.findContentById(id));
         return JsonConverters.GSON.fromJson(json, LeagueDto.class);
     }
 
+    public CompletableFuture<LeagueDto> getLeagueAsync(String id) {
+        return read(() -> getLeague(id));
+    }
+
     public int countLeagues(String name, GameType kind) {
         return mLeagueDao.countByNameAndKind(name, kind);
     }
@@ -95,82 +106,104 @@ public class VbrRepository {
     }
 
     public LeagueDto getLeague(String name, GameType kind) {
-        String json = mLeagueDao.findContentByNameAndKind(name, kind);
+        String json = CompressedJson.decode(mLeagueDao.findContentByNameAndKind(name, kind));
         return JsonConverters.GSON.fromJson(json, LeagueDto.class);
     }
 
-    public void insertLeague(final LeagueDto league, boolean synced, boolean syncInsertion) {
-        Runnable runnable = () -> {
-            String json = JsonConverters.GSON.toJson(league, LeagueDto.class);
-            LeagueEntity leagueEntity = new LeagueEntity();
-            leagueEntity.setId(league.getId());
-            leagueEntity.setCreatedBy(league.getCreatedBy());
-            leagueEntity.setCreatedAt(league.getCreatedAt());
-            leagueEntity.setUpdatedAt(league.getUpdatedAt());
-            leagueEntity.setKind(league.getKind());
-            leagueEntity.setName(league.getName());
-            leagueEntity.setSynced(synced);
-            leagueEntity.setContent(json);
-            mLeagueDao.insert(leagueEntity);
-        };
+    public CompletableFuture<Void> insertLeague(final LeagueDto league, boolean synced, boolean syncInsertion) {
+        return write("leagues/" + league.getId(), () -> mLeagueDao.insert(toLeagueEntity(league, synced)), syncInsertion);
+    }
 
-        if (syncInsertion) {
-            runnable.run();
-        } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(runnable);
-        }
+    public StreamingImporter.Report importLeagues(Reader reader, int batchSize, StreamingImporter.Validator<LeagueDto> validator,
+                                                  StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Store<LeagueDto> store = importStore(mLeagueDao::findUpdatedAtById,
+                                                               league -> mLeagueDao.insert(toLeagueEntity(league, false)));
+        StreamingImporter<LeagueDto> importer = new StreamingImporter<>(LeagueDto.class, batchSize, LeagueDto::getId, LeagueDto::getUpdatedAt,
+                                                                        validator, store);
+        return importer.importFrom(reader, listener);
+    }
+
+    private LeagueEntity toLeagueEntity(LeagueDto league, boolean synced) {
+        String json = JsonConverters.GSON.toJson(league, LeagueDto.class);
+        LeagueEntity leagueEntity = new LeagueEntity();
+        leagueEntity.setId(league.getId());
+        leagueEntity.setCreatedBy(league.getCreatedBy());
+        leagueEntity.setCreatedAt(league.getCreatedAt());
+        leagueEntity.setUpdatedAt(league.getUpdatedAt());
+        leagueEntity.setKind(league.getKind());
+        leagueEntity.setName(league.getName());
+        leagueEntity.setSynced(synced);
+        leagueEntity.setContent(CompressedJson.encode(json));
+        return leagueEntity;
     }
 
     public void deleteLeague(final String id) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mLeagueDao.deleteById(id));
+        mWriteQueue.submit("leagues/" + id, () -> mLeagueDao.deleteById(id));
     }
 
     public List<RulesSummaryDto> listRules() {
         return mRulesDao.listRules();
     }
 
+    public CompletableFuture<List<RulesSummaryDto>> listRulesAsync() {
+        return read(this::listRules);
+    }
+
     public List<RulesSummaryDto> listRules(GameType kind) {
         return mRulesDao.listRulesByKind(kind);
     }
 
+    public CompletableFuture<List<RulesSummaryDto>> listRulesAsync(GameType kind) {
+        return read(() -> listRules(kind));
+    }
+
     public RulesDto getRules(String id) {
-        String json = mRulesDao.findContentById(id);
+        String json = CompressedJson.decode(mRulesDao.findContentById(id));
         return JsonConverters.GSON.fromJson(json, RulesDto.class);
     }
 
+    public CompletableFuture<RulesDto> getRulesAsync(String id) {
+        return read(() -> getRules(id));
+    }
+
     public RulesDto getRules(String name, GameType kind) {
-        String json = mRulesDao.findContentByNameAndKind(name, kind);
+        String json = CompressedJson.decode(mRulesDao.findContentByNameAndKind(name, kind));
         return JsonConverters.GSON.fromJson(json, RulesDto.class);
     }
 
-    public void insertRules(final RulesDto rules, boolean synced, boolean syncInsertion) {
-        Runnable runnable = () -> {
-            String json = JsonConverters.GSON.toJson(rules);
-            RulesEntity rulesEntity = new RulesEntity();
-            rulesEntity.setId(rules.getId());
-            rulesEntity.setCreatedBy(rules.getCreatedBy());
-            rulesEntity.setCreatedAt(rules.getCreatedAt());
-            rulesEntity.setUpdatedAt(rules.getUpdatedAt());
-            rulesEntity.setKind(rules.getKind());
-            rulesEntity.setName(rules.getName());
-            rulesEntity.setSynced(synced);
-            rulesEntity.setContent(json);
-            mRulesDao.insert(rulesEntity);
-        };
+    public CompletableFuture<Void> insertRules(final RulesDto rules, boolean synced, boolean syncInsertion) {
+        return write("rules/" + rules.getId(), () -> mRulesDao.insert(toRulesEntity(rules, synced)), syncInsertion);
+    }
 
-        if (syncInsertion) {
-            runnable.run();
-        } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(runnable);
-        }
+    public StreamingImporter.Report importRules(Reader reader, int batchSize, StreamingImporter.Validator<RulesDto> validator,
+                                                StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Store<RulesDto> store = importStore(mRulesDao::findUpdatedAtById,
+                                                              rules -> mRulesDao.insert(toRulesEntity(rules, false)));
+        StreamingImporter<RulesDto> importer = new StreamingImporter<>(RulesDto.class, batchSize, RulesDto::getId, RulesDto::getUpdatedAt,
+                                                                       validator, store);
+        return importer.importFrom(reader, listener);
+    }
+
+    private RulesEntity toRulesEntity(RulesDto rules, boolean synced) {
+        String json = JsonConverters.GSON.toJson(rules);
+        RulesEntity rulesEntity = new RulesEntity();
+        rulesEntity.setId(rules.getId());
+        rulesEntity.setCreatedBy(rules.getCreatedBy());
+        rulesEntity.setCreatedAt(rules.getCreatedAt());
+        rulesEntity.setUpdatedAt(rules.getUpdatedAt());
+        rulesEntity.setKind(rules.getKind());
+        rulesEntity.setName(rules.getName());
+        rulesEntity.setSynced(synced);
+        rulesEntity.setContent(CompressedJson.encode(json));
+        return rulesEntity;
     }
 
     public void deleteRules(String id) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mRulesDao.deleteById(id));
+        mWriteQueue.submit("rules/" + id, () -> mRulesDao.deleteById(id));
     }
 
     public void deleteRules(Set<String> ids) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mRulesDao.deleteByIdIn(ids));
+        mWriteQueue.submit(() -> mRulesDao.deleteByIdIn(ids));
     }
 
     public int countRules(String id) {
@@ -185,53 +218,74 @@ public class VbrRepository {
         return mTeamDao.listTeams();
     }
 
+    public CompletableFuture<List<TeamSummaryDto>> listTeamsAsync() {
+        return read(this::listTeams);
+    }
+
     public List<TeamSummaryDto> listTeams(GameType kind) {
         return mTeamDao.listTeamsByKind(kind);
     }
 
+    public CompletableFuture<List<TeamSummaryDto>> listTeamsAsync(GameType kind) {
+        return read(() -> listTeams(kind));
+    }
+
     public List<TeamSummaryDto> listTeams(GenderType genderType, GameType kind) {
         return mTeamDao.listTeamsByGenderAndKind(genderType, kind);
     }
 
+    public CompletableFuture<List<TeamSummaryDto>> listTeamsAsync(GenderType genderType, GameType kind) {
+        return read(() -> listTeams(genderType, kind));
+    }
+
     public TeamDto getTeam(String id) {
-        String json = mTeamDao.findContentById(id);
+        String json = CompressedJson.decode(mTeamDao.findContentById(id));
         return JsonConverters.GSON.fromJson(json, TeamDto.class);
     }
 
+    public CompletableFuture<TeamDto> getTeamAsync(String id) {
+        return read(() -> getTeam(id));
+    }
+
     public TeamDto getTeam(String name, GenderType genderType, GameType kind) {
-        String json = mTeamDao.findContentByNameAndGenderAndKind(name, genderType, kind);
+        String json = CompressedJson.decode(mTeamDao.findContentByNameAndGenderAndKind(name, genderType, kind));
         return JsonConverters.GSON.fromJson(json, TeamDto.class);
     }
 
-    public void insertTeam(final TeamDto team, boolean synced, boolean syncInsertion) {
-        Runnable runnable = () -> {
-            String json = JsonConverters.GSON.toJson(team, TeamDto.class);
-            TeamEntity teamEntity = new TeamEntity();
-            teamEntity.setId(team.getId());
-            teamEntity.setCreatedBy(team.getCreatedBy());
-            teamEntity.setCreatedAt(team.getCreatedAt());
-            teamEntity.setUpdatedAt(team.getUpdatedAt());
-            teamEntity.setKind(team.getKind());
-            teamEntity.setGender(team.getGender());
-            teamEntity.setName(team.getName());
-            teamEntity.setSynced(synced);
-            teamEntity.setContent(json);
-            mTeamDao.insert(teamEntity);
-        };
+    public CompletableFuture<Void> insertTeam(final TeamDto team, boolean synced, boolean syncInsertion) {
+        return write("teams/" + team.getId(), () -> mTeamDao.insert(toTeamEntity(team, synced)), syncInsertion);
+    }
 
-        if (syncInsertion) {
-            runnable.run();
-        } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(runnable);
-        }
+    public StreamingImporter.Report importTeams(Reader reader, int batchSize, StreamingImporter.Validator<TeamDto> validator,
+                                                StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Store<TeamDto> store = importStore(mTeamDao::findUpdatedAtById,
+                                                             team -> mTeamDao.insert(toTeamEntity(team, false)));
+        StreamingImporter<TeamDto> importer = new StreamingImporter<>(TeamDto.class, batchSize, TeamDto::getId, TeamDto::getUpdatedAt,
+                                                                      validator, store);
+        return importer.importFrom(reader, listener);
+    }
+
+    private TeamEntity toTeamEntity(TeamDto team, boolean synced) {
+        String json = JsonConverters.GSON.toJson(team, TeamDto.class);
+        TeamEntity teamEntity = new TeamEntity();
+        teamEntity.setId(team.getId());
+        teamEntity.setCreatedBy(team.getCreatedBy());
+        teamEntity.setCreatedAt(team.getCreatedAt());
+        teamEntity.setUpdatedAt(team.getUpdatedAt());
+        teamEntity.setKind(team.getKind());
+        teamEntity.setGender(team.getGender());
+        teamEntity.setName(team.getName());
+        teamEntity.setSynced(synced);
+        teamEntity.setContent(CompressedJson.encode(json));
+        return teamEntity;
     }
 
-    public void deleteTeam(String id) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mTeamDao.deleteById(id));
+    public CompletableFuture<Void> deleteTeam(String id) {
+        return mWriteQueue.submit("teams/" + id, () -> mTeamDao.deleteById(id));
     }
 
     public void deleteTeams(Set<String> ids) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mTeamDao.deleteByIdIn(ids));
+        mWriteQueue.submit(() -> mTeamDao.deleteByIdIn(ids));
     }
 
     public int countTeams(String name, GenderType genderType, GameType kind) {
@@ -246,54 +300,118 @@ public class VbrRepository {
         return mGameDao.listGames();
     }
 
+    public CompletableFuture<List<GameSummaryDto>> listGamesAsync() {
+        return read(this::listGames);
+    }
+
+    /**
+     * A page of the games, from the most recent, after the given game if any.
+     * The games are the ones with a team, league, division or referee name starting with each word of the query.
+     */
+    public List<GameSummaryDto> listGames(String query, GameSummaryDto after, int limit) {
+        long scheduledAt = after == null ? Long.MAX_VALUE : after.getScheduledAt();
+        String id = after == null ? "" : after.getId();
+        String match = toMatchQuery(query);
+
+        return match.isEmpty() ? mGameDao.listGamesBefore(scheduledAt, id, limit) : mGameDao.searchGamesBefore(match, scheduledAt, id,
+                                                                                                             limit);
+    }
+
+    // The words are split like the unicode61 tokenizer does and matched as prefixes
+    private static String toMatchQuery(String query) {
+        StringJoiner match = new StringJoiner(" ");
+
+        if (query != null) {
+            for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    match.add(String.format("\"%s*\"", word));
+                }
+            }
+        }
+
+        return match.toString();
+    }
+
     public IStoredGame getGame(String id) {
-        String json = mGameDao.findContentById(id);
+        String json = CompressedJson.decode(mGameDao.findContentById(id));
         return JsonConverters.GSON.fromJson(json, StoredGame.class);
     }
 
-    public void insertGame(final GameDto game, boolean synced, boolean syncInsertion) {
-        Runnable runnable = () -> {
-            game.setScore(game.buildScore());
-            GameEntity gameEntity = new GameEntity();
-            gameEntity.setId(game.getId());
-            gameEntity.setCreatedBy(game.getCreatedBy());
-            gameEntity.setCreatedAt(game.getCreatedAt());
-            gameEntity.setUpdatedAt(game.getUpdatedAt());
-            gameEntity.setScheduledAt(game.getScheduledAt());
-            gameEntity.setRefereedBy(game.getRefereedBy());
-            gameEntity.setKind(game.getKind());
-            gameEntity.setGender(game.getGender());
-            gameEntity.setUsage(game.getUsage());
-            gameEntity.setSynced(synced);
-            if (game.getLeague() == null) {
-                gameEntity.setLeagueName("");
-                gameEntity.setDivisionName("");
-            } else {
-                gameEntity.setLeagueName(game.getLeague().getName());
-                gameEntity.setDivisionName(game.getLeague().getDivision());
+    /**
+     * The stored game to display, its content is only decoded for the properties which are requested.
+     */
+    public IStoredGame getLazyGame(String id) {
+        GameSummaryDto summary = mGameDao.findSummaryById(id);
+        return summary == null ? null : new LazyStoredGame(summary, CompressedJson.decode(mGameDao.findContentById(id)));
+    }
+
+    public CompletableFuture<IStoredGame> getLazyGameAsync(String id) {
+        return read(() -> getLazyGame(id));
+    }
+
+    /**
+     * Exports the stored games as a JSON array, optionally gzipped, and closes the output stream.
+     * Returns the number of exported games. When the export fails, the exception is thrown and the array is left unterminated.
+     */
+    public int exportGames(OutputStream outputStream, boolean gzip) throws IOException {
+        try (StreamingExporter exporter = new StreamingExporter(outputStream, gzip); Cursor cursor = mGameDao.cursorContents()) {
+            while (cursor.moveToNext()) {
+                exporter.write(cursor.getBlob(0));
             }
-            gameEntity.setHomeTeamName(game.getHomeTeam().getName());
-            gameEntity.setGuestTeamName(game.getGuestTeam().getName());
-            gameEntity.setHomeSets(game.getHomeSets());
-            gameEntity.setGuestSets(game.getGuestSets());
-            gameEntity.setScore(game.getScore());
-            gameEntity.setContent(JsonConverters.GSON.toJson(game, GameDto.class));
-            mGameDao.insert(gameEntity);
-        };
+            exporter.finish();
+            return exporter.getCount();
+        }
+    }
 
-        if (syncInsertion) {
-            runnable.run();
+    public CompletableFuture<Void> insertGame(final GameDto game, boolean synced, boolean syncInsertion) {
+        return write("games/" + game.getId(), () -> mGameDao.insert(toGameEntity(game, synced)), syncInsertion);
+    }
+
+    public StreamingImporter.Report importGames(Reader reader, int batchSize, StreamingImporter.Validator<GameDto> validator,
+                                                StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Store<GameDto> store = importStore(mGameDao::findUpdatedAtById,
+                                                             game -> mGameDao.insert(toGameEntity(game, false)));
+        StreamingImporter<GameDto> importer = new StreamingImporter<>(GameDto.class, batchSize, GameDto::getId, GameDto::getUpdatedAt,
+                                                                      validator, store);
+        return importer.importFrom(reader, listener);
+    }
+
+    private GameEntity toGameEntity(GameDto game, boolean synced) {
+        game.setScore(game.buildScore());
+        GameEntity gameEntity = new GameEntity();
+        gameEntity.setId(game.getId());
+        gameEntity.setCreatedBy(game.getCreatedBy());
+        gameEntity.setCreatedAt(game.getCreatedAt());
+        gameEntity.setUpdatedAt(game.getUpdatedAt());
+        gameEntity.setScheduledAt(game.getScheduledAt());
+        gameEntity.setRefereedBy(game.getRefereedBy());
+        gameEntity.setRefereeName(game.getRefereeName() == null ? "" : game.getRefereeName());
+        gameEntity.setKind(game.getKind());
+        gameEntity.setGender(game.getGender());
+        gameEntity.setUsage(game.getUsage());
+        gameEntity.setSynced(synced);
+        if (game.getLeague() == null) {
+            gameEntity.setLeagueName("");
+            gameEntity.setDivisionName("");
         } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(runnable);
+            gameEntity.setLeagueName(game.getLeague().getName());
+            gameEntity.setDivisionName(game.getLeague().getDivision());
         }
+        gameEntity.setHomeTeamName(game.getHomeTeam().getName());
+        gameEntity.setGuestTeamName(game.getGuestTeam().getName());
+        gameEntity.setHomeSets(game.getHomeSets());
+        gameEntity.setGuestSets(game.getGuestSets());
+        gameEntity.setScore(game.getScore());
+        gameEntity.setContent(CompressedJson.encode(JsonConverters.GSON.toJson(game, GameDto.class)));
+        return gameEntity;
     }
 
-    public void deleteGame(String id) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mGameDao.deleteById(id));
+    public CompletableFuture<Void> deleteGame(String id) {
+        return mWriteQueue.submit("games/" + id, () -> mGameDao.deleteById(id));
     }
 
     public void deleteGames(Set<String> ids) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mGameDao.deleteByIdIn(ids));
+        mWriteQueue.submit(() -> mGameDao.deleteByIdIn(ids));
     }
 
     private boolean hasFullGameGame(String type) {
@@ -301,39 +419,78 @@ public class VbrRepository {
     }
 
     private IGame getFullGame(String type) {
-        String json = mFullGameDao.findContentByType(type);
-        return JsonConverters.GSON.fromJson(json, new TypeToken<BaseGame>() {}.getType());
+        byte[] content = mFullGameDao.findContentByType(type);
+        return content == null ? null : GameSnapshotCodec.decode(content);
     }
 
     private void insertFullGame(String type, IGame game, boolean syncInsertion) {
-        String json = JsonConverters.GSON.toJson(game, new TypeToken<BaseGame>() {}.getType());
-        final FullGameEntity fullGameEntity = new FullGameEntity(type, json);
+        final FullGameEntity fullGameEntity = new FullGameEntity(type, GameSnapshotCodec.encode(game));
 
-        if (syncInsertion) {
-            mFullGameDao.insert(fullGameEntity);
-        } else {
-            VbrDatabase.sDatabaseWriteExecutor.execute(() -> mFullGameDao.insert(fullGameEntity));
-        }
+        write(fullGameKey(type), () -> mFullGameDao.insert(fullGameEntity), syncInsertion);
     }
 
     private void deleteFullGame(String type) {
-        VbrDatabase.sDatabaseWriteExecutor.execute(() -> mFullGameDao.deleteByType(type));
+        mWriteQueue.submit(fullGameKey(type), () -> mFullGameDao.deleteByType(type));
     }
 
     public boolean hasCurrentGame() {
         return hasFullGameGame(sCurrentGame);
     }
 
+    public CompletableFuture<Boolean> hasCurrentGameAsync() {
+        return read(this::hasCurrentGame);
+    }
+
     public IGame getCurrentGame() {
-        return getFullGame(sCurrentGame);
+        IGame game = getFullGame(sCurrentGame);
+
+        if (game != null) {
+            // The snapshot is followed by the commands journaled since it was written
+            for (String json : mGameEventDao.listContentAfter(game.getId(), game.getJournalSeq())) {
+                game.applyGameCommand(JsonConverters.GSON.fromJson(json, GameCommand.class));
+            }
+        }
+
+        return game;
+    }
+
+    public CompletableFuture<IGame> getCurrentGameAsync() {
+        return read(this::getCurrentGame);
     }
 
     public void insertCurrentGame(IGame game, boolean syncInsertion) {
-        insertFullGame(sCurrentGame, game, syncInsertion);
+        final FullGameEntity fullGameEntity = new FullGameEntity(sCurrentGame, GameSnapshotCodec.encode(game));
+        final String gameId = game.getId();
+        final long journalSeq = game.getJournalSeq();
+
+        // The snapshot replaces the journaled commands it already contains, a newer snapshot supersedes it while it is queued
+        Runnable runnable = () -> {
+            mFullGameDao.insert(fullGameEntity);
+            mGameEventDao.deleteUpTo(gameId, journalSeq);
+            mGameEventDao.deleteOtherGames(gameId);
+        };
+
+        write(fullGameKey(sCurrentGame), runnable, syncInsertion);
+    }
+
+    /**
+     * Journals several commands in one transaction and waits until they are committed.
+     */
+    public void appendCurrentGameCommands(String gameId, List<GameCommand> commands) {
+        List<GameEventEntity> gameEventEntities = new ArrayList<>();
+
+        for (GameCommand command : commands) {
+            gameEventEntities.add(new GameEventEntity(gameId, command.getSeq(), JsonConverters.GSON.toJson(command, GameCommand.class)));
+        }
+
+        mWriteQueue.submitAndWait(null, () -> mGameEventDao.insertAll(gameEventEntities));
     }
 
     public void deleteCurrentGame() {
-        deleteFullGame(sCurrentGame);
+        mWriteQueue.submit(fullGameKey(sCurrentGame), () -> {
+            mFullGameDao.deleteByType(sCurrentGame);
+            mGameEventDao.deleteAll();
+        });
     }
 
     public boolean hasSetupGame() {
@@ -344,6 +501,10 @@ public class VbrRepository {
         return getFullGame(sSetupGame);
     }
 
+    public CompletableFuture<IGame> getSetupGameAsync() {
+        return read(this::getSetupGame);
+    }
+
     public void insertSetupGame(IGame game, boolean syncInsertion) {
         insertFullGame(sSetupGame, game, syncInsertion);
     }
@@ -351,4 +512,98 @@ public class VbrRepository {
     public void deleteSetupGame() {
         deleteFullGame(sSetupGame);
     }
+
+    /**
+     * Queues a message which supersedes the queued message with the same id, or all the queued messages of its game.
+     * The future completes once the message is committed.
+     */
+    public CompletableFuture<Void> insertOutboxMessage(OutboxEntity outboxEntity, boolean supersedeGameMessages) {
+        return mWriteQueue.submit("outbox/" + outboxEntity.getId(), () -> {
+            if (supersedeGameMessages) {
+                mOutboxDao.deleteByGameId(outboxEntity.getGameId());
+            }
+            mOutboxDao.insert(outboxEntity);
+        });
+    }
+
+    public OutboxEntity getFirstOutboxMessage() {
+        return mOutboxDao.findFirst();
+    }
+
+    // Not keyed, so that it never supersedes a newer version of the message which is still queued
+    public void deleteOutboxMessage(OutboxEntity outboxEntity) {
+        mWriteQueue.submitAndWait(null, () -> mOutboxDao.deleteByIdAndSeq(outboxEntity.getId(), outboxEntity.getSeq()));
+    }
+
+    public int countOutboxMessages() {
+        return mOutboxDao.count();
+    }
+
+    public WriteQueue.Stats getWriteQueueStats() {
+        return mWriteQueue.getStats();
+    }
+
+    /**
+     * The imported items are inserted as not synced, so that the next synchronization sends them to the server.
+     * Each item is one write of the queue, so that an item which fails is rolled back alone, and the import waits for the writes
+     * of the batch before reading the next batch.
+     */
+    private <T> StreamingImporter.Store<T> importStore(Function<String, Long> findUpdatedAt, Consumer<T> insert) {
+        return new StreamingImporter.Store<>() {
+            @Override
+            public Long findUpdatedAt(String id) {
+                return findUpdatedAt.apply(id);
+            }
+
+            @Override
+            public List<T> insertAll(List<T> items) {
+                List<CompletableFuture<Void>> writes = new ArrayList<>();
+                for (T item : items) {
+                    writes.add(mWriteQueue.submit(() -> insert.accept(item)));
+                }
+
+                List<T> committedItems = new ArrayList<>();
+                for (int index = 0; index < items.size(); index++) {
+                    try {
+                        writes.get(index).join();
+                        committedItems.add(items.get(index));
+                    } catch (CompletionException | CancellationException e) {
+                        Log.e(Tags.DATABASE, String.format("Failed to import an item: %s", e.getMessage()));
+                    }
+                }
+                return committedItems;
+            }
+        };
+    }
+
+    /**
+     * The returned future completes once the write is committed, an asynchronous write fails through it.
+     */
+    private CompletableFuture<Void> write(String key, Runnable write, boolean syncInsertion) {
+        if (syncInsertion) {
+            mWriteQueue.submitAndWait(key, write);
+            return CompletableFuture.completedFuture(null);
+        } else {
+            return mWriteQueue.submit(key, write);
+        }
+    }
+
+    private static String fullGameKey(String type) {
+        return "full_games/" + type;
+    }
+
+    /**
+     * Runs the read on the read executor, the future completes there and the callers move to the UI thread themselves.
+     */
+    public <T> CompletableFuture<T> read(Supplier<T> reader) {
+        return CompletableFuture.supplyAsync(reader, VbrDatabase.sDatabaseReadExecutor);
+    }
+
+    /**
+     * Runs a long job, such as an import reading a file and waiting for its writes, on the maintenance executor so that it holds
+     * neither the UI thread nor a read thread.
+     */
+    public <T> CompletableFuture<T> runInBackground(Supplier<T> job) {
+        return CompletableFuture.supplyAsync(job, VbrDatabase.sDatabaseMaintenanceExecutor);
+    }
 }
@@ -17,12 +17,12 @@ public class FullGameEntity {
     private String type;
 
     @NonNull
-    @ColumnInfo(name = "content")
-    private String content;
+    @ColumnInfo(name = "content", typeAffinity = ColumnInfo.BLOB)
+    private byte[] content;
 
     public FullGameEntity() {
         this.type = "";
-        this.content = "";
+        this.content = new byte[0];
     }
 
 }
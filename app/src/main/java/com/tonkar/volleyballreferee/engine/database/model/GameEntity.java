@@ -9,7 +9,7 @@ import com.tonkar.volleyballreferee.engine.team.GenderType;
 
 import lombok.*;
 
-@Entity(tableName = "games")
+@Entity(tableName = "games", indices = { @Index({ "scheduledAt", "id" }), @Index("kind"), @Index("leagueName") })
 @Getter
 @Setter
 public class GameEntity {
@@ -37,6 +37,9 @@ public class GameEntity {
     @SerializedName("refereedBy")
     private String refereedBy;
 
+    @ColumnInfo(name = "refereeName")
+    private String refereeName;
+
     @NonNull
     @ColumnInfo(name = "kind")
     private GameType kind;
@@ -74,6 +77,6 @@ public class GameEntity {
     private String score;
 
     @NonNull
-    @ColumnInfo(name = "content")
-    private String content;
+    @ColumnInfo(name = "content", typeAffinity = ColumnInfo.BLOB)
+    private byte[] content;
 }
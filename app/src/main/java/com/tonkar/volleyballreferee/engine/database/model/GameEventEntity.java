@@ -0,0 +1,31 @@
+package com.tonkar.volleyballreferee.engine.database.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.*;
+
+import lombok.*;
+
+@Entity(tableName = "game_events", primaryKeys = { "gameId", "seq" })
+@AllArgsConstructor
+@Getter
+@Setter
+public class GameEventEntity {
+
+    @NonNull
+    @ColumnInfo(name = "gameId")
+    private String gameId;
+
+    @ColumnInfo(name = "seq")
+    private long seq;
+
+    @NonNull
+    @ColumnInfo(name = "content")
+    private String content;
+
+    public GameEventEntity() {
+        this.gameId = "";
+        this.seq = 0L;
+        this.content = "";
+    }
+
+}
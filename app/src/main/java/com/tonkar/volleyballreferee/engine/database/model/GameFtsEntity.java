@@ -0,0 +1,30 @@
+package com.tonkar.volleyballreferee.engine.database.model;
+
+import androidx.room.*;
+
+import lombok.*;
+
+/**
+ * Full text index of the names of the stored games, kept in sync with the games table by the triggers of Room.
+ */
+@Fts4(contentEntity = GameEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "games_fts")
+@Getter
+@Setter
+public class GameFtsEntity {
+
+    @ColumnInfo(name = "homeTeamName")
+    private String homeTeamName;
+
+    @ColumnInfo(name = "guestTeamName")
+    private String guestTeamName;
+
+    @ColumnInfo(name = "leagueName")
+    private String leagueName;
+
+    @ColumnInfo(name = "divisionName")
+    private String divisionName;
+
+    @ColumnInfo(name = "refereeName")
+    private String refereeName;
+}
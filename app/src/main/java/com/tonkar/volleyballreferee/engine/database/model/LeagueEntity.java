@@ -39,8 +39,8 @@ public class LeagueEntity {
     private GameType kind;
 
     @NonNull
-    @ColumnInfo(name = "content")
-    private String content;
+    @ColumnInfo(name = "content", typeAffinity = ColumnInfo.BLOB)
+    private byte[] content;
 
     public LeagueEntity() {
         id = UUID.randomUUID().toString();
@@ -50,6 +50,6 @@ public class LeagueEntity {
         synced = false;
         kind = GameType.INDOOR;
         name = "";
-        content = "";
+        content = new byte[0];
     }
 }
@@ -0,0 +1,47 @@
+package com.tonkar.volleyballreferee.engine.database.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.*;
+
+import lombok.*;
+
+@Entity(tableName = "outbox", indices = { @Index("seq"), @Index("gameId") })
+@AllArgsConstructor
+@Getter
+@Setter
+public class OutboxEntity {
+
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "id")
+    private String id;
+
+    @NonNull
+    @ColumnInfo(name = "gameId")
+    private String gameId;
+
+    @NonNull
+    @ColumnInfo(name = "method")
+    private String method;
+
+    @NonNull
+    @ColumnInfo(name = "path")
+    private String path;
+
+    @NonNull
+    @ColumnInfo(name = "content", typeAffinity = ColumnInfo.BLOB)
+    private byte[] content;
+
+    @ColumnInfo(name = "seq")
+    private long seq;
+
+    public OutboxEntity() {
+        this.id = "";
+        this.gameId = "";
+        this.method = "";
+        this.path = "";
+        this.content = new byte[0];
+        this.seq = 0L;
+    }
+
+}
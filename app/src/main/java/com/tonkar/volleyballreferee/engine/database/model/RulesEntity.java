@@ -37,8 +37,8 @@ public class RulesEntity {
     private GameType kind;
 
     @NonNull
-    @ColumnInfo(name = "content")
-    private String content;
+    @ColumnInfo(name = "content", typeAffinity = ColumnInfo.BLOB)
+    private byte[] content;
 
     public RulesEntity() {
         id = "";
@@ -48,6 +48,6 @@ public class RulesEntity {
         synced = false;
         kind = GameType.INDOOR;
         name = "";
-        content = "";
+        content = new byte[0];
     }
 }
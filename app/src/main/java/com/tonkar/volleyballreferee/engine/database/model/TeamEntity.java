@@ -42,8 +42,8 @@ public class TeamEntity {
     private GenderType gender;
 
     @NonNull
-    @ColumnInfo(name = "content")
-    private String content;
+    @ColumnInfo(name = "content", typeAffinity = ColumnInfo.BLOB)
+    private byte[] content;
 
     public TeamEntity() {
         id = "";
@@ -54,6 +54,6 @@ public class TeamEntity {
         kind = GameType.INDOOR;
         gender = GenderType.MIXED;
         name = "";
-        content = "";
+        content = new byte[0];
     }
 }
@@ -5,4 +5,6 @@ public interface DataSynchronizationListener {
     void onSynchronizationSucceeded();
 
     void onSynchronizationFailed();
+
+    default void onSynchronizationProgress(int downloaded, int total) {}
 }
@@ -0,0 +1,167 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import android.content.Context;
+import android.net.*;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.tonkar.volleyballreferee.engine.*;
+import com.tonkar.volleyballreferee.engine.api.*;
+import com.tonkar.volleyballreferee.engine.api.model.*;
+import com.tonkar.volleyballreferee.engine.database.VbrRepository;
+import com.tonkar.volleyballreferee.engine.database.model.OutboxEntity;
+import com.tonkar.volleyballreferee.engine.game.*;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import okhttp3.*;
+
+/**
+ * Persistent outbox of the pushes of the live games to the server, sent by a single sender.
+ * A queued push is superseded by the newer push of the same set or game, and a push of the full game supersedes all the queued
+ * pushes of the game. The outbox is stored in the database, so that the pushes left by a killed process are sent at the next start.
+ */
+public class LiveOutbox implements OutboxSender.Store<OutboxEntity>, OutboxSender.Transport<OutboxEntity> {
+
+    private static final String POST  = "POST";
+    private static final String PATCH = "PATCH";
+
+    private static LiveOutbox sLiveOutbox;
+
+    private final Context                    mContext;
+    private final VbrRepository              mRepository;
+    private final OutboxSender<OutboxEntity> mSender;
+    private       long                       mLastSeq;
+
+    private LiveOutbox(Context context) {
+        mContext = context;
+        mRepository = new VbrRepository(context);
+        mSender = new OutboxSender<>("vbr-outbox-sender", this, this,
+                                     () -> PrefUtils.canSync(mContext) && VbrApi.isConnectedToInternet(mContext));
+
+        ConnectivityManager connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(@NonNull Network network) {
+                mSender.retryNow();
+            }
+        });
+
+        mSender.wake();
+    }
+
+    public static synchronized LiveOutbox getInstance(Context context) {
+        if (sLiveOutbox == null) {
+            sLiveOutbox = new LiveOutbox(context.getApplicationContext());
+        }
+
+        return sLiveOutbox;
+    }
+
+    public void pushGame(GameDto game) {
+        byte[] content = JsonConverters.GSON.toJson(game, GameDto.class).getBytes(StandardCharsets.UTF_8);
+        queue(new OutboxEntity("games/" + game.getId(), game.getId(), POST, "games/full", content, nextSeq()), true);
+    }
+
+    public void pushCurrentSet(StoredGame game) {
+        int setIndex = game.currentSetIndex();
+        String path = String.format(Locale.US, "games/%s/set/%d", game.getId(), 1 + setIndex);
+        byte[] content = JsonConverters.GSON.toJson(game.getSets().get(setIndex), SetDto.class).getBytes(StandardCharsets.UTF_8);
+        queue(new OutboxEntity(path, game.getId(), PATCH, path, content, nextSeq()), false);
+    }
+
+    public OutboxSender.Stats takeStats() {
+        return mSender.takeStats();
+    }
+
+    private void queue(OutboxEntity outboxEntity, boolean supersedeGameMessages) {
+        mRepository.insertOutboxMessage(outboxEntity, supersedeGameMessages).thenRun(mSender::wake);
+    }
+
+    // Orders the messages, and tells a message apart from its newer versions
+    private synchronized long nextSeq() {
+        mLastSeq = Math.max(System.currentTimeMillis(), mLastSeq + 1L);
+        return mLastSeq;
+    }
+
+    @Override
+    public OutboxEntity next() {
+        return mRepository.getFirstOutboxMessage();
+    }
+
+    @Override
+    public void remove(OutboxEntity outboxEntity) {
+        mRepository.deleteOutboxMessage(outboxEntity);
+    }
+
+    // The set may not be on the server yet, the full game is sent instead
+    @Override
+    public void reject(OutboxEntity outboxEntity) {
+        mRepository.deleteOutboxMessage(outboxEntity);
+
+        if (PATCH.equals(outboxEntity.getMethod())) {
+            IGame currentGame = mRepository.getCurrentGame();
+            GameDto game;
+
+            if (currentGame != null && currentGame.getId().equals(outboxEntity.getGameId())) {
+                game = StoredGame.fromGame(currentGame);
+            } else {
+                game = (GameDto) mRepository.getGame(outboxEntity.getGameId());
+            }
+
+            if (game != null) {
+                pushGame(game);
+            }
+        }
+    }
+
+    @Override
+    public int depth() {
+        return mRepository.countOutboxMessages();
+    }
+
+    @Override
+    public int size(OutboxEntity outboxEntity) {
+        return outboxEntity.getContent().length;
+    }
+
+    @Override
+    public void send(OutboxEntity outboxEntity, TransferResult result) {
+        VbrApi
+                .getInstance(mContext)
+                .sendOutboxMessage(outboxEntity.getMethod(), outboxEntity.getPath(), outboxEntity.getContent(), mContext, new Callback() {
+                    @Override
+                    public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                        call.cancel();
+                        result.failed(true);
+                    }
+
+                    @Override
+                    public void onResponse(@NonNull Call call, @NonNull Response response) {
+                        response.close();
+                        if (response.code() == HttpURLConnection.HTTP_OK) {
+                            onSent(outboxEntity);
+                            result.succeeded();
+                        } else {
+                            Log.e(Tags.STORED_GAMES, String.format(Locale.getDefault(), "Error %d while sending %s %s", response.code(),
+                                                                   outboxEntity.getMethod(), outboxEntity.getPath()));
+                            result.failed(DownloadCallback.isTransientFailure(response.code()));
+                        }
+                    }
+                });
+    }
+
+    // A completed game is synced once it is on the server
+    private void onSent(OutboxEntity outboxEntity) {
+        if (POST.equals(outboxEntity.getMethod())) {
+            GameDto game = JsonConverters.GSON.fromJson(new String(outboxEntity.getContent(), StandardCharsets.UTF_8), GameDto.class);
+            if (GameStatus.COMPLETED.equals(game.getStatus())) {
+                mRepository.insertGame(game, true, false);
+            }
+        }
+    }
+}
@@ -25,28 +25,34 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
 
 import okhttp3.*;
 
-public class StoredGamesManager implements StoredGamesService, ScoreListener, TeamListener, TimeoutListener, SanctionListener {
+public class StoredGamesManager implements StoredGamesService, ScoreListener, TeamListener, TimeoutListener, SanctionListener, GameCommandListener {
 
-    private final Context       mContext;
-    private final VbrRepository mRepository;
-    private       IGame         mGame;
-    private       StoredGame    mStoredGame;
+    // The commands of a burst (a rally and its consequences, quick corrections) are journaled in a single write
+    private static final long JOURNAL_WRITE_WINDOW_MILLIS = 1000L;
+
+    private final Context                     mContext;
+    private final VbrRepository               mRepository;
+    private final LiveOutbox                  mOutbox;
+    private       IGame                       mGame;
+    private       StoredGame                  mStoredGame;
+    private       boolean                     mSnapshotRequested;
+    private       WriteCoalescer<GameCommand> mJournalWriter;
 
     public StoredGamesManager(Context context) {
         mContext = context;
         mRepository = new VbrRepository(mContext);
+        mOutbox = LiveOutbox.getInstance(mContext);
     }
 
     @Override
     public void createCurrentGame(IGame game) {
         mGame = game;
 
-        if (hasSetupGame()) {
-            deleteSetupGame();
-        }
+        deleteSetupGame();
 
         createCurrentGame();
         saveCurrentGame(true);
@@ -62,7 +68,13 @@ public class StoredGamesManager implements StoredGamesService, ScoreListener, Te
         mGame.addTeamListener(this);
         mGame.addTimeoutListener(this);
         mGame.addSanctionListener(this);
+        mGame.addGameCommandListener(this);
 
+        mSnapshotRequested = false;
+        mOutbox.takeStats();
+        final String gameId = mGame.getId();
+        mJournalWriter = new WriteCoalescer<>(Executors.newSingleThreadScheduledExecutor(), JOURNAL_WRITE_WINDOW_MILLIS,
+                                              commands -> mRepository.appendCurrentGameCommands(gameId, commands));
         createCurrentGame();
         saveCurrentGame();
         pushCurrentGameToServer();
@@ -76,10 +88,19 @@ public class StoredGamesManager implements StoredGamesService, ScoreListener, Te
             saveCurrentGame();
         }
 
+        if (mJournalWriter != null) {
+            mJournalWriter.shutdown();
+            Log.i(Tags.STORED_GAMES, String.format("Journal of the current game: %s", mJournalWriter.getStats()));
+            Log.i(Tags.STORED_GAMES, String.format("Database write queue: %s", mRepository.getWriteQueueStats()));
+            Log.i(Tags.STORED_GAMES, String.format("Live outbox of the current game: %s", mOutbox.takeStats()));
+            mJournalWriter = null;
+        }
+
         mGame.removeScoreListener(this);
         mGame.removeTeamListener(this);
         mGame.removeTimeoutListener(this);
         mGame.removeSanctionListener(this);
+        mGame.removeGameCommandListener(this);
     }
 
     @Override
@@ -87,6 +108,16 @@ public class StoredGamesManager implements StoredGamesService, ScoreListener, Te
         return mRepository.listGames();
     }
 
+    @Override
+    public CompletableFuture<List<GameSummaryDto>> listGamesAsync() {
+        return mRepository.listGamesAsync();
+    }
+
+    @Override
+    public List<GameSummaryDto> listGames(String query, GameSummaryDto after, int limit) {
+        return mRepository.listGames(query, after, limit);
+    }
+
     @Override
     public IStoredGame getCurrentGame() {
         return mStoredGame;
@@ -94,7 +125,12 @@ public class StoredGamesManager implements StoredGamesService, ScoreListener, Te
 
     @Override
     public IStoredGame getGame(String id) {
-        return mRepository.getGame(id);
+        return mRepository.getLazyGame(id);
+    }
+
+    @Override
+    public CompletableFuture<IStoredGame> getGameAsync(String id) {
+        return mRepository.getLazyGameAsync(id);
     }
 
     @Override
@@ -121,14 +157,28 @@ public class StoredGamesManager implements StoredGamesService, ScoreListener, Te
         return mRepository.hasCurrentGame();
     }
 
+    @Override
+    public CompletableFuture<Boolean> hasCurrentGameAsync() {
+        return mRepository.hasCurrentGameAsync();
+    }
+
     @Override
     public IGame loadCurrentGame() {
         return mRepository.getCurrentGame();
     }
 
+    @Override
+    public CompletableFuture<IGame> loadCurrentGameAsync() {
+        return mRepository.getCurrentGameAsync();
+    }
+
     @Override
     public synchronized void saveCurrentGame(boolean syncInsertion) {
         updateCurrentGame();
+        if (mJournalWriter != null) {
+            // The snapshot contains the commands waiting to be journaled
+            mJournalWriter.discard();
+        }
         if (!mGame.isMatchCompleted()) {
             mRepository.insertCurrentGame(mGame, syncInsertion);
         }
@@ -139,6 +189,13 @@ public class StoredGamesManager implements StoredGamesService, ScoreListener, Te
         saveCurrentGame(false);
     }
 
+    @Override
+    public synchronized void flushCurrentGame() {
+        if (mJournalWriter != null) {
+            mJournalWriter.flush();
+        }
+    }
+
     public void applySetupLineupToFirstSet() {
         if (mGame == null || mStoredGame == null) return;
         final int setIndex = 0;
@@ -170,6 +227,11 @@ public void deleteCurrentGame() {
         return mRepository.getSetupGame();
     }
 
+    @Override
+    public CompletableFuture<IGame> loadSetupGameAsync() {
+        return mRepository.getSetupGameAsync();
+    }
+
     @Override
     public void saveSetupGame(IGame game) {
         mRepository.insertSetupGame(game, true);
@@ -180,8 +242,25 @@ public void deleteCurrentGame() {
         mRepository.deleteSetupGame();
     }
 
+    @Override
+    public void onGameCommand(GameCommand command) {
+        if (!mGame.isMatchCompleted()) {
+            if (mSnapshotRequested) {
+                // Compact the journal once the command that ended the set or confirmed a lineup is complete
+                mSnapshotRequested = false;
+                saveCurrentGame(true);
+            } else {
+                mJournalWriter.submit(command);
+            }
+        }
+    }
+
     @Override
     public void onMatchCompleted(TeamType winner) {
+        if (mJournalWriter != null) {
+            // The completed game is stored whole and the current game is deleted, its journal is no longer needed
+            mJournalWriter.discard();
+        }
         updateCurrentGame();
         if (mStoredGame != null) {
             mRepository.insertGame(mStoredGame, false, true);
@@ -192,7 +271,7 @@ public void deleteCurrentGame() {
 
     @Override
     public void onPointsUpdated(TeamType teamType, int newCount) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentSetToServer();
     }
 
@@ -204,24 +283,26 @@ public void deleteCurrentGame() {
 
     @Override
     public void onSetStarted() {
-        saveCurrentGame();
+        updateCurrentGame();
+        mSnapshotRequested = true;
         pushCurrentGameToServer();
     }
 
     @Override
     public void onSetCompleted() {
-        saveCurrentGame(true);
+        mSnapshotRequested = true;
     }
 
     @Override
     public void onStartingLineupSubmitted(TeamType teamType) {
-        saveCurrentGame();
+        updateCurrentGame();
+        mSnapshotRequested = true;
         pushCurrentGameToServer();
     }
 
     @Override
     public void onTeamsSwapped(TeamType leftTeamType, TeamType rightTeamType, ActionOriginType actionOriginType) {
-        saveCurrentGame();
+        updateCurrentGame();
     }
 
     @Override
@@ -238,31 +319,31 @@ public void deleteCurrentGame() {
             if (lastEmpty) set = set - 1;
         }
 
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentSetToServer();
     }
 
     @Override
     public void onTeamRotated(TeamType teamType, boolean clockwise) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentSetToServer();
     }
 
     @Override
     public void onTimeoutUpdated(TeamType teamType, int maxCount, int newCount) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentGameToServer();
     }
 
     @Override
     public void onTimeout(TeamType teamType, int duration) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentGameToServer();
     }
 
     @Override
     public void onTechnicalTimeout(int duration) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentGameToServer();
     }
 
@@ -271,210 +352,40 @@ public void deleteCurrentGame() {
 
     @Override
     public void onSanction(TeamType teamType, SanctionType sanctionType, int number) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentGameToServer();
     }
 
     @Override
     public void onUndoSanction(TeamType teamType, SanctionType sanctionType, int number) {
-        saveCurrentGame();
+        updateCurrentGame();
         pushCurrentGameToServer();
     }
 
     private void createCurrentGame() {
-        mStoredGame = new StoredGame();
-        mStoredGame.setId(mGame.getId());
-        mStoredGame.setCreatedBy(mGame.getCreatedBy());
-        mStoredGame.setCreatedAt(mGame.getCreatedAt());
-        mStoredGame.setUpdatedAt(mGame.getUpdatedAt());
-        mStoredGame.setScheduledAt(mGame.getScheduledAt());
-        mStoredGame.setRefereedBy(mGame.getRefereedBy());
-        mStoredGame.setRefereeName(mGame.getRefereeName());
-        mStoredGame.setReferee1Name(mGame.getReferee1Name());
-        mStoredGame.setReferee2Name(mGame.getReferee2Name());
-        mStoredGame.setScorerName(mGame.getScorerName());
-        mStoredGame.setKind(mGame.getKind());
-        mStoredGame.setGender(mGame.getGender());
-        mStoredGame.setUsage(mGame.getUsage());
-        mStoredGame.setStatus(mGame.getMatchStatus());
-        if (mGame.getLeague() != null && mGame.getKind().equals(mGame.getLeague().getKind()) && mGame
-                .getLeague()
-                .getName()
-                .length() > 1 && mGame.getLeague().getDivision().length() > 1) {
-            SelectedLeagueDto league = new SelectedLeagueDto();
-            league.setAll(mGame.getLeague());
-            mStoredGame.setLeague(league);
-        } else {
-            mStoredGame.setLeague(null);
-        }
-
-        TeamDto homeTeam = mStoredGame.getTeam(TeamType.HOME);
-        homeTeam.setId(mGame.getTeamId(TeamType.HOME));
-        homeTeam.setCreatedBy(mGame.getCreatedBy(TeamType.HOME));
-        homeTeam.setCreatedAt(mGame.getCreatedAt(TeamType.HOME));
-        homeTeam.setUpdatedAt(mGame.getUpdatedAt(TeamType.HOME));
-        homeTeam.setKind(mGame.getTeamsKind());
-        homeTeam.setGender(mGame.getGender(TeamType.HOME));
-        homeTeam.setName(mGame.getTeamName(TeamType.HOME));
-        homeTeam.setColorInt(mGame.getTeamColor(TeamType.HOME));
-        homeTeam.setLiberoColorInt(mGame.getLiberoColor(TeamType.HOME));
-        homeTeam.setCaptain(mGame.getCaptain(TeamType.HOME));
-        homeTeam.setCoach(mGame.getCoachName(TeamType.HOME));
-
-        for (PlayerDto player : mGame.getPlayers(TeamType.HOME)) {
-            if (mGame.isLibero(TeamType.HOME, player.getNum())) {
-                homeTeam.getLiberos().add(player);
-            } else {
-                homeTeam.getPlayers().add(player);
-            }
-        }
-
-        TeamDto guestTeam = mStoredGame.getTeam(TeamType.GUEST);
-        guestTeam.setId(mGame.getTeamId(TeamType.GUEST));
-        guestTeam.setCreatedBy(mGame.getCreatedBy(TeamType.GUEST));
-        guestTeam.setCreatedAt(mGame.getCreatedAt(TeamType.GUEST));
-        guestTeam.setUpdatedAt(mGame.getUpdatedAt(TeamType.GUEST));
-        guestTeam.setKind(mGame.getTeamsKind());
-        guestTeam.setGender(mGame.getGender(TeamType.GUEST));
-        guestTeam.setName(mGame.getTeamName(TeamType.GUEST));
-        guestTeam.setColorInt(mGame.getTeamColor(TeamType.GUEST));
-        guestTeam.setLiberoColorInt(mGame.getLiberoColor(TeamType.GUEST));
-        guestTeam.setCaptain(mGame.getCaptain(TeamType.GUEST));
-        guestTeam.setCoach(mGame.getCoachName(TeamType.GUEST));
-
-        for (PlayerDto player : mGame.getPlayers(TeamType.GUEST)) {
-            if (mGame.isLibero(TeamType.GUEST, player.getNum())) {
-                guestTeam.getLiberos().add(player);
-            } else {
-                guestTeam.getPlayers().add(player);
-            }
-        }
-
-        mStoredGame.setRules(mGame.getRules());
-
-        updateCurrentGame();
+        mStoredGame = StoredGame.fromGame(mGame);
     }
 
     private void updateCurrentGame() {
         if (mStoredGame != null) {
-            mStoredGame.setUpdatedAt(Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime());
-            mStoredGame.setMatchStatus(mGame.isMatchCompleted() ? GameStatus.COMPLETED : GameStatus.LIVE);
-            mStoredGame.setSets(TeamType.HOME, mGame.getSets(TeamType.HOME));
-            mStoredGame.setSets(TeamType.GUEST, mGame.getSets(TeamType.GUEST));
-            mStoredGame.setScore(mGame.getScore());
-            mStoredGame.setStartTime(mGame.getStartTime());
-            mStoredGame.setEndTime(mGame.getEndTime());
-
-            mStoredGame.getSets().clear();
-
-            for (int setIndex = 0; setIndex < mGame.getNumberOfSets(); setIndex++) {
-                SetDto set = new SetDto();
-
-                set.setDuration(mGame.getSetDuration(setIndex));
-                set.setStartTime(mGame.getSetStartTime(setIndex));
-                set.setEndTime(mGame.getSetEndTime(setIndex));
-                set.getLadder().addAll(mGame.getPointsLadder(setIndex));
-                set.setServing(mGame.getServingTeam(setIndex));
-                set.setFirstServing(mGame.getFirstServingTeam(setIndex));
-
-                set.setPoints(TeamType.HOME, mGame.getPoints(TeamType.HOME, setIndex));
-                set.setTimeouts(TeamType.HOME, mGame.countRemainingTimeouts(TeamType.HOME, setIndex));
-
-                CourtDto homeCurrentPlayers = set.getCurrentPlayers(TeamType.HOME);
-                for (PositionType position : PositionType.listPositions(mGame.getKind())) {
-                    homeCurrentPlayers.setPlayerAt(mGame.getPlayerAtPosition(TeamType.HOME, position, setIndex), position);
-                }
-
-                for (TimeoutDto timeout : mGame.getCalledTimeouts(TeamType.HOME, setIndex)) {
-                    set.getCalledTimeouts(TeamType.HOME).add(new TimeoutDto(timeout.getHomePoints(), timeout.getGuestPoints()));
-                }
-
-                set.setPoints(TeamType.GUEST, mGame.getPoints(TeamType.GUEST, setIndex));
-                set.setTimeouts(TeamType.GUEST, mGame.countRemainingTimeouts(TeamType.GUEST, setIndex));
-
-                CourtDto guestCurrentPlayers = set.getCurrentPlayers(TeamType.GUEST);
-                for (PositionType position : PositionType.listPositions(mGame.getKind())) {
-                    guestCurrentPlayers.setPlayerAt(mGame.getPlayerAtPosition(TeamType.GUEST, position, setIndex), position);
-                }
-
-                for (TimeoutDto timeout : mGame.getCalledTimeouts(TeamType.GUEST, setIndex)) {
-                    set.getCalledTimeouts(TeamType.GUEST).add(new TimeoutDto(timeout.getHomePoints(), timeout.getGuestPoints()));
-                }
-
-                if (mGame instanceof IClassicTeam indoorTeam) {
-
-                    CourtDto homeStartingPlayers = set.getStartingPlayers(TeamType.HOME);
-                    for (PositionType position : PositionType.listPositions(mGame.getKind())) {
-                        homeStartingPlayers.setPlayerAt(mGame.getPlayerAtPositionInStartingLineup(TeamType.HOME, position, setIndex),
-                                                        position);
-                    }
-
-                    for (SubstitutionDto substitution : indoorTeam.getSubstitutions(TeamType.HOME, setIndex)) {
-                        set
-                                .getSubstitutions(TeamType.HOME)
-                                .add(new SubstitutionDto(substitution.getPlayerIn(), substitution.getPlayerOut(),
-                                                         substitution.getHomePoints(), substitution.getGuestPoints()));
-                    }
-
-                    CourtDto guestStartingPlayers = set.getStartingPlayers(TeamType.GUEST);
-                    for (PositionType position : PositionType.listPositions(mGame.getKind())) {
-                        guestStartingPlayers.setPlayerAt(mGame.getPlayerAtPositionInStartingLineup(TeamType.GUEST, position, setIndex),
-                                                         position);
-                    }
-
-                    for (SubstitutionDto substitution : indoorTeam.getSubstitutions(TeamType.GUEST, setIndex)) {
-                        set
-                                .getSubstitutions(TeamType.GUEST)
-                                .add(new SubstitutionDto(substitution.getPlayerIn(), substitution.getPlayerOut(),
-                                                         substitution.getHomePoints(), substitution.getGuestPoints()));
-                    }
-
-                    set.setGameCaptain(TeamType.HOME, indoorTeam.getGameCaptain(TeamType.HOME, setIndex));
-                    set.setGameCaptain(TeamType.GUEST, indoorTeam.getGameCaptain(TeamType.GUEST, setIndex));
-                }
-
-                mStoredGame.getSets().add(set);
-            }
-
-            
-
-            // Prune a trailing empty set to avoid shifting the 'current' set index.
-            int lastIndex = mStoredGame.getNumberOfSets() - 1;
-            if (lastIndex > 0) {
-                boolean noPoints = mStoredGame.getPoints(TeamType.HOME, lastIndex) == 0
-                        && mStoredGame.getPoints(TeamType.GUEST, lastIndex) == 0;
-                boolean noSubs = mStoredGame.getSubstitutions(TeamType.HOME, lastIndex).isEmpty()
-                        && mStoredGame.getSubstitutions(TeamType.GUEST, lastIndex).isEmpty();
-                boolean noLineup = !mStoredGame.isStartingLineupConfirmed(TeamType.HOME, lastIndex)
-                        && !mStoredGame.isStartingLineupConfirmed(TeamType.GUEST, lastIndex);
-                if (noPoints && noSubs && noLineup) {
-                    mStoredGame.getSets().remove(lastIndex);
-                }
-            }
-mStoredGame.getAllSanctions(TeamType.HOME).clear();
-
-            for (SanctionDto sanction : mGame.getAllSanctions(TeamType.HOME)) {
-                mStoredGame
-                        .getAllSanctions(TeamType.HOME)
-                        .add(new SanctionDto(sanction.getCard(), sanction.getNum(), sanction.getSet(), sanction.getHomePoints(),
-                                             sanction.getGuestPoints()));
-            }
-
-            mStoredGame.getAllSanctions(TeamType.GUEST).clear();
-
-            for (SanctionDto sanction : mGame.getAllSanctions(TeamType.GUEST)) {
-                mStoredGame
-                        .getAllSanctions(TeamType.GUEST)
-                        .add(new SanctionDto(sanction.getCard(), sanction.getNum(), sanction.getSet(), sanction.getHomePoints(),
-                                             sanction.getGuestPoints()));
-            }
+            mStoredGame.updateFromGame(mGame);
         }
     }
 
-    public static List<StoredGame> readStoredGamesStream(InputStream inputStream) throws IOException, JsonParseException {
-        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            return JsonConverters.GSON.fromJson(reader, new TypeToken<List<StoredGame>>() {}.getType());
-        }
+    @Override
+    public StreamingImporter.Report importGames(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Report report = mRepository.importGames(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                                                                  StreamingImporter.DEFAULT_BATCH_SIZE, this::validateImportedGame, listener);
+        Log.i(Tags.STORED_GAMES, String.format("Imported games: %s", report));
+        return report;
+    }
+
+    // Every value read to store the game is checked here, so that no write of the import fails
+    private boolean validateImportedGame(GameDto game) {
+        boolean valid = game.getKind() != null && game.getGender() != null && game.getUsage() != null;
+        valid = valid && game.getHomeTeam() != null && game.getHomeTeam().getName() != null;
+        valid = valid && game.getGuestTeam() != null && game.getGuestTeam().getName() != null;
+        return valid && game.getSets() != null && !game.getSets().contains(null);
     }
 
     public static StoredGame byteArrayToStoredGame(byte[] bytes) throws IOException, JsonParseException {
@@ -483,11 +394,12 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
         }
     }
 
-    public static void writeStoredGamesStream(OutputStream outputStream,
-                                              List<StoredGame> storedGames) throws JsonParseException, IOException {
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-        JsonConverters.GSON.toJson(storedGames, new TypeToken<List<StoredGame>>() {}.getType(), writer);
-        writer.close();
+    @Override
+    public int exportGames(OutputStream outputStream, boolean gzip) throws IOException {
+        long startMillis = System.currentTimeMillis();
+        int count = mRepository.exportGames(outputStream, gzip);
+        Log.i(Tags.STORED_GAMES, String.format("Exported %d games in %d ms", count, System.currentTimeMillis() - startMillis));
+        return count;
     }
 
     public static byte[] storedGameToByteArray(StoredGame game) throws JsonParseException {
@@ -508,7 +420,7 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            StoredGame storedGame = JsonConverters.GSON.fromJson(body.string(), StoredGame.class);
+                            StoredGame storedGame = ResponseDecoder.decode("games/{id}", body.byteStream(), StoredGame.class);
                             listener.onGameReceived(storedGame);
                         }
                     } else {
@@ -536,8 +448,8 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            List<GameSummaryDto> games = JsonConverters.GSON.fromJson(body.string(),
-                                                                                      new TypeToken<List<GameSummaryDto>>() {}.getType());
+                            List<GameSummaryDto> games = new ArrayList<>();
+                            ResponseDecoder.decodeArray("games/available", body.byteStream(), GameSummaryDto.class, games::add);
                             listener.onAvailableGamesReceived(games);
                         }
                     } else {
@@ -651,30 +563,25 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
         }
     }
 
+    // The live pushes go through the outbox, which sends only the newest state of the set or of the game
     private synchronized void pushCurrentGameToServer() {
-        pushGameToServer(mStoredGame);
+        if (canPushCurrentGame()) {
+            mOutbox.pushGame(mStoredGame);
+        }
     }
 
     private synchronized void pushCurrentSetToServer() {
-        if (PrefUtils.canSync(mContext) && mStoredGame != null && !mStoredGame
+        if (canPushCurrentGame()) {
+            mOutbox.pushCurrentSet(mStoredGame);
+        }
+    }
+
+    // The pushes are queued even offline, the outbox sends them once the device is back online
+    private boolean canPushCurrentGame() {
+        return PrefUtils.hasServerUrl(mContext) && PrefUtils.isSignedIn(mContext) && mStoredGame != null && !mStoredGame
                 .getHomeTeam()
                 .getId()
-                .equals(mStoredGame.getGuestTeam().getId())) {
-            VbrApi.getInstance(mContext).updateSet(mStoredGame, mContext, new Callback() {
-                @Override
-                public void onFailure(@NonNull Call call, @NonNull IOException e) {
-                    call.cancel();
-                }
-
-                @Override
-                public void onResponse(@NonNull Call call, @NonNull Response response) {
-                    if (response.code() != HttpURLConnection.HTTP_OK) {
-                        Log.e(Tags.STORED_GAMES, String.format(Locale.getDefault(), "Error %d while patching set", response.code()));
-                        pushCurrentGameToServer();
-                    }
-                }
-            });
-        }
+                .equals(mStoredGame.getGuestTeam().getId());
     }
 
     @Override
@@ -685,7 +592,7 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
     @Override
     public void syncGames(final DataSynchronizationListener listener) {
         if (PrefUtils.canSync(mContext)) {
-            syncGames(new ArrayList<>(), 0, 50, listener);
+            syncGames(PrefUtils.getSyncCursor(mContext, PrefUtils.SYNC_GAMES), new ArrayList<>(), new ArrayList<>(), 0, 50, listener);
         } else {
             if (listener != null) {
                 listener.onSynchronizationFailed();
@@ -693,8 +600,10 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
         }
     }
 
-    private void syncGames(List<GameSummaryDto> remoteGameList, int page, int size, DataSynchronizationListener listener) {
-        VbrApi.getInstance(mContext).getCompletedGames(page, size, mContext, new Callback() {
+    // With a cursor, only the games changed since the last sync are listed, otherwise all the games are listed and fully reconciled
+    private void syncGames(long since, List<GameSummaryDto> remoteGameList, List<String> deletedGameIds, int page, int size,
+                           DataSynchronizationListener listener) {
+        VbrApi.getInstance(mContext).getCompletedGames(page, size, since, mContext, new Callback() {
             @Override
             public void onFailure(@NonNull Call call, @NonNull IOException e) {
                 call.cancel();
@@ -707,15 +616,23 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
             public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                 if (response.code() == HttpURLConnection.HTTP_OK) {
                     try (ResponseBody body = response.body()) {
-                        PageDto<GameSummaryDto> gamesPage = JsonConverters.GSON.fromJson(body.string(),
-                                                                                         new TypeToken<PageDto<GameSummaryDto>>() {}.getType());
-                        remoteGameList.addAll(gamesPage.getContent());
-                        if (gamesPage.isLast()) {
-                            syncGames(remoteGameList, listener);
+                        DeltaPageDto<?> gamesPage = ResponseDecoder.decodePage("games/completed", body.byteStream(), DeltaPageDto.class,
+                                                                               GameSummaryDto.class, remoteGameList::add);
+                        if (gamesPage.getDeleted() != null) {
+                            deletedGameIds.addAll(gamesPage.getDeleted());
+                        }
+                        if (!gamesPage.isLast()) {
+                            syncGames(since, remoteGameList, deletedGameIds, page + 1, size, listener);
+                        } else if (since > 0L && gamesPage.getCursor() > 0L) {
+                            syncGameChanges(remoteGameList, deletedGameIds, gamesPage.getCursor(), listener);
                         } else {
-                            syncGames(remoteGameList, page + 1, size, listener);
+                            // A server which does not know the cursor lists all the games
+                            syncGames(remoteGameList, gamesPage.getCursor(), listener);
                         }
                     }
+                } else if (since > 0L && response.code() == HttpURLConnection.HTTP_GONE) {
+                    Log.i(Tags.STORED_GAMES, "The games sync cursor expired, reconcile all the games");
+                    syncGames(0L, new ArrayList<>(), new ArrayList<>(), 0, size, listener);
                 } else {
                     Log.e(Tags.STORED_GAMES, String.format(Locale.getDefault(), "Error %d while synchronising games", response.code()));
                     if (listener != null) {
@@ -726,16 +643,60 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
         });
     }
 
-    private void syncGames(List<GameSummaryDto> remoteGameList, DataSynchronizationListener listener) {
+    private void syncGameChanges(List<GameSummaryDto> updatedRemoteGames, List<String> deletedRemoteGameIds, long cursor,
+                                 DataSynchronizationListener listener) {
+        Map<String, GameSummaryDto> localGames = new HashMap<>();
+
+        for (GameSummaryDto localGame : listGames()) {
+            if (StringUtils.isBlank(localGame.getCreatedBy())) {
+                // The games stored before the purchase of the web services get the user id during a full reconciliation
+                syncGames(0L, new ArrayList<>(), new ArrayList<>(), 0, 50, listener);
+                return;
+            }
+            localGames.put(localGame.getId(), localGame);
+        }
+
+        List<GameSummaryDto> remoteGamesToDownload = new ArrayList<>();
+        List<CompletableFuture<Void>> localWrites = new ArrayList<>();
+
+        for (String id : deletedRemoteGameIds) {
+            GameSummaryDto localGame = localGames.get(id);
+            if (localGame != null && localGame.isSynced()) {
+                localWrites.add(mRepository.deleteGame(id));
+                localGames.remove(id);
+            }
+        }
+
+        for (GameSummaryDto remoteGame : updatedRemoteGames) {
+            GameSummaryDto localGame = localGames.remove(remoteGame.getId());
+
+            if (localGame == null || localGame.getUpdatedAt() < remoteGame.getUpdatedAt()) {
+                remoteGamesToDownload.add(remoteGame);
+            } else if (localGame.getUpdatedAt() > remoteGame.getUpdatedAt()) {
+                pushGameToServer(mRepository.getGame(localGame.getId()));
+            }
+        }
+
+        // The games which were not synced, because sending them failed, are sent again
+        for (GameSummaryDto localGame : localGames.values()) {
+            if (!localGame.isSynced()) {
+                pushGameToServer(mRepository.getGame(localGame.getId()));
+            }
+        }
+
+        downloadGames(remoteGamesToDownload, localWrites, cursor, listener);
+    }
+
+    private void syncGames(List<GameSummaryDto> remoteGameList, long cursor, DataSynchronizationListener listener) {
         UserSummaryDto user = PrefUtils.getUser(mContext);
         List<GameSummaryDto> localGameList = listGames();
-        Queue<GameSummaryDto> remoteGamesToDownload = new LinkedList<>();
+        List<GameSummaryDto> remoteGamesToDownload = new ArrayList<>();
         boolean afterPurchase = false;
 
         // User purchased web services, write his user id
         for (GameSummaryDto localGame : localGameList) {
             if (StringUtils.isBlank(localGame.getCreatedBy())) {
-                StoredGame game = (StoredGame) getGame(localGame.getId());
+                StoredGame game = (StoredGame) mRepository.getGame(localGame.getId());
                 game.setCreatedBy(user.getId());
                 game.setRefereedBy(user.getId());
                 game.setRefereeName(user.getPseudo());
@@ -749,84 +710,67 @@ mStoredGame.getAllSanctions(TeamType.HOME).clear();
             localGameList = listGames();
         }
 
-        for (GameSummaryDto localGame : localGameList) {
-            boolean foundRemoteVersion = false;
-
-            for (GameSummaryDto remoteGame : remoteGameList) {
-                if (localGame.getId().equals(remoteGame.getId())) {
-                    foundRemoteVersion = true;
-
-                    if (localGame.getUpdatedAt() < remoteGame.getUpdatedAt()) {
-                        remoteGamesToDownload.add(remoteGame);
-                    } else if (localGame.getUpdatedAt() > remoteGame.getUpdatedAt()) {
-                        StoredGame game = (StoredGame) getGame(localGame.getId());
-                        pushGameToServer(game);
-                    }
-                }
-            }
+        Reconciliation<GameSummaryDto> reconciliation = Reconciliation.reconcile(localGameList, remoteGameList, GameSummaryDto::getId,
+                                                                                 GameSummaryDto::getUpdatedAt, GameSummaryDto::isSynced);
+        Log.i(Tags.STORED_GAMES, String.format("Sync games: %s", reconciliation));
 
-            if (!foundRemoteVersion) {
-                if (localGame.isSynced()) {
-                    // if the game was synced, then it was deleted from the server and it must be deleted locally
-                    deleteGame(localGame.getId());
-                } else {
-                    // if the game was not synced, then it is missing from the server because sending it must have failed, so send it again
-                    StoredGame game = (StoredGame) getGame(localGame.getId());
-                    pushGameToServer(game);
-                }
-            }
+        for (GameSummaryDto localGame : reconciliation.getToUpdateRemotely()) {
+            pushGameToServer((StoredGame) mRepository.getGame(localGame.getId()));
         }
 
-        for (GameSummaryDto remoteGame : remoteGameList) {
-            boolean foundLocalVersion = false;
+        List<CompletableFuture<Void>> localWrites = new ArrayList<>();
 
-            for (GameSummaryDto localGame : localGameList) {
-                if (localGame.getId().equals(remoteGame.getId())) {
-                    foundLocalVersion = true;
-                    break;
-                }
-            }
+        // if the game was synced, then it was deleted from the server and it must be deleted locally
+        for (GameSummaryDto localGame : reconciliation.getToDeleteLocally()) {
+            localWrites.add(mRepository.deleteGame(localGame.getId()));
+            deleteGameOnServer(localGame.getId());
+        }
 
-            if (!foundLocalVersion) {
-                remoteGamesToDownload.add(remoteGame);
-            }
+        // if the game was not synced, then it is missing from the server because sending it must have failed, so send it again
+        for (GameSummaryDto localGame : reconciliation.getToCreateRemotely()) {
+            pushGameToServer((StoredGame) mRepository.getGame(localGame.getId()));
         }
 
-        downloadGamesRecursive(remoteGamesToDownload, listener);
+        remoteGamesToDownload.addAll(reconciliation.getToDownload());
+        downloadGames(remoteGamesToDownload, localWrites, cursor, listener);
     }
 
-    private void downloadGamesRecursive(final Queue<GameSummaryDto> remoteGames, final DataSynchronizationListener listener) {
-        if (remoteGames.isEmpty()) {
-            if (listener != null) {
-                listener.onSynchronizationSucceeded();
-            }
-        } else {
-            GameSummaryDto remoteGame = remoteGames.poll();
-            VbrApi.getInstance(mContext).getGame(remoteGame.getId(), mContext, new Callback() {
-                @Override
-                public void onFailure(@NonNull Call call, @NonNull IOException e) {
-                    call.cancel();
-                    if (listener != null) {
-                        listener.onSynchronizationFailed();
-                    }
+    /**
+     * The cursor is saved once the downloaded games and the local writes of the sync are committed, so that a failed write is synced again.
+     */
+    private void downloadGames(Collection<GameSummaryDto> remoteGames, List<CompletableFuture<Void>> localWrites, long cursor,
+                               DataSynchronizationListener listener) {
+        DownloadPipeline.Downloader<GameSummaryDto> downloader = (remoteGame, result) -> VbrApi
+                .getInstance(mContext)
+                .getGame(remoteGame.getId(), mContext,
+                         new DownloadCallback<>(Tags.STORED_GAMES, "games/{id}", GameDto.class,
+                                                game -> mRepository.insertGame(game, true, false), result));
+        DownloadPipeline<GameSummaryDto> pipeline = new DownloadPipeline<>(downloader, VbrApi.SYNC_DOWNLOAD_CONCURRENCY);
+
+        pipeline.start(remoteGames, new DownloadPipeline.Listener() {
+            @Override
+            public void onProgress(int downloaded, int total) {
+                if (listener != null) {
+                    listener.onSynchronizationProgress(downloaded, total);
                 }
+            }
 
-                @Override
-                public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
-                    if (response.code() == HttpURLConnection.HTTP_OK) {
-                        try (ResponseBody body = response.body()) {
-                            GameDto game = JsonConverters.GSON.fromJson(body.string(), GameDto.class);
-                            mRepository.insertGame(game, true, false);
-                            downloadGamesRecursive(remoteGames, listener);
-                        }
-                    } else {
-                        Log.e(Tags.STORED_GAMES, String.format(Locale.getDefault(), "Error %d while synchronising games", response.code()));
-                        if (listener != null) {
+            @Override
+            public void onCompleted(boolean succeeded) {
+                CompletableFuture.allOf(localWrites.toArray(new CompletableFuture[0])).whenComplete((ignored, throwable) -> {
+                    boolean committed = succeeded && throwable == null;
+                    if (committed && cursor > 0L) {
+                        PrefUtils.setSyncCursor(mContext, PrefUtils.SYNC_GAMES, cursor);
+                    }
+                    if (listener != null) {
+                        if (committed) {
+                            listener.onSynchronizationSucceeded();
+                        } else {
                             listener.onSynchronizationFailed();
                         }
                     }
-                }
-            });
-        }
+                });
+            }
+        });
     }
 }
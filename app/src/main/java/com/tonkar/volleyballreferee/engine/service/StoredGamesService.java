@@ -1,9 +1,12 @@
 package com.tonkar.volleyballreferee.engine.service;
 
+import com.tonkar.volleyballreferee.engine.api.StreamingImporter;
 import com.tonkar.volleyballreferee.engine.api.model.GameSummaryDto;
 import com.tonkar.volleyballreferee.engine.game.IGame;
 
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public interface StoredGamesService {
 
@@ -15,32 +18,50 @@ public interface StoredGamesService {
 
     List<GameSummaryDto> listGames();
 
+    CompletableFuture<List<GameSummaryDto>> listGamesAsync();
+
+    List<GameSummaryDto> listGames(String query, GameSummaryDto after, int limit);
+
     IStoredGame getCurrentGame();
 
     IStoredGame getGame(String id);
 
+    CompletableFuture<IStoredGame> getGameAsync(String id);
+
     void deleteGame(String id);
 
     void deleteGames(Set<String> ids, DataSynchronizationListener listener);
 
     boolean hasCurrentGame();
 
+    CompletableFuture<Boolean> hasCurrentGameAsync();
+
     IGame loadCurrentGame();
 
+    CompletableFuture<IGame> loadCurrentGameAsync();
+
     void saveCurrentGame(boolean syncInsertion);
 
     void saveCurrentGame();
 
+    void flushCurrentGame();
+
     void deleteCurrentGame();
 
     boolean hasSetupGame();
 
     IGame loadSetupGame();
 
+    CompletableFuture<IGame> loadSetupGameAsync();
+
     void saveSetupGame(IGame game);
 
     void deleteSetupGame();
 
+    StreamingImporter.Report importGames(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException;
+
+    int exportGames(OutputStream outputStream, boolean gzip) throws IOException;
+
     void syncGames();
 
     void syncGames(DataSynchronizationListener listener);
@@ -7,7 +7,6 @@ import androidx.annotation.NonNull;
 
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
 import com.tonkar.volleyballreferee.engine.*;
 import com.tonkar.volleyballreferee.engine.api.*;
 import com.tonkar.volleyballreferee.engine.api.model.*;
@@ -20,6 +19,7 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import okhttp3.*;
 
@@ -43,12 +43,22 @@ public class StoredLeaguesManager implements StoredLeaguesService {
         return mRepository.listLeagues(kind);
     }
 
+    @Override
+    public CompletableFuture<List<LeagueSummaryDto>> listLeaguesAsync(GameType kind) {
+        return mRepository.listLeaguesAsync(kind);
+    }
+
     @Override
     public List<String> listDivisionNames(String id) {
         LeagueDto league = mRepository.getLeague(id);
         return league.getDivisions();
     }
 
+    @Override
+    public CompletableFuture<List<String>> listDivisionNamesAsync(String id) {
+        return mRepository.getLeagueAsync(id).thenApply(LeagueDto::getDivisions);
+    }
+
     private void saveLeague(LeagueDto league) {
         league.setUpdatedAt(Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime());
         mRepository.insertLeague(league, false, false);
@@ -60,21 +70,27 @@ public class StoredLeaguesManager implements StoredLeaguesService {
         if (selectedLeague.getName().length() > 1 && selectedLeague.getDivision().length() > 1) {
             long utcTime = Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime();
 
-            int leaguesSameName = mRepository.countLeagues(selectedLeague.getName(), selectedLeague.getKind());
-            int leaguesSameId = mRepository.countLeagues(selectedLeague.getId());
-
-            if (leaguesSameName == 0 && leaguesSameId == 0) {
-                LeagueDto league = new LeagueDto();
-                league.setAll(selectedLeague);
-                saveLeague(league);
-            } else if (leaguesSameName == 1 && leaguesSameId == 1) {
-                LeagueDto league = mRepository.getLeague(selectedLeague.getId());
-                if (!league.getDivisions().contains(selectedLeague.getDivision())) {
-                    league.setUpdatedAt(utcTime);
-                    league.getDivisions().add(selectedLeague.getDivision());
-                    mRepository.insertLeague(league, false, false);
+            // The league of the game keeps changing on the UI thread while the stored leagues are read
+            LeagueDto newLeague = new LeagueDto();
+            newLeague.setAll(selectedLeague);
+            String division = selectedLeague.getDivision();
+
+            mRepository.read(() -> {
+                int leaguesSameName = mRepository.countLeagues(newLeague.getName(), newLeague.getKind());
+                int leaguesSameId = mRepository.countLeagues(newLeague.getId());
+
+                if (leaguesSameName == 0 && leaguesSameId == 0) {
+                    saveLeague(newLeague);
+                } else if (leaguesSameName == 1 && leaguesSameId == 1) {
+                    LeagueDto league = mRepository.getLeague(newLeague.getId());
+                    if (!league.getDivisions().contains(division)) {
+                        league.setUpdatedAt(utcTime);
+                        league.getDivisions().add(division);
+                        mRepository.insertLeague(league, false, false);
+                    }
                 }
-            }
+                return null;
+            });
         }
     }
 
@@ -83,10 +99,22 @@ public class StoredLeaguesManager implements StoredLeaguesService {
         return mRepository.getLeague(leagueName, kind);
     }
 
-    public static List<LeagueDto> readLeaguesStream(InputStream inputStream) throws IOException, JsonParseException {
-        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            return JsonConverters.GSON.fromJson(reader, new TypeToken<List<LeagueDto>>() {}.getType());
+    @Override
+    public StreamingImporter.Report importLeagues(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Report report = mRepository.importLeagues(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                                                                    StreamingImporter.DEFAULT_BATCH_SIZE, this::validateImportedLeague, listener);
+        Log.i(Tags.STORED_LEAGUES, String.format("Imported leagues: %s", report));
+        return report;
+    }
+
+    private boolean validateImportedLeague(LeagueDto league) {
+        boolean valid = league.getKind() != null && StringUtils.isNotBlank(league.getName());
+
+        if (valid && league.getDivisions() == null) {
+            league.setDivisions(new ArrayList<>());
         }
+
+        return valid;
     }
 
     public static void writeLeaguesStream(OutputStream outputStream, List<LeagueDto> leagues) throws JsonParseException, IOException {
@@ -116,8 +144,8 @@ public class StoredLeaguesManager implements StoredLeaguesService {
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            List<LeagueSummaryDto> leagueList = JsonConverters.GSON.fromJson(body.string(),
-                                                                                             new TypeToken<List<LeagueSummaryDto>>() {}.getType());
+                            List<LeagueSummaryDto> leagueList = new ArrayList<>();
+                            ResponseDecoder.decodeArray("leagues", body.byteStream(), LeagueSummaryDto.class, leagueList::add);
                             syncLeagues(leagueList, listener);
                         }
                     } else {
@@ -139,7 +167,7 @@ public class StoredLeaguesManager implements StoredLeaguesService {
     private void syncLeagues(List<LeagueSummaryDto> remoteLeagueList, DataSynchronizationListener listener) {
         String userId = PrefUtils.getUserId(mContext);
         List<LeagueSummaryDto> localLeagueList = listLeagues();
-        Queue<LeagueSummaryDto> remoteLeaguesToDownload = new LinkedList<>();
+        List<LeagueSummaryDto> remoteLeaguesToDownload = new ArrayList<>();
         boolean afterPurchase = false;
 
         // User purchased web services, write his user id
@@ -157,80 +185,52 @@ public class StoredLeaguesManager implements StoredLeaguesService {
             localLeagueList = listLeagues();
         }
 
-        for (LeagueSummaryDto localLeague : localLeagueList) {
-            boolean foundRemoteVersion = false;
-
-            for (LeagueSummaryDto remoteLeague : remoteLeagueList) {
-                if (localLeague.getId().equals(remoteLeague.getId())) {
-                    foundRemoteVersion = true;
-                    remoteLeaguesToDownload.add(remoteLeague);
-                }
-            }
+        // The remote version of the leagues is always downloaded
+        Reconciliation<LeagueSummaryDto> reconciliation = Reconciliation.reconcile(localLeagueList, remoteLeagueList, LeagueSummaryDto::getId,
+                                                                                   null, LeagueSummaryDto::isSynced);
+        Log.i(Tags.STORED_LEAGUES, String.format("Sync leagues: %s", reconciliation));
 
-            if (!foundRemoteVersion) {
-                if (localLeague.isSynced()) {
-                    // if the league was synced, then it was deleted from the server and it must be deleted locally
-                    mRepository.deleteLeague(localLeague.getId());
-                } else {
-                    // if the league was not synced, then it is missing from the server because sending it must have failed, so send it again
-                    LeagueDto league = mRepository.getLeague(localLeague.getId());
-                    pushLeagueToServer(league);
-                }
-            }
+        // if the league was synced, then it was deleted from the server and it must be deleted locally
+        for (LeagueSummaryDto localLeague : reconciliation.getToDeleteLocally()) {
+            mRepository.deleteLeague(localLeague.getId());
         }
 
-        for (LeagueSummaryDto remoteLeague : remoteLeagueList) {
-            boolean foundLocalVersion = false;
-
-            for (LeagueSummaryDto localLeague : localLeagueList) {
-                if (localLeague.getId().equals(remoteLeague.getId())) {
-                    foundLocalVersion = true;
-                    break;
-                }
-            }
-
-            if (!foundLocalVersion) {
-                remoteLeaguesToDownload.add(remoteLeague);
-            }
+        // if the league was not synced, then it is missing from the server because sending it must have failed, so send it again
+        for (LeagueSummaryDto localLeague : reconciliation.getToCreateRemotely()) {
+            pushLeagueToServer(mRepository.getLeague(localLeague.getId()));
         }
 
-        downloadLeaguesRecursive(remoteLeaguesToDownload, listener);
+        remoteLeaguesToDownload.addAll(reconciliation.getToDownload());
+        downloadLeagues(remoteLeaguesToDownload, listener);
     }
 
-    private void downloadLeaguesRecursive(final Queue<LeagueSummaryDto> remoteLeagues, final DataSynchronizationListener listener) {
-        if (remoteLeagues.isEmpty()) {
-            if (listener != null) {
-                listener.onSynchronizationSucceeded();
-            }
-        } else {
-            LeagueSummaryDto remoteLeague = remoteLeagues.poll();
-            VbrApi.getInstance(mContext).getLeague(remoteLeague.getId(), mContext, new Callback() {
-                @Override
-                public void onFailure(@NonNull Call call, @NonNull IOException e) {
-                    call.cancel();
-                    if (listener != null) {
-                        listener.onSynchronizationFailed();
-                    }
+    private void downloadLeagues(Collection<LeagueSummaryDto> remoteLeagues, DataSynchronizationListener listener) {
+        DownloadPipeline.Downloader<LeagueSummaryDto> downloader = (remoteLeague, result) -> VbrApi
+                .getInstance(mContext)
+                .getLeague(remoteLeague.getId(), mContext,
+                           new DownloadCallback<>(Tags.STORED_LEAGUES, "leagues/{id}", LeagueDto.class,
+                                                  league -> mRepository.insertLeague(league, true, false), result));
+        DownloadPipeline<LeagueSummaryDto> pipeline = new DownloadPipeline<>(downloader, VbrApi.SYNC_DOWNLOAD_CONCURRENCY);
+
+        pipeline.start(remoteLeagues, new DownloadPipeline.Listener() {
+            @Override
+            public void onProgress(int downloaded, int total) {
+                if (listener != null) {
+                    listener.onSynchronizationProgress(downloaded, total);
                 }
+            }
 
-                @Override
-                public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
-                    if (response.code() == HttpURLConnection.HTTP_OK) {
-                        try (ResponseBody body = response.body()) {
-                            LeagueDto league = JsonConverters.GSON.fromJson(body.string(), LeagueDto.class);
-                            mRepository.insertLeague(league, true, false);
-                            downloadLeaguesRecursive(remoteLeagues, listener);
-                        }
+            @Override
+            public void onCompleted(boolean succeeded) {
+                if (listener != null) {
+                    if (succeeded) {
+                        listener.onSynchronizationSucceeded();
                     } else {
-                        Log.e(Tags.STORED_LEAGUES,
-                              String.format(Locale.getDefault(), "Error %d while synchronising league", response.code()));
-                        if (listener != null) {
-                            listener.onSynchronizationFailed();
-                        }
+                        listener.onSynchronizationFailed();
                     }
                 }
-            });
-        }
+            }
+        });
     }
 
     private void pushLeagueToServer(final LeagueDto league) {
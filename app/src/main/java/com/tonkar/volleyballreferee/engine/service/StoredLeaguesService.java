@@ -1,9 +1,12 @@
 package com.tonkar.volleyballreferee.engine.service;
 
+import com.tonkar.volleyballreferee.engine.api.StreamingImporter;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.GameType;
 
+import java.io.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface StoredLeaguesService {
 
@@ -11,12 +14,18 @@ public interface StoredLeaguesService {
 
     List<LeagueSummaryDto> listLeagues(GameType kind);
 
+    CompletableFuture<List<LeagueSummaryDto>> listLeaguesAsync(GameType kind);
+
     List<String> listDivisionNames(String id);
 
+    CompletableFuture<List<String>> listDivisionNamesAsync(String id);
+
     LeagueDto getLeague(GameType kind, String leagueName);
 
     void createAndSaveLeagueFrom(SelectedLeagueDto selectedLeague);
 
+    StreamingImporter.Report importLeagues(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException;
+
     void syncLeagues();
 
     void syncLeagues(DataSynchronizationListener listener);
@@ -7,7 +7,6 @@ import androidx.annotation.NonNull;
 
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
 import com.tonkar.volleyballreferee.engine.*;
 import com.tonkar.volleyballreferee.engine.api.*;
 import com.tonkar.volleyballreferee.engine.api.model.*;
@@ -21,6 +20,7 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import okhttp3.*;
 
@@ -39,6 +39,11 @@ public class StoredRulesManager implements StoredRulesService {
         return mRepository.listRules();
     }
 
+    @Override
+    public CompletableFuture<List<RulesSummaryDto>> listRulesAsync() {
+        return mRepository.listRulesAsync();
+    }
+
     @Override
     public List<RulesSummaryDto> listRules(GameType kind) {
         List<RulesSummaryDto> rulesList = new ArrayList<>();
@@ -47,6 +52,16 @@ public class StoredRulesManager implements StoredRulesService {
         return rulesList;
     }
 
+    @Override
+    public CompletableFuture<List<RulesSummaryDto>> listRulesAsync(GameType kind) {
+        return mRepository.listRulesAsync(kind).thenApply(storedRules -> {
+            List<RulesSummaryDto> rulesList = new ArrayList<>();
+            rulesList.add(Rules.getDefaultRules(kind));
+            rulesList.addAll(storedRules);
+            return rulesList;
+        });
+    }
+
     @Override
     public RulesDto getRules(String id) {
         RulesDto rules = Rules.getDefaultRules(id);
@@ -58,6 +73,12 @@ public class StoredRulesManager implements StoredRulesService {
         return rules;
     }
 
+    @Override
+    public CompletableFuture<RulesDto> getRulesAsync(String id) {
+        RulesDto rules = Rules.getDefaultRules(id);
+        return rules == null ? mRepository.getRulesAsync(id) : CompletableFuture.completedFuture(rules);
+    }
+
     @Override
     public RulesDto getRules(GameType kind, String rulesName) {
         return mRepository.getRules(rulesName, kind);
@@ -119,16 +140,27 @@ public class StoredRulesManager implements StoredRulesService {
                 .getId()
                 .equals(Rules.DEFAULT_INDOOR_ID) && !rules.getId().equals(Rules.DEFAULT_INDOOR_4X4_ID) && !rules
                 .getId()
-                .equals(Rules.DEFAULT_SNOW_ID) && mRepository.countRules(rules.getName(), rules.getKind()) == 0 && mRepository.countRules(
-                rules.getId()) == 0) {
-            saveRules(rules, true);
+                .equals(Rules.DEFAULT_SNOW_ID)) {
+            // The rules of the game keep changing on the UI thread while the stored rules are read
+            Rules savedRules = new Rules();
+            savedRules.setAll(rules);
+            mRepository.read(() -> mRepository.countRules(savedRules.getName(), savedRules.getKind()) == 0 && mRepository.countRules(
+                    savedRules.getId()) == 0).thenAccept(create -> {
+                if (create) {
+                    saveRules(savedRules, true);
+                }
+            });
         }
     }
 
-    public static List<RulesDto> readRulesStream(InputStream inputStream) throws IOException, JsonParseException {
-        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            return JsonConverters.GSON.fromJson(reader, new TypeToken<List<RulesDto>>() {}.getType());
-        }
+    @Override
+    public StreamingImporter.Report importRules(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Report report = mRepository.importRules(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                                                                  StreamingImporter.DEFAULT_BATCH_SIZE,
+                                                                  rules -> rules.getKind() != null && StringUtils.isNotBlank(
+                                                                          rules.getName()), listener);
+        Log.i(Tags.STORED_RULES, String.format("Imported rules: %s", report));
+        return report;
     }
 
     public static void writeRulesStream(OutputStream outputStream, List<RulesDto> rules) throws JsonParseException, IOException {
@@ -160,8 +192,8 @@ public class StoredRulesManager implements StoredRulesService {
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            List<RulesSummaryDto> rulesList = JsonConverters.GSON.fromJson(body.string(),
-                                                                                           new TypeToken<List<RulesSummaryDto>>() {}.getType());
+                            List<RulesSummaryDto> rulesList = new ArrayList<>();
+                            ResponseDecoder.decodeArray("rules", body.byteStream(), RulesSummaryDto.class, rulesList::add);
                             syncRules(rulesList, listener);
                         }
                     } else {
@@ -182,7 +214,7 @@ public class StoredRulesManager implements StoredRulesService {
     private void syncRules(List<RulesSummaryDto> remoteRulesList, DataSynchronizationListener listener) {
         String userId = PrefUtils.getUserId(mContext);
         List<RulesSummaryDto> localRulesList = listRules();
-        Queue<RulesSummaryDto> remoteRulesToDownload = new LinkedList<>();
+        List<RulesSummaryDto> remoteRulesToDownload = new ArrayList<>();
         boolean afterPurchase = false;
 
         // User purchased web services, write his user id
@@ -200,85 +232,55 @@ public class StoredRulesManager implements StoredRulesService {
             localRulesList = listRules();
         }
 
-        for (RulesSummaryDto localRules : localRulesList) {
-            boolean foundRemoteVersion = false;
-
-            for (RulesSummaryDto remoteRules : remoteRulesList) {
-                if (localRules.getId().equals(remoteRules.getId())) {
-                    foundRemoteVersion = true;
-
-                    if (localRules.getUpdatedAt() < remoteRules.getUpdatedAt()) {
-                        remoteRulesToDownload.add(remoteRules);
-                    } else if (localRules.getUpdatedAt() > remoteRules.getUpdatedAt()) {
-                        RulesDto rules = getRules(localRules.getId());
-                        pushRulesToServer(rules, false);
-                    }
-                }
-            }
+        Reconciliation<RulesSummaryDto> reconciliation = Reconciliation.reconcile(localRulesList, remoteRulesList, RulesSummaryDto::getId,
+                                                                                  RulesSummaryDto::getUpdatedAt, RulesSummaryDto::isSynced);
+        Log.i(Tags.STORED_RULES, String.format("Sync rules: %s", reconciliation));
 
-            if (!foundRemoteVersion) {
-                if (localRules.isSynced()) {
-                    // if the rules were synced, then they were deleted from the server and they must be deleted locally
-                    deleteRules(localRules.getId());
-                } else {
-                    // if the rules were not synced, then they are missing from the server because sending them must have failed, so send them again
-                    RulesDto rules = getRules(localRules.getId());
-                    pushRulesToServer(rules, true);
-                }
-            }
+        for (RulesSummaryDto localRules : reconciliation.getToUpdateRemotely()) {
+            pushRulesToServer(getRules(localRules.getId()), false);
         }
 
-        for (RulesSummaryDto remoteRules : remoteRulesList) {
-            boolean foundLocalVersion = false;
-
-            for (RulesSummaryDto localRules : localRulesList) {
-                if (localRules.getId().equals(remoteRules.getId())) {
-                    foundLocalVersion = true;
-                    break;
-                }
-            }
+        // if the rules were synced, then they were deleted from the server and they must be deleted locally
+        for (RulesSummaryDto localRules : reconciliation.getToDeleteLocally()) {
+            deleteRules(localRules.getId());
+        }
 
-            if (!foundLocalVersion) {
-                remoteRulesToDownload.add(remoteRules);
-            }
+        // if the rules were not synced, then they are missing from the server because sending them must have failed, so send them again
+        for (RulesSummaryDto localRules : reconciliation.getToCreateRemotely()) {
+            pushRulesToServer(getRules(localRules.getId()), true);
         }
 
-        downloadRulesRecursive(remoteRulesToDownload, listener);
+        remoteRulesToDownload.addAll(reconciliation.getToDownload());
+        downloadRules(remoteRulesToDownload, listener);
     }
 
-    private void downloadRulesRecursive(final Queue<RulesSummaryDto> remoteRules, final DataSynchronizationListener listener) {
-        if (remoteRules.isEmpty()) {
-            if (listener != null) {
-                listener.onSynchronizationSucceeded();
-            }
-        } else {
-            RulesSummaryDto remoteRule = remoteRules.poll();
-            VbrApi.getInstance(mContext).getRules(remoteRule.getId(), mContext, new Callback() {
-                @Override
-                public void onFailure(@NonNull Call call, @NonNull IOException e) {
-                    call.cancel();
-                    if (listener != null) {
-                        listener.onSynchronizationFailed();
-                    }
+    private void downloadRules(Collection<RulesSummaryDto> remoteRulesToDownload, DataSynchronizationListener listener) {
+        DownloadPipeline.Downloader<RulesSummaryDto> downloader = (remoteRules, result) -> VbrApi
+                .getInstance(mContext)
+                .getRules(remoteRules.getId(), mContext,
+                          new DownloadCallback<>(Tags.STORED_RULES, "rules/{id}", RulesDto.class,
+                                                 rules -> mRepository.insertRules(rules, true, false), result));
+        DownloadPipeline<RulesSummaryDto> pipeline = new DownloadPipeline<>(downloader, VbrApi.SYNC_DOWNLOAD_CONCURRENCY);
+
+        pipeline.start(remoteRulesToDownload, new DownloadPipeline.Listener() {
+            @Override
+            public void onProgress(int downloaded, int total) {
+                if (listener != null) {
+                    listener.onSynchronizationProgress(downloaded, total);
                 }
+            }
 
-                @Override
-                public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
-                    if (response.code() == HttpURLConnection.HTTP_OK) {
-                        try (ResponseBody body = response.body()) {
-                            RulesDto rules = JsonConverters.GSON.fromJson(body.string(), RulesDto.class);
-                            mRepository.insertRules(rules, true, false);
-                            downloadRulesRecursive(remoteRules, listener);
-                        }
+            @Override
+            public void onCompleted(boolean succeeded) {
+                if (listener != null) {
+                    if (succeeded) {
+                        listener.onSynchronizationSucceeded();
                     } else {
-                        Log.e(Tags.STORED_RULES, String.format(Locale.getDefault(), "Error %d while synchronising rules", response.code()));
-                        if (listener != null) {
-                            listener.onSynchronizationFailed();
-                        }
+                        listener.onSynchronizationFailed();
                     }
                 }
-            });
-        }
+            }
+        });
     }
 
     private void pushRulesToServer(final RulesDto rules, boolean create) {
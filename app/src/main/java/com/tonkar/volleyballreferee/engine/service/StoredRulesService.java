@@ -1,19 +1,28 @@
 package com.tonkar.volleyballreferee.engine.service;
 
+import com.tonkar.volleyballreferee.engine.api.StreamingImporter;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.GameType;
 import com.tonkar.volleyballreferee.engine.rules.Rules;
 
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public interface StoredRulesService {
 
     List<RulesSummaryDto> listRules();
 
+    CompletableFuture<List<RulesSummaryDto>> listRulesAsync();
+
     List<RulesSummaryDto> listRules(GameType kind);
 
+    CompletableFuture<List<RulesSummaryDto>> listRulesAsync(GameType kind);
+
     RulesDto getRules(String id);
 
+    CompletableFuture<RulesDto> getRulesAsync(String id);
+
     RulesDto getRules(GameType kind, String rulesName);
 
     Rules createRules(GameType kind);
@@ -26,6 +35,8 @@ public interface StoredRulesService {
 
     void createAndSaveRulesFrom(Rules rules);
 
+    StreamingImporter.Report importRules(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException;
+
     void syncRules();
 
     void syncRules(DataSynchronizationListener listener);
@@ -7,7 +7,6 @@ import androidx.annotation.NonNull;
 
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
 import com.tonkar.volleyballreferee.engine.*;
 import com.tonkar.volleyballreferee.engine.api.*;
 import com.tonkar.volleyballreferee.engine.api.model.*;
@@ -22,6 +21,7 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
 
 import okhttp3.*;
 
@@ -40,21 +40,41 @@ public class StoredTeamsManager implements StoredTeamsService {
         return mRepository.listTeams();
     }
 
+    @Override
+    public CompletableFuture<List<TeamSummaryDto>> listTeamsAsync() {
+        return mRepository.listTeamsAsync();
+    }
+
     @Override
     public List<TeamSummaryDto> listTeams(GameType kind) {
         return mRepository.listTeams(kind);
     }
 
+    @Override
+    public CompletableFuture<List<TeamSummaryDto>> listTeamsAsync(GameType kind) {
+        return mRepository.listTeamsAsync(kind);
+    }
+
     @Override
     public List<TeamSummaryDto> listTeams(GameType kind, GenderType genderType) {
         return mRepository.listTeams(genderType, kind);
     }
 
+    @Override
+    public CompletableFuture<List<TeamSummaryDto>> listTeamsAsync(GameType kind, GenderType genderType) {
+        return mRepository.listTeamsAsync(genderType, kind);
+    }
+
     @Override
     public TeamDto getTeam(String id) {
         return mRepository.getTeam(id);
     }
 
+    @Override
+    public CompletableFuture<TeamDto> getTeamAsync(String id) {
+        return mRepository.getTeamAsync(id);
+    }
+
     @Override
     public TeamDto getTeam(GameType kind, String teamName, GenderType genderType) {
         return mRepository.getTeam(teamName, genderType, kind);
@@ -107,13 +127,17 @@ public class StoredTeamsManager implements StoredTeamsService {
 
     @Override
     public void createAndSaveTeamFrom(GameType kind, IBaseTeam teamService, TeamType teamType) {
-        if (teamService.getTeamName(teamType).length() > 1 && mRepository.countTeams(teamService.getTeamName(teamType),
-                                                                                     teamService.getGender(teamType),
-                                                                                     kind) == 0 && mRepository.countTeams(
-                teamService.getTeamId(teamType)) == 0) {
+        if (teamService.getTeamName(teamType).length() > 1) {
+            // The team of the game keeps changing on the UI thread while the stored teams are read
             IBaseTeam team = createTeam(kind);
             copyTeam(teamService, team, teamType);
-            saveTeam(team, true);
+            mRepository.read(() -> mRepository.countTeams(team.getTeamName(teamType), team.getGender(teamType),
+                                                          kind) == 0 && mRepository.countTeams(team.getTeamId(teamType)) == 0)
+                    .thenAccept(create -> {
+                        if (create) {
+                            saveTeam(team, true);
+                        }
+                    });
         }
     }
 
@@ -217,10 +241,59 @@ public class StoredTeamsManager implements StoredTeamsService {
         dest.setCoachName(teamType, source.getCoachName(teamType));
     }
 
-    public static List<TeamDto> readTeamsStream(InputStream inputStream) throws IOException, JsonParseException {
-        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            return JsonConverters.GSON.fromJson(reader, new TypeToken<List<TeamDto>>() {}.getType());
+    @Override
+    public StreamingImporter.Report importTeams(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException {
+        StreamingImporter.Report report = mRepository.importTeams(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                                                                  StreamingImporter.DEFAULT_BATCH_SIZE, this::validateImportedTeam, listener);
+        Log.i(Tags.STORED_TEAMS, String.format("Imported teams: %s", report));
+        return report;
+    }
+
+    @Override
+    public CompletableFuture<StreamingImporter.Report> importTeamsAsync(Callable<InputStream> inputStreamOpener,
+                                                                        StreamingImporter.ProgressListener listener) {
+        return mRepository.runInBackground(() -> {
+            try (InputStream inputStream = inputStreamOpener.call()) {
+                return importTeams(inputStream, listener);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    // The exported files may come from older versions or be written by hand, the missing values are completed with the defaults
+    private boolean validateImportedTeam(TeamDto team) {
+        boolean valid = StringUtils.isNotBlank(team.getName());
+
+        if (valid) {
+            if (team.getId() == null) {
+                team.setId(UUID.randomUUID().toString());
+                team.setCreatedBy(PrefUtils.getUserId(mContext));
+                team.setCreatedAt(Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime());
+                team.setUpdatedAt(team.getCreatedAt());
+            }
+            if (team.getKind() == null) {
+                team.setKind(GameType.INDOOR);
+            }
+            if (team.getGender() == null) {
+                team.setGender(GenderType.MIXED);
+            }
+            if (team.getLiberos() == null) {
+                team.setLiberos(new ArrayList<>());
+            }
+            List<PlayerDto> players = new ArrayList<>();
+            for (PlayerDto player : Optional.ofNullable(team.getPlayers()).orElse(List.of())) {
+                if (player != null) {
+                    if (player.getName() == null) {
+                        player.setName("");
+                    }
+                    players.add(player);
+                }
+            }
+            team.setPlayers(players);
         }
+
+        return valid;
     }
 
     public static void writeTeamsStream(OutputStream outputStream, List<TeamDto> teams) throws JsonParseException, IOException {
@@ -239,7 +312,7 @@ public class StoredTeamsManager implements StoredTeamsService {
     @Override
     public void syncTeams(final DataSynchronizationListener listener) {
         if (PrefUtils.canSync(mContext)) {
-            syncTeams(new ArrayList<>(), 0, 100, listener);
+            syncTeams(PrefUtils.getSyncCursor(mContext, PrefUtils.SYNC_TEAMS), new ArrayList<>(), new ArrayList<>(), 0, 100, listener);
         } else {
             if (listener != null) {
                 listener.onSynchronizationFailed();
@@ -247,8 +320,10 @@ public class StoredTeamsManager implements StoredTeamsService {
         }
     }
 
-    private void syncTeams(List<TeamSummaryDto> remoteTeamList, int page, int size, DataSynchronizationListener listener) {
-        VbrApi.getInstance(mContext).getTeamPage(page, size, mContext, new Callback() {
+    // With a cursor, only the teams changed since the last sync are listed, otherwise all the teams are listed and fully reconciled
+    private void syncTeams(long since, List<TeamSummaryDto> remoteTeamList, List<String> deletedTeamIds, int page, int size,
+                           DataSynchronizationListener listener) {
+        VbrApi.getInstance(mContext).getTeamPage(page, size, since, mContext, new Callback() {
             @Override
             public void onFailure(@NonNull Call call, @NonNull IOException e) {
                 call.cancel();
@@ -261,15 +336,23 @@ public class StoredTeamsManager implements StoredTeamsService {
             public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                 if (response.code() == HttpURLConnection.HTTP_OK) {
                     try (ResponseBody body = response.body()) {
-                        PageDto<TeamSummaryDto> teamsPage = JsonConverters.GSON.fromJson(body.string(),
-                                                                                         new TypeToken<PageDto<TeamSummaryDto>>() {}.getType());
-                        remoteTeamList.addAll(teamsPage.getContent());
-                        if (teamsPage.isLast()) {
-                            syncTeams(remoteTeamList, listener);
+                        DeltaPageDto<?> teamsPage = ResponseDecoder.decodePage("teams", body.byteStream(), DeltaPageDto.class,
+                                                                               TeamSummaryDto.class, remoteTeamList::add);
+                        if (teamsPage.getDeleted() != null) {
+                            deletedTeamIds.addAll(teamsPage.getDeleted());
+                        }
+                        if (!teamsPage.isLast()) {
+                            syncTeams(since, remoteTeamList, deletedTeamIds, page + 1, size, listener);
+                        } else if (since > 0L && teamsPage.getCursor() > 0L) {
+                            syncTeamChanges(remoteTeamList, deletedTeamIds, teamsPage.getCursor(), listener);
                         } else {
-                            syncTeams(remoteTeamList, page + 1, size, listener);
+                            // A server which does not know the cursor lists all the teams
+                            syncTeams(remoteTeamList, teamsPage.getCursor(), listener);
                         }
                     }
+                } else if (since > 0L && response.code() == HttpURLConnection.HTTP_GONE) {
+                    Log.i(Tags.STORED_TEAMS, "The teams sync cursor expired, reconcile all the teams");
+                    syncTeams(0L, new ArrayList<>(), new ArrayList<>(), 0, size, listener);
                 } else {
                     Log.e(Tags.STORED_TEAMS, String.format(Locale.getDefault(), "Error %d while synchronising teams", response.code()));
                     if (listener != null) {
@@ -280,10 +363,46 @@ public class StoredTeamsManager implements StoredTeamsService {
         });
     }
 
-    private void syncTeams(List<TeamSummaryDto> remoteTeamList, DataSynchronizationListener listener) {
+    private void syncTeamChanges(List<TeamSummaryDto> updatedRemoteTeams, List<String> deletedRemoteTeamIds, long cursor,
+                                 DataSynchronizationListener listener) {
+        Map<String, TeamSummaryDto> localTeams = new HashMap<>();
+
+        for (TeamSummaryDto localTeam : listTeams()) {
+            // Whether a team which was not synced must be created or updated on the server is only known from the full list,
+            // and the teams stored before the purchase of the web services get the user id during a full reconciliation
+            if (!localTeam.isSynced() || StringUtils.isBlank(localTeam.getCreatedBy())) {
+                syncTeams(0L, new ArrayList<>(), new ArrayList<>(), 0, 100, listener);
+                return;
+            }
+            localTeams.put(localTeam.getId(), localTeam);
+        }
+
+        List<TeamSummaryDto> remoteTeamsToDownload = new ArrayList<>();
+        List<CompletableFuture<Void>> localWrites = new ArrayList<>();
+
+        for (String id : deletedRemoteTeamIds) {
+            if (localTeams.remove(id) != null) {
+                localWrites.add(mRepository.deleteTeam(id));
+            }
+        }
+
+        for (TeamSummaryDto remoteTeam : updatedRemoteTeams) {
+            TeamSummaryDto localTeam = localTeams.get(remoteTeam.getId());
+
+            if (localTeam == null || localTeam.getUpdatedAt() < remoteTeam.getUpdatedAt()) {
+                remoteTeamsToDownload.add(remoteTeam);
+            } else if (localTeam.getUpdatedAt() > remoteTeam.getUpdatedAt()) {
+                pushTeamToServer(getTeam(localTeam.getId()), false);
+            }
+        }
+
+        downloadTeams(remoteTeamsToDownload, localWrites, cursor, listener);
+    }
+
+    private void syncTeams(List<TeamSummaryDto> remoteTeamList, long cursor, DataSynchronizationListener listener) {
         String userId = Optional.ofNullable(PrefUtils.getUser(mContext)).map(UserSummaryDto::getId).orElse(null);
         List<TeamSummaryDto> localTeamList = listTeams();
-        Queue<TeamSummaryDto> remoteTeamsToDownload = new LinkedList<>();
+        List<TeamSummaryDto> remoteTeamsToDownload = new ArrayList<>();
         boolean afterPurchase = false;
 
         // User purchased web services, write his user id
@@ -301,85 +420,68 @@ public class StoredTeamsManager implements StoredTeamsService {
             localTeamList = listTeams();
         }
 
-        for (TeamSummaryDto localTeam : localTeamList) {
-            boolean foundRemoteVersion = false;
-
-            for (TeamSummaryDto remoteTeam : remoteTeamList) {
-                if (localTeam.getId().equals(remoteTeam.getId())) {
-                    foundRemoteVersion = true;
+        Reconciliation<TeamSummaryDto> reconciliation = Reconciliation.reconcile(localTeamList, remoteTeamList, TeamSummaryDto::getId,
+                                                                                 TeamSummaryDto::getUpdatedAt, TeamSummaryDto::isSynced);
+        Log.i(Tags.STORED_TEAMS, String.format("Sync teams: %s", reconciliation));
 
-                    if (localTeam.getUpdatedAt() < remoteTeam.getUpdatedAt()) {
-                        remoteTeamsToDownload.add(remoteTeam);
-                    } else if (localTeam.getUpdatedAt() > remoteTeam.getUpdatedAt()) {
-                        TeamDto team = getTeam(localTeam.getId());
-                        pushTeamToServer(team, false);
-                    }
-                }
-            }
-
-            if (!foundRemoteVersion) {
-                if (localTeam.isSynced()) {
-                    // if the team was synced, then it was deleted from the server and it must be deleted locally
-                    deleteTeam(localTeam.getId());
-                } else {
-                    // if the team was not synced, then it is missing from the server because sending it must have failed, so send it again
-                    TeamDto team = getTeam(localTeam.getId());
-                    pushTeamToServer(team, true);
-                }
-            }
+        for (TeamSummaryDto localTeam : reconciliation.getToUpdateRemotely()) {
+            pushTeamToServer(getTeam(localTeam.getId()), false);
         }
 
-        for (TeamSummaryDto remoteTeam : remoteTeamList) {
-            boolean foundLocalVersion = false;
+        List<CompletableFuture<Void>> localWrites = new ArrayList<>();
 
-            for (TeamSummaryDto localTeam : localTeamList) {
-                if (localTeam.getId().equals(remoteTeam.getId())) {
-                    foundLocalVersion = true;
-                    break;
-                }
-            }
+        // if the team was synced, then it was deleted from the server and it must be deleted locally
+        for (TeamSummaryDto localTeam : reconciliation.getToDeleteLocally()) {
+            localWrites.add(mRepository.deleteTeam(localTeam.getId()));
+            deleteTeamOnServer(localTeam.getId());
+        }
 
-            if (!foundLocalVersion) {
-                remoteTeamsToDownload.add(remoteTeam);
-            }
+        // if the team was not synced, then it is missing from the server because sending it must have failed, so send it again
+        for (TeamSummaryDto localTeam : reconciliation.getToCreateRemotely()) {
+            pushTeamToServer(getTeam(localTeam.getId()), true);
         }
 
-        downloadTeamsRecursive(remoteTeamsToDownload, listener);
+        remoteTeamsToDownload.addAll(reconciliation.getToDownload());
+        downloadTeams(remoteTeamsToDownload, localWrites, cursor, listener);
     }
 
-    private void downloadTeamsRecursive(final Queue<TeamSummaryDto> remoteTeams, final DataSynchronizationListener listener) {
-        if (remoteTeams.isEmpty()) {
-            if (listener != null) {
-                listener.onSynchronizationSucceeded();
-            }
-        } else {
-            TeamSummaryDto remoteTeam = remoteTeams.poll();
-            VbrApi.getInstance(mContext).getTeam(remoteTeam.getId(), mContext, new Callback() {
-                @Override
-                public void onFailure(@NonNull Call call, @NonNull IOException e) {
-                    call.cancel();
-                    if (listener != null) {
-                        listener.onSynchronizationFailed();
-                    }
+    /**
+     * The cursor is saved once the downloaded teams and the local writes of the sync are committed, so that a failed write is synced again.
+     */
+    private void downloadTeams(Collection<TeamSummaryDto> remoteTeams, List<CompletableFuture<Void>> localWrites, long cursor,
+                               DataSynchronizationListener listener) {
+        DownloadPipeline.Downloader<TeamSummaryDto> downloader = (remoteTeam, result) -> VbrApi
+                .getInstance(mContext)
+                .getTeam(remoteTeam.getId(), mContext,
+                         new DownloadCallback<>(Tags.STORED_TEAMS, "teams/{id}", TeamDto.class,
+                                                team -> mRepository.insertTeam(team, true, false), result));
+        DownloadPipeline<TeamSummaryDto> pipeline = new DownloadPipeline<>(downloader, VbrApi.SYNC_DOWNLOAD_CONCURRENCY);
+
+        pipeline.start(remoteTeams, new DownloadPipeline.Listener() {
+            @Override
+            public void onProgress(int downloaded, int total) {
+                if (listener != null) {
+                    listener.onSynchronizationProgress(downloaded, total);
                 }
+            }
 
-                @Override
-                public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
-                    if (response.code() == HttpURLConnection.HTTP_OK) {
-                        try (ResponseBody body = response.body()) {
-                            TeamDto team = JsonConverters.GSON.fromJson(body.string(), TeamDto.class);
-                            mRepository.insertTeam(team, true, false);
-                            downloadTeamsRecursive(remoteTeams, listener);
-                        }
-                    } else {
-                        Log.e(Tags.STORED_TEAMS, String.format(Locale.getDefault(), "Error %d while synchronising teams", response.code()));
-                        if (listener != null) {
+            @Override
+            public void onCompleted(boolean succeeded) {
+                CompletableFuture.allOf(localWrites.toArray(new CompletableFuture[0])).whenComplete((ignored, throwable) -> {
+                    boolean committed = succeeded && throwable == null;
+                    if (committed && cursor > 0L) {
+                        PrefUtils.setSyncCursor(mContext, PrefUtils.SYNC_TEAMS, cursor);
+                    }
+                    if (listener != null) {
+                        if (committed) {
+                            listener.onSynchronizationSucceeded();
+                        } else {
                             listener.onSynchronizationFailed();
                         }
                     }
-                }
-            });
-        }
+                });
+            }
+        });
     }
 
     private void pushTeamToServer(final TeamDto team, boolean create) {
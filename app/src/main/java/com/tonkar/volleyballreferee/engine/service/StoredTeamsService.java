@@ -1,21 +1,32 @@
 package com.tonkar.volleyballreferee.engine.service;
 
+import com.tonkar.volleyballreferee.engine.api.StreamingImporter;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.GameType;
 import com.tonkar.volleyballreferee.engine.team.*;
 
+import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 public interface StoredTeamsService {
 
     List<TeamSummaryDto> listTeams();
 
+    CompletableFuture<List<TeamSummaryDto>> listTeamsAsync();
+
     List<TeamSummaryDto> listTeams(GameType kind);
 
+    CompletableFuture<List<TeamSummaryDto>> listTeamsAsync(GameType kind);
+
     List<TeamSummaryDto> listTeams(GameType kind, GenderType genderType);
 
+    CompletableFuture<List<TeamSummaryDto>> listTeamsAsync(GameType kind, GenderType genderType);
+
     TeamDto getTeam(String id);
 
+    CompletableFuture<TeamDto> getTeamAsync(String id);
+
     TeamDto getTeam(GameType kind, String teamName, GenderType gender);
 
     IBaseTeam createTeam(GameType kind);
@@ -36,6 +47,10 @@ public interface StoredTeamsService {
 
     void copyTeam(IBaseTeam source, TeamDto dest, TeamType teamType);
 
+    StreamingImporter.Report importTeams(InputStream inputStream, StreamingImporter.ProgressListener listener) throws IOException;
+
+    CompletableFuture<StreamingImporter.Report> importTeamsAsync(Callable<InputStream> inputStreamOpener, StreamingImporter.ProgressListener listener);
+
     void syncTeams();
 
     void syncTeams(DataSynchronizationListener listener);
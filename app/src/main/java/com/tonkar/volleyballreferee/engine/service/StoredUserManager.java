@@ -5,7 +5,6 @@ import android.util.Log;
 
 import androidx.annotation.NonNull;
 
-import com.google.gson.reflect.TypeToken;
 import com.tonkar.volleyballreferee.engine.*;
 import com.tonkar.volleyballreferee.engine.api.*;
 import com.tonkar.volleyballreferee.engine.api.model.*;
@@ -16,6 +15,7 @@ import com.tonkar.volleyballreferee.engine.worker.SyncWorker;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import okhttp3.*;
 
@@ -44,7 +44,7 @@ public class StoredUserManager implements StoredUserService {
             public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                 if (response.code() == HttpURLConnection.HTTP_OK) {
                     try (ResponseBody body = response.body()) {
-                        UserTokenDto userToken = JsonConverters.GSON.fromJson(body.string(), UserTokenDto.class);
+                        UserTokenDto userToken = ResponseDecoder.decode("public/users/token", body.byteStream(), UserTokenDto.class);
                         PrefUtils.signIn(mContext, userToken);
                         listener.onUserTokenReceived(userToken);
                         syncAll();
@@ -71,7 +71,7 @@ public class StoredUserManager implements StoredUserService {
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            UserTokenDto userToken = JsonConverters.GSON.fromJson(body.string(), UserTokenDto.class);
+                            UserTokenDto userToken = ResponseDecoder.decode("public/users/token", body.byteStream(), UserTokenDto.class);
                             PrefUtils.signIn(mContext, userToken);
                             listener.onUserTokenReceived(userToken);
                             syncAll();
@@ -109,8 +109,8 @@ public class StoredUserManager implements StoredUserService {
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            FriendsAndRequestsDto friendsAndRequests = JsonConverters.GSON.fromJson(body.string(),
-                                                                                                    new TypeToken<FriendsAndRequestsDto>() {}.getType());
+                            FriendsAndRequestsDto friendsAndRequests = ResponseDecoder.decode("users/friends", body.byteStream(),
+                                                                                              FriendsAndRequestsDto.class);
 
                             mRepository.insertFriends(friendsAndRequests.getFriends(), false);
                             if (listener != null) {
@@ -149,6 +149,11 @@ public class StoredUserManager implements StoredUserService {
         return referees;
     }
 
+    @Override
+    public CompletableFuture<List<FriendDto>> listRefereesAsync() {
+        return mRepository.read(this::listReferees);
+    }
+
     @Override
     public void sendFriendRequest(String friendPseudo, AsyncFriendRequestListener listener) {
         if (PrefUtils.canSync(mContext)) {
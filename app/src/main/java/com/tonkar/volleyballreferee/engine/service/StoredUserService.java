@@ -3,6 +3,7 @@ package com.tonkar.volleyballreferee.engine.service;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface StoredUserService {
 
@@ -16,6 +17,8 @@ public interface StoredUserService {
 
     List<FriendDto> listReferees();
 
+    CompletableFuture<List<FriendDto>> listRefereesAsync();
+
     void sendFriendRequest(String friendPseudo, AsyncFriendRequestListener listener);
 
     void acceptFriendRequest(FriendRequestDto friendRequest, AsyncFriendRequestListener listener);
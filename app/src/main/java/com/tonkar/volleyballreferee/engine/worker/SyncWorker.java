@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 import androidx.work.*;
 
 import com.tonkar.volleyballreferee.engine.*;
+import com.tonkar.volleyballreferee.engine.api.ResponseDecoder;
 import com.tonkar.volleyballreferee.engine.service.*;
 
 import java.util.concurrent.TimeUnit;
@@ -21,6 +22,7 @@ public class SyncWorker extends Worker {
     @Override
     public Result doWork() {
         Log.i(Tags.SYNC_WORKER, "Running sync");
+        Log.i(Tags.SYNC_WORKER, String.format("Decoded responses so far: %s", ResponseDecoder.getStats()));
         Context context = getApplicationContext();
 
         try {
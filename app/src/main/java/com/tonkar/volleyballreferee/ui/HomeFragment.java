@@ -8,11 +8,11 @@ import android.widget.*;
 
 import androidx.annotation.*;
 import androidx.core.app.ActivityOptionsCompat;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
 
-import com.google.gson.JsonParseException;
 import com.tonkar.volleyballreferee.R;
 import com.tonkar.volleyballreferee.engine.*;
 import com.tonkar.volleyballreferee.engine.api.*;
@@ -61,11 +61,8 @@ public class HomeFragment extends Fragment {
         View startIndoor4x4Card = fragmentView.findViewById(R.id.start_indoor_4x4_card);
         startIndoor4x4Card.setOnClickListener(this::startIndoor4x4Game);
 
-        if (mStoredGamesService.hasCurrentGame()) {
-            View resumeGameCard = fragmentView.findViewById(R.id.resume_game_card);
-            resumeGameCard.setVisibility(View.VISIBLE);
-            resumeGameCard.setOnClickListener(this::resumeCurrentGame);
-        }
+        View resumeGameCard = fragmentView.findViewById(R.id.resume_game_card);
+        resumeGameCard.setOnClickListener(this::resumeCurrentGame);
 
         if (PrefUtils.hasServerUrl(requireContext()) && !PrefUtils.isSignedIn(requireContext())) {
             View goToSignCard = fragmentView.findViewById(R.id.goto_sign_in_card);
@@ -76,17 +73,15 @@ public class HomeFragment extends Fragment {
         fetchFriendRequests(fragmentView);
         fetchAvailableGames(fragmentView);
 
-        if (mStoredGamesService.hasCurrentGame()) {
-            try {
-                mStoredGamesService.loadCurrentGame();
-            } catch (JsonParseException e) {
-                Log.e(Tags.STORED_GAMES, "Failed to read the recorded game because the JSON format was invalid", e);
+        mStoredGamesService.loadCurrentGameAsync().whenCompleteAsync((game, throwable) -> {
+            if (throwable != null) {
+                Log.e(Tags.STORED_GAMES, "Failed to read the recorded game because the format was invalid", throwable);
                 mStoredGamesService.deleteCurrentGame();
+            } else if (game != null && isAdded()) {
+                resumeGameCard.setVisibility(View.VISIBLE);
             }
-        }
-        if (mStoredGamesService.hasSetupGame()) {
-            mStoredGamesService.deleteSetupGame();
-        }
+        }, ContextCompat.getMainExecutor(requireContext()));
+        mStoredGamesService.deleteSetupGame();
 
         return fragmentView;
     }
@@ -183,15 +178,19 @@ public class HomeFragment extends Fragment {
 
     private void resumeCurrentGame() {
         Log.i(Tags.GAME_UI, "Start game activity and resume current game");
-        IGame game = mStoredGamesService.loadCurrentGame();
-
-        if (game == null) {
-            UiUtils.makeErrorText(requireContext(), getString(R.string.resume_game_error), Toast.LENGTH_LONG).show();
-        } else {
-            final Intent gameIntent = new Intent(requireContext(), GameActivity.class);
-            startActivity(gameIntent);
-            UiUtils.animateCreate(requireActivity());
-        }
+        mStoredGamesService.loadCurrentGameAsync().whenCompleteAsync((game, throwable) -> {
+            if (!isAdded()) {
+                return;
+            }
+
+            if (game == null) {
+                UiUtils.makeErrorText(requireContext(), getString(R.string.resume_game_error), Toast.LENGTH_LONG).show();
+            } else {
+                final Intent gameIntent = new Intent(requireContext(), GameActivity.class);
+                startActivity(gameIntent);
+                UiUtils.animateCreate(requireActivity());
+            }
+        }, ContextCompat.getMainExecutor(requireContext()));
     }
 
     private void navigateToFragment(@IdRes int fragmentId) {
@@ -217,7 +216,7 @@ public class HomeFragment extends Fragment {
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            CountDto count = JsonConverters.GSON.fromJson(body.string(), CountDto.class);
+                            CountDto count = ResponseDecoder.decode("users/friends/received/count", body.byteStream(), CountDto.class);
                             initFriendRequestsButton(view, count);
                         }
                     } else {
@@ -257,7 +256,7 @@ public class HomeFragment extends Fragment {
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
                     if (response.code() == HttpURLConnection.HTTP_OK) {
                         try (ResponseBody body = response.body()) {
-                            CountDto count = JsonConverters.GSON.fromJson(body.string(), CountDto.class);
+                            CountDto count = ResponseDecoder.decode("games/available/count", body.byteStream(), CountDto.class);
                             initAvailableGamesButton(view, count);
                         }
                     } else {
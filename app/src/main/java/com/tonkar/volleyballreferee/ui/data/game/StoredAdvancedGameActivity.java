@@ -12,21 +12,12 @@ import com.google.android.material.tabs.*;
 import com.tonkar.volleyballreferee.R;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.game.UsageType;
-import com.tonkar.volleyballreferee.engine.service.StoredGamesManager;
 import com.tonkar.volleyballreferee.ui.util.UiUtils;
 
 public class StoredAdvancedGameActivity extends StoredGameActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        mGameId = getIntent().getStringExtra("game");
-        mStoredGamesService = new StoredGamesManager(this);
-        mStoredGame = mStoredGamesService.getGame(mGameId);
-
-        if (mStoredGame == null) {
-            getOnBackPressedDispatcher().onBackPressed();
-        }
-
         super.onCreate(savedInstanceState);
 
         Log.i(Tags.STORED_GAMES, "Create stored advanced game activity");
@@ -34,13 +25,20 @@ public class StoredAdvancedGameActivity extends StoredGameActivity {
 
         Toolbar toolbar = findViewById(R.id.toolbar);
         toolbar.setTitle("");
-        UiUtils.updateToolbarLogo(toolbar, mStoredGame.getKind(), UsageType.NORMAL);
         setSupportActionBar(toolbar);
         ActionBar actionBar = getSupportActionBar();
         if (actionBar != null) {
             actionBar.setDisplayHomeAsUpEnabled(true);
         }
 
+        loadStoredGame();
+    }
+
+    @Override
+    protected void onStoredGameLoaded() {
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        UiUtils.updateToolbarLogo(toolbar, mStoredGame.getKind(), UsageType.NORMAL);
+
         updateGame();
 
         initScoreSheetAvailability();
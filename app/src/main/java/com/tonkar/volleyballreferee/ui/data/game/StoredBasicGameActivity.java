@@ -10,21 +10,12 @@ import androidx.appcompat.widget.Toolbar;
 
 import com.tonkar.volleyballreferee.R;
 import com.tonkar.volleyballreferee.engine.Tags;
-import com.tonkar.volleyballreferee.engine.service.StoredGamesManager;
 import com.tonkar.volleyballreferee.ui.game.ladder.LadderListAdapter;
 
 public class StoredBasicGameActivity extends StoredGameActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        mGameId = getIntent().getStringExtra("game");
-        mStoredGamesService = new StoredGamesManager(this);
-        mStoredGame = mStoredGamesService.getGame(mGameId);
-
-        if (mStoredGame == null) {
-            getOnBackPressedDispatcher().onBackPressed();
-        }
-
         super.onCreate(savedInstanceState);
 
         Log.i(Tags.STORED_GAMES, "Create stored basic game activity");
@@ -38,6 +29,11 @@ public class StoredBasicGameActivity extends StoredGameActivity {
             actionBar.setDisplayHomeAsUpEnabled(true);
         }
 
+        loadStoredGame();
+    }
+
+    @Override
+    protected void onStoredGameLoaded() {
         updateGame();
 
         initScoreSheetAvailability();
@@ -6,6 +6,8 @@ import android.view.*;
 import android.widget.*;
 
 import androidx.appcompat.app.*;
+import androidx.core.content.ContextCompat;
+import androidx.fragment.app.Fragment;
 
 import com.tonkar.volleyballreferee.R;
 import com.tonkar.volleyballreferee.engine.*;
@@ -27,15 +29,22 @@ public abstract class StoredGameActivity extends AppCompatActivity {
     public StoredGameActivity() {
         super();
         getSupportFragmentManager().addFragmentOnAttachListener((fragmentManager, fragment) -> {
-            if (fragment instanceof StoredGameHandler storedGameHandler) {
-                storedGameHandler.setStoredGame(mStoredGame);
-            }
-            if (fragment instanceof RulesHandler rulesHandler) {
-                rulesHandler.setRules(mStoredGame.getRules());
+            // The fragments restored before the stored game is loaded receive it in loadStoredGame
+            if (mStoredGame != null) {
+                setStoredGame(fragment);
             }
         });
     }
 
+    private void setStoredGame(Fragment fragment) {
+        if (fragment instanceof StoredGameHandler storedGameHandler) {
+            storedGameHandler.setStoredGame(mStoredGame);
+        }
+        if (fragment instanceof RulesHandler rulesHandler) {
+            rulesHandler.setRules(mStoredGame.getRules());
+        }
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         MenuInflater inflater = getMenuInflater();
@@ -43,7 +52,7 @@ public abstract class StoredGameActivity extends AppCompatActivity {
 
         MenuItem deleteMenu = menu.findItem(R.id.action_delete_game);
         String userId = PrefUtils.getUserId(this);
-        deleteMenu.setVisible(Objects.equals(mStoredGame.getCreatedBy(), userId));
+        deleteMenu.setVisible(mStoredGame != null && Objects.equals(mStoredGame.getCreatedBy(), userId));
 
         return true;
     }
@@ -61,6 +70,39 @@ public abstract class StoredGameActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
+    /**
+     * Called from onCreate, after super.onCreate. The restored fragments need the stored game, their views are created once it is loaded.
+     */
+    protected void loadStoredGame() {
+        UiUtils.holdRestoredFragments(getSupportFragmentManager());
+
+        mGameId = getIntent().getStringExtra("game");
+        mStoredGamesService = new StoredGamesManager(this);
+        mStoredGamesService.getGameAsync(mGameId).whenCompleteAsync((storedGame, throwable) -> {
+            if (isDestroyed()) {
+                return;
+            }
+
+            if (throwable != null) {
+                Log.e(Tags.STORED_GAMES, "Failed to read the stored game", throwable);
+            }
+
+            if (storedGame == null) {
+                getOnBackPressedDispatcher().onBackPressed();
+            } else {
+                mStoredGame = storedGame;
+                for (Fragment fragment : getSupportFragmentManager().getFragments()) {
+                    setStoredGame(fragment);
+                }
+                UiUtils.releaseRestoredFragments(getSupportFragmentManager());
+                invalidateOptionsMenu();
+                onStoredGameLoaded();
+            }
+        }, ContextCompat.getMainExecutor(this));
+    }
+
+    protected abstract void onStoredGameLoaded();
+
     protected void updateGame() {
         TextView summaryText = findViewById(R.id.stored_game_summary);
         TextView dateText = findViewById(R.id.stored_game_date);
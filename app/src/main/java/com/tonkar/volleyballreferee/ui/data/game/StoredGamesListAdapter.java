@@ -10,11 +10,10 @@ import androidx.core.content.ContextCompat;
 import com.google.android.material.card.MaterialCardView;
 import com.tonkar.volleyballreferee.R;
 import com.tonkar.volleyballreferee.engine.api.model.GameSummaryDto;
+import com.tonkar.volleyballreferee.engine.service.StoredGamesService;
 import com.tonkar.volleyballreferee.ui.data.SelectableArrayAdapter;
 import com.tonkar.volleyballreferee.ui.util.UiUtils;
 
-import org.apache.commons.lang3.StringUtils;
-
 import java.text.DateFormat;
 import java.util.*;
 
@@ -30,39 +29,63 @@ public class StoredGamesListAdapter extends SelectableArrayAdapter<GameSummaryDt
         TextView         leagueText;
     }
 
+    private static final int PAGE_SIZE = 50;
+
     private final LayoutInflater       mLayoutInflater;
+    private final StoredGamesService   mStoredGamesService;
     private final List<GameSummaryDto> mStoredGamesList;
-    private final List<GameSummaryDto> mFilteredStoredGamesList;
     private final DateFormat           mFormatter;
     private final NamesFilter          mNamesFilter;
+    private final NextPageFilter       mNextPageFilter;
+    private       String               mQuery;
+    private       boolean              mHasMorePages;
+    private       boolean              mLoadingNextPage;
+
+    StoredGamesListAdapter(Context context, LayoutInflater layoutInflater, StoredGamesService storedGamesService) {
+        this(context, layoutInflater, storedGamesService, new ArrayList<>());
+    }
 
-    StoredGamesListAdapter(Context context, LayoutInflater layoutInflater, List<GameSummaryDto> storedGamesList) {
+    private StoredGamesListAdapter(Context context, LayoutInflater layoutInflater, StoredGamesService storedGamesService,
+                                   List<GameSummaryDto> storedGamesList) {
         super(context, R.layout.stored_games_list_item, storedGamesList);
         mLayoutInflater = layoutInflater;
+        mStoredGamesService = storedGamesService;
         mStoredGamesList = storedGamesList;
-        mFilteredStoredGamesList = new ArrayList<>();
-        mFilteredStoredGamesList.addAll(mStoredGamesList);
         mFormatter = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT, Locale.getDefault());
         mFormatter.setTimeZone(TimeZone.getDefault());
         mNamesFilter = new NamesFilter();
+        mNextPageFilter = new NextPageFilter();
+        mQuery = "";
+        mHasMorePages = false;
+        mLoadingNextPage = false;
     }
 
-    void updateStoredGamesList(List<GameSummaryDto> storedGamesList) {
-        mStoredGamesList.clear();
-        mFilteredStoredGamesList.clear();
-        mStoredGamesList.addAll(storedGamesList);
-        mFilteredStoredGamesList.addAll(storedGamesList);
+    /**
+     * Reloads the first page of the games matching the current query.
+     */
+    void reloadStoredGames() {
         clearSelectedItems();
+        mNamesFilter.filter(mQuery);
+    }
+
+    /**
+     * Appends the next page of the games matching the current query, if any.
+     */
+    void loadNextPage() {
+        if (mHasMorePages && !mLoadingNextPage) {
+            mLoadingNextPage = true;
+            mNextPageFilter.filter(mQuery);
+        }
     }
 
     @Override
     public int getCount() {
-        return mFilteredStoredGamesList.size();
+        return mStoredGamesList.size();
     }
 
     @Override
     public GameSummaryDto getItem(int index) {
-        return mFilteredStoredGamesList.get(index);
+        return mStoredGamesList.get(index);
     }
 
     @Override
@@ -90,7 +113,7 @@ public class StoredGamesListAdapter extends SelectableArrayAdapter<GameSummaryDt
             viewHolder = (ViewHolder) gameView.getTag();
         }
 
-        GameSummaryDto game = mFilteredStoredGamesList.get(index);
+        GameSummaryDto game = mStoredGamesList.get(index);
         updateGame(viewHolder, game);
 
         return gameView;
@@ -139,44 +162,25 @@ public class StoredGamesListAdapter extends SelectableArrayAdapter<GameSummaryDt
     private class NamesFilter extends Filter {
 
         @Override
-        protected FilterResults performFiltering(CharSequence prefix) {
+        protected FilterResults performFiltering(CharSequence query) {
             FilterResults results = new FilterResults();
-
-            if (StringUtils.isBlank(prefix)) {
-                results.values = mStoredGamesList;
-                results.count = mStoredGamesList.size();
-            } else {
-                String lowerCaseText = prefix.toString().toLowerCase(Locale.getDefault());
-
-                List<GameSummaryDto> matchValues = new ArrayList<>();
-
-                for (GameSummaryDto game : mStoredGamesList) {
-                    if (lowerCaseText.isEmpty() || game.getHomeTeamName().toLowerCase(Locale.getDefault()).contains(lowerCaseText) || game
-                            .getGuestTeamName()
-                            .toLowerCase(Locale.getDefault())
-                            .contains(lowerCaseText) || game
-                            .getLeagueName()
-                            .toLowerCase(Locale.getDefault())
-                            .contains(lowerCaseText) || game.getRefereeName().toLowerCase(Locale.getDefault()).contains(lowerCaseText)) {
-                        matchValues.add(game);
-                    }
-                }
-
-                results.values = matchValues;
-                results.count = matchValues.size();
-            }
-
+            List<GameSummaryDto> games = mStoredGamesService.listGames(Objects.toString(query, ""), null, PAGE_SIZE);
+            results.values = games;
+            results.count = games.size();
             return results;
         }
 
         @Override
-        protected void publishResults(CharSequence constraint, FilterResults results) {
-            mFilteredStoredGamesList.clear();
+        protected void publishResults(CharSequence query, FilterResults results) {
+            mQuery = Objects.toString(query, "");
+            mStoredGamesList.clear();
 
             if (results.values != null) {
-                mFilteredStoredGamesList.addAll((Collection<? extends GameSummaryDto>) results.values);
+                mStoredGamesList.addAll((Collection<? extends GameSummaryDto>) results.values);
             }
 
+            mHasMorePages = results.count == PAGE_SIZE;
+
             if (results.count > 0) {
                 notifyDataSetChanged();
             } else {
@@ -186,4 +190,40 @@ public class StoredGamesListAdapter extends SelectableArrayAdapter<GameSummaryDt
 
     }
 
+    private class NextPageFilter extends Filter {
+
+        private GameSummaryDto mAfter;
+
+        @Override
+        protected FilterResults performFiltering(CharSequence query) {
+            FilterResults results = new FilterResults();
+            List<GameSummaryDto> games = mStoredGamesService.listGames(Objects.toString(query, ""), mAfter, PAGE_SIZE);
+            results.values = games;
+            results.count = games.size();
+            return results;
+        }
+
+        @Override
+        public void filter(CharSequence query) {
+            mAfter = mStoredGamesList.isEmpty() ? null : mStoredGamesList.get(mStoredGamesList.size() - 1);
+            super.filter(query);
+        }
+
+        @Override
+        protected void publishResults(CharSequence query, FilterResults results) {
+            mLoadingNextPage = false;
+
+            // The list was reloaded in the meantime, this page does not follow it anymore
+            boolean stillNext = mQuery.equals(Objects.toString(query, "")) && !mStoredGamesList.isEmpty() && mStoredGamesList.get(
+                    mStoredGamesList.size() - 1) == mAfter;
+
+            if (stillNext && results.values != null) {
+                mStoredGamesList.addAll((Collection<? extends GameSummaryDto>) results.values);
+                mHasMorePages = results.count == PAGE_SIZE;
+                notifyDataSetChanged();
+            }
+        }
+
+    }
+
 }
@@ -21,8 +21,6 @@ import com.tonkar.volleyballreferee.engine.game.UsageType;
 import com.tonkar.volleyballreferee.engine.service.*;
 import com.tonkar.volleyballreferee.ui.util.UiUtils;
 
-import java.util.List;
-
 public class StoredGamesListFragment extends Fragment implements DataSynchronizationListener {
 
     private StoredGamesService     mStoredGamesService;
@@ -42,7 +40,6 @@ public class StoredGamesListFragment extends Fragment implements DataSynchroniza
         Log.i(Tags.STORED_GAMES, "Create stored games list fragment");
 
         mStoredGamesService = new StoredGamesManager(requireContext());
-        List<GameSummaryDto> games = mStoredGamesService.listGames();
 
         View fragmentView = inflater.inflate(R.layout.fragment_stored_games_list, container, false);
 
@@ -50,8 +47,21 @@ public class StoredGamesListFragment extends Fragment implements DataSynchroniza
         mSyncLayout.setOnRefreshListener(this::updateStoredGamesList);
 
         final ListView storedGamesList = fragmentView.findViewById(R.id.stored_games_list);
-        mStoredGamesListAdapter = new StoredGamesListAdapter(requireContext(), getLayoutInflater(), games);
+        mStoredGamesListAdapter = new StoredGamesListAdapter(requireContext(), getLayoutInflater(), mStoredGamesService);
         storedGamesList.setAdapter(mStoredGamesListAdapter);
+        mStoredGamesListAdapter.reloadStoredGames();
+
+        storedGamesList.setOnScrollListener(new AbsListView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(AbsListView view, int scrollState) {}
+
+            @Override
+            public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+                if (totalItemCount > 0 && firstVisibleItem + visibleItemCount >= totalItemCount - visibleItemCount) {
+                    mStoredGamesListAdapter.loadNextPage();
+                }
+            }
+        });
 
         storedGamesList.setOnItemClickListener((adapterView, itemView, position, l) -> {
             GameSummaryDto game = mStoredGamesListAdapter.getItem(position);
@@ -192,7 +202,7 @@ public class StoredGamesListFragment extends Fragment implements DataSynchroniza
     public void onSynchronizationSucceeded() {
         if (isAdded()) {
             requireActivity().runOnUiThread(() -> {
-                mStoredGamesListAdapter.updateStoredGamesList(mStoredGamesService.listGames());
+                mStoredGamesListAdapter.reloadStoredGames();
                 if (mDeleteSelectedGamesItem != null) {
                     mDeleteSelectedGamesItem.setVisible(mStoredGamesListAdapter.hasSelectedItems());
                 }
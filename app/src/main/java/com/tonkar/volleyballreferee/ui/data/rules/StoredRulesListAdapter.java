@@ -45,6 +45,7 @@ public class StoredRulesListAdapter extends SelectableArrayAdapter<RulesSummaryD
         mStoredRulesList.addAll(storedRulesList);
         mFilteredStoredRulesList.addAll(storedRulesList);
         clearSelectedItems();
+        notifyDataSetChanged();
     }
 
     @Override
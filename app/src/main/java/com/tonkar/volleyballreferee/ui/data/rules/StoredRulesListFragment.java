@@ -11,6 +11,7 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.widget.Toolbar;
 import androidx.core.app.ActivityOptionsCompat;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
@@ -23,7 +24,7 @@ import com.tonkar.volleyballreferee.engine.game.GameType;
 import com.tonkar.volleyballreferee.engine.service.*;
 import com.tonkar.volleyballreferee.ui.util.UiUtils;
 
-import java.util.List;
+import java.util.ArrayList;
 
 public class StoredRulesListFragment extends Fragment implements DataSynchronizationListener {
 
@@ -50,8 +51,6 @@ public class StoredRulesListFragment extends Fragment implements DataSynchroniza
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         mStoredRulesService = new StoredRulesManager(requireContext());
 
-        List<RulesSummaryDto> storedRules = mStoredRulesService.listRules();
-
         Log.i(Tags.STORED_RULES, "Create rules list fragment");
 
         View fragmentView = inflater.inflate(R.layout.fragment_stored_rules_list, container, false);
@@ -63,7 +62,7 @@ public class StoredRulesListFragment extends Fragment implements DataSynchroniza
         mFabMenu.setVisibility(View.INVISIBLE);
 
         final ListView storedRulesList = fragmentView.findViewById(R.id.stored_rules_list);
-        mStoredRulesListAdapter = new StoredRulesListAdapter(requireContext(), getLayoutInflater(), storedRules);
+        mStoredRulesListAdapter = new StoredRulesListAdapter(requireContext(), getLayoutInflater(), new ArrayList<>());
         storedRulesList.setAdapter(mStoredRulesListAdapter);
 
         storedRulesList.setOnItemClickListener((adapterView, itemView, position, l) -> {
@@ -73,17 +72,17 @@ public class StoredRulesListFragment extends Fragment implements DataSynchroniza
                 onRulesSelected(rulesDescription);
             } else {
                 computeOnBackPressedCallbackState();
-                RulesDto rules = mStoredRulesService.getRules(rulesDescription.getId());
-
-                if (rules != null) {
-                    Log.i(Tags.STORED_RULES, String.format("Start activity to view stored rules %s", rules.getName()));
-
-                    final Intent intent = new Intent(requireContext(), StoredRulesViewActivity.class);
-                    intent.putExtra("rules", JsonConverters.GSON.toJson(rules, RulesDto.class));
-                    startActivity(intent, ActivityOptionsCompat
-                            .makeSceneTransitionAnimation(requireActivity(), itemView, "listItemToDetails")
-                            .toBundle());
-                }
+                mStoredRulesService.getRulesAsync(rulesDescription.getId()).thenAcceptAsync(rules -> {
+                    if (rules != null && isAdded()) {
+                        Log.i(Tags.STORED_RULES, String.format("Start activity to view stored rules %s", rules.getName()));
+
+                        final Intent intent = new Intent(requireContext(), StoredRulesViewActivity.class);
+                        intent.putExtra("rules", JsonConverters.GSON.toJson(rules, RulesDto.class));
+                        startActivity(intent, ActivityOptionsCompat
+                                .makeSceneTransitionAnimation(requireActivity(), itemView, "listItemToDetails")
+                                .toBundle());
+                    }
+                }, ContextCompat.getMainExecutor(requireContext()));
             }
         });
 
@@ -115,6 +114,7 @@ public class StoredRulesListFragment extends Fragment implements DataSynchroniza
             }
         });
 
+        reloadStoredRules();
         updateStoredRulesList();
 
         UiUtils.addExtendShrinkListener(storedRulesList, mAddRulesButton);
@@ -264,6 +264,17 @@ public class StoredRulesListFragment extends Fragment implements DataSynchroniza
         computeOnBackPressedCallbackState();
     }
 
+    private void reloadStoredRules() {
+        mStoredRulesService.listRulesAsync().thenAcceptAsync(storedRules -> {
+            if (isAdded()) {
+                mStoredRulesListAdapter.updateStoredRulesList(storedRules);
+                if (mDeleteSelectedRulesItem != null) {
+                    mDeleteSelectedRulesItem.setVisible(mStoredRulesListAdapter.hasSelectedItems());
+                }
+            }
+        }, ContextCompat.getMainExecutor(requireContext()));
+    }
+
     private void updateStoredRulesList() {
         if (PrefUtils.canSync(requireContext())) {
             mSyncLayout.setRefreshing(true);
@@ -275,10 +286,7 @@ public class StoredRulesListFragment extends Fragment implements DataSynchroniza
     public void onSynchronizationSucceeded() {
         if (isAdded()) {
             requireActivity().runOnUiThread(() -> {
-                mStoredRulesListAdapter.updateStoredRulesList(mStoredRulesService.listRules());
-                if (mDeleteSelectedRulesItem != null) {
-                    mDeleteSelectedRulesItem.setVisible(mStoredRulesListAdapter.hasSelectedItems());
-                }
+                reloadStoredRules();
                 mSyncLayout.setRefreshing(false);
             });
         }
@@ -9,6 +9,7 @@ import android.widget.*;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.*;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
@@ -99,19 +100,23 @@ public class StoredRulesViewActivity extends AppCompatActivity {
     }
 
     public void editRules(View view) {
-        RulesDto rules = mStoredRulesService.getRules(mRules.getId());
+        mStoredRulesService.getRulesAsync(mRules.getId()).thenAcceptAsync(rules -> {
+            if (isDestroyed()) {
+                return;
+            }
 
-        if (rules == null) {
-            getOnBackPressedDispatcher().onBackPressed();
-        } else {
-            Log.i(Tags.STORED_RULES, String.format("Start activity to edit stored rules %s", rules.getName()));
-
-            final Intent intent = new Intent(this, StoredRulesActivity.class);
-            intent.putExtra("rules", JsonConverters.GSON.toJson(rules, RulesDto.class));
-            intent.putExtra("create", false);
-            startActivity(intent);
-            UiUtils.animateForward(this);
-        }
+            if (rules == null) {
+                getOnBackPressedDispatcher().onBackPressed();
+            } else {
+                Log.i(Tags.STORED_RULES, String.format("Start activity to edit stored rules %s", rules.getName()));
+
+                final Intent intent = new Intent(this, StoredRulesActivity.class);
+                intent.putExtra("rules", JsonConverters.GSON.toJson(rules, RulesDto.class));
+                intent.putExtra("create", false);
+                startActivity(intent);
+                UiUtils.animateForward(this);
+            }
+        }, ContextCompat.getMainExecutor(this));
     }
 
     private void deleteRules() {
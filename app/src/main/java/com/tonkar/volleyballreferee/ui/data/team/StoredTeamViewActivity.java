@@ -8,6 +8,7 @@ import android.widget.*;
 
 import androidx.appcompat.app.*;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
 import com.tonkar.volleyballreferee.R;
@@ -87,20 +88,24 @@ public class StoredTeamViewActivity extends AppCompatActivity {
     }
 
     public void editTeam(View view) {
-        TeamDto team = mStoredTeamsService.getTeam(mTeamService.getTeamId(null));
-
-        if (team == null) {
-            getOnBackPressedDispatcher().onBackPressed();
-        } else {
-            Log.i(Tags.STORED_TEAMS, String.format("Start activity to edit stored team %s", team.getName()));
-
-            final Intent intent = new Intent(this, StoredTeamActivity.class);
-            intent.putExtra("team", JsonConverters.GSON.toJson(team, TeamDto.class));
-            intent.putExtra("kind", mTeamService.getTeamsKind().toString());
-            intent.putExtra("create", false);
-            startActivity(intent);
-            UiUtils.animateForward(this);
-        }
+        mStoredTeamsService.getTeamAsync(mTeamService.getTeamId(null)).thenAcceptAsync(team -> {
+            if (isDestroyed()) {
+                return;
+            }
+
+            if (team == null) {
+                getOnBackPressedDispatcher().onBackPressed();
+            } else {
+                Log.i(Tags.STORED_TEAMS, String.format("Start activity to edit stored team %s", team.getName()));
+
+                final Intent intent = new Intent(this, StoredTeamActivity.class);
+                intent.putExtra("team", JsonConverters.GSON.toJson(team, TeamDto.class));
+                intent.putExtra("kind", mTeamService.getTeamsKind().toString());
+                intent.putExtra("create", false);
+                startActivity(intent);
+                UiUtils.animateForward(this);
+            }
+        }, ContextCompat.getMainExecutor(this));
     }
 
     private void deleteTeam() {
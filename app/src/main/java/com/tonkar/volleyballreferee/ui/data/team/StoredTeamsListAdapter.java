@@ -46,6 +46,7 @@ public class StoredTeamsListAdapter extends SelectableArrayAdapter<TeamSummaryDt
         mStoredTeamsList.addAll(storedTeamsList);
         mFilteredStoredTeamsList.addAll(storedTeamsList);
         clearSelectedItems();
+        notifyDataSetChanged();
     }
 
     @Override
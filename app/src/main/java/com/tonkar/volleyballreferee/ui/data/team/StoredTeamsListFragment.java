@@ -1,5 +1,5 @@
 package com.tonkar.volleyballreferee.ui.data.team;
-import android.content.Intent;
+import android.content.*;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.*;
@@ -8,11 +8,10 @@ import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.widget.Toolbar;
-import com.tonkar.volleyballreferee.ui.data.team.ImportTeamsHelper;
-import com.tonkar.volleyballreferee.engine.service.StoredTeamsManager;
 import android.net.Uri;
 import android.app.Activity;
 import androidx.core.app.ActivityOptionsCompat;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
@@ -24,7 +23,8 @@ import com.tonkar.volleyballreferee.engine.game.GameType;
 import com.tonkar.volleyballreferee.engine.service.*;
 import com.tonkar.volleyballreferee.engine.team.IBaseTeam;
 import com.tonkar.volleyballreferee.ui.util.UiUtils;
-import java.util.List;
+import java.io.*;
+import java.util.*;
 
 
 
@@ -57,8 +57,6 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         mStoredTeamsService = new StoredTeamsManager(requireContext());
 
-        List<TeamSummaryDto> teams = mStoredTeamsService.listTeams();
-
         Log.i(Tags.STORED_TEAMS, "Create teams list fragment");
 
         View fragmentView = inflater.inflate(R.layout.fragment_stored_teams_list, container, false);
@@ -70,7 +68,7 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
         mFabMenu.setVisibility(View.INVISIBLE);
 
         final ListView storedTeamsList = fragmentView.findViewById(R.id.stored_teams_list);
-        mStoredTeamsListAdapter = new StoredTeamsListAdapter(requireContext(), getLayoutInflater(), teams);
+        mStoredTeamsListAdapter = new StoredTeamsListAdapter(requireContext(), getLayoutInflater(), new ArrayList<>());
         storedTeamsList.setAdapter(mStoredTeamsListAdapter);
 
         storedTeamsList.setOnItemClickListener((adapterView, itemView, position, l) -> {
@@ -80,17 +78,17 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
                 onTeamSelected(teamDescription);
             } else {
                 computeOnBackPressedCallbackState();
-                TeamDto team = mStoredTeamsService.getTeam(teamDescription.getId());
-
-                if (team != null) {
-                    Log.i(Tags.STORED_TEAMS, String.format("Start activity to view stored team %s", team.getName()));
-
-                    final Intent intent = new Intent(requireContext(), StoredTeamViewActivity.class);
-                    intent.putExtra("team", JsonConverters.GSON.toJson(team, TeamDto.class));
-                    startActivity(intent, ActivityOptionsCompat
-                            .makeSceneTransitionAnimation(requireActivity(), itemView, "listItemToDetails")
-                            .toBundle());
-                }
+                mStoredTeamsService.getTeamAsync(teamDescription.getId()).thenAcceptAsync(team -> {
+                    if (team != null && isAdded()) {
+                        Log.i(Tags.STORED_TEAMS, String.format("Start activity to view stored team %s", team.getName()));
+
+                        final Intent intent = new Intent(requireContext(), StoredTeamViewActivity.class);
+                        intent.putExtra("team", JsonConverters.GSON.toJson(team, TeamDto.class));
+                        startActivity(intent, ActivityOptionsCompat
+                                .makeSceneTransitionAnimation(requireActivity(), itemView, "listItemToDetails")
+                                .toBundle());
+                    }
+                }, ContextCompat.getMainExecutor(requireContext()));
             }
         });
 
@@ -122,6 +120,7 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
             }
         });
 
+        reloadStoredTeams();
         updateStoredTeamsList();
 
         UiUtils.addExtendShrinkListener(storedTeamsList, mAddTeamButton);
@@ -283,6 +282,17 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
         computeOnBackPressedCallbackState();
     }
 
+    private void reloadStoredTeams() {
+        mStoredTeamsService.listTeamsAsync().thenAcceptAsync(teams -> {
+            if (isAdded()) {
+                mStoredTeamsListAdapter.updateStoredTeamsList(teams);
+                if (mDeleteSelectedTeamsItem != null) {
+                    mDeleteSelectedTeamsItem.setVisible(mStoredTeamsListAdapter.hasSelectedItems());
+                }
+            }
+        }, ContextCompat.getMainExecutor(requireContext()));
+    }
+
     private void updateStoredTeamsList() {
         if (PrefUtils.canSync(requireContext())) {
             mSyncLayout.setRefreshing(true);
@@ -294,10 +304,7 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
     public void onSynchronizationSucceeded() {
         if (isAdded()) {
             requireActivity().runOnUiThread(() -> {
-                mStoredTeamsListAdapter.updateStoredTeamsList(mStoredTeamsService.listTeams());
-                if (mDeleteSelectedTeamsItem != null) {
-                    mDeleteSelectedTeamsItem.setVisible(mStoredTeamsListAdapter.hasSelectedItems());
-                }
+                reloadStoredTeams();
                 mSyncLayout.setRefreshing(false);
             });
         }
@@ -314,30 +321,33 @@ public class StoredTeamsListFragment extends Fragment implements DataSynchroniza
     }
 
 
-@Override
-public void onActivityResult(int requestCode, int resultCode, Intent data) {
-    super.onActivityResult(requestCode, resultCode, data);
-    if (requestCode == REQUEST_IMPORT_TEAMS && resultCode == Activity.RESULT_OK && data != null && data.getData() != null) {
-        Uri uri = data.getData();
-        try {
-            List<com.tonkar.volleyballreferee.engine.api.model.TeamDto> teams =
-                    ImportTeamsHelper.readTeamsFromUri(requireContext(), uri);
-            int ok = 0, ko = 0;
-            for (com.tonkar.volleyballreferee.engine.api.model.TeamDto dto : teams) {
-                try {
-                    // Force use of manager's saveTeam to avoid interface differences
-                    StoredTeamsManager manager = (StoredTeamsManager) mStoredTeamsService;
-                    com.tonkar.volleyballreferee.engine.team.IBaseTeam teamService = manager.copyTeam(dto);
-                    manager.saveTeam(teamService, true);
-                    ok++;
-                } catch (Exception e) { ko++; }
-            }
-            android.widget.Toast.makeText(requireContext(), "Imported " + ok + " team(s)" + (ko > 0 ? (", " + ko + " failed") : ""), android.widget.Toast.LENGTH_LONG).show();
-            mStoredTeamsListAdapter.updateStoredTeamsList(mStoredTeamsService.listTeams());
-        } catch (Exception e) {
-            android.widget.Toast.makeText(requireContext(), "Import failed: " + e.getMessage(), android.widget.Toast.LENGTH_LONG).show();
+    @Override
+    public void onActivityResult(int requestCode, int resultCode, Intent data) {
+        super.onActivityResult(requestCode, resultCode, data);
+        if (requestCode == REQUEST_IMPORT_TEAMS && resultCode == Activity.RESULT_OK && data != null && data.getData() != null) {
+            Uri uri = data.getData();
+            ContentResolver contentResolver = requireContext().getContentResolver();
+            Log.i(Tags.STORED_TEAMS, String.format("Import teams from %s", uri));
+
+            mStoredTeamsService.importTeamsAsync(() -> {
+                InputStream inputStream = contentResolver.openInputStream(uri);
+                if (inputStream == null) {
+                    throw new FileNotFoundException(String.format("Cannot open %s", uri));
+                }
+                return inputStream;
+            }, null).whenCompleteAsync((report, throwable) -> {
+                if (isAdded()) {
+                    if (throwable == null) {
+                        String message = String.format(Locale.getDefault(), "Imported %d team(s), %d already stored, %d invalid, %d failed",
+                                                       report.getImported(), report.getDuplicates(), report.getInvalid(), report.getFailed());
+                        Toast.makeText(requireContext(), message, Toast.LENGTH_LONG).show();
+                        reloadStoredTeams();
+                    } else {
+                        Log.e(Tags.STORED_TEAMS, "Failed to import teams", throwable);
+                        Toast.makeText(requireContext(), "Import failed: " + throwable.getCause().getMessage(), Toast.LENGTH_LONG).show();
+                    }
+                }
+            }, ContextCompat.getMainExecutor(requireContext()));
         }
     }
 }
-
-}
\ No newline at end of file
@@ -72,27 +72,39 @@ public class GameActivity extends AppCompatActivity
     public GameActivity() {
         super();
         getSupportFragmentManager().addFragmentOnAttachListener((fragmentManager, fragment) -> {
-            if (fragment instanceof GameServiceHandler gameServiceHandler) {
-                gameServiceHandler.setGameService(mGame);
-            }
-            if (fragment instanceof StoredGamesServiceHandler storedGamesServiceHandler) {
-                storedGamesServiceHandler.setStoredGamesService(mStoredGamesService);
+            // The fragments restored before the game is loaded receive it in onGameLoaded
+            if (mGame != null) {
+                setServices(fragment);
             }
         });
     }
 
+    private void setServices(Fragment fragment) {
+        if (fragment instanceof GameServiceHandler gameServiceHandler) {
+            gameServiceHandler.setGameService(mGame);
+        }
+        if (fragment instanceof StoredGamesServiceHandler storedGamesServiceHandler) {
+            storedGamesServiceHandler.setStoredGamesService(mStoredGamesService);
+        }
+    }
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         preSignCoaches = getIntent().getBooleanExtra("pre_sign_coaches", false);
 
         mStoredGamesService = new StoredGamesManager(this);
-        mGame = mStoredGamesService.loadCurrentGame();
 
         super.onCreate(savedInstanceState);
+        // The restored fragments need the game, their views are created once it is loaded
+        UiUtils.holdRestoredFragments(getSupportFragmentManager());
 
         Log.i(Tags.GAME_UI, "Create game activity");
         setContentView(R.layout.activity_game);
 
+        // Nothing can be used before the game is loaded
+        final View gameContent = findViewById(R.id.activity_game_content);
+        gameContent.setVisibility(View.INVISIBLE);
+
         SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(this);
         boolean keepScreenOnSetting = sharedPreferences.getBoolean(PrefUtils.PREF_KEEP_SCREEN_ON, false);
         if (keepScreenOnSetting) {
@@ -107,6 +119,37 @@ public class GameActivity extends AppCompatActivity
             actionBar.setDisplayHomeAsUpEnabled(true);
         }
 
+        mStoredGamesService.loadCurrentGameAsync().whenCompleteAsync((game, throwable) -> {
+            if (isDestroyed()) {
+                return;
+            }
+
+            if (throwable != null) {
+                Log.e(Tags.STORED_GAMES, "Failed to read the recorded game", throwable);
+            }
+
+            if (game == null) {
+                UiUtils.navigateBackToHome(this);
+            } else {
+                mGame = game;
+                onGameLoaded(savedInstanceState);
+                gameContent.setVisibility(View.VISIBLE);
+            }
+        }, ContextCompat.getMainExecutor(this));
+
+        getOnBackPressedDispatcher().addCallback(this, new OnBackPressedCallback(true) {
+            @Override
+            public void handleOnBackPressed() {
+                if (mGame == null) {
+                    UiUtils.navigateBackToHome(GameActivity.this);
+                } else {
+                    UiUtils.navigateToMainWithDialog(GameActivity.this, mGame);
+                }
+            }
+        });
+    }
+
+    private void onGameLoaded(Bundle savedInstanceState) {
         if (savedInstanceState == null) {
             setActionBarTitle("");
         } else {
@@ -114,99 +157,102 @@ public class GameActivity extends AppCompatActivity
             startToolbarCountDown(duration);
         }
 
-        if (mGame == null || mStoredGamesService == null) {
-            UiUtils.navigateBackToHome(this);
+        mGame.addScoreListener(this);
+        mGame.addTimeoutListener(this);
+        mGame.addTeamListener(this);
+        mGame.addSanctionListener(this);
+        mStoredGamesService.connectGameRecorder(mGame);
+
+        mLeftTeamNameText = findViewById(R.id.left_team_name_text);
+        mRightTeamNameText = findViewById(R.id.right_team_name_text);
+
+        mSwapTeamsButton = findViewById(R.id.swap_teams_button);
+
+        mLeftTeamScoreButton = findViewById(R.id.left_team_score_button);
+        mRightTeamScoreButton = findViewById(R.id.right_team_score_button);
+
+        mLeftTeamSetsText = findViewById(R.id.left_team_set_text);
+        mRightTeamSetsText = findViewById(R.id.right_team_set_text);
+
+        mLeftTeamServiceButton = findViewById(R.id.left_team_service_button);
+        mRightTeamServiceButton = findViewById(R.id.right_team_service_button);
+
+        mSetsText = findViewById(R.id.set_text);
+
+        mUndoGameEventButton = findViewById(R.id.undo_game_event_button);
+
+        mLeftTeamTimeoutButton = findViewById(R.id.left_team_timeout_button);
+        mRightTeamTimeoutButton = findViewById(R.id.right_team_timeout_button);
+
+        mLeftTeamTimeoutLayout = findViewById(R.id.left_team_timeout_layout);
+        mRightTeamTimeoutLayout = findViewById(R.id.right_team_timeout_layout);
+
+        mLeftTeamCardsButton = findViewById(R.id.left_team_cards_button);
+        mRightTeamCardsButton = findViewById(R.id.right_team_cards_button);
+
+        if (mGame.getRules().isTeamTimeouts()) {
+            for (int index = 0; index < mGame.getRules().getTeamTimeoutsPerSet(); index++) {
+                final ImageView leftTimeout = new ImageView(this);
+                leftTimeout.setImageResource(R.drawable.timeout_shape);
+                final LinearLayout.LayoutParams leftTimeoutLayout = new LinearLayout.LayoutParams(
+                        LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+                int margin = (int) getResources().getDimension(R.dimen.tiny_margin_size);
+                leftTimeoutLayout.topMargin = margin;
+                leftTimeoutLayout.bottomMargin = margin;
+                leftTimeoutLayout.leftMargin = margin;
+                leftTimeoutLayout.rightMargin = margin;
+                leftTimeout.setLayoutParams(leftTimeoutLayout);
+                mLeftTeamTimeoutLayout.addView(leftTimeout);
+
+                final ImageView rightTimeout = new ImageView(this);
+                rightTimeout.setImageResource(R.drawable.timeout_shape);
+                final LinearLayout.LayoutParams rightTimeoutLayout = new LinearLayout.LayoutParams(
+                        LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+                margin = (int) getResources().getDimension(R.dimen.tiny_margin_size);
+                rightTimeoutLayout.topMargin = margin;
+                rightTimeoutLayout.bottomMargin = margin;
+                rightTimeoutLayout.leftMargin = margin;
+                rightTimeoutLayout.rightMargin = margin;
+                rightTimeout.setLayoutParams(rightTimeoutLayout);
+                mRightTeamTimeoutLayout.addView(rightTimeout);
+            }
         } else {
-            mGame.addScoreListener(this);
-            mGame.addTimeoutListener(this);
-            mGame.addTeamListener(this);
-            mGame.addSanctionListener(this);
-            mStoredGamesService.connectGameRecorder(mGame);
-
-            mLeftTeamNameText = findViewById(R.id.left_team_name_text);
-            mRightTeamNameText = findViewById(R.id.right_team_name_text);
-
-            mSwapTeamsButton = findViewById(R.id.swap_teams_button);
-
-            mLeftTeamScoreButton = findViewById(R.id.left_team_score_button);
-            mRightTeamScoreButton = findViewById(R.id.right_team_score_button);
-
-            mLeftTeamSetsText = findViewById(R.id.left_team_set_text);
-            mRightTeamSetsText = findViewById(R.id.right_team_set_text);
-
-            mLeftTeamServiceButton = findViewById(R.id.left_team_service_button);
-            mRightTeamServiceButton = findViewById(R.id.right_team_service_button);
-
-            mSetsText = findViewById(R.id.set_text);
-
-            mUndoGameEventButton = findViewById(R.id.undo_game_event_button);
-
-            mLeftTeamTimeoutButton = findViewById(R.id.left_team_timeout_button);
-            mRightTeamTimeoutButton = findViewById(R.id.right_team_timeout_button);
-
-            mLeftTeamTimeoutLayout = findViewById(R.id.left_team_timeout_layout);
-            mRightTeamTimeoutLayout = findViewById(R.id.right_team_timeout_layout);
-
-            mLeftTeamCardsButton = findViewById(R.id.left_team_cards_button);
-            mRightTeamCardsButton = findViewById(R.id.right_team_cards_button);
-
-            if (mGame.getRules().isTeamTimeouts()) {
-                for (int index = 0; index < mGame.getRules().getTeamTimeoutsPerSet(); index++) {
-                    final ImageView leftTimeout = new ImageView(this);
-                    leftTimeout.setImageResource(R.drawable.timeout_shape);
-                    final LinearLayout.LayoutParams leftTimeoutLayout = new LinearLayout.LayoutParams(
-                            LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-                    int margin = (int) getResources().getDimension(R.dimen.tiny_margin_size);
-                    leftTimeoutLayout.topMargin = margin;
-                    leftTimeoutLayout.bottomMargin = margin;
-                    leftTimeoutLayout.leftMargin = margin;
-                    leftTimeoutLayout.rightMargin = margin;
-                    leftTimeout.setLayoutParams(leftTimeoutLayout);
-                    mLeftTeamTimeoutLayout.addView(leftTimeout);
-
-                    final ImageView rightTimeout = new ImageView(this);
-                    rightTimeout.setImageResource(R.drawable.timeout_shape);
-                    final LinearLayout.LayoutParams rightTimeoutLayout = new LinearLayout.LayoutParams(
-                            LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-                    margin = (int) getResources().getDimension(R.dimen.tiny_margin_size);
-                    rightTimeoutLayout.topMargin = margin;
-                    rightTimeoutLayout.bottomMargin = margin;
-                    rightTimeoutLayout.leftMargin = margin;
-                    rightTimeoutLayout.rightMargin = margin;
-                    rightTimeout.setLayoutParams(rightTimeoutLayout);
-                    mRightTeamTimeoutLayout.addView(rightTimeout);
-                }
-            } else {
-                mLeftTeamTimeoutButton.setVisibility(View.GONE);
-                mRightTeamTimeoutButton.setVisibility(View.GONE);
+            mLeftTeamTimeoutButton.setVisibility(View.GONE);
+            mRightTeamTimeoutButton.setVisibility(View.GONE);
 
-                mLeftTeamTimeoutLayout.setVisibility(View.GONE);
-                mRightTeamTimeoutLayout.setVisibility(View.GONE);
-            }
+            mLeftTeamTimeoutLayout.setVisibility(View.GONE);
+            mRightTeamTimeoutLayout.setVisibility(View.GONE);
+        }
 
-            if (!mGame.getRules().isSanctions() || !UsageType.NORMAL.equals(mGame.getUsage())) {
-                mLeftTeamCardsButton.setVisibility(View.GONE);
-                mRightTeamCardsButton.setVisibility(View.GONE);
-            }
+        if (!mGame.getRules().isSanctions() || !UsageType.NORMAL.equals(mGame.getUsage())) {
+            mLeftTeamCardsButton.setVisibility(View.GONE);
+            mRightTeamCardsButton.setVisibility(View.GONE);
+        }
 
-            final BottomNavigationView gameNavigation = findViewById(R.id.game_nav);
-            initGameNavigation(gameNavigation, savedInstanceState);
+        for (Fragment fragment : getSupportFragmentManager().getFragments()) {
+            setServices(fragment);
+        }
+        UiUtils.releaseRestoredFragments(getSupportFragmentManager());
 
-            mTeamOnLeftSide = mGame.getTeamOnLeftSide();
-            mTeamOnRightSide = mGame.getTeamOnRightSide();
-            onTeamsSwapped(mTeamOnLeftSide, mTeamOnRightSide, ActionOriginType.USER);
+        final BottomNavigationView gameNavigation = findViewById(R.id.game_nav);
+        initGameNavigation(gameNavigation, savedInstanceState);
 
-            if (mGame.isMatchCompleted()) {
-                disableView();
-            }
+        mTeamOnLeftSide = mGame.getTeamOnLeftSide();
+        mTeamOnRightSide = mGame.getTeamOnRightSide();
+        onTeamsSwapped(mTeamOnLeftSide, mTeamOnRightSide, ActionOriginType.USER);
+
+        if (mGame.isMatchCompleted()) {
+            disableView();
         }
+    }
 
-        getOnBackPressedDispatcher().addCallback(this, new OnBackPressedCallback(true) {
-            @Override
-            public void handleOnBackPressed() {
-                UiUtils.navigateToMainWithDialog(GameActivity.this, mGame);
-            }
-        });
+    @Override
+    protected void onPause() {
+        super.onPause();
+
+        if (mStoredGamesService != null) {
+            mStoredGamesService.flushCurrentGame();
+        }
     }
 
     @Override
@@ -648,6 +694,7 @@ public class GameActivity extends AppCompatActivity
     @Override
     public void onUndoSanction(TeamType teamType, SanctionType sanctionType, int number) {}
 
+    // The selected tab is restored with its fragment, the first tab is only selected on a new activity
     private void initGameNavigation(final BottomNavigationView gameNavigation, Bundle savedInstanceState) {
         gameNavigation.setOnItemSelectedListener(item -> {
             final Fragment fragment;
@@ -694,7 +741,6 @@ public class GameActivity extends AppCompatActivity
         } else {
             gameNavigation.getMenu().removeItem(R.id.substitutions_tab);
             gameNavigation.getMenu().removeItem(R.id.court_position_tab);
-
             if (savedInstanceState == null) {
                 gameNavigation.setSelectedItemId(R.id.ladder_tab);
             }
@@ -118,18 +118,26 @@ public class SanctionSelectionDialogFragment extends DialogFragment implements G
     @Override
     public void onAttach(@NonNull Context context) {
         super.onAttach(context);
-        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> {
-            if (childFragment instanceof DelaySanctionSelectionFragment fragment) {
-                fragment.init(this, mGame);
-            }
-            if (childFragment instanceof MisconductSanctionSelectionFragment fragment) {
-                fragment.init(this, mGame);
-            }
-        });
+        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> initChildFragment(childFragment));
+    }
+
+    private void initChildFragment(Fragment childFragment) {
+        if (childFragment instanceof DelaySanctionSelectionFragment fragment) {
+            fragment.init(this, mGame);
+        }
+        if (childFragment instanceof MisconductSanctionSelectionFragment fragment) {
+            fragment.init(this, mGame);
+        }
     }
 
     @Override
     public void setGameService(IGame game) {
         mGame = game;
+        // The restored selection pages are attached before the game is set
+        if (isAdded()) {
+            for (Fragment childFragment : getChildFragmentManager().getFragments()) {
+                initChildFragment(childFragment);
+            }
+        }
     }
 }
@@ -8,6 +8,7 @@ import android.widget.*;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.widget.SwitchCompat;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.material.textfield.TextInputLayout;
@@ -402,14 +403,21 @@ public class RulesSetupFragment extends Fragment implements RulesHandler {
             StoredRulesService storedRulesService = new StoredRulesManager(getContext());
 
             mRulesNameInput.setThreshold(1);
-            mRulesNameInput.setAdapter(
-                    new AutocompleteRulesListAdapter(getContext(), getLayoutInflater(), storedRulesService.listRules(mRules.getKind())));
+            storedRulesService.listRulesAsync(mRules.getKind()).thenAcceptAsync(rules -> {
+                if (isAdded()) {
+                    mRulesNameInput.setAdapter(new AutocompleteRulesListAdapter(getContext(), getLayoutInflater(), rules));
+                }
+            }, ContextCompat.getMainExecutor(requireContext()));
             mRulesNameInput.setOnItemClickListener((parent, input, index, id) -> {
                 RulesSummaryDto rulesDescription = (RulesSummaryDto) mRulesNameInput.getAdapter().getItem(index);
                 mRulesNameInput.setText(rulesDescription.getName());
-                mRules.setAll(storedRulesService.getRules(rulesDescription.getId()));
-                initValues();
-                computeConfirmItemVisibility();
+                storedRulesService.getRulesAsync(rulesDescription.getId()).thenAcceptAsync(rules -> {
+                    if (rules != null && isAdded()) {
+                        mRules.setAll(rules);
+                        initValues();
+                        computeConfirmItemVisibility();
+                    }
+                }, ContextCompat.getMainExecutor(requireContext()));
             });
         }
 
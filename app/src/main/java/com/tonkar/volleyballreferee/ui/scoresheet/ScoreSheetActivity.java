@@ -18,6 +18,7 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.ActionBar;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.tonkar.volleyballreferee.R;
@@ -40,94 +41,112 @@ public class ScoreSheetActivity extends ProgressIndicatorActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        String gameId = getIntent().getStringExtra("game");
-        StoredGamesService storedGamesService = new StoredGamesManager(this);
-        mStoredGame = storedGamesService.getGame(gameId);
+        super.onCreate(savedInstanceState);
+        // The restored dialogs need the score sheet of the stored game, their views are created once it is loaded
+        UiUtils.holdRestoredFragments(getSupportFragmentManager());
 
-        if (mStoredGame == null) {
-            getOnBackPressedDispatcher().onBackPressed();
-        } else {
-            mScoreSheetBuilder = new ScoreSheetBuilder(this, mStoredGame);
+        Log.i(Tags.SCORE_SHEET, "Create score sheet activity");
+        setContentView(R.layout.activity_score_sheet);
 
-            super.onCreate(savedInstanceState);
+        setRequestedOrientation(ActivityInfo.SCREEN_ORIENTATION_LANDSCAPE);
 
-            Log.i(Tags.SCORE_SHEET, "Create score sheet activity");
-            setContentView(R.layout.activity_score_sheet);
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        toolbar.setTitle("");
+        setSupportActionBar(toolbar);
+        ActionBar actionBar = getSupportActionBar();
+        if (actionBar != null) {
+            actionBar.setDisplayHomeAsUpEnabled(true);
+        }
 
-            setRequestedOrientation(ActivityInfo.SCREEN_ORIENTATION_LANDSCAPE);
+        mSyncLayout = findViewById(R.id.score_sheet_sync_layout);
+        mSyncLayout.setEnabled(false);
 
-            Toolbar toolbar = findViewById(R.id.toolbar);
-            toolbar.setTitle("");
-            UiUtils.updateToolbarLogo(toolbar, mStoredGame.getKind(), UsageType.NORMAL);
-            setSupportActionBar(toolbar);
-            ActionBar actionBar = getSupportActionBar();
-            if (actionBar != null) {
-                actionBar.setDisplayHomeAsUpEnabled(true);
-            }
+        mWebView = findViewById(R.id.score_sheet);
+
+        mSelectScoreSheetLogoResultLauncher = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(),
+            result -> {
+                if (result.getResultCode() == Activity.RESULT_OK && mScoreSheetBuilder != null) {
+                    Intent data = result.getData();
+                    if (data != null) {
+                        try {
+                            Uri imageUri = data.getData();
+                            Bitmap bitmap = MediaStore.Images.Media.getBitmap(getContentResolver(), imageUri);
+                            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                            bitmap.compress(Bitmap.CompressFormat.JPEG, 20, stream);
 
-            mSyncLayout = findViewById(R.id.score_sheet_sync_layout);
-            mSyncLayout.setEnabled(false);
+                            String base64Image = Base64.encodeToString(stream.toByteArray(), Base64.NO_WRAP);
+                            mScoreSheetBuilder.setLogo(base64Image);
 
-            mWebView = findViewById(R.id.score_sheet);
+                            // Aseguramos que el builder lleva los últimos datos antes de recargar
+                            applyLicencesToBuilder();
+                            loadScoreSheet(false);
+
+                        } catch (IOException e) {
+                            Log.e(Tags.SCORE_SHEET, "Exception while opening the logo", e);
+                        }
+                    }
+                }
+            });
+
+        mCreatePdfScoreSheetResultLauncher = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(),
+            result -> {
+                if (result.getResultCode() == Activity.RESULT_OK && mScoreSheetBuilder != null) {
+                    Intent data = result.getData();
+                    if (data != null) {
+                        // Aplicamos licencias justo antes de generar el PDF
+                        applyLicencesToBuilder();
+                        ScoreSheetPdfConverter scoreSheetPdfConverter =
+                                new ScoreSheetPdfConverter(ScoreSheetActivity.this, data.getData());
+                        scoreSheetPdfConverter.convert(mScoreSheetBuilder.createScoreSheet());
+                    }
+                }
+            });
+
+        String gameId = getIntent().getStringExtra("game");
+        StoredGamesService storedGamesService = new StoredGamesManager(this);
+        storedGamesService.getGameAsync(gameId).whenCompleteAsync((storedGame, throwable) -> {
+            if (isDestroyed()) {
+                return;
+            }
 
-            // ---- Cargar licencias desde preferencias (incluyendo Assistant Coach/Staff)
-            applyLicencesToBuilder();
+            if (throwable != null) {
+                Log.e(Tags.SCORE_SHEET, "Failed to read the stored game", throwable);
+            }
 
-            loadScoreSheet(false);
+            if (storedGame == null) {
+                getOnBackPressedDispatcher().onBackPressed();
+            } else {
+                mStoredGame = storedGame;
+                onStoredGameLoaded();
+            }
+        }, ContextCompat.getMainExecutor(this));
+    }
 
-            FloatingActionButton logoButton = findViewById(R.id.score_sheet_logo_button);
-            logoButton.setOnClickListener(v -> selectScoreSheetLogo());
+    private void onStoredGameLoaded() {
+        mScoreSheetBuilder = new ScoreSheetBuilder(this, mStoredGame);
+        UiUtils.releaseRestoredFragments(getSupportFragmentManager());
 
-            FloatingActionButton signatureButton = findViewById(R.id.sign_score_sheet_button);
-            signatureButton.setOnClickListener(v -> showSignatureDialog());
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        UiUtils.updateToolbarLogo(toolbar, mStoredGame.getKind(), UsageType.NORMAL);
 
-            FloatingActionButton observationButton = findViewById(R.id.score_sheet_observation_button);
-            observationButton.setOnClickListener(v -> showObservationDialog());
+        // ---- Cargar licencias desde preferencias (incluyendo Assistant Coach/Staff)
+        applyLicencesToBuilder();
 
-            FloatingActionButton saveButton = findViewById(R.id.save_score_sheet_button);
-            saveButton.setOnClickListener(v -> createPdfScoreSheet());
+        loadScoreSheet(false);
 
-            mSelectScoreSheetLogoResultLauncher = registerForActivityResult(
-                new ActivityResultContracts.StartActivityForResult(),
-                result -> {
-                    if (result.getResultCode() == Activity.RESULT_OK) {
-                        Intent data = result.getData();
-                        if (data != null) {
-                            try {
-                                Uri imageUri = data.getData();
-                                Bitmap bitmap = MediaStore.Images.Media.getBitmap(getContentResolver(), imageUri);
-                                ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                                bitmap.compress(Bitmap.CompressFormat.JPEG, 20, stream);
+        FloatingActionButton logoButton = findViewById(R.id.score_sheet_logo_button);
+        logoButton.setOnClickListener(v -> selectScoreSheetLogo());
 
-                                String base64Image = Base64.encodeToString(stream.toByteArray(), Base64.NO_WRAP);
-                                mScoreSheetBuilder.setLogo(base64Image);
+        FloatingActionButton signatureButton = findViewById(R.id.sign_score_sheet_button);
+        signatureButton.setOnClickListener(v -> showSignatureDialog());
 
-                                // Aseguramos que el builder lleva los últimos datos antes de recargar
-                                applyLicencesToBuilder();
-                                loadScoreSheet(false);
+        FloatingActionButton observationButton = findViewById(R.id.score_sheet_observation_button);
+        observationButton.setOnClickListener(v -> showObservationDialog());
 
-                            } catch (IOException e) {
-                                Log.e(Tags.SCORE_SHEET, "Exception while opening the logo", e);
-                            }
-                        }
-                    }
-                });
-
-            mCreatePdfScoreSheetResultLauncher = registerForActivityResult(
-                new ActivityResultContracts.StartActivityForResult(),
-                result -> {
-                    if (result.getResultCode() == Activity.RESULT_OK) {
-                        Intent data = result.getData();
-                        if (data != null) {
-                            // Aplicamos licencias justo antes de generar el PDF
-                            applyLicencesToBuilder();
-                            ScoreSheetPdfConverter scoreSheetPdfConverter =
-                                    new ScoreSheetPdfConverter(ScoreSheetActivity.this, data.getData());
-                            scoreSheetPdfConverter.convert(mScoreSheetBuilder.createScoreSheet());
-                        }
-                    }
-                });
-        }
+        FloatingActionButton saveButton = findViewById(R.id.save_score_sheet_button);
+        saveButton.setOnClickListener(v -> createPdfScoreSheet());
     }
 
     @Override
@@ -9,6 +9,7 @@ import android.widget.ScrollView;
 import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.*;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.material.button.MaterialButton;
@@ -38,32 +39,38 @@ public class GameSetupActivity extends AppCompatActivity {
     public GameSetupActivity() {
         super();
         getSupportFragmentManager().addFragmentOnAttachListener((fragmentManager, fragment) -> {
-            if (fragment instanceof RulesHandler rulesHandler) {
-                rulesHandler.setRules(mGame.getRules());
-            }
-            if (fragment instanceof BaseTeamServiceHandler baseTeamServiceHandler) {
-                baseTeamServiceHandler.setTeamService(mGame);
-            }
-            if (fragment instanceof GameServiceHandler gameServiceHandler) {
-                gameServiceHandler.setGameService(mGame);
+            // The fragments restored before the game is loaded receive it in onGameLoaded
+            if (mGame != null) {
+                setServices(fragment);
             }
         });
     }
 
+    private void setServices(Fragment fragment) {
+        if (fragment instanceof RulesHandler rulesHandler) {
+            rulesHandler.setRules(mGame.getRules());
+        }
+        if (fragment instanceof BaseTeamServiceHandler baseTeamServiceHandler) {
+            baseTeamServiceHandler.setTeamService(mGame);
+        }
+        if (fragment instanceof GameServiceHandler gameServiceHandler) {
+            gameServiceHandler.setGameService(mGame);
+        }
+    }
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        StoredGamesService storedGamesService = new StoredGamesManager(this);
         mEditCurrent = getIntent().getBooleanExtra("edit_current", false);
-        mGame = mEditCurrent ? storedGamesService.loadCurrentGame() : storedGamesService.loadSetupGame();
 
         super.onCreate(savedInstanceState);
+        // The restored fragments need the game, their views are created once it is loaded
+        UiUtils.holdRestoredFragments(getSupportFragmentManager());
 
         Log.i(Tags.SETUP_UI, "Create game setup activity");
         setContentView(R.layout.activity_game_setup);
 
         Toolbar toolbar = findViewById(R.id.toolbar);
         toolbar.setTitle("");
-        UiUtils.updateToolbarLogo(toolbar, mGame.getKind(), mGame.getUsage());
         setSupportActionBar(toolbar);
         ActionBar actionBar = getSupportActionBar();
         if (actionBar != null) {
@@ -77,19 +84,51 @@ public class GameSetupActivity extends AppCompatActivity {
             }
         });
 
+        ScrollView scrollView = findViewById(R.id.setup_scroll_view);
+        ExtendedFloatingActionButton startGameButton = findViewById(R.id.start_game_button);
+        UiUtils.addExtendShrinkListener(scrollView, startGameButton);
+
+        StoredGamesService storedGamesService = new StoredGamesManager(this);
+        (mEditCurrent ? storedGamesService.loadCurrentGameAsync() : storedGamesService.loadSetupGameAsync()).whenCompleteAsync(
+                (game, throwable) -> {
+                    if (isDestroyed()) {
+                        return;
+                    }
+
+                    if (throwable != null) {
+                        Log.e(Tags.STORED_GAMES, "Failed to read the game to setup", throwable);
+                    }
+
+                    if (game == null) {
+                        UiUtils.navigateBackToHome(this);
+                    } else {
+                        mGame = game;
+                        onGameLoaded(savedInstanceState);
+                    }
+                }, ContextCompat.getMainExecutor(this));
+    }
+
+    private void onGameLoaded(Bundle savedInstanceState) {
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        UiUtils.updateToolbarLogo(toolbar, mGame.getKind(), mGame.getUsage());
+
+        for (Fragment fragment : getSupportFragmentManager().getFragments()) {
+            setServices(fragment);
+        }
+        UiUtils.releaseRestoredFragments(getSupportFragmentManager());
+
         final NavigationBarView gameSetupNavigation = findViewById(R.id.game_setup_nav);
         initGameSetupNavigation(gameSetupNavigation, savedInstanceState);
 
         computeStartGameButton();
-
-        ScrollView scrollView = findViewById(R.id.setup_scroll_view);
-        ExtendedFloatingActionButton startGameButton = findViewById(R.id.start_game_button);
-        UiUtils.addExtendShrinkListener(scrollView, startGameButton);
     }
 
     @Override
     protected void onPause() {
         super.onPause();
+        if (mGame == null) {
+            return;
+        }
         StoredGamesService storedGamesService = new StoredGamesManager(this);
         if (mEditCurrent) {
             if (mGame != null) {
@@ -217,9 +256,7 @@ public class GameSetupActivity extends AppCompatActivity {
         builder.setTitle(getString(R.string.new_game_title)).setMessage(getString(R.string.leave_game_setup_question));
         builder.setPositiveButton(android.R.string.yes, (dialog, which) -> {
             StoredGamesService storedGamesService = new StoredGamesManager(this);
-            if (storedGamesService.hasSetupGame()) {
-                storedGamesService.deleteSetupGame();
-            }
+            storedGamesService.deleteSetupGame();
             UiUtils.navigateBackToHome(this);
         });
         builder.setNegativeButton(android.R.string.no, (dialog, which) -> {});
@@ -228,6 +265,7 @@ public class GameSetupActivity extends AppCompatActivity {
         UiUtils.setAlertDialogMessageSize(alertDialog, getResources());
     }
 
+    // The selected tab is restored with its fragment, the first tab is only selected on a new activity
     private void initGameSetupNavigation(final NavigationBarView gameSetupNavigation, Bundle savedInstanceState) {
         gameSetupNavigation.setOnItemSelectedListener(item -> {
             Fragment fragment = null;
@@ -7,6 +7,7 @@ import android.view.*;
 import android.widget.*;
 
 import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.material.textfield.TextInputLayout;
@@ -70,15 +71,22 @@ public class MiscSetupFragment extends Fragment implements GameServiceHandler {
         final AutoCompleteTextView leagueNameInput = view.findViewById(R.id.league_name_input_text);
         leagueNameInput.setText(mGame.getLeague().getName());
         leagueNameInput.setThreshold(1);
-        leagueNameInput.setAdapter(
-                new AutocompleteLeagueListAdapter(getContext(), getLayoutInflater(), storedLeaguesService.listLeagues(mGame.getKind())));
+        storedLeaguesService.listLeaguesAsync(mGame.getKind()).thenAcceptAsync(leagues -> {
+            if (isAdded()) {
+                leagueNameInput.setAdapter(new AutocompleteLeagueListAdapter(getContext(), getLayoutInflater(), leagues));
+            }
+        }, ContextCompat.getMainExecutor(requireContext()));
         leagueNameInput.setOnItemClickListener((parent, input, index, id) -> {
             LeagueSummaryDto leagueDescription = (LeagueSummaryDto) leagueNameInput.getAdapter().getItem(index);
             leagueNameInput.setText(leagueDescription.getName());
             mGame.getLeague().setAll(leagueDescription);
             divisionNameInput.setText("");
-            divisionNameInput.setAdapter(new ArrayAdapter<>(requireContext(), R.layout.autocomplete_list_item, new ArrayList<>(
-                    storedLeaguesService.listDivisionNames(leagueDescription.getId()))));
+            storedLeaguesService.listDivisionNamesAsync(leagueDescription.getId()).thenAcceptAsync(divisionNames -> {
+                if (isAdded()) {
+                    divisionNameInput.setAdapter(
+                            new ArrayAdapter<>(requireContext(), R.layout.autocomplete_list_item, new ArrayList<>(divisionNames)));
+                }
+            }, ContextCompat.getMainExecutor(requireContext()));
             computeConfirmItemVisibility();
         });
 
@@ -102,40 +110,44 @@ public class MiscSetupFragment extends Fragment implements GameServiceHandler {
 
         computeDivisionLayoutVisibility(view);
 
-        List<FriendDto> referees = storedUserService.listReferees();
-
         Spinner refereeSpinner = view.findViewById(R.id.referee_spinner);
         if (PrefUtils.canSync(getContext())) {
-            NameSpinnerAdapter<FriendDto> refereeAdapter = new NameSpinnerAdapter<>(requireContext(), inflater, referees) {
-                @Override
-                public String getName(FriendDto referee) {
-                    return referee.getPseudo();
-                }
-
-                @Override
-                public String getId(FriendDto referee) {
-                    return referee.getId();
-                }
-            };
-            refereeSpinner.setAdapter(refereeAdapter);
-            if (refereeAdapter.getCount() > 0) {
-                refereeSpinner.setSelection(refereeAdapter.getPositionFromId(mGame.getRefereedBy()));
-            }
-            refereeSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
-                @Override
-                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                    Log.i(Tags.SETUP_UI, "Update referee");
-                    FriendDto referee = refereeAdapter.getItem(position);
-                    mGame.setRefereedBy(referee.getId());
-                    mGame.setRefereeName(referee.getPseudo());
+            storedUserService.listRefereesAsync().thenAcceptAsync(referees -> {
+                if (!isAdded()) {
+                    return;
                 }
 
-                @Override
-                public void onNothingSelected(AdapterView<?> parent) {
-                    mGame.setRefereedBy(null);
-                    mGame.setRefereeName(null);
+                NameSpinnerAdapter<FriendDto> refereeAdapter = new NameSpinnerAdapter<>(requireContext(), inflater, referees) {
+                    @Override
+                    public String getName(FriendDto referee) {
+                        return referee.getPseudo();
+                    }
+
+                    @Override
+                    public String getId(FriendDto referee) {
+                        return referee.getId();
+                    }
+                };
+                refereeSpinner.setAdapter(refereeAdapter);
+                if (refereeAdapter.getCount() > 0) {
+                    refereeSpinner.setSelection(refereeAdapter.getPositionFromId(mGame.getRefereedBy()));
                 }
-            });
+                refereeSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                    @Override
+                    public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                        Log.i(Tags.SETUP_UI, "Update referee");
+                        FriendDto referee = refereeAdapter.getItem(position);
+                        mGame.setRefereedBy(referee.getId());
+                        mGame.setRefereeName(referee.getPseudo());
+                    }
+
+                    @Override
+                    public void onNothingSelected(AdapterView<?> parent) {
+                        mGame.setRefereedBy(null);
+                        mGame.setRefereeName(null);
+                    }
+                });
+            }, ContextCompat.getMainExecutor(requireContext()));
         } else {
             view.findViewById(R.id.referee_spinner_title).setVisibility(View.GONE);
             refereeSpinner.setVisibility(View.GONE);
@@ -9,6 +9,7 @@ import android.widget.ScrollView;
 import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.*;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.material.button.MaterialButton;
@@ -34,28 +35,33 @@ public class QuickGameSetupActivity extends AppCompatActivity {
     public QuickGameSetupActivity() {
         super();
         getSupportFragmentManager().addFragmentOnAttachListener((fragmentManager, fragment) -> {
-            if (fragment instanceof GameServiceHandler gameServiceHandler) {
-                gameServiceHandler.setGameService(mGame);
-            }
-            if (fragment instanceof RulesHandler rulesHandler) {
-                rulesHandler.setRules(mGame.getRules());
+            // The fragments restored before the game is loaded receive it in onGameLoaded
+            if (mGame != null) {
+                setServices(fragment);
             }
         });
     }
 
+    private void setServices(Fragment fragment) {
+        if (fragment instanceof GameServiceHandler gameServiceHandler) {
+            gameServiceHandler.setGameService(mGame);
+        }
+        if (fragment instanceof RulesHandler rulesHandler) {
+            rulesHandler.setRules(mGame.getRules());
+        }
+    }
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        StoredGamesService storedGamesService = new StoredGamesManager(this);
-        mGame = storedGamesService.loadSetupGame();
-
         super.onCreate(savedInstanceState);
+        // The restored fragments need the game, their views are created once it is loaded
+        UiUtils.holdRestoredFragments(getSupportFragmentManager());
 
         Log.i(Tags.SETUP_UI, "Create quick game setup activity");
         setContentView(R.layout.activity_quick_game_setup);
 
         Toolbar toolbar = findViewById(R.id.toolbar);
         toolbar.setTitle("");
-        UiUtils.updateToolbarLogo(toolbar, mGame.getKind(), mGame.getUsage());
         setSupportActionBar(toolbar);
         ActionBar actionBar = getSupportActionBar();
         if (actionBar != null) {
@@ -69,22 +75,52 @@ public class QuickGameSetupActivity extends AppCompatActivity {
             }
         });
 
+        ScrollView scrollView = findViewById(R.id.setup_scroll_view);
+        ExtendedFloatingActionButton startGameButton = findViewById(R.id.start_game_button);
+        UiUtils.addExtendShrinkListener(scrollView, startGameButton);
+
+        StoredGamesService storedGamesService = new StoredGamesManager(this);
+        storedGamesService.loadSetupGameAsync().whenCompleteAsync((game, throwable) -> {
+            if (isDestroyed()) {
+                return;
+            }
+
+            if (throwable != null) {
+                Log.e(Tags.STORED_GAMES, "Failed to read the setup game", throwable);
+            }
+
+            if (game == null) {
+                UiUtils.navigateBackToHome(this);
+            } else {
+                mGame = game;
+                onGameLoaded(savedInstanceState);
+            }
+        }, ContextCompat.getMainExecutor(this));
+    }
+
+    private void onGameLoaded(Bundle savedInstanceState) {
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        UiUtils.updateToolbarLogo(toolbar, mGame.getKind(), mGame.getUsage());
+
+        for (Fragment fragment : getSupportFragmentManager().getFragments()) {
+            setServices(fragment);
+        }
+        UiUtils.releaseRestoredFragments(getSupportFragmentManager());
+
         final boolean create = getIntent().getBooleanExtra("create", true);
         final NavigationBarView gameSetupNavigation = findViewById(R.id.quick_game_setup_nav);
         initGameSetupNavigation(gameSetupNavigation, savedInstanceState, create);
 
         computeStartGameButton();
-
-        ScrollView scrollView = findViewById(R.id.setup_scroll_view);
-        ExtendedFloatingActionButton startGameButton = findViewById(R.id.start_game_button);
-        UiUtils.addExtendShrinkListener(scrollView, startGameButton);
     }
 
     @Override
     protected void onPause() {
         super.onPause();
-        StoredGamesService storedGamesService = new StoredGamesManager(this);
-        storedGamesService.saveSetupGame(mGame);
+        if (mGame != null) {
+            StoredGamesService storedGamesService = new StoredGamesManager(this);
+            storedGamesService.saveSetupGame(mGame);
+        }
     }
 
     @Override
@@ -157,9 +193,7 @@ public class QuickGameSetupActivity extends AppCompatActivity {
         builder.setTitle(getString(R.string.new_game_title)).setMessage(getString(R.string.leave_game_setup_question));
         builder.setPositiveButton(android.R.string.yes, (dialog, which) -> {
             StoredGamesService storedGamesService = new StoredGamesManager(this);
-            if (storedGamesService.hasSetupGame()) {
-                storedGamesService.deleteSetupGame();
-            }
+            storedGamesService.deleteSetupGame();
             UiUtils.navigateBackToHome(this);
         });
         builder.setNegativeButton(android.R.string.no, (dialog, which) -> {});
@@ -168,6 +202,7 @@ public class QuickGameSetupActivity extends AppCompatActivity {
         UiUtils.setAlertDialogMessageSize(alertDialog, getResources());
     }
 
+    // The selected tab is restored with its fragment, the first tab is only selected on a new activity
     private void initGameSetupNavigation(final NavigationBarView gameSetupNavigation, Bundle savedInstanceState, boolean create) {
         gameSetupNavigation.setOnItemSelectedListener(item -> {
             Fragment fragment = null;
@@ -166,34 +166,27 @@ public class QuickGameSetupFragment extends Fragment implements GameServiceHandl
                 switchCaptain(TeamType.GUEST);
             });
 
-            List<TeamSummaryDto> teams = storedTeamsService.listTeams(GameType.BEACH);
-            mHomeTeamAutocompleteTeamListAdapter = new AutocompleteTeamListAdapter(getContext(), getLayoutInflater(), teams);
-            mGuestTeamAutocompleteTeamListAdapter = new AutocompleteTeamListAdapter(getContext(), getLayoutInflater(), teams);
+            storedTeamsService.listTeamsAsync(GameType.BEACH).thenAcceptAsync(teams -> {
+                if (isAdded()) {
+                    mHomeTeamAutocompleteTeamListAdapter = new AutocompleteTeamListAdapter(getContext(), getLayoutInflater(), teams);
+                    mGuestTeamAutocompleteTeamListAdapter = new AutocompleteTeamListAdapter(getContext(), getLayoutInflater(), teams);
+                    homeTeamNameInput.setAdapter(mHomeTeamAutocompleteTeamListAdapter);
+                    guestTeamNameInput.setAdapter(mGuestTeamAutocompleteTeamListAdapter);
+                }
+            }, ContextCompat.getMainExecutor(requireContext()));
 
-            homeTeamNameInput.setAdapter(mHomeTeamAutocompleteTeamListAdapter);
             homeTeamNameInput.setThreshold(1);
             homeTeamNameInput.setOnItemClickListener((parent, input, index, id) -> {
                 TeamSummaryDto teamDescription = mHomeTeamAutocompleteTeamListAdapter.getItem(index);
                 homeTeamNameInput.setText(teamDescription.getName());
-                storedTeamsService.copyTeam(storedTeamsService.getTeam(teamDescription.getId()), mGame, TeamType.HOME);
-
-                teamColorSelected(TeamType.HOME, mGame.getTeamColor(TeamType.HOME));
-                updateGender(mGame.getGender(TeamType.HOME));
-                updateCaptain(TeamType.HOME);
-                computeConfirmItemVisibility();
+                copyStoredTeam(storedTeamsService, teamDescription, TeamType.HOME);
             });
 
-            guestTeamNameInput.setAdapter(mGuestTeamAutocompleteTeamListAdapter);
             guestTeamNameInput.setThreshold(1);
             guestTeamNameInput.setOnItemClickListener((parent, input, index, id) -> {
                 TeamSummaryDto teamDescription = mGuestTeamAutocompleteTeamListAdapter.getItem(index);
                 guestTeamNameInput.setText(teamDescription.getName());
-                storedTeamsService.copyTeam(storedTeamsService.getTeam(teamDescription.getId()), mGame, TeamType.GUEST);
-
-                teamColorSelected(TeamType.GUEST, mGame.getTeamColor(TeamType.GUEST));
-                updateGender(mGame.getGender(TeamType.GUEST));
-                updateCaptain(TeamType.GUEST);
-                computeConfirmItemVisibility();
+                copyStoredTeam(storedTeamsService, teamDescription, TeamType.GUEST);
             });
 
             mHomeTeamPlayerNamesButton.setOnClickListener(v -> showPlayerNamesInputDialogFragment(TeamType.HOME));
@@ -212,14 +205,29 @@ public class QuickGameSetupFragment extends Fragment implements GameServiceHandl
         return view;
     }
 
+    private void copyStoredTeam(StoredTeamsService storedTeamsService, TeamSummaryDto teamDescription, TeamType teamType) {
+        storedTeamsService.getTeamAsync(teamDescription.getId()).thenAcceptAsync(team -> {
+            if (team != null && isAdded()) {
+                storedTeamsService.copyTeam(team, mGame, teamType);
+
+                teamColorSelected(teamType, mGame.getTeamColor(teamType));
+                updateGender(mGame.getGender(teamType));
+                updateCaptain(teamType);
+                computeConfirmItemVisibility();
+            }
+        }, ContextCompat.getMainExecutor(requireContext()));
+    }
+
     @Override
     public void onAttach(@NonNull Context context) {
         super.onAttach(context);
-        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> {
-            if (childFragment instanceof PlayerNamesInputDialogFragment fragment) {
-                fragment.setTeam(mGame);
-            }
-        });
+        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> initChildFragment(childFragment));
+    }
+
+    private void initChildFragment(Fragment childFragment) {
+        if (childFragment instanceof PlayerNamesInputDialogFragment fragment) {
+            fragment.setTeam(mGame);
+        }
     }
 
     private void selectTeamColor(final TeamType teamType) {
@@ -318,5 +326,11 @@ public class QuickGameSetupFragment extends Fragment implements GameServiceHandl
     @Override
     public void setGameService(IGame game) {
         mGame = game;
+        // The restored player names dialog is attached before the team is set
+        if (isAdded()) {
+            for (Fragment childFragment : getChildFragmentManager().getFragments()) {
+                initChildFragment(childFragment);
+            }
+        }
     }
 }
@@ -11,6 +11,7 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.ActionBar;
 import androidx.appcompat.app.*;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.DialogFragment;
 
 import com.google.android.material.button.MaterialButton;
@@ -115,16 +116,22 @@ public class ScheduledGameActivity extends AppCompatActivity {
         final AutoCompleteTextView leagueNameInput = findViewById(R.id.league_name_input_text);
         leagueNameInput.setText(mGameSummary.getLeagueName());
         leagueNameInput.setThreshold(1);
-        leagueNameInput.setAdapter(
-                new AutocompleteLeagueListAdapter(this, getLayoutInflater(), storedLeaguesService.listLeagues(mGameSummary.getKind())));
+        storedLeaguesService.listLeaguesAsync(mGameSummary.getKind()).thenAcceptAsync(leagues -> {
+            if (!isDestroyed()) {
+                leagueNameInput.setAdapter(new AutocompleteLeagueListAdapter(this, getLayoutInflater(), leagues));
+            }
+        }, ContextCompat.getMainExecutor(this));
         leagueNameInput.setOnItemClickListener((parent, input, index, id) -> {
             LeagueSummaryDto leagueDescription = (LeagueSummaryDto) leagueNameInput.getAdapter().getItem(index);
             leagueNameInput.setText(leagueDescription.getName());
             mGameSummary.setLeagueId(leagueDescription.getId());
             mGameSummary.setLeagueName(leagueDescription.getName());
             divisionNameInput.setText("");
-            divisionNameInput.setAdapter(new ArrayAdapter<>(this, R.layout.autocomplete_list_item, new ArrayList<>(
-                    storedLeaguesService.listDivisionNames(leagueDescription.getId()))));
+            storedLeaguesService.listDivisionNamesAsync(leagueDescription.getId()).thenAcceptAsync(divisionNames -> {
+                if (!isDestroyed()) {
+                    divisionNameInput.setAdapter(new ArrayAdapter<>(this, R.layout.autocomplete_list_item, new ArrayList<>(divisionNames)));
+                }
+            }, ContextCompat.getMainExecutor(this));
             computeScheduleLayoutVisibility();
         });
 
@@ -183,68 +190,76 @@ public class ScheduledGameActivity extends AppCompatActivity {
             computeScheduleLayoutVisibility();
         });
 
-        List<RulesSummaryDto> rules = storedRulesService.listRules(mGameSummary.getKind());
-
-        final NameSpinnerAdapter<RulesSummaryDto> rulesAdapter = new NameSpinnerAdapter<>(this, getLayoutInflater(), rules) {
-            @Override
-            public String getName(RulesSummaryDto rules) {
-                return rules.getName();
+        storedRulesService.listRulesAsync(mGameSummary.getKind()).thenAcceptAsync(storedRules -> {
+            if (isDestroyed()) {
+                return;
             }
 
-            @Override
-            public String getId(RulesSummaryDto rules) {
-                return rules.getId();
-            }
-        };
+            final NameSpinnerAdapter<RulesSummaryDto> rulesAdapter = new NameSpinnerAdapter<>(this, getLayoutInflater(), storedRules) {
+                @Override
+                public String getName(RulesSummaryDto rules) {
+                    return rules.getName();
+                }
 
-        Spinner rulesSpinner = findViewById(R.id.rules_name_spinner);
-        rulesSpinner.setAdapter(rulesAdapter);
-        if (rulesAdapter.getCount() > 0 && mGameSummary.getRulesId() != null) {
-            rulesSpinner.setSelection(rulesAdapter.getPositionFromId(mGameSummary.getRulesId()));
-        }
-        rulesSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
-            @Override
-            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                updateRules(rulesAdapter.getItem(position));
-            }
+                @Override
+                public String getId(RulesSummaryDto rules) {
+                    return rules.getId();
+                }
+            };
 
-            @Override
-            public void onNothingSelected(AdapterView<?> parent) {
-                updateRules(null);
+            Spinner rulesSpinner = findViewById(R.id.rules_name_spinner);
+            rulesSpinner.setAdapter(rulesAdapter);
+            if (rulesAdapter.getCount() > 0 && mGameSummary.getRulesId() != null) {
+                rulesSpinner.setSelection(rulesAdapter.getPositionFromId(mGameSummary.getRulesId()));
             }
-        });
+            rulesSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                @Override
+                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                    updateRules(rulesAdapter.getItem(position));
+                }
 
-        List<FriendDto> referees = storedUserService.listReferees();
+                @Override
+                public void onNothingSelected(AdapterView<?> parent) {
+                    updateRules(null);
+                }
+            });
+        }, ContextCompat.getMainExecutor(this));
 
-        Spinner refereeSpinner = findViewById(R.id.referee_spinner);
-        NameSpinnerAdapter<FriendDto> refereeAdapter = new NameSpinnerAdapter<>(this, getLayoutInflater(), referees) {
-            @Override
-            public String getName(FriendDto referee) {
-                return referee.getPseudo();
+        storedUserService.listRefereesAsync().thenAcceptAsync(referees -> {
+            if (isDestroyed()) {
+                return;
             }
 
-            @Override
-            public String getId(FriendDto referee) {
-                return referee.getId();
-            }
-        };
-        refereeSpinner.setAdapter(refereeAdapter);
-        if (refereeAdapter.getCount() > 0) {
-            refereeSpinner.setSelection(refereeAdapter.getPositionFromId(mGameSummary.getRefereedBy()));
-        }
-        refereeSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
-            @Override
-            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                Log.i(Tags.SETUP_UI, "Update referee");
-                FriendDto referee = refereeAdapter.getItem(position);
-                updateReferee(referee);
-            }
+            Spinner refereeSpinner = findViewById(R.id.referee_spinner);
+            NameSpinnerAdapter<FriendDto> refereeAdapter = new NameSpinnerAdapter<>(this, getLayoutInflater(), referees) {
+                @Override
+                public String getName(FriendDto referee) {
+                    return referee.getPseudo();
+                }
 
-            @Override
-            public void onNothingSelected(AdapterView<?> parent) {
-                updateReferee(null);
+                @Override
+                public String getId(FriendDto referee) {
+                    return referee.getId();
+                }
+            };
+            refereeSpinner.setAdapter(refereeAdapter);
+            if (refereeAdapter.getCount() > 0) {
+                refereeSpinner.setSelection(refereeAdapter.getPositionFromId(mGameSummary.getRefereedBy()));
             }
-        });
+            refereeSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                @Override
+                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                    Log.i(Tags.SETUP_UI, "Update referee");
+                    FriendDto referee = refereeAdapter.getItem(position);
+                    updateReferee(referee);
+                }
+
+                @Override
+                public void onNothingSelected(AdapterView<?> parent) {
+                    updateReferee(null);
+                }
+            });
+        }, ContextCompat.getMainExecutor(this));
 
         computeScheduleLayoutVisibility();
     }
@@ -290,38 +305,44 @@ public class ScheduledGameActivity extends AppCompatActivity {
 
     private void updateTeamSpinners(boolean changedGender) {
         StoredTeamsService storedTeamsService = new StoredTeamsManager(this);
-        List<TeamSummaryDto> teams = storedTeamsService.listTeams(mGameSummary.getKind(), mGameSummary.getGender());
-
-        mTeamAdapter = new NameSpinnerAdapter<>(this, getLayoutInflater(), teams) {
-            @Override
-            public String getName(TeamSummaryDto team) {
-                return team.getName();
+        final GenderType genderType = mGameSummary.getGender();
+        storedTeamsService.listTeamsAsync(mGameSummary.getKind(), genderType).thenAcceptAsync(teams -> {
+            // The gender changed again while the teams were read
+            if (isDestroyed() || !genderType.equals(mGameSummary.getGender())) {
+                return;
             }
 
-            @Override
-            public String getId(TeamSummaryDto team) {
-                return team.getId();
-            }
-        };
-
-        mHomeTeamSpinner.setAdapter(mTeamAdapter);
-        mGuestTeamSpinner.setAdapter(mTeamAdapter);
-
-        if (mTeamAdapter.getCount() > 0) {
-            if (changedGender) {
-                mHomeTeamSpinner.setSelection(0);
-                mGuestTeamSpinner.setSelection(0);
-                updateTeam(TeamType.HOME, mTeamAdapter.getItem(0));
-                updateTeam(TeamType.GUEST, mTeamAdapter.getItem(0));
-            } else {
-                if (!mGameSummary.getHomeTeamName().isEmpty()) {
-                    mHomeTeamSpinner.setSelection(mTeamAdapter.getPositionFromId(mGameSummary.getHomeTeamId()));
+            mTeamAdapter = new NameSpinnerAdapter<>(this, getLayoutInflater(), teams) {
+                @Override
+                public String getName(TeamSummaryDto team) {
+                    return team.getName();
+                }
+
+                @Override
+                public String getId(TeamSummaryDto team) {
+                    return team.getId();
                 }
-                if (!mGameSummary.getGuestTeamName().isEmpty()) {
-                    mGuestTeamSpinner.setSelection(mTeamAdapter.getPositionFromId(mGameSummary.getGuestTeamId()));
+            };
+
+            mHomeTeamSpinner.setAdapter(mTeamAdapter);
+            mGuestTeamSpinner.setAdapter(mTeamAdapter);
+
+            if (mTeamAdapter.getCount() > 0) {
+                if (changedGender) {
+                    mHomeTeamSpinner.setSelection(0);
+                    mGuestTeamSpinner.setSelection(0);
+                    updateTeam(TeamType.HOME, mTeamAdapter.getItem(0));
+                    updateTeam(TeamType.GUEST, mTeamAdapter.getItem(0));
+                } else {
+                    if (!mGameSummary.getHomeTeamName().isEmpty()) {
+                        mHomeTeamSpinner.setSelection(mTeamAdapter.getPositionFromId(mGameSummary.getHomeTeamId()));
+                    }
+                    if (!mGameSummary.getGuestTeamName().isEmpty()) {
+                        mGuestTeamSpinner.setSelection(mTeamAdapter.getPositionFromId(mGameSummary.getGuestTeamId()));
+                    }
                 }
             }
-        }
+        }, ContextCompat.getMainExecutor(this));
     }
 
     private void updateTeam(TeamType teamType, TeamSummaryDto team) {
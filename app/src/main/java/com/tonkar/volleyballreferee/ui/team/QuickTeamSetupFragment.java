@@ -121,11 +121,13 @@ public class QuickTeamSetupFragment extends Fragment implements BaseTeamServiceH
     @Override
     public void onAttach(@NonNull Context context) {
         super.onAttach(context);
-        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> {
-            if (childFragment instanceof PlayerNamesInputDialogFragment fragment) {
-                fragment.setTeam(mTeamService);
-            }
-        });
+        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> initChildFragment(childFragment));
+    }
+
+    private void initChildFragment(Fragment childFragment) {
+        if (childFragment instanceof PlayerNamesInputDialogFragment fragment) {
+            fragment.setTeam(mTeamService);
+        }
     }
 
     private void selectTeamColor() {
@@ -204,5 +206,11 @@ public class QuickTeamSetupFragment extends Fragment implements BaseTeamServiceH
     @Override
     public void setTeamService(IBaseTeam teamService) {
         mTeamService = teamService;
+        // The restored player names dialog is attached before the team is set
+        if (isAdded()) {
+            for (Fragment childFragment : getChildFragmentManager().getFragments()) {
+                initChildFragment(childFragment);
+            }
+        }
     }
 }
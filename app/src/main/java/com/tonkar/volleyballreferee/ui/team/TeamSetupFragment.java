@@ -99,23 +99,30 @@ public class TeamSetupFragment extends Fragment implements BaseTeamServiceHandle
             StoredTeamsService storedTeamsService = new StoredTeamsManager(getContext());
 
             teamNameInput.setThreshold(1);
-            teamNameInput.setAdapter(new AutocompleteTeamListAdapter(getContext(), getLayoutInflater(),
-                                                                     storedTeamsService.listTeams(mTeamService.getTeamsKind())));
+            storedTeamsService.listTeamsAsync(mTeamService.getTeamsKind()).thenAcceptAsync(teams -> {
+                if (isAdded()) {
+                    teamNameInput.setAdapter(new AutocompleteTeamListAdapter(getContext(), getLayoutInflater(), teams));
+                }
+            }, ContextCompat.getMainExecutor(requireContext()));
             teamNameInput.setOnItemClickListener((parent, input, index, id) -> {
                 TeamSummaryDto teamDescription = (TeamSummaryDto) teamNameInput.getAdapter().getItem(index);
                 teamNameInput.setText(teamDescription.getName());
-                storedTeamsService.copyTeam(storedTeamsService.getTeam(teamDescription.getId()), mTeamService, mTeamType);
-
-                teamColorSelected(mTeamService.getTeamColor(mTeamType));
-                updateGender(mTeamService.getGender(mTeamType));
-                mPlayerAdapter.notifyDataSetChanged();
-                captainUpdated(mTeamType, mTeamService.getCaptain(mTeamType));
-                if (GameType.INDOOR.equals(mTeamService.getTeamsKind())) {
-                    liberoColorSelected(mTeamService.getLiberoColor(mTeamType));
-                    mLiberoAdapter.notifyDataSetChanged();
-                }
-                coachNameInput.setText(mTeamService.getCoachName(mTeamType));
-                computeConfirmItemVisibility();
+                storedTeamsService.getTeamAsync(teamDescription.getId()).thenAcceptAsync(team -> {
+                    if (team != null && isAdded()) {
+                        storedTeamsService.copyTeam(team, mTeamService, mTeamType);
+
+                        teamColorSelected(mTeamService.getTeamColor(mTeamType));
+                        updateGender(mTeamService.getGender(mTeamType));
+                        mPlayerAdapter.notifyDataSetChanged();
+                        captainUpdated(mTeamType, mTeamService.getCaptain(mTeamType));
+                        if (GameType.INDOOR.equals(mTeamService.getTeamsKind())) {
+                            liberoColorSelected(mTeamService.getLiberoColor(mTeamType));
+                            mLiberoAdapter.notifyDataSetChanged();
+                        }
+                        coachNameInput.setText(mTeamService.getCoachName(mTeamType));
+                        computeConfirmItemVisibility();
+                    }
+                }, ContextCompat.getMainExecutor(requireContext()));
             });
         }
 
@@ -232,11 +239,13 @@ public class TeamSetupFragment extends Fragment implements BaseTeamServiceHandle
     @Override
     public void onAttach(@NonNull Context context) {
         super.onAttach(context);
-        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> {
-            if (childFragment instanceof PlayerNamesInputDialogFragment fragment) {
-                fragment.setTeam(mTeamService);
-            }
-        });
+        getChildFragmentManager().addFragmentOnAttachListener((fragmentManager, childFragment) -> initChildFragment(childFragment));
+    }
+
+    private void initChildFragment(Fragment childFragment) {
+        if (childFragment instanceof PlayerNamesInputDialogFragment fragment) {
+            fragment.setTeam(mTeamService);
+        }
     }
 
     private void selectTeamColor() {
@@ -266,6 +275,12 @@ public class TeamSetupFragment extends Fragment implements BaseTeamServiceHandle
     @Override
     public void setTeamService(IBaseTeam teamService) {
         mTeamService = teamService;
+        // The restored player names dialog is attached before the team is set
+        if (isAdded()) {
+            for (Fragment childFragment : getChildFragmentManager().getFragments()) {
+                initChildFragment(childFragment);
+            }
+        }
     }
 
     private class PlayerAdapter extends BaseAdapter {
@@ -15,8 +15,9 @@ import androidx.annotation.*;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.Toolbar;
 import androidx.core.content.ContextCompat;
-import androidx.core.text.TextUtilsCompat;
 import androidx.core.view.ViewCompat;
+import androidx.fragment.app.*;
+import androidx.lifecycle.Lifecycle;
 
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
@@ -25,6 +26,7 @@ import com.tonkar.volleyballreferee.R;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.game.*;
 import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
+import com.tonkar.volleyballreferee.engine.game.score.ScoreFormat;
 import com.tonkar.volleyballreferee.engine.team.*;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
 import com.tonkar.volleyballreferee.ui.MainActivity;
@@ -301,12 +303,7 @@ public class UiUtils {
     }
 
     public static String formatScoreFromLocale(int leftScore, int rightScore, boolean withSpace) {
-        String format = withSpace ? "%d\t-\t%d" : "%d-%d";
-        if (View.LAYOUT_DIRECTION_LTR == TextUtilsCompat.getLayoutDirectionFromLocale(Locale.getDefault())) {
-            return String.format(Locale.getDefault(), format, leftScore, rightScore);
-        } else {
-            return String.format(Locale.getDefault(), format, rightScore, leftScore);
-        }
+        return ScoreFormat.formatFromLocale(leftScore, rightScore, withSpace);
     }
 
     public static void setSanctionImage(ImageView imageView, SanctionType sanctionType) {
@@ -346,4 +343,36 @@ public class UiUtils {
             return false;
         });
     }
+
+    /**
+     * Caps the fragments restored with an activity to the created state, so that they do not build their views before the game they
+     * show is loaded. Their saved state is kept until they are released.
+     */
+    public static void holdRestoredFragments(FragmentManager fragmentManager) {
+        List<Fragment> fragments = fragmentManager.getFragments();
+
+        if (!fragments.isEmpty()) {
+            FragmentTransaction transaction = fragmentManager.beginTransaction();
+            for (Fragment fragment : fragments) {
+                transaction.setMaxLifecycle(fragment, Lifecycle.State.CREATED);
+            }
+            transaction.commitNow();
+        }
+    }
+
+    /**
+     * Lets the fragments held by holdRestoredFragments create their views, once the activity gave them the loaded game.
+     */
+    public static void releaseRestoredFragments(FragmentManager fragmentManager) {
+        List<Fragment> fragments = fragmentManager.getFragments();
+
+        if (!fragments.isEmpty()) {
+            FragmentTransaction transaction = fragmentManager.beginTransaction();
+            for (Fragment fragment : fragments) {
+                transaction.setMaxLifecycle(fragment, Lifecycle.State.RESUMED);
+            }
+            // The game may be loaded after the activity saved its state, the fragments are then held again when it is restored
+            transaction.commitNowAllowingStateLoss();
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.tonkar.volleyballreferee.engine.bench;
+
+import com.tonkar.volleyballreferee.engine.game.*;
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.team.*;
+import com.tonkar.volleyballreferee.engine.team.player.PositionType;
+
+import java.util.UUID;
+
+class BenchGames {
+
+    private BenchGames() {}
+
+    static IGame createLiveGame(GameType kind) {
+        final String id = UUID.randomUUID().toString();
+        final long now = System.currentTimeMillis();
+
+        IGame game = switch (kind) {
+            case INDOOR -> GameFactory.createIndoorGame(id, "bench", "", now, now, Rules.officialIndoorRules());
+            case INDOOR_4X4 -> GameFactory.createIndoor4x4Game(id, "bench", "", now, now, Rules.defaultIndoor4x4Rules());
+            case BEACH -> GameFactory.createBeachGame(id, "bench", "", now, now, Rules.officialBeachRules());
+            case SNOW -> GameFactory.createSnowGame(id, "bench", "", now, now, Rules.officialSnowRules());
+        };
+
+        if (game instanceof IClassicTeam) {
+            for (int number = 1; number <= 8; number++) {
+                game.addPlayer(TeamType.HOME, number);
+                game.addPlayer(TeamType.GUEST, number);
+            }
+        }
+
+        game.startMatch();
+        confirmStartingLineups(game);
+
+        return game;
+    }
+
+    /**
+     * Plays until the given set (1-based) is the current one, the sets being won alternately, then scores a few points in it.
+     */
+    static IGame createGameAtSet(GameType kind, int set) {
+        IGame game = createLiveGame(kind);
+        TeamType winner = TeamType.HOME;
+
+        while (game.getNumberOfSets() < set && !game.isMatchCompleted()) {
+            final int numberOfSets = game.getNumberOfSets();
+            while (game.getNumberOfSets() == numberOfSets && !game.isMatchCompleted()) {
+                game.addPoint(winner);
+            }
+            confirmStartingLineups(game);
+            winner = winner.other();
+        }
+
+        for (int index = 0; index < 10; index++) {
+            game.addPoint(index % 3 == 0 ? TeamType.GUEST : TeamType.HOME);
+        }
+
+        return game;
+    }
+
+    private static void confirmStartingLineups(IGame game) {
+        if (game instanceof IClassicTeam classicTeam) {
+            for (TeamType teamType : TeamType.values()) {
+                if (!game.isStartingLineupConfirmed(teamType)) {
+                    for (PositionType positionType : PositionType.listPositions(game.getKind())) {
+                        classicTeam.substitutePlayer(teamType, positionType.ordinal() + 1, positionType, ActionOriginType.USER);
+                    }
+                    classicTeam.confirmStartingLineup(teamType);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tonkar.volleyballreferee.engine.bench;
+
+import com.tonkar.volleyballreferee.engine.game.*;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class ScoringBenchmark {
+
+    // The command log grows with every operation, so each invocation plays a fixed-size batch on a fresh game.
+    // The batch keeps the log length bounded and amortizes the per-invocation setup overhead.
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"INDOOR", "INDOOR_4X4", "BEACH", "SNOW"})
+    private GameType mKind;
+
+    private IGame mGame;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        mGame = BenchGames.createLiveGame(mKind);
+        mGame.addPoint(TeamType.GUEST);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void addPointAndRemoveLastPoint(Blackhole blackhole) {
+        for (int operation = 0; operation < BATCH_SIZE; operation++) {
+            mGame.addPoint(TeamType.HOME);
+            mGame.undoGameEvent(GameEvent.newPointEvent(TeamType.HOME));
+            blackhole.consume(mGame.getPoints(TeamType.HOME));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void latestGameEventsAndUndo(Blackhole blackhole) {
+        for (int operation = 0; operation < BATCH_SIZE; operation++) {
+            mGame.addPoint(TeamType.HOME);
+            mGame.callTimeout(TeamType.GUEST);
+            List<GameEvent> gameEvents = mGame.getLatestGameEvents();
+            for (int index = gameEvents.size() - 1; index >= 0; index--) {
+                mGame.undoGameEvent(gameEvents.get(index));
+            }
+            blackhole.consume(gameEvents);
+        }
+    }
+}
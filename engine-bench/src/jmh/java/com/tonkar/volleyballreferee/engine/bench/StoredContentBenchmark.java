@@ -0,0 +1,45 @@
+package com.tonkar.volleyballreferee.engine.bench;
+
+import com.tonkar.volleyballreferee.engine.api.*;
+import com.tonkar.volleyballreferee.engine.api.model.GameDto;
+import com.tonkar.volleyballreferee.engine.game.GameType;
+import com.tonkar.volleyballreferee.engine.service.StoredGame;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reading a stored game the way VbrRepository.getGame does, from the legacy JSON text and from the compressed content.
+ */
+@State(Scope.Thread)
+public class StoredContentBenchmark {
+
+    @Param({"1", "5"})
+    private int mSet;
+
+    private byte[] mJsonContent;
+    private byte[] mCompressedContent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String json = JsonConverters.GSON.toJson(StoredGame.fromGame(BenchGames.createGameAtSet(GameType.INDOOR, mSet)), GameDto.class);
+        mJsonContent = json.getBytes(StandardCharsets.UTF_8);
+        mCompressedContent = CompressedJson.encode(json);
+    }
+
+    @Benchmark
+    public StoredGame readJsonGame() {
+        return JsonConverters.GSON.fromJson(CompressedJson.decode(mJsonContent), StoredGame.class);
+    }
+
+    @Benchmark
+    public StoredGame readCompressedGame() {
+        return JsonConverters.GSON.fromJson(CompressedJson.decode(mCompressedContent), StoredGame.class);
+    }
+
+    @Benchmark
+    public byte[] writeCompressedGame() {
+        return CompressedJson.encode(new String(mJsonContent, StandardCharsets.UTF_8));
+    }
+}
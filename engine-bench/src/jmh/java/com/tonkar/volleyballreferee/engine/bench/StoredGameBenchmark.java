@@ -0,0 +1,68 @@
+package com.tonkar.volleyballreferee.engine.bench;
+
+import com.google.gson.reflect.TypeToken;
+import com.tonkar.volleyballreferee.engine.api.JsonConverters;
+import com.tonkar.volleyballreferee.engine.game.*;
+import com.tonkar.volleyballreferee.engine.service.StoredGame;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+
+@State(Scope.Thread)
+public class StoredGameBenchmark {
+
+    private static final Type BASE_GAME_TYPE = new TypeToken<BaseGame>() {}.getType();
+
+    @Param({"1", "5"})
+    private int mSet;
+
+    private IGame      mGame;
+    private StoredGame mStoredGame;
+    private String     mGameJson;
+    private String     mStoredGameJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mGame = BenchGames.createGameAtSet(GameType.INDOOR, mSet);
+        mStoredGame = StoredGame.fromGame(mGame);
+        mGameJson = JsonConverters.GSON.toJson(mGame, BASE_GAME_TYPE);
+        mStoredGameJson = JsonConverters.GSON.toJson(mStoredGame, StoredGame.class);
+    }
+
+    @Benchmark
+    public StoredGame createStoredGame() {
+        return StoredGame.fromGame(mGame);
+    }
+
+    @Benchmark
+    public StoredGame updateStoredGame() {
+        mStoredGame.updateFromGame(mGame);
+        return mStoredGame;
+    }
+
+    @Benchmark
+    public BaseGame gameRoundTrip() {
+        return JsonConverters.GSON.fromJson(JsonConverters.GSON.toJson(mGame, BASE_GAME_TYPE), BASE_GAME_TYPE);
+    }
+
+    @Benchmark
+    public String serializeGame() {
+        return JsonConverters.GSON.toJson(mGame, BASE_GAME_TYPE);
+    }
+
+    @Benchmark
+    public BaseGame deserializeGame() {
+        return JsonConverters.GSON.fromJson(mGameJson, BASE_GAME_TYPE);
+    }
+
+    @Benchmark
+    public StoredGame storedGameRoundTrip() {
+        return JsonConverters.GSON.fromJson(JsonConverters.GSON.toJson(mStoredGame, StoredGame.class), StoredGame.class);
+    }
+
+    @Benchmark
+    public StoredGame deserializeStoredGame() {
+        return JsonConverters.GSON.fromJson(mStoredGameJson, StoredGame.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.tonkar.volleyballreferee.engine;
+
+public class EngineLog {
+
+    private static final LogSink STANDARD_ERROR_SINK = new LogSink() {
+        @Override
+        public void info(String tag, String message) {}
+
+        @Override
+        public void error(String tag, String message) {
+            System.err.println(tag + ": " + message);
+        }
+    };
+
+    private static volatile LogSink sLogSink = STANDARD_ERROR_SINK;
+
+    private EngineLog() {}
+
+    public static void setSink(LogSink logSink) {
+        sLogSink = logSink == null ? STANDARD_ERROR_SINK : logSink;
+    }
+
+    public static void i(String tag, String message) {
+        sLogSink.info(tag, message);
+    }
+
+    public static void e(String tag, String message) {
+        sLogSink.error(tag, message);
+    }
+}
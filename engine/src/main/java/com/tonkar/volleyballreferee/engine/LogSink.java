@@ -0,0 +1,11 @@
+package com.tonkar.volleyballreferee.engine;
+
+/**
+ * Receives the logs of the engine. The host platform installs its own sink with {@link EngineLog#setSink(LogSink)}.
+ */
+public interface LogSink {
+
+    void info(String tag, String message);
+
+    void error(String tag, String message);
+}
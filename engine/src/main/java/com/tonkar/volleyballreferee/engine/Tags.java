@@ -21,4 +21,5 @@ public class Tags {
     public static final String SETUP_UI       = "V-Setup-UI";
     public static final String UTILS_UI       = "V-Utils-UI";
     public static final String SYNC_WORKER    = "V-SyncWorker";
+    public static final String DATABASE       = "V-Database";
 }
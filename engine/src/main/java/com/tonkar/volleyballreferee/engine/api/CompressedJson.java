@@ -0,0 +1,164 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import com.google.gson.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.*;
+
+/**
+ * Encoding of the JSON content stored for the games, teams, rules and leagues.
+ * The content is deflated with a preset dictionary made of the shape of these JSON documents, their property names in the
+ * order GSON writes them, so that even the small documents compress well.
+ * The encoded content starts with a zero byte and a format, the content without it is legacy JSON text.
+ */
+public class CompressedJson {
+
+    public static final int FORMAT_STORED  = 0;
+    public static final int FORMAT_DEFLATE = 1;
+
+    private static final byte[] MAGIC = { 0, 'Z' };
+
+    // The dictionary of FORMAT_DEFLATE must never change, a new dictionary needs a new format
+    private static final byte[] DICTIONARY = (
+            "\"INDOOR\"\"BEACH\"\"SNOW\"\"LADIES\"\"GENTS\"\"SCHEDULED\"\"LIVE\"\"POINTS_SCOREBOARD\"" +
+            "{\"id\":\"\",\"createdBy\":\"\",\"createdAt\":0,\"updatedAt\":0,\"name\":\"\",\"kind\":\"INDOOR\",\"divisions\":[\"\"]}" +
+            "{\"id\":\"\",\"createdBy\":\"\",\"createdAt\":0,\"updatedAt\":0,\"scheduledAt\":0,\"refereedBy\":\"\",\"refereeName\":\"\"," +
+            "\"kind\":\"INDOOR_4X4\",\"gender\":\"MIXED\",\"usage\":\"NORMAL\",\"status\":\"COMPLETED\",\"league\":{\"division\":\"\"," +
+            "\"id\":\"\",\"createdBy\":\"\",\"createdAt\":0,\"updatedAt\":0,\"synced\":false,\"name\":\"\",\"kind\":\"INDOOR\"}," +
+            "\"homeTeam\":{\"id\":\"\",\"createdBy\":\"\",\"createdAt\":0,\"updatedAt\":0,\"name\":\"\",\"kind\":\"INDOOR_4X4\"," +
+            "\"gender\":\"MIXED\",\"color\":\"\",\"liberoColor\":\"\",\"players\":[{\"num\":1,\"name\":\"\"},{\"num\":2,\"name\":\"\"}]," +
+            "\"liberos\":[],\"captain\":1,\"coach\":\"\"},\"guestTeam\":{\"id\":\"\",\"createdBy\":\"\",\"createdAt\":0,\"updatedAt\":0," +
+            "\"name\":\"\",\"kind\":\"INDOOR_4X4\",\"gender\":\"MIXED\",\"color\":\"\",\"liberoColor\":\"\",\"players\":[{\"num\":1," +
+            "\"name\":\"\"},{\"num\":2,\"name\":\"\"}],\"liberos\":[],\"captain\":1,\"coach\":\"\"},\"homeSets\":3,\"guestSets\":2," +
+            "\"sets\":[{\"duration\":26,\"startTime\":0,\"endTime\":0,\"homePoints\":14,\"guestPoints\":11,\"homeTimeouts\":1," +
+            "\"guestTimeouts\":1,\"ladder\":[\"G\",\"H\"],\"serving\":\"H\",\"firstServing\":\"H\",\"homeCurrentPlayers\":{\"p1\":2," +
+            "\"p2\":10,\"p3\":7,\"p4\":8,\"p5\":-1,\"p6\":-1},\"guestCurrentPlayers\":{\"p1\":9,\"p2\":6,\"p3\":3,\"p4\":5," +
+            "\"p5\":-1,\"p6\":-1},\"homeStartingPlayers\":{\"p1\":8,\"p2\":2,\"p3\":6,\"p4\":7,\"p5\":-1,\"p6\":-1},\"guestStartingPlayers\":{\"p1\":9," +
+            "\"p2\":6,\"p3\":3,\"p4\":4,\"p5\":-1,\"p6\":-1},\"homeSubstitutions\":[{\"playerIn\":3,\"playerOut\":6,\"homePoints\":5," +
+            "\"guestPoints\":2},{\"playerIn\":10,\"playerOut\":3,\"homePoints\":11,\"guestPoints\":8}],\"guestSubstitutions\":[{\"playerIn\":5," +
+            "\"playerOut\":4,\"homePoints\":0,\"guestPoints\":0}],\"homeCaptain\":8,\"guestCaptain\":6,\"homeCalledTimeouts\":[]," +
+            "\"guestCalledTimeouts\":[],\"remainingTime\":0}],\"homeCards\":[{\"card\":\"DW\",\"num\":0,\"set\":0,\"hp\":8," +
+            "\"gp\":3,\"ir\":false},{\"card\":\"Y\",\"num\":3,\"set\":0,\"hp\":8,\"gp\":4,\"ir\":false}],\"guestCards\":[{\"card\":\"Y\"," +
+            "\"num\":1,\"set\":1,\"hp\":7,\"gp\":4,\"ir\":false},{\"card\":\"R\",\"num\":2,\"set\":2,\"hp\":3,\"gp\":4,\"ir\":false}]," +
+            "\"rules\":{\"id\":\"\",\"createdBy\":\"\",\"createdAt\":0,\"updatedAt\":0,\"name\":\"\",\"kind\":\"INDOOR_4X4\"," +
+            "\"setsPerGame\":5,\"pointsPerSet\":14,\"tieBreakInLastSet\":true,\"pointsInTieBreak\":11,\"twoPointsDifference\":true," +
+            "\"sanctions\":true,\"matchTermination\":2,\"teamTimeouts\":false,\"teamTimeoutsPerSet\":1,\"teamTimeoutDuration\":30," +
+            "\"technicalTimeouts\":false,\"technicalTimeoutDuration\":60,\"gameIntervals\":true,\"gameIntervalDuration\":0," +
+            "\"substitutionsLimitation\":4,\"teamSubstitutionsPerSet\":4,\"beachCourtSwitches\":false,\"beachCourtSwitchFreq\":0," +
+            "\"beachCourtSwitchFreqTieBreak\":0,\"customConsecutiveServesPerPlayer\":2},\"score\":\"\",\"startTime\":0," +
+            "\"endTime\":0,\"referee1\":\"\",\"referee2\":\"\",\"scorer\":\"\"}").getBytes(StandardCharsets.UTF_8);
+
+    public static byte[] encode(String json) {
+        byte[] text = json.getBytes(StandardCharsets.UTF_8);
+        byte[] deflated = deflate(text);
+
+        // The small documents that deflate does not shrink are stored as they are
+        return deflated.length < text.length ? withHeader(FORMAT_DEFLATE, deflated) : withHeader(FORMAT_STORED, text);
+    }
+
+    /**
+     * Decodes an encoded content, or a legacy JSON text.
+     */
+    public static String decode(byte[] content) {
+        String json;
+
+        if (content == null) {
+            json = null;
+        } else if (!isEncoded(content)) {
+            json = new String(content, StandardCharsets.UTF_8);
+        } else {
+            int format = content[MAGIC.length];
+            byte[] payload = Arrays.copyOfRange(content, MAGIC.length + 1, content.length);
+            json = switch (format) {
+                case FORMAT_STORED -> new String(payload, StandardCharsets.UTF_8);
+                case FORMAT_DEFLATE -> new String(inflate(payload), StandardCharsets.UTF_8);
+                default -> throw new JsonParseException(String.format("Unsupported compressed JSON format %d", format));
+            };
+        }
+
+        return json;
+    }
+
+    /**
+     * Writes the JSON text of an encoded content, or of a legacy JSON text, without decoding it into a string.
+     */
+    public static void writeTo(byte[] content, OutputStream outputStream) throws IOException {
+        if (!isEncoded(content)) {
+            outputStream.write(content);
+        } else {
+            int format = content[MAGIC.length];
+            switch (format) {
+                case FORMAT_STORED -> outputStream.write(content, MAGIC.length + 1, content.length - MAGIC.length - 1);
+                case FORMAT_DEFLATE -> inflate(content, MAGIC.length + 1, outputStream);
+                default -> throw new JsonParseException(String.format("Unsupported compressed JSON format %d", format));
+            }
+        }
+    }
+
+    public static boolean isEncoded(byte[] content) {
+        return content.length > MAGIC.length && Arrays.equals(MAGIC, 0, MAGIC.length, content, 0, MAGIC.length);
+    }
+
+    private static byte[] withHeader(int format, byte[] payload) {
+        byte[] content = new byte[MAGIC.length + 1 + payload.length];
+        System.arraycopy(MAGIC, 0, content, 0, MAGIC.length);
+        content[MAGIC.length] = (byte) format;
+        System.arraycopy(payload, 0, content, MAGIC.length + 1, payload.length);
+        return content;
+    }
+
+    private static byte[] deflate(byte[] text) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(text);
+            deflater.finish();
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(text.length / 4 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(payload.length * 5);
+
+        try {
+            inflate(payload, 0, outputStream);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static void inflate(byte[] content, int offset, OutputStream outputStream) throws IOException {
+        Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(content, offset, content.length - offset);
+
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new JsonParseException("Truncated compressed JSON");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+        } catch (DataFormatException e) {
+            throw new JsonParseException(String.format("Malformed compressed JSON: %s", e.getMessage()));
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import com.google.gson.*;
+import com.tonkar.volleyballreferee.engine.game.*;
+import com.tonkar.volleyballreferee.engine.game.set.*;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+import com.tonkar.volleyballreferee.engine.team.composition.*;
+import com.tonkar.volleyballreferee.engine.team.definition.*;
+import com.tonkar.volleyballreferee.engine.team.player.*;
+import com.tonkar.volleyballreferee.engine.team.substitution.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary form of a game snapshot, with the same structure as its JSON.
+ * Integers are zigzag varints, repeated strings are references to their first occurrence, class names are type tags
+ * and the arrays of team letters such as the points ladder are packed one bit per rally.
+ * The snapshot starts with a zero byte, which no JSON text does, so that the legacy JSON snapshots can still be decoded.
+ */
+public class GameSnapshotCodec {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 0, 'V', 'B' };
+
+    private static final int TAG_NULL       = 0;
+    private static final int TAG_TRUE       = 1;
+    private static final int TAG_FALSE      = 2;
+    private static final int TAG_INTEGER    = 3;
+    private static final int TAG_DOUBLE     = 4;
+    private static final int TAG_STRING     = 5;
+    private static final int TAG_STRING_REF = 6;
+    private static final int TAG_ARRAY      = 7;
+    private static final int TAG_OBJECT     = 8;
+    private static final int TAG_CLASS_TYPE = 9;
+    private static final int TAG_TEAMS      = 10;
+
+    // The tag of a class is its index, new classes must be appended
+    private static final List<String> CLASS_TYPES = List.of(IndoorGame.class.getName(), BeachGame.class.getName(),
+                                                            SnowGame.class.getName(), Indoor4x4Game.class.getName(),
+                                                            IndoorSet.class.getName(), BeachSet.class.getName(), SnowSet.class.getName(),
+                                                            Indoor4x4Set.class.getName(), IndoorTeamComposition.class.getName(),
+                                                            BeachTeamComposition.class.getName(), SnowTeamComposition.class.getName(),
+                                                            Indoor4x4TeamComposition.class.getName(),
+                                                            IndoorTeamDefinition.class.getName(), BeachTeamDefinition.class.getName(),
+                                                            SnowTeamDefinition.class.getName(), IndoorPlayer.class.getName(),
+                                                            BeachPlayer.class.getName(), SnowPlayer.class.getName(),
+                                                            Indoor4x4Player.class.getName(), FivbSubstitutionsLimitation.class.getName(),
+                                                            AlternativeSubstitutionsLimitation1.class.getName(),
+                                                            AlternativeSubstitutionsLimitation2.class.getName(),
+                                                            NoSubstitutionsLimitation.class.getName());
+
+    private static final String HOME_LETTER  = TeamType.toLetter(TeamType.HOME);
+    private static final String GUEST_LETTER = TeamType.toLetter(TeamType.GUEST);
+
+    public static byte[] encode(IGame game) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            DataOutputStream out = new DataOutputStream(outputStream);
+            out.write(MAGIC);
+            writeVarint(out, VERSION);
+            new Encoder(out).writeValue(JsonConverters.GSON.toJsonTree(game, BaseGame.class));
+            out.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decodes a binary snapshot, or a legacy JSON snapshot.
+     */
+    public static BaseGame decode(byte[] content) {
+        if (!isBinary(content)) {
+            return JsonConverters.GSON.fromJson(new String(content, StandardCharsets.UTF_8), BaseGame.class);
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, MAGIC.length, content.length - MAGIC.length));
+            int version = (int) readVarint(in);
+
+            if (version > VERSION) {
+                throw new JsonParseException(String.format("Unsupported game snapshot version %d", version));
+            }
+
+            return JsonConverters.GSON.fromJson(new Decoder(in).readValue(), BaseGame.class);
+        } catch (IOException e) {
+            throw new JsonParseException(String.format("Malformed game snapshot: %s", e.getMessage()));
+        }
+    }
+
+    public static boolean isBinary(byte[] content) {
+        return content.length > MAGIC.length && Arrays.equals(MAGIC, 0, MAGIC.length, content, 0, MAGIC.length);
+    }
+
+    private static class Encoder {
+
+        private final DataOutputStream     mOut;
+        private final Map<String, Integer> mStrings;
+
+        Encoder(DataOutputStream out) {
+            mOut = out;
+            mStrings = new HashMap<>();
+        }
+
+        void writeValue(JsonElement element) throws IOException {
+            if (element.isJsonObject()) {
+                java.util.Set<Map.Entry<String, JsonElement>> entries = element.getAsJsonObject().entrySet();
+                mOut.writeByte(TAG_OBJECT);
+                writeVarint(mOut, entries.size());
+                for (Map.Entry<String, JsonElement> entry : entries) {
+                    writeString(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                if (isTeams(array)) {
+                    writeTeams(array);
+                } else {
+                    mOut.writeByte(TAG_ARRAY);
+                    writeVarint(mOut, array.size());
+                    for (JsonElement item : array) {
+                        writeValue(item);
+                    }
+                }
+            } else if (element.isJsonPrimitive()) {
+                writePrimitive(element.getAsJsonPrimitive());
+            } else {
+                mOut.writeByte(TAG_NULL);
+            }
+        }
+
+        private void writePrimitive(JsonPrimitive primitive) throws IOException {
+            if (primitive.isBoolean()) {
+                mOut.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            } else if (primitive.isNumber()) {
+                Number number = primitive.getAsNumber();
+                double value = number.doubleValue();
+                if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+                    mOut.writeByte(TAG_INTEGER);
+                    writeVarint(mOut, zigzag(number.longValue()));
+                } else if (value == Math.rint(value) && Math.abs(value) < 0x1p53 && Double.doubleToRawLongBits(value) != Long.MIN_VALUE) {
+                    mOut.writeByte(TAG_INTEGER);
+                    writeVarint(mOut, zigzag((long) value));
+                } else {
+                    mOut.writeByte(TAG_DOUBLE);
+                    mOut.writeDouble(value);
+                }
+            } else {
+                String value = primitive.getAsString();
+                int classType = CLASS_TYPES.indexOf(value);
+                if (classType >= 0) {
+                    mOut.writeByte(TAG_CLASS_TYPE);
+                    writeVarint(mOut, classType);
+                } else {
+                    writeString(value);
+                }
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            Integer index = mStrings.get(value);
+
+            if (index == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                mStrings.put(value, mStrings.size());
+                mOut.writeByte(TAG_STRING);
+                writeVarint(mOut, bytes.length);
+                mOut.write(bytes);
+            } else {
+                mOut.writeByte(TAG_STRING_REF);
+                writeVarint(mOut, index);
+            }
+        }
+
+        private boolean isTeams(JsonArray array) {
+            boolean teams = !array.isEmpty();
+
+            for (int index = 0; teams && index < array.size(); index++) {
+                JsonElement item = array.get(index);
+                teams = item.isJsonPrimitive() && item.getAsJsonPrimitive().isString() && (HOME_LETTER.equals(
+                        item.getAsString()) || GUEST_LETTER.equals(item.getAsString()));
+            }
+
+            return teams;
+        }
+
+        // One bit per item, set for the guest team
+        private void writeTeams(JsonArray array) throws IOException {
+            mOut.writeByte(TAG_TEAMS);
+            writeVarint(mOut, array.size());
+
+            int bits = 0;
+            for (int index = 0; index < array.size(); index++) {
+                if (GUEST_LETTER.equals(array.get(index).getAsString())) {
+                    bits |= 1 << (index & 7);
+                }
+                if ((index & 7) == 7 || index == array.size() - 1) {
+                    mOut.writeByte(bits);
+                    bits = 0;
+                }
+            }
+        }
+    }
+
+    private static class Decoder {
+
+        private final DataInputStream mIn;
+        private final List<String>    mStrings;
+
+        Decoder(DataInputStream in) {
+            mIn = in;
+            mStrings = new ArrayList<>();
+        }
+
+        JsonElement readValue() throws IOException {
+            int tag = mIn.readUnsignedByte();
+
+            return switch (tag) {
+                case TAG_NULL -> JsonNull.INSTANCE;
+                case TAG_TRUE -> new JsonPrimitive(true);
+                case TAG_FALSE -> new JsonPrimitive(false);
+                case TAG_INTEGER -> new JsonPrimitive(unzigzag(readVarint(mIn)));
+                case TAG_DOUBLE -> new JsonPrimitive(mIn.readDouble());
+                case TAG_STRING, TAG_STRING_REF -> new JsonPrimitive(readString(tag));
+                case TAG_CLASS_TYPE -> new JsonPrimitive(readClassType());
+                case TAG_ARRAY -> readArray();
+                case TAG_OBJECT -> readObject();
+                case TAG_TEAMS -> readTeams();
+                default -> throw new IOException(String.format("unknown tag %d", tag));
+            };
+        }
+
+        private JsonArray readArray() throws IOException {
+            int size = readSize();
+            JsonArray array = new JsonArray(size);
+
+            for (int index = 0; index < size; index++) {
+                array.add(readValue());
+            }
+
+            return array;
+        }
+
+        private JsonObject readObject() throws IOException {
+            int size = readSize();
+            JsonObject object = new JsonObject();
+
+            for (int index = 0; index < size; index++) {
+                String key = readString(mIn.readUnsignedByte());
+                object.add(key, readValue());
+            }
+
+            return object;
+        }
+
+        private JsonArray readTeams() throws IOException {
+            int size = readSize();
+            JsonArray array = new JsonArray(size);
+
+            int bits = 0;
+            for (int index = 0; index < size; index++) {
+                if ((index & 7) == 0) {
+                    bits = mIn.readUnsignedByte();
+                }
+                array.add((bits & (1 << (index & 7))) == 0 ? HOME_LETTER : GUEST_LETTER);
+            }
+
+            return array;
+        }
+
+        private String readString(int tag) throws IOException {
+            String value;
+
+            if (tag == TAG_STRING) {
+                byte[] bytes = new byte[readSize()];
+                mIn.readFully(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                mStrings.add(value);
+            } else if (tag == TAG_STRING_REF) {
+                long index = readVarint(mIn);
+                if (index >= mStrings.size()) {
+                    throw new IOException(String.format("unknown string reference %d", index));
+                }
+                value = mStrings.get((int) index);
+            } else {
+                throw new IOException(String.format("tag %d is not a string", tag));
+            }
+
+            return value;
+        }
+
+        private String readClassType() throws IOException {
+            long classType = readVarint(mIn);
+
+            if (classType >= CLASS_TYPES.size()) {
+                throw new IOException(String.format("unknown class type %d", classType));
+            }
+
+            return CLASS_TYPES.get((int) classType);
+        }
+
+        // Guards the allocations against a corrupted size
+        private int readSize() throws IOException {
+            long size = readVarint(mIn);
+
+            if (size > mIn.available() * 8L + 8L) {
+                throw new IOException(String.format("size %d exceeds the snapshot", size));
+            }
+
+            return (int) size;
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0L;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,190 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.*;
+import com.tonkar.volleyballreferee.engine.game.BaseGame;
+import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
+import com.tonkar.volleyballreferee.engine.game.set.PointsLadder;
+import com.tonkar.volleyballreferee.engine.game.set.Set;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+import com.tonkar.volleyballreferee.engine.team.composition.TeamComposition;
+import com.tonkar.volleyballreferee.engine.team.definition.TeamDefinition;
+import com.tonkar.volleyballreferee.engine.team.player.*;
+import com.tonkar.volleyballreferee.engine.team.substitution.SubstitutionsLimitation;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JsonConverters {
+
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new InheritanceTypeAdapterFactory(BaseGame.class, Set.class, TeamComposition.class, TeamDefinition.class,
+                                                                         Player.class, SubstitutionsLimitation.class))
+            .registerTypeAdapter(PointsLadder.class, new PointsLadderTypeAdapter().nullSafe())
+            .registerTypeAdapter(TeamType.class, new TeamTypeDeserializer())
+            .registerTypeAdapter(TeamType.class, new TeamTypeSerializer())
+            .registerTypeAdapter(PositionType.class, new PositionTypeDeserializer())
+            .registerTypeAdapter(PositionType.class, new PositionTypeSerializer())
+            .registerTypeAdapter(SanctionType.class, new SanctionTypeDeserializer())
+            .registerTypeAdapter(SanctionType.class, new SanctionTypeSerializer())
+            .create();
+
+    public static class TeamTypeSerializer implements JsonSerializer<TeamType> {
+
+        @Override
+        public JsonElement serialize(TeamType src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(TeamType.toLetter(src));
+        }
+    }
+
+    public static class TeamTypeDeserializer implements JsonDeserializer<TeamType> {
+
+        @Override
+        public TeamType deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+            return TeamType.fromLetter(json.getAsJsonPrimitive().getAsString());
+        }
+    }
+
+    // Same wire format as a list of team types
+    public static class PointsLadderTypeAdapter extends TypeAdapter<PointsLadder> {
+
+        @Override
+        public void write(JsonWriter out, PointsLadder pointsLadder) throws IOException {
+            out.beginArray();
+            for (int rally = 0; rally < pointsLadder.size(); rally++) {
+                out.value(TeamType.toLetter(pointsLadder.get(rally)));
+            }
+            out.endArray();
+        }
+
+        @Override
+        public PointsLadder read(JsonReader in) throws IOException {
+            List<TeamType> teamTypes = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                teamTypes.add(TeamType.fromLetter(in.nextString()));
+            }
+            in.endArray();
+            return PointsLadder.of(teamTypes);
+        }
+    }
+
+    public static class PositionTypeSerializer implements JsonSerializer<PositionType> {
+
+        @Override
+        public JsonElement serialize(PositionType src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(PositionType.toInt(src));
+        }
+    }
+
+    public static class PositionTypeDeserializer implements JsonDeserializer<PositionType> {
+
+        @Override
+        public PositionType deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+            return PositionType.fromInt(json.getAsJsonPrimitive().getAsInt());
+        }
+    }
+
+    /**
+     * The abstract engine types are written by the adapter of their concrete class, which includes the "classType" property,
+     * and read back with the adapter of the class it names. The adapters are looked up once per class name.
+     * GSON writes the properties of a subclass before those of its base class, so "classType" often comes last and the object
+     * has to be held as a tree before it can be read. The tree is parsed once for the outermost object,
+     * nested objects are handed the subtree that already exists instead of parsing a copy.
+     */
+    public static class InheritanceTypeAdapterFactory implements TypeAdapterFactory {
+
+        private final List<Class<?>> mBaseClasses;
+
+        public InheritanceTypeAdapterFactory(Class<?>... baseClasses) {
+            mBaseClasses = List.of(baseClasses);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<T> typeAdapter = null;
+
+            if (mBaseClasses.contains(type.getRawType())) {
+                typeAdapter = new InheritanceTypeAdapter<>(gson, (Class<T>) type.getRawType()).nullSafe();
+            }
+
+            return typeAdapter;
+        }
+    }
+
+    private static class InheritanceTypeAdapter<T> extends TypeAdapter<T> {
+
+        private final Gson                          mGson;
+        private final Class<T>                      mBaseClass;
+        private final TypeAdapter<JsonElement>      mJsonElementAdapter;
+        private final Map<String, TypeAdapter<?>>   mAdaptersByClassName;
+        private final Map<Class<?>, TypeAdapter<?>> mAdaptersByClass;
+
+        InheritanceTypeAdapter(Gson gson, Class<T> baseClass) {
+            mGson = gson;
+            mBaseClass = baseClass;
+            mJsonElementAdapter = gson.getAdapter(JsonElement.class);
+            mAdaptersByClassName = new ConcurrentHashMap<>();
+            mAdaptersByClass = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(JsonWriter out, T value) throws IOException {
+            TypeAdapter<T> typeAdapter = (TypeAdapter<T>) mAdaptersByClass.computeIfAbsent(value.getClass(), mGson::getAdapter);
+            typeAdapter.write(out, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(JsonReader in) throws IOException {
+            JsonElement jsonElement = mJsonElementAdapter.read(in);
+            JsonElement classType = jsonElement.isJsonObject() ? jsonElement.getAsJsonObject().get("classType") : null;
+
+            if (classType == null || !classType.isJsonPrimitive()) {
+                throw new JsonParseException(String.format("Missing classType for %s at %s", mBaseClass.getSimpleName(), in.getPath()));
+            }
+
+            TypeAdapter<T> typeAdapter = (TypeAdapter<T>) mAdaptersByClassName.computeIfAbsent(classType.getAsString(), this::findAdapter);
+            return typeAdapter.fromJsonTree(jsonElement);
+        }
+
+        private TypeAdapter<?> findAdapter(String className) {
+            Class<?> clazz;
+
+            try {
+                clazz = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new JsonParseException(e.getMessage());
+            }
+
+            if (!mBaseClass.isAssignableFrom(clazz)) {
+                throw new JsonParseException(String.format("%s is not a %s", className, mBaseClass.getSimpleName()));
+            }
+
+            return mGson.getAdapter(clazz);
+        }
+    }
+
+    public static class SanctionTypeSerializer implements JsonSerializer<SanctionType> {
+
+        @Override
+        public JsonElement serialize(SanctionType src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(SanctionType.toLetter(src));
+        }
+    }
+
+    public static class SanctionTypeDeserializer implements JsonDeserializer<SanctionType> {
+
+        @Override
+        public SanctionType deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+            return SanctionType.fromLetter(json.getAsJsonPrimitive().getAsString());
+        }
+    }
+}
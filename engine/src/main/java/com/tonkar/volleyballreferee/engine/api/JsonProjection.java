@@ -0,0 +1,92 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import com.google.gson.*;
+import com.google.gson.stream.*;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.regex.*;
+
+/**
+ * Reads a part of a JSON document without deserializing the rest of it.
+ * The path is made of property names and array indexes, such as sets[2].ladder, the values before the part are skipped by the
+ * tokenizer without being decoded. The empty path reads the whole document, a type declaring only some properties of the document
+ * is then a projection in which the other properties are skipped.
+ */
+public class JsonProjection {
+
+    private static final Pattern SEGMENT = Pattern.compile("([^.\\[\\]]*)((?:\\[\\d+])*)");
+    private static final Pattern INDEX   = Pattern.compile("\\[(\\d+)]");
+
+    private final String mJson;
+
+    public JsonProjection(String json) {
+        mJson = json;
+    }
+
+    /**
+     * Returns the value at the path, or null when the document has no such value.
+     */
+    public <T> T read(String path, Type type) {
+        try (JsonReader reader = new JsonReader(new StringReader(mJson))) {
+            return moveTo(reader, path) ? JsonConverters.GSON.fromJson(reader, type) : null;
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    private static boolean moveTo(JsonReader reader, String path) throws IOException {
+        boolean found = true;
+
+        for (Iterator<String> segments = Arrays.asList(path.split("\\.")).iterator(); found && segments.hasNext(); ) {
+            String segment = segments.next();
+            Matcher matcher = SEGMENT.matcher(segment);
+
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException(String.format("Invalid path segment %s in %s", segment, path));
+            }
+
+            if (!matcher.group(1).isEmpty()) {
+                found = moveToProperty(reader, matcher.group(1));
+            }
+
+            for (Matcher index = INDEX.matcher(matcher.group(2)); found && index.find(); ) {
+                found = moveToItem(reader, Integer.parseInt(index.group(1)));
+            }
+        }
+
+        return found;
+    }
+
+    private static boolean moveToProperty(JsonReader reader, String name) throws IOException {
+        boolean found = false;
+
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            while (!found && reader.hasNext()) {
+                if (name.equals(reader.nextName())) {
+                    found = true;
+                } else {
+                    reader.skipValue();
+                }
+            }
+        }
+
+        return found && reader.peek() != JsonToken.NULL;
+    }
+
+    private static boolean moveToItem(JsonReader reader, int index) throws IOException {
+        boolean found = false;
+
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            for (int skipped = 0; skipped < index && reader.hasNext(); skipped++) {
+                reader.skipValue();
+            }
+            found = reader.hasNext();
+        }
+
+        return found && reader.peek() != JsonToken.NULL;
+    }
+}
@@ -0,0 +1,200 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import com.google.gson.*;
+import com.google.gson.stream.*;
+import com.tonkar.volleyballreferee.engine.api.model.PageDto;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the responses of the server from their byte stream, without buffering the body as a string.
+ * The elements of the arrays and of the pages can be consumed one by one, and the decoding time and bytes are measured per endpoint.
+ */
+public class ResponseDecoder {
+
+    private static final Map<String, Counter> sCounters = new TreeMap<>();
+
+    private ResponseDecoder() {}
+
+    public static <T> T decode(String endpoint, InputStream inputStream, Type type) throws IOException {
+        long startNanos = System.nanoTime();
+
+        try (CountingInputStream countingStream = new CountingInputStream(inputStream);
+             JsonReader reader = newReader(countingStream)) {
+            T value = JsonConverters.GSON.fromJson(reader, type);
+            record(endpoint, countingStream.mCount, startNanos);
+            return value;
+        }
+    }
+
+    /**
+     * Decodes a JSON array element by element, and returns the number of elements.
+     */
+    public static <T> int decodeArray(String endpoint, InputStream inputStream, Class<T> elementType, Consumer<T> consumer) throws IOException {
+        long startNanos = System.nanoTime();
+
+        try (CountingInputStream countingStream = new CountingInputStream(inputStream);
+             JsonReader reader = newReader(countingStream)) {
+            int count = readElements(reader, elementType, consumer);
+            record(endpoint, countingStream.mCount, startNanos);
+            return count;
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Decodes a page, the elements of its content are given to the consumer instead of being kept in the returned page.
+     */
+    public static <T, P extends PageDto<?>> P decodePage(String endpoint, InputStream inputStream, Type pageType, Class<T> elementType,
+                                                         Consumer<T> consumer) throws IOException {
+        long startNanos = System.nanoTime();
+
+        try (CountingInputStream countingStream = new CountingInputStream(inputStream);
+             JsonReader reader = newReader(countingStream)) {
+            JsonObject properties = new JsonObject();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("content".equals(name)) {
+                    readElements(reader, elementType, consumer);
+                } else {
+                    properties.add(name, JsonParser.parseReader(reader));
+                }
+            }
+            reader.endObject();
+
+            P page = JsonConverters.GSON.fromJson(properties, pageType);
+            record(endpoint, countingStream.mCount, startNanos);
+            return page;
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    public static Map<String, Stats> getStats() {
+        Map<String, Stats> stats = new TreeMap<>();
+
+        synchronized (sCounters) {
+            sCounters.forEach((endpoint, counter) -> stats.put(endpoint, new Stats(counter)));
+        }
+
+        return stats;
+    }
+
+    private static JsonReader newReader(InputStream inputStream) {
+        return new JsonReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+    }
+
+    private static <T> int readElements(JsonReader reader, Class<T> elementType, Consumer<T> consumer) throws IOException {
+        int count = 0;
+
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+        } else {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(JsonConverters.GSON.fromJson(reader, elementType));
+                count++;
+            }
+            reader.endArray();
+        }
+
+        return count;
+    }
+
+    private static void record(String endpoint, long bytes, long startNanos) {
+        long decodeNanos = System.nanoTime() - startNanos;
+
+        synchronized (sCounters) {
+            Counter counter = sCounters.computeIfAbsent(endpoint, key -> new Counter());
+            counter.mResponses++;
+            counter.mBytes += bytes;
+            counter.mDecodeNanos += decodeNanos;
+            counter.mMaxDecodeNanos = Math.max(counter.mMaxDecodeNanos, decodeNanos);
+        }
+    }
+
+    private static class Counter {
+        private long mResponses;
+        private long mBytes;
+        private long mDecodeNanos;
+        private long mMaxDecodeNanos;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long mCount;
+
+        private CountingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                mCount++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                mCount += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long count = super.skip(length);
+            mCount += count;
+            return count;
+        }
+    }
+
+    public static class Stats {
+
+        private final long mResponses;
+        private final long mBytes;
+        private final long mDecodeMillis;
+        private final long mMaxDecodeMillis;
+
+        private Stats(Counter counter) {
+            mResponses = counter.mResponses;
+            mBytes = counter.mBytes;
+            mDecodeMillis = counter.mDecodeNanos / 1_000_000L;
+            mMaxDecodeMillis = counter.mMaxDecodeNanos / 1_000_000L;
+        }
+
+        public long getResponses() {
+            return mResponses;
+        }
+
+        public long getBytes() {
+            return mBytes;
+        }
+
+        public long getDecodeMillis() {
+            return mDecodeMillis;
+        }
+
+        public long getMaxDecodeMillis() {
+            return mMaxDecodeMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d responses, %d bytes, decoded in %d ms (%d ms at most)", mResponses, mBytes, mDecodeMillis,
+                                 mMaxDecodeMillis);
+        }
+    }
+}
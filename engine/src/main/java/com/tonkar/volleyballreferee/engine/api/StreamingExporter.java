@@ -0,0 +1,54 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import java.io.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the stored contents as a JSON array, one content at a time, so that the memory does not grow with the number of items.
+ * The stored contents are the JSON written by GSON, they are copied to the output as they are instead of being parsed and serialized again.
+ * The array is only closed by finish, so that an export which failed partway cannot be read as a shorter valid array.
+ */
+public class StreamingExporter implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final OutputStream mOutputStream;
+    private       int          mCount;
+
+    /**
+     * The output stream is closed with the exporter.
+     */
+    public StreamingExporter(OutputStream outputStream, boolean gzip) throws IOException {
+        mOutputStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        mOutputStream.write('[');
+    }
+
+    /**
+     * Appends a content encoded by CompressedJson, or a legacy JSON text.
+     */
+    public void write(byte[] content) throws IOException {
+        if (content != null && content.length > 0) {
+            if (mCount > 0) {
+                mOutputStream.write(',');
+            }
+            CompressedJson.writeTo(content, mOutputStream);
+            mCount++;
+        }
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * Closes the JSON array once all the contents are written. The exporter must still be closed.
+     */
+    public void finish() throws IOException {
+        mOutputStream.write(']');
+    }
+
+    @Override
+    public void close() throws IOException {
+        mOutputStream.close();
+    }
+}
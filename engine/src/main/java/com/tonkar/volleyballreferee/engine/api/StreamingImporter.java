@@ -0,0 +1,239 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import com.google.gson.*;
+import com.google.gson.stream.*;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.*;
+
+/**
+ * Imports a JSON array one element at a time, so that only a batch of items is in memory.
+ * The array is either the whole document or the first array property of the root object, as in {"teams": [...]}.
+ * An item is skipped when it is invalid, or when the same item, identified by its id, is stored or imported with the same or a newer update date.
+ * Only the items committed by the store are counted as imported, and an item imported several times is counted once.
+ */
+public class StreamingImporter<T> {
+
+    public interface Validator<T> {
+        /**
+         * Tells whether the item can be imported, and may complete it with default values.
+         */
+        boolean validate(T item);
+    }
+
+    public interface Store<T> {
+        /**
+         * The update date of the stored item with this id, or null when there is none.
+         */
+        Long findUpdatedAt(String id);
+
+        /**
+         * Inserts the batch, and returns the items which were committed.
+         */
+        List<T> insertAll(List<T> items);
+    }
+
+    public interface ProgressListener {
+        void onProgress(Report report);
+    }
+
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final Type                mItemType;
+    private final int                 mBatchSize;
+    private final Function<T, String> mId;
+    private final ToLongFunction<T>   mUpdatedAt;
+    private final Validator<T>        mValidator;
+    private final Store<T>            mStore;
+
+    public StreamingImporter(Type itemType, int batchSize, Function<T, String> id, ToLongFunction<T> updatedAt, Validator<T> validator,
+                             Store<T> store) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(String.format("The batch size must be positive, not %d", batchSize));
+        }
+        mItemType = itemType;
+        mBatchSize = batchSize;
+        mId = id;
+        mUpdatedAt = updatedAt;
+        mValidator = validator;
+        mStore = store;
+    }
+
+    /**
+     * Imports the items, reporting the progress after each batch.
+     * The batches inserted before a malformed document is detected stay imported.
+     */
+    public Report importFrom(Reader reader, ProgressListener listener) throws IOException {
+        long startNanos = System.nanoTime();
+        Counts counts = new Counts();
+        Map<String, Long> importedUpdatedAts = new HashMap<>();
+        // A newer copy of an item replaces the pending one, so that a batch holds each id once
+        Map<String, T> batch = new LinkedHashMap<>();
+
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            if (!moveToArray(jsonReader)) {
+                throw new JsonParseException("Expected an array, or an object with an array property");
+            }
+
+            jsonReader.beginArray();
+
+            while (jsonReader.hasNext()) {
+                JsonElement element = JsonParser.parseReader(jsonReader);
+                counts.mRead++;
+
+                T item = parse(element);
+
+                if (item == null || !mValidator.validate(item) || mId.apply(item) == null) {
+                    counts.mInvalid++;
+                } else if (isDuplicate(item, batch, importedUpdatedAts)) {
+                    counts.mDuplicates++;
+                } else {
+                    if (batch.put(mId.apply(item), item) != null) {
+                        counts.mDuplicates++;
+                    }
+                }
+
+                if (batch.size() == mBatchSize) {
+                    insert(batch, importedUpdatedAts, counts, startNanos, listener);
+                }
+            }
+
+            jsonReader.endArray();
+        }
+
+        insert(batch, importedUpdatedAts, counts, startNanos, listener);
+
+        return counts.toReport(startNanos);
+    }
+
+    private boolean moveToArray(JsonReader jsonReader) throws IOException {
+        boolean found = jsonReader.peek() == JsonToken.BEGIN_ARRAY;
+
+        if (!found && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+            jsonReader.beginObject();
+            while (!found && jsonReader.hasNext()) {
+                jsonReader.nextName();
+                if (jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                    found = true;
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private T parse(JsonElement element) {
+        try {
+            return JsonConverters.GSON.fromJson(element, mItemType);
+        } catch (JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private boolean isDuplicate(T item, Map<String, T> batch, Map<String, Long> importedUpdatedAts) {
+        String id = mId.apply(item);
+        T pendingItem = batch.get(id);
+        Long updatedAt = pendingItem == null ? importedUpdatedAts.get(id) : Long.valueOf(mUpdatedAt.applyAsLong(pendingItem));
+
+        if (updatedAt == null) {
+            updatedAt = mStore.findUpdatedAt(id);
+        }
+
+        return updatedAt != null && updatedAt >= mUpdatedAt.applyAsLong(item);
+    }
+
+    private void insert(Map<String, T> batch, Map<String, Long> importedUpdatedAts, Counts counts, long startNanos, ProgressListener listener) {
+        if (!batch.isEmpty()) {
+            List<T> committedItems = mStore.insertAll(new ArrayList<>(batch.values()));
+
+            for (T item : committedItems) {
+                if (importedUpdatedAts.put(mId.apply(item), mUpdatedAt.applyAsLong(item)) == null) {
+                    counts.mImported++;
+                } else {
+                    // A newer copy of an item imported by a previous batch replaced it
+                    counts.mDuplicates++;
+                }
+            }
+            counts.mFailed += batch.size() - committedItems.size();
+            batch.clear();
+
+            if (listener != null) {
+                listener.onProgress(counts.toReport(startNanos));
+            }
+        }
+    }
+
+    private static class Counts {
+
+        private int mRead;
+        private int mImported;
+        private int mDuplicates;
+        private int mInvalid;
+        private int mFailed;
+
+        Report toReport(long startNanos) {
+            return new Report(mRead, mImported, mDuplicates, mInvalid, mFailed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    public static class Report {
+
+        private final int  mRead;
+        private final int  mImported;
+        private final int  mDuplicates;
+        private final int  mInvalid;
+        private final int  mFailed;
+        private final long mElapsedMillis;
+
+        Report(int read, int imported, int duplicates, int invalid, int failed, long elapsedMillis) {
+            mRead = read;
+            mImported = imported;
+            mDuplicates = duplicates;
+            mInvalid = invalid;
+            mFailed = failed;
+            mElapsedMillis = elapsedMillis;
+        }
+
+        public int getRead() {
+            return mRead;
+        }
+
+        public int getImported() {
+            return mImported;
+        }
+
+        public int getDuplicates() {
+            return mDuplicates;
+        }
+
+        public int getInvalid() {
+            return mInvalid;
+        }
+
+        /**
+         * The valid items which could not be stored.
+         */
+        public int getFailed() {
+            return mFailed;
+        }
+
+        public long getElapsedMillis() {
+            return mElapsedMillis;
+        }
+
+        public double getItemsPerSecond() {
+            return mElapsedMillis == 0L ? mRead : mRead * 1000.0 / mElapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d read items, %d imported, %d duplicates, %d invalid, %d failed in %d ms (%.1f items/s)", mRead,
+                                 mImported, mDuplicates, mInvalid, mFailed, mElapsedMillis, getItemsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tonkar.volleyballreferee.engine.api.model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.*;
+
+import lombok.*;
+
+/**
+ * A page of the items updated since a cursor, with the ids of the items deleted since it.
+ * A server which ignores the cursor returns a plain page without a cursor, which is then the full list.
+ */
+@Getter
+@Setter
+public class DeltaPageDto<T> extends PageDto<T> {
+    @SerializedName("deleted")
+    private List<String> deleted;
+    @SerializedName("cursor")
+    private long         cursor;
+
+    public DeltaPageDto() {
+        super();
+        this.deleted = new ArrayList<>();
+    }
+}
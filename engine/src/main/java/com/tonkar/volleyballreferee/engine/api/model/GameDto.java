@@ -2,8 +2,8 @@ package com.tonkar.volleyballreferee.engine.api.model;
 
 import com.google.gson.annotations.SerializedName;
 import com.tonkar.volleyballreferee.engine.game.*;
+import com.tonkar.volleyballreferee.engine.game.score.ScoreFormat;
 import com.tonkar.volleyballreferee.engine.team.GenderType;
-import com.tonkar.volleyballreferee.ui.util.UiUtils;
 
 import java.util.*;
 
@@ -99,7 +99,7 @@ public class GameDto {
         StringBuilder builder = new StringBuilder();
 
         for (SetDto set : sets) {
-            builder.append(UiUtils.formatScoreFromLocale(set.getHomePoints(), set.getGuestPoints(), false)).append("\t\t");
+            builder.append(ScoreFormat.formatFromLocale(set.getHomePoints(), set.getGuestPoints(), false)).append("\t\t");
         }
 
         return builder.toString().trim();
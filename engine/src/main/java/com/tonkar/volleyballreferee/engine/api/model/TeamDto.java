@@ -1,7 +1,5 @@
 package com.tonkar.volleyballreferee.engine.api.model;
 
-import android.graphics.Color;
-
 import com.google.gson.annotations.SerializedName;
 import com.tonkar.volleyballreferee.engine.game.GameType;
 import com.tonkar.volleyballreferee.engine.team.GenderType;
@@ -61,7 +59,7 @@ public class TeamDto {
     }
 
     public int getColorInt() {
-        return Color.parseColor(color);
+        return parseColor(color);
     }
 
     public void setColorInt(int colorInt) {
@@ -69,7 +67,7 @@ public class TeamDto {
     }
 
     public int getLiberoColorInt() {
-        return Color.parseColor(liberoColor);
+        return parseColor(liberoColor);
     }
 
     public void setLiberoColorInt(int liberoColorInt) {
@@ -80,4 +78,17 @@ public class TeamDto {
         return String.format("#%06X", (0xFFFFFF & color)).toLowerCase();
     }
 
+    // Same as the platform parser for the #RRGGBB and #AARRGGBB formats
+    public static int parseColor(String color) {
+        if (color != null && color.startsWith("#") && (color.length() == 7 || color.length() == 9)) {
+            long colorLong = Long.parseLong(color.substring(1), 16);
+            if (color.length() == 7) {
+                colorLong |= 0x00000000ff000000L;
+            }
+            return (int) colorLong;
+        } else {
+            throw new IllegalArgumentException(String.format("Unknown color %s", color));
+        }
+    }
+
 }
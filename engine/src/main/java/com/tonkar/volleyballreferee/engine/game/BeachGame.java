@@ -1,7 +1,5 @@
 package com.tonkar.volleyballreferee.engine.game;
 
-import android.graphics.Color;
-
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
 import com.tonkar.volleyballreferee.engine.game.set.Set;
@@ -37,8 +35,17 @@ public class BeachGame extends Game implements IBeachTeam {
     }
 
     @Override
-    public void addPoint(final TeamType teamType) {
-        super.addPoint(teamType);
+    protected void dispatchGameCommand(GameCommand command) {
+        if (GameCommand.CommandType.PLAYERS_SWAP.equals(command.getType())) {
+            swapPlayers(command.getTeamType());
+        } else {
+            super.dispatchGameCommand(command);
+        }
+    }
+
+    @Override
+    protected void applyPoint(final TeamType teamType) {
+        super.applyPoint(teamType);
 
         if (!currentSet().isSetCompleted()) {
             // In beach volley, the teams change sides every 7 points, or every 5 points during the tie break
@@ -71,10 +78,12 @@ public class BeachGame extends Game implements IBeachTeam {
 
     @Override
     public void swapPlayers(TeamType teamType) {
-        if (isFirstTimeServing(teamType)) {
-            currentSet().getTeamComposition(teamType).rotateToNextPositions();
-            notifyTeamRotated(teamType, true);
-        }
+        executeCommand(GameCommand.newPlayersSwapCommand(teamType), () -> {
+            if (isFirstTimeServing(teamType)) {
+                currentSet().getTeamComposition(teamType).rotateToNextPositions();
+                notifyTeamRotated(teamType, true);
+            }
+        });
     }
 
     private boolean isFirstTimeServing(TeamType teamType) {
@@ -93,8 +102,8 @@ public class BeachGame extends Game implements IBeachTeam {
     }
 
     @Override
-    public void giveSanction(TeamType teamType, SanctionType sanctionType, int number) {
-        super.giveSanction(teamType, sanctionType, number);
+    protected void applySanction(TeamType teamType, SanctionType sanctionType, int number) {
+        super.applySanction(teamType, sanctionType, number);
 
         if (SanctionDto.isPlayer(number) && sanctionType.isMisconductExpulsionCard()) {
             // The team is excluded for this set, the other team wins
@@ -151,7 +160,7 @@ public class BeachGame extends Game implements IBeachTeam {
 
     @Override
     public int getLiberoColor(TeamType teamType) {
-        return Color.parseColor(TeamDefinition.DEFAULT_COLOR);
+        return TeamDefinition.parseColor(TeamDefinition.DEFAULT_COLOR);
     }
 
     @Override
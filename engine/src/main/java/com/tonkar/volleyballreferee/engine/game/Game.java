@@ -1,12 +1,14 @@
 package com.tonkar.volleyballreferee.engine.game;
 
-import android.util.Log;
-
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
+import com.tonkar.volleyballreferee.engine.api.JsonConverters;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.sanction.*;
 import com.tonkar.volleyballreferee.engine.api.model.SanctionDto;
+import com.tonkar.volleyballreferee.engine.game.score.ScoreFormat;
 import com.tonkar.volleyballreferee.engine.game.score.ScoreListener;
 import com.tonkar.volleyballreferee.engine.game.timeout.TimeoutListener;
 import com.tonkar.volleyballreferee.engine.rules.Rules;
@@ -14,7 +16,6 @@ import com.tonkar.volleyballreferee.engine.service.IStoredGame;
 import com.tonkar.volleyballreferee.engine.team.*;
 import com.tonkar.volleyballreferee.engine.team.definition.TeamDefinition;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
-import com.tonkar.volleyballreferee.ui.util.UiUtils;
 
 import java.util.*;
 
@@ -72,6 +73,10 @@ public abstract class Game extends BaseGame {
     private       String                                                 mReferee2Name;
     @SerializedName("scorerName")
     private       String                                                 mScorerName;
+    @SerializedName("journalSeq")
+    private       long                                                   mJournalSeq;
+    @SerializedName("commands")
+    private final List<GameCommand>                                      mCommands;
 
     private transient boolean mEnableNotifications;
 
@@ -80,6 +85,17 @@ public abstract class Game extends BaseGame {
     private transient Set<TeamListener>     mTeamListeners;
     private transient Set<SanctionListener> mSanctionListeners;
 
+    private transient Set<GameCommandListener> mGameCommandListeners;
+    private transient int                      mCommandDepth;
+    private transient long                     mCommandTime;
+    private transient GameCommand              mReplayedCommand;
+    private transient long                     mRunningSeq;
+    private transient List<GameEvent>          mUndoableEvents;
+    private transient long                     mUndoableEventsSeq;
+    private transient boolean                  mReverting;
+    private transient SanctionIndex            mHomeSanctionIndex;
+    private transient SanctionIndex            mGuestSanctionIndex;
+
     protected Game(GameType kind, String id, String createdBy, String refereeName, long createdAt, long scheduledAt, Rules rules) {
         super();
         mId = id;
@@ -114,6 +130,8 @@ public abstract class Game extends BaseGame {
         mReferee1Name = "";
         mReferee2Name = "";
         mScorerName = "";
+        mJournalSeq = 0L;
+        mCommands = new ArrayList<>();
 
         mServingTeamAtStart = TeamType.HOME;
 
@@ -166,6 +184,209 @@ public abstract class Game extends BaseGame {
         mSanctionListeners.remove(listener);
     }
 
+    @Override
+    public void addGameCommandListener(GameCommandListener listener) {
+        mGameCommandListeners.add(listener);
+    }
+
+    @Override
+    public void removeGameCommandListener(GameCommandListener listener) {
+        mGameCommandListeners.remove(listener);
+    }
+
+    // Commands
+
+    @Override
+    public long getJournalSeq() {
+        return mJournalSeq;
+    }
+
+    /**
+     * Runs a user command, appends it to the command log and journals it once it completed.
+     * Commands triggered while another one is running (e.g. the point given by a red card) are part of the outer command.
+     */
+    protected void executeCommand(GameCommand command, Runnable action) {
+        final boolean topLevel = mCommandDepth == 0;
+        final GameCommand journaledCommand = topLevel && mReplayedCommand != null ? mReplayedCommand : command;
+
+        if (topLevel) {
+            mReplayedCommand = null;
+            mCommandTime = journaledCommand.getTime();
+            mRunningSeq = journaledCommand == command ? mJournalSeq + 1 : journaledCommand.getSeq();
+        }
+
+        mCommandDepth++;
+        try {
+            action.run();
+        } finally {
+            mCommandDepth--;
+        }
+
+        if (topLevel) {
+            if (mUndoableEventsSeq == mJournalSeq) {
+                mUndoableEventsSeq = mRunningSeq;
+            }
+            mJournalSeq = mRunningSeq;
+            journaledCommand.setSeq(mRunningSeq);
+            mCommands.add(journaledCommand);
+            notifyGameCommand(journaledCommand);
+        }
+    }
+
+    /**
+     * While a command runs, its own time is used so that replaying the journal restores the same times.
+     */
+    protected long currentTime() {
+        return mCommandDepth > 0 ? mCommandTime : System.currentTimeMillis();
+    }
+
+    private void notifyGameCommand(GameCommand command) {
+        for (final GameCommandListener listener : mGameCommandListeners) {
+            listener.onGameCommand(command);
+        }
+    }
+
+    @Override
+    public void applyGameCommand(GameCommand command) {
+        // The replayed command keeps its own sequence and time
+        mReplayedCommand = command;
+        try {
+            dispatchGameCommand(command);
+        } finally {
+            mReplayedCommand = null;
+        }
+    }
+
+    protected void dispatchGameCommand(GameCommand command) {
+        final TeamType teamType = command.getTeamType();
+
+        switch (command.getType()) {
+            case MATCH_START -> startMatch();
+            case POINT -> addPoint(teamType);
+            case TIMEOUT -> callTimeout(teamType);
+            case SANCTION -> giveSanction(teamType, command.getSanctionType(), command.getNumber());
+            case IMPROPER_REQUEST -> addImproperRequest(teamType);
+            case TEAMS_SWAP -> swapTeams(command.getActionOriginType());
+            case SERVICE_SWAP -> swapServiceAtStart();
+            case SET_RESET -> resetCurrentSet();
+            case UNDO -> undoGameEvent(command.toGameEvent());
+            default -> EngineLog.e(Tags.SCORE, String.format("Command %s is not supported by %s game", command.getType(), mKind));
+        }
+    }
+
+    @Override
+    public List<GameCommand> getGameCommands() {
+        return new ArrayList<>(mCommands);
+    }
+
+    @Override
+    public IGame replayGameCommands(long lastSeq) {
+        if (!isReplayable()) {
+            throw new IllegalStateException(String.format("The command log of game %s does not start with the match", mId));
+        }
+
+        Game game = JsonConverters.GSON.fromJson(JsonConverters.GSON.toJson(this, new TypeToken<BaseGame>() {}.getType()),
+                                                 new TypeToken<BaseGame>() {}.getType());
+        List<GameCommand> commands = game.getGameCommands();
+        game.resetMatch();
+
+        for (GameCommand command : commands) {
+            if (command.getSeq() > lastSeq) {
+                break;
+            }
+            game.applyGameCommand(command);
+        }
+
+        return game;
+    }
+
+    private boolean isReplayable() {
+        return !mCommands.isEmpty() && GameCommand.CommandType.MATCH_START.equals(mCommands.get(0).getType());
+    }
+
+    private void resetMatch() {
+        mSets.clear();
+        getSanctionIndex(TeamType.HOME).clear();
+        getSanctionIndex(TeamType.GUEST).clear();
+        mTeamOnLeftSide = TeamType.HOME;
+        mTeamOnRightSide = TeamType.GUEST;
+        mServingTeamAtStart = TeamType.HOME;
+        mGameStatus = GameStatus.SCHEDULED;
+        mStartTime = mScheduledAt;
+        mEndTime = 0L;
+        mJournalSeq = 0L;
+        mCommands.clear();
+        mUndoableEvents.clear();
+        mUndoableEventsSeq = 0L;
+    }
+
+    // Undo
+
+    private void pushUndoableEvent(GameEvent gameEvent) {
+        if (!mReverting) {
+            gameEvent.setSeq(mRunningSeq);
+            gameEvent.setSetIndex(currentSetIndex());
+            mUndoableEvents.add(gameEvent);
+        }
+    }
+
+    void pushSubstitutionEvent(TeamType teamType, SubstitutionDto substitution) {
+        pushUndoableEvent(GameEvent.newSubstitutionEvent(teamType, substitution));
+    }
+
+    /**
+     * The undoable events are not serialized: after a restore they are rebuilt once by replaying the command log.
+     */
+    private void loadUndoableEvents() {
+        if (mUndoableEventsSeq != mJournalSeq) {
+            mUndoableEvents = new ArrayList<>();
+
+            if (isReplayable()) {
+                Game game = (Game) replayGameCommands(mJournalSeq);
+                mUndoableEvents = game.mUndoableEvents;
+            }
+
+            mUndoableEventsSeq = mJournalSeq;
+        }
+    }
+
+    private void removeUndoableEvent(GameEvent gameEvent) {
+        loadUndoableEvents();
+
+        int currentSetIndex = currentSetIndex();
+
+        // Most of the time the undone event is the latest one
+        for (int index = mUndoableEvents.size() - 1; index >= 0; index--) {
+            GameEvent undoableEvent = mUndoableEvents.get(index);
+
+            if (undoableEvent.getSetIndex() != currentSetIndex) {
+                break;
+            } else if (isSameEvent(undoableEvent, gameEvent)) {
+                mUndoableEvents.remove(index);
+                break;
+            }
+        }
+    }
+
+    private boolean isSameEvent(GameEvent undoableEvent, GameEvent gameEvent) {
+        boolean result = undoableEvent == gameEvent;
+
+        if (!result && undoableEvent.getEventType().equals(gameEvent.getEventType()) && (gameEvent.getSeq() == 0L || undoableEvent.getSeq() == gameEvent.getSeq())) {
+            result = switch (gameEvent.getEventType()) {
+                case POINT -> true;
+                case TIMEOUT -> undoableEvent.getTeamType().equals(gameEvent.getTeamType());
+                case SUBSTITUTION -> undoableEvent.getTeamType().equals(gameEvent.getTeamType()) && undoableEvent
+                        .getSubstitution()
+                        .equals(gameEvent.getSubstitution());
+                case SANCTION -> undoableEvent.getTeamType().equals(gameEvent.getTeamType()) && undoableEvent
+                        .getSanction()
+                        .equals(gameEvent.getSanction());
+            };
+        }
+
+        return result;
+    }
+
     // General
 
     @Override
@@ -266,32 +487,32 @@ public abstract class Game extends BaseGame {
 
     @Override
     public void startMatch() {
-        mRules.printRules();
+        executeCommand(GameCommand.newMatchStartCommand(), () -> {
+            mRules.printRules();
 
-        if (mScheduledAt == 0L) {
-            mScheduledAt = System.currentTimeMillis();
-        }
+            if (mScheduledAt == 0L) {
+                mScheduledAt = currentTime();
+            }
 
-        mStartTime = System.currentTimeMillis();
-        mUpdatedAt = Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime();
+            mStartTime = currentTime();
+            mUpdatedAt = currentTime();
 
-        mSets.add(createSet(mRules, mRules.getPointsPerSet(), mServingTeamAtStart));
-        mGameStatus = GameStatus.LIVE;
+            mSets.add(createSet(mRules, mRules.getPointsPerSet(), mServingTeamAtStart));
+            mGameStatus = GameStatus.LIVE;
+        });
     }
 
     @Override
     public void resetCurrentSet() {
-        if (!isMatchCompleted() && currentSetIndex() >= 0) {
-            resetCurrentSetSanctions(mHomeTeamSanctions);
-            resetCurrentSetSanctions(mGuestTeamSanctions);
-            mSets.set(currentSetIndex(),
-                      createSet(mRules, isTieBreakSet() ? mRules.getPointsInTieBreak() : mRules.getPointsPerSet(), mServingTeamAtStart));
-            notifySetStarted();
-        }
-    }
-
-    private void resetCurrentSetSanctions(List<SanctionDto> sanctions) {
-        sanctions.removeIf(sanction -> sanction.getSet() == currentSetIndex());
+        executeCommand(GameCommand.newSetResetCommand(), () -> {
+            if (!isMatchCompleted() && currentSetIndex() >= 0) {
+                getSanctionIndex(TeamType.HOME).removeSet(currentSetIndex());
+                getSanctionIndex(TeamType.GUEST).removeSet(currentSetIndex());
+                mSets.set(currentSetIndex(),
+                          createSet(mRules, isTieBreakSet() ? mRules.getPointsInTieBreak() : mRules.getPointsPerSet(), mServingTeamAtStart));
+                notifySetStarted();
+            }
+        });
     }
 
     @Override
@@ -308,7 +529,7 @@ public abstract class Game extends BaseGame {
     }
 
     private void notifyMatchCompleted(final TeamType winner) {
-        Log.i(Tags.SCORE, String.format("Match is completed and %s team won", winner));
+        EngineLog.i(Tags.SCORE, String.format("Match is completed and %s team won", winner));
 
         for (final ScoreListener listener : mScoreListeners) {
             listener.onMatchCompleted(winner);
@@ -341,21 +562,20 @@ public abstract class Game extends BaseGame {
 
     @Override
     public List<TeamType> getPointsLadder(int setIndex) {
-        List<TeamType> pointsLadder = new ArrayList<>();
         com.tonkar.volleyballreferee.engine.game.set.Set set = mSets.get(setIndex);
-
-        if (set != null) {
-            pointsLadder = set.getPointsLadder();
-        }
-
-        return pointsLadder;
+        return set == null ? new ArrayList<>() : set.getPointsLadder();
     }
 
     @Override
     public void addPoint(final TeamType teamType) {
+        executeCommand(GameCommand.newPointCommand(teamType), () -> applyPoint(teamType));
+    }
+
+    protected void applyPoint(final TeamType teamType) {
         final TeamType oldServingTeam = currentSet().getServingTeam();
 
-        final int newCount = currentSet().addPoint(teamType);
+        final int newCount = currentSet().addPoint(teamType, currentTime());
+        pushUndoableEvent(GameEvent.newPointEvent(teamType));
         notifyPointsUpdated(teamType, newCount);
 
         final TeamType newServingTeam = currentSet().getServingTeam();
@@ -389,7 +609,7 @@ public abstract class Game extends BaseGame {
     }
 
     private void notifyPointsUpdated(final TeamType teamType, int newCount) {
-        Log.i(Tags.SCORE, String.format("Points are updated for %s team: %d", teamType, newCount));
+        EngineLog.i(Tags.SCORE, String.format("Points are updated for %s team: %d", teamType, newCount));
 
         for (final ScoreListener listener : mScoreListeners) {
             listener.onPointsUpdated(teamType, newCount);
@@ -527,7 +747,7 @@ public abstract class Game extends BaseGame {
         notifySetCompleted();
 
         if (isMatchCompleted()) {
-            mEndTime = System.currentTimeMillis();
+            mEndTime = currentTime();
             mGameStatus = GameStatus.COMPLETED;
             final TeamType winner = getSets(TeamType.HOME) > getSets(TeamType.GUEST) ? TeamType.HOME : TeamType.GUEST;
             notifyMatchCompleted(winner);
@@ -559,7 +779,7 @@ public abstract class Game extends BaseGame {
     }
 
     private void notifySetsUpdated(final TeamType teamType, int newCount) {
-        Log.i(Tags.SCORE, String.format("Sets are updated for %s team: %d", teamType, newCount));
+        EngineLog.i(Tags.SCORE, String.format("Sets are updated for %s team: %d", teamType, newCount));
 
         for (final ScoreListener listener : mScoreListeners) {
             listener.onSetsUpdated(teamType, newCount);
@@ -567,7 +787,7 @@ public abstract class Game extends BaseGame {
     }
 
     private void notifySetStarted() {
-        Log.i(Tags.SCORE, "Set is started");
+        EngineLog.i(Tags.SCORE, "Set is started");
 
         for (final ScoreListener listener : mScoreListeners) {
             listener.onSetStarted();
@@ -575,7 +795,7 @@ public abstract class Game extends BaseGame {
     }
 
     private void notifySetCompleted() {
-        Log.i(Tags.SCORE, "Set is completed");
+        EngineLog.i(Tags.SCORE, "Set is completed");
 
         notifySetsUpdated(TeamType.HOME, getSets(TeamType.HOME));
         notifySetsUpdated(TeamType.GUEST, getSets(TeamType.GUEST));
@@ -609,19 +829,21 @@ public abstract class Game extends BaseGame {
 
     @Override
     public void swapServiceAtStart() {
-        if (getPointsLadder().isEmpty()) {
-            switch (mServingTeamAtStart) {
-                case HOME -> mServingTeamAtStart = TeamType.GUEST;
-                case GUEST -> mServingTeamAtStart = TeamType.HOME;
-            }
+        executeCommand(GameCommand.newServiceSwapCommand(), () -> {
+            if (getPointsLadder().isEmpty()) {
+                switch (mServingTeamAtStart) {
+                    case HOME -> mServingTeamAtStart = TeamType.GUEST;
+                    case GUEST -> mServingTeamAtStart = TeamType.HOME;
+                }
 
-            currentSet().setServingTeamAtStart(mServingTeamAtStart);
-            notifyServiceSwapped(currentSet().getServingTeam(), true);
-        }
+                currentSet().setServingTeamAtStart(mServingTeamAtStart);
+                notifyServiceSwapped(currentSet().getServingTeam(), true);
+            }
+        });
     }
 
     private void notifyServiceSwapped(final TeamType servingTeam, boolean isStart) {
-        Log.i(Tags.SCORE, String.format("%s team is now serving", servingTeam));
+        EngineLog.i(Tags.SCORE, String.format("%s team is now serving", servingTeam));
 
         for (final ScoreListener listener : mScoreListeners) {
             listener.onServiceSwapped(servingTeam, isStart);
@@ -839,11 +1061,13 @@ public abstract class Game extends BaseGame {
 
     @Override
     public void swapTeams(ActionOriginType actionOriginType) {
-        final TeamType tmpSide = mTeamOnLeftSide;
-        mTeamOnLeftSide = mTeamOnRightSide;
-        mTeamOnRightSide = tmpSide;
+        executeCommand(GameCommand.newTeamsSwapCommand(actionOriginType), () -> {
+            final TeamType tmpSide = mTeamOnLeftSide;
+            mTeamOnLeftSide = mTeamOnRightSide;
+            mTeamOnRightSide = tmpSide;
 
-        notifyTeamsSwapped(mTeamOnLeftSide, mTeamOnRightSide, actionOriginType);
+            notifyTeamsSwapped(mTeamOnLeftSide, mTeamOnRightSide, actionOriginType);
+        });
     }
 
     @Override
@@ -857,40 +1081,40 @@ public abstract class Game extends BaseGame {
     }
 
     void rotateToNextPositions(TeamType teamType) {
-        Log.i(Tags.TEAM, String.format("Rotate all players of %s team to next position", teamType));
+        EngineLog.i(Tags.TEAM, String.format("Rotate all players of %s team to next position", teamType));
         currentSet().getTeamComposition(teamType).rotateToNextPositions();
         notifyTeamRotated(teamType, true);
     }
 
     void rotateToPreviousPositions(TeamType teamType) {
-        Log.i(Tags.TEAM, String.format("Rotate all players of %s team to previous position", teamType));
+        EngineLog.i(Tags.TEAM, String.format("Rotate all players of %s team to previous position", teamType));
         currentSet().getTeamComposition(teamType).rotateToPreviousPositions();
         notifyTeamRotated(teamType, false);
     }
 
     void notifyPlayerChanged(TeamType teamType, int number, PositionType positionType, ActionOriginType actionOriginType) {
-        Log.i(Tags.TEAM, String.format("Player #%d of %s team is on %s position", number, teamType, positionType));
+        EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is on %s position", number, teamType, positionType));
         for (final TeamListener listener : mTeamListeners) {
             listener.onPlayerChanged(teamType, number, positionType, actionOriginType);
         }
     }
 
     void notifyStartingLineupSubmitted(TeamType teamType) {
-        Log.i(Tags.TEAM, String.format("Submit the starting lineup for %s team", teamType));
+        EngineLog.i(Tags.TEAM, String.format("Submit the starting lineup for %s team", teamType));
         for (final TeamListener listener : mTeamListeners) {
             listener.onStartingLineupSubmitted(teamType);
         }
     }
 
     private void notifyTeamsSwapped(final TeamType leftTeamType, final TeamType rightTeamType, final ActionOriginType actionOriginType) {
-        Log.i(Tags.TEAM, String.format("Changed sides: %s team is on left, %s team is on right", leftTeamType, rightTeamType));
+        EngineLog.i(Tags.TEAM, String.format("Changed sides: %s team is on left, %s team is on right", leftTeamType, rightTeamType));
         for (final TeamListener listener : mTeamListeners) {
             listener.onTeamsSwapped(leftTeamType, rightTeamType, actionOriginType);
         }
     }
 
     void notifyTeamRotated(TeamType teamType, boolean clockwise) {
-        Log.i(Tags.TEAM, String.format("%s team rotated", teamType));
+        EngineLog.i(Tags.TEAM, String.format("%s team rotated", teamType));
         for (final TeamListener listener : mTeamListeners) {
             listener.onTeamRotated(teamType, clockwise);
         }
@@ -934,14 +1158,17 @@ public abstract class Game extends BaseGame {
 
     @Override
     public void callTimeout(final TeamType teamType) {
-        final int oldCount = currentSet().getRemainingTimeouts(teamType);
+        executeCommand(GameCommand.newTimeoutCommand(teamType), () -> {
+            final int oldCount = currentSet().getRemainingTimeouts(teamType);
 
-        if (mRules.isTeamTimeouts() && oldCount > 0) {
-            final int newCount = currentSet().removeTimeout(teamType);
+            if (mRules.isTeamTimeouts() && oldCount > 0) {
+                final int newCount = currentSet().removeTimeout(teamType);
+                pushUndoableEvent(GameEvent.newTimeoutEvent(teamType));
 
-            notifyTimeoutUpdated(teamType, mRules.getTeamTimeoutsPerSet(), newCount);
-            notifyTimeoutCalled(teamType);
-        }
+                notifyTimeoutUpdated(teamType, mRules.getTeamTimeoutsPerSet(), newCount);
+                notifyTimeoutCalled(teamType);
+            }
+        });
     }
 
     private void undoTimeout(TeamType teamType) {
@@ -950,28 +1177,28 @@ public abstract class Game extends BaseGame {
     }
 
     private void notifyTimeoutCalled(TeamType teamType) {
-        Log.i(Tags.TIMEOUT, "Team timeout is called");
+        EngineLog.i(Tags.TIMEOUT, "Team timeout is called");
         for (final TimeoutListener listener : mTimeoutListeners) {
             listener.onTimeout(teamType, mRules.getTeamTimeoutDuration());
         }
     }
 
     private void notifyTimeoutUpdated(final TeamType teamType, final int maxCount, final int newCount) {
-        Log.i(Tags.TIMEOUT, String.format("%s has %d timeouts left on %d", teamType, newCount, maxCount));
+        EngineLog.i(Tags.TIMEOUT, String.format("%s has %d timeouts left on %d", teamType, newCount, maxCount));
         for (final TimeoutListener listener : mTimeoutListeners) {
             listener.onTimeoutUpdated(teamType, maxCount, newCount);
         }
     }
 
     void notifyTechnicalTimeoutReached() {
-        Log.i(Tags.TIMEOUT, "Technical timeout is reached");
+        EngineLog.i(Tags.TIMEOUT, "Technical timeout is reached");
         for (final TimeoutListener listener : mTimeoutListeners) {
             listener.onTechnicalTimeout(mRules.getTechnicalTimeoutDuration());
         }
     }
 
     private void notifyGameIntervalReached() {
-        Log.i(Tags.TIMEOUT, "Game interval is reached");
+        EngineLog.i(Tags.TIMEOUT, "Game interval is reached");
         for (final TimeoutListener listener : mTimeoutListeners) {
             listener.onGameInterval(mRules.getGameIntervalDuration());
         }
@@ -979,13 +1206,19 @@ public abstract class Game extends BaseGame {
 
     @Override
     public void giveSanction(TeamType teamType, SanctionType sanctionType, int number) {
+        executeCommand(GameCommand.newSanctionCommand(teamType, sanctionType, number), () -> applySanction(teamType, sanctionType, number));
+    }
+
+    protected void applySanction(TeamType teamType, SanctionType sanctionType, int number) {
+        applySanction(teamType, sanctionType, number, false);
+    }
+
+    // The improper request flag is set before the sanction is indexed, an improper request is not a delay sanction
+    private void applySanction(TeamType teamType, SanctionType sanctionType, int number, boolean improperRequest) {
         SanctionDto sanction = new SanctionDto(sanctionType, number, currentSetIndex(), getPoints(TeamType.HOME),
-                                               getPoints(TeamType.GUEST));
-        if (TeamType.HOME.equals(teamType)) {
-            mHomeTeamSanctions.add(sanction);
-        } else {
-            mGuestTeamSanctions.add(sanction);
-        }
+                                               getPoints(TeamType.GUEST), improperRequest);
+        getSanctionIndex(teamType).add(sanction);
+        pushUndoableEvent(GameEvent.newSanctionEvent(teamType, sanction));
 
         if (SanctionType.RED.equals(sanctionType) || SanctionType.DELAY_PENALTY.equals(sanctionType)) {
             addPoint(teamType.other());
@@ -995,27 +1228,35 @@ public abstract class Game extends BaseGame {
     }
 
     private void undoSanction(TeamType teamType, SanctionDto sanction) {
-        for (SanctionDto tmpSanction : getAllSanctions(teamType)) {
-            if (tmpSanction.equals(sanction)) {
-                if (TeamType.HOME.equals(teamType)) {
-                    mHomeTeamSanctions.remove(tmpSanction);
-                } else {
-                    mGuestTeamSanctions.remove(tmpSanction);
-                }
-                notifySanctionUndone(teamType, sanction.getCard(), sanction.getNum());
+        while (getSanctionIndex(teamType).remove(sanction)) {
+            notifySanctionUndone(teamType, sanction.getCard(), sanction.getNum());
+        }
+    }
+
+    private SanctionIndex getSanctionIndex(TeamType teamType) {
+        // The lists are replaced when GSON reads the game, the index then follows the new lists
+        if (TeamType.HOME.equals(teamType)) {
+            if (mHomeSanctionIndex == null || !mHomeSanctionIndex.isIndexOf(mHomeTeamSanctions)) {
+                mHomeSanctionIndex = new SanctionIndex(mHomeTeamSanctions);
+            }
+            return mHomeSanctionIndex;
+        } else {
+            if (mGuestSanctionIndex == null || !mGuestSanctionIndex.isIndexOf(mGuestTeamSanctions)) {
+                mGuestSanctionIndex = new SanctionIndex(mGuestTeamSanctions);
             }
+            return mGuestSanctionIndex;
         }
     }
 
     private void notifySanctionGiven(TeamType teamType, SanctionType sanctionType, int number) {
-        Log.i(Tags.SANCTION, String.format("Player %d of %s team was given a %s sanction", number, teamType, sanctionType));
+        EngineLog.i(Tags.SANCTION, String.format("Player %d of %s team was given a %s sanction", number, teamType, sanctionType));
         for (final SanctionListener listener : mSanctionListeners) {
             listener.onSanction(teamType, sanctionType, number);
         }
     }
 
     private void notifySanctionUndone(TeamType teamType, SanctionType sanctionType, int number) {
-        Log.i(Tags.SANCTION, String.format("Player %d of %s team had a %s sanction undone", number, teamType, sanctionType));
+        EngineLog.i(Tags.SANCTION, String.format("Player %d of %s team had a %s sanction undone", number, teamType, sanctionType));
         for (final SanctionListener listener : mSanctionListeners) {
             listener.onUndoSanction(teamType, sanctionType, number);
         }
@@ -1028,91 +1269,38 @@ public abstract class Game extends BaseGame {
 
     @Override
     public List<SanctionDto> getAllSanctions(TeamType teamType, int setIndex) {
-        List<SanctionDto> sanctionsForSet = new ArrayList<>();
-
-        for (SanctionDto sanction : getAllSanctions(teamType)) {
-            if (sanction.getSet() == setIndex) {
-                sanctionsForSet.add(sanction);
-            }
-        }
-
-        return sanctionsForSet;
+        return getSanctionIndex(teamType).getSanctions(setIndex);
     }
 
     @Override
     public List<SanctionDto> getPlayerSanctions(TeamType teamType, int number) {
-        List<SanctionDto> sanctionsForPlayer = new ArrayList<>();
-
-        for (SanctionDto sanction : getAllSanctions(teamType)) {
-            if (sanction.getNum() == number) {
-                sanctionsForPlayer.add(sanction);
-            }
-        }
-
-        return sanctionsForPlayer;
+        return getSanctionIndex(teamType).getPlayerSanctions(number);
     }
 
     @Override
     public boolean hasSanctions(TeamType teamType, int number) {
-        return getPlayerSanctions(teamType, number).size() > 0;
+        return getSanctionIndex(teamType).hasSanctions(number);
     }
 
     @Override
     public Set<Integer> getEvictedPlayersForCurrentSet(TeamType teamType, boolean withExpulsions, boolean withDisqualifications) {
-        Set<Integer> players = new HashSet<>();
-
-        List<SanctionDto> sanctionsForGame = getAllSanctions(teamType);
-        int currentSetIndex = currentSetIndex();
-
-        for (SanctionDto sanction : sanctionsForGame) {
-            if (withDisqualifications && sanction.getCard().isMisconductDisqualificationCard()) {
-                players.add(sanction.getNum());
-            } else if (withExpulsions && sanction.getCard().isMisconductExpulsionCard() && sanction.getSet() == currentSetIndex) {
-                players.add(sanction.getNum());
-            }
-        }
-
-        return players;
+        return getSanctionIndex(teamType).getEvictedPlayers(currentSetIndex(), withExpulsions, withDisqualifications);
     }
 
     @Override
     public SanctionType getMostSeriousSanction(TeamType teamType, int number) {
-        SanctionType sanctionType = SanctionType.YELLOW;
-        List<SanctionDto> playerSanctions = getPlayerSanctions(teamType, number);
-
-        for (SanctionDto sanction : playerSanctions) {
-            if (sanction.getCard().seriousness() > sanctionType.seriousness()) {
-                sanctionType = sanction.getCard();
-            }
-        }
-
-        return sanctionType;
+        SanctionType sanctionType = getSanctionIndex(teamType).getMostSeriousSanction(number);
+        return sanctionType == null || sanctionType.seriousness() < SanctionType.YELLOW.seriousness() ? SanctionType.YELLOW : sanctionType;
     }
 
     @Override
     public SanctionType getPossibleDelaySanction(TeamType teamType) {
-        boolean teamHasReachedPenalty = false;
-
-        for (SanctionDto sanction : getAllSanctions(teamType)) {
-            if (sanction.getCard().isDelaySanctionType() && !sanction.isImproperRequest()) {
-                teamHasReachedPenalty = true;
-                break;
-            }
-        }
-
-        return teamHasReachedPenalty ? SanctionType.DELAY_PENALTY : SanctionType.DELAY_WARNING;
+        return getSanctionIndex(teamType).hasDelaySanction() ? SanctionType.DELAY_PENALTY : SanctionType.DELAY_WARNING;
     }
 
     @Override
     public Set<SanctionType> getPossibleMisconductSanctions(TeamType teamType, int number) {
-        boolean teamHasReachedPenalty = false;
-
-        for (SanctionDto sanction : getAllSanctions(teamType)) {
-            if (sanction.getCard().isMisconductSanctionType()) {
-                teamHasReachedPenalty = true;
-                break;
-            }
-        }
+        boolean teamHasReachedPenalty = getSanctionIndex(teamType).hasMisconductSanction();
 
         Set<SanctionType> possibleMisconductSanctions = new HashSet<>();
         possibleMisconductSanctions.add(SanctionType.YELLOW);
@@ -1136,53 +1324,16 @@ public abstract class Game extends BaseGame {
      * Specific custom rules section *
      * *******************************/
 
-    public boolean samePlayerServedNConsecutiveTimes(TeamType teamType, int teamPoints, List<TeamType> pointsLadder) {
-        boolean result = false;
-
-        int limit = getRules().getCustomConsecutiveServesPerPlayer();
-        if (limit <= teamPoints) {
-            int consecutiveServes = getConsecutiveServes(teamType, pointsLadder);
-
-            if (consecutiveServes > 0 && consecutiveServes % limit == 0) {
-                result = true;
-            }
-        }
-
-        return result;
+    public boolean samePlayerServedNConsecutiveTimes(TeamType teamType) {
+        return currentSet().isConsecutiveServesLimitReached(teamType, getRules().getCustomConsecutiveServesPerPlayer());
     }
 
-    public boolean samePlayerHadServedNConsecutiveTimes(TeamType teamType, int teamPoints, List<TeamType> pointsLadder) {
-        List<TeamType> tempPointsLadder = new ArrayList<>(pointsLadder);
-        tempPointsLadder.add(teamType);
-        int tempTeamPoints = teamPoints + 1;
-        return samePlayerServedNConsecutiveTimes(teamType, tempTeamPoints, tempPointsLadder);
+    public boolean samePlayerHadServedNConsecutiveTimes(TeamType teamType) {
+        return currentSet().isConsecutiveServesLimitReachedOnNextPoint(teamType, getRules().getCustomConsecutiveServesPerPlayer());
     }
 
-    protected int getConsecutiveServes(TeamType teamType, List<TeamType> pointsLadder) {
-        int consecutiveServes;
-        int ladderIndex = pointsLadder.size() - 1;
-
-        if (pointsLadder.isEmpty()) {
-            consecutiveServes = 0;
-        } else if (teamType.equals(pointsLadder.get(ladderIndex))) {
-            List<TeamType> consecutivePoints = new ArrayList<>();
-            while (ladderIndex >= 0 && teamType.equals(pointsLadder.get(ladderIndex))) {
-                consecutivePoints.add(teamType);
-                ladderIndex--;
-            }
-            consecutiveServes = consecutivePoints.size();
-
-            // Side-out doesn't count as a serve
-            if (ladderIndex >= 0 && !teamType.equals(pointsLadder.get(ladderIndex))) {
-                consecutiveServes--;
-            } else if (ladderIndex < 0 && !currentSet().getServingTeamAtStart().equals(teamType)) {
-                consecutiveServes--;
-            }
-        } else {
-            consecutiveServes = 0;
-        }
-
-        return consecutiveServes;
+    protected int getConsecutiveServes(TeamType teamType) {
+        return currentSet().getConsecutiveServes(teamType);
     }
 
     private void initTransientFields() {
@@ -1191,6 +1342,11 @@ public abstract class Game extends BaseGame {
         mTimeoutListeners = new HashSet<>();
         mTeamListeners = new HashSet<>();
         mSanctionListeners = new HashSet<>();
+        mGameCommandListeners = new HashSet<>();
+        mCommandDepth = 0;
+        mUndoableEvents = new ArrayList<>();
+        mUndoableEventsSeq = 0L;
+        mReverting = false;
     }
 
     @Override
@@ -1200,70 +1356,71 @@ public abstract class Game extends BaseGame {
 
     @Override
     public List<GameEvent> getLatestGameEvents() {
-        int currentSetIndex = currentSetIndex();
-        int homePoints = getPoints(TeamType.HOME, currentSetIndex);
-        int guestPoints = getPoints(TeamType.GUEST, currentSetIndex);
-        List<GameEvent> gameEvents = new ArrayList<>();
-
-        if (!getPointsLadder(currentSetIndex).isEmpty()) {
-            gameEvents.add(GameEvent.newPointEvent(getServingTeam()));
-        }
-
-        for (TimeoutDto timeout : getCalledTimeouts(TeamType.HOME, currentSetIndex)) {
-            if (timeout.getHomePoints() == homePoints && timeout.getGuestPoints() == guestPoints) {
-                gameEvents.add(GameEvent.newTimeoutEvent(TeamType.HOME));
-            }
-        }
+        loadUndoableEvents();
 
-        for (TimeoutDto timeout : getCalledTimeouts(TeamType.GUEST, currentSetIndex)) {
-            if (timeout.getHomePoints() == homePoints && timeout.getGuestPoints() == guestPoints) {
-                gameEvents.add(GameEvent.newTimeoutEvent(TeamType.GUEST));
-            }
-        }
+        int currentSetIndex = currentSetIndex();
+        Set<Integer> homeEvictedPlayers = null;
+        Set<Integer> guestEvictedPlayers = null;
+        LinkedList<GameEvent> gameEvents = new LinkedList<>();
 
-        Set<Integer> expulsedOrDisqualifiedPlayers = getEvictedPlayersForCurrentSet(TeamType.HOME, true, true);
+        // Walk back from the latest event to the latest point of the current set
+        for (int index = mUndoableEvents.size() - 1; index >= 0; index--) {
+            GameEvent gameEvent = mUndoableEvents.get(index);
 
-        for (SubstitutionDto substitution : getSubstitutions(TeamType.HOME, currentSetIndex)) {
-            if (substitution.getHomePoints() == homePoints && substitution.getGuestPoints() == guestPoints && !expulsedOrDisqualifiedPlayers.contains(
-                    substitution.getPlayerIn()) && !expulsedOrDisqualifiedPlayers.contains(substitution.getPlayerOut())) {
-                gameEvents.add(GameEvent.newSubstitutionEvent(TeamType.HOME, substitution));
+            if (gameEvent.getSetIndex() != currentSetIndex) {
+                break;
             }
-        }
 
-        expulsedOrDisqualifiedPlayers = getEvictedPlayersForCurrentSet(TeamType.GUEST, true, true);
-
-        for (SubstitutionDto substitution : getSubstitutions(TeamType.GUEST, currentSetIndex)) {
-            if (substitution.getHomePoints() == homePoints && substitution.getGuestPoints() == guestPoints && !expulsedOrDisqualifiedPlayers.contains(
-                    substitution.getPlayerIn()) && !expulsedOrDisqualifiedPlayers.contains(substitution.getPlayerOut())) {
-                gameEvents.add(GameEvent.newSubstitutionEvent(TeamType.GUEST, substitution));
-            }
-        }
+            if (GameEvent.EventType.SUBSTITUTION.equals(gameEvent.getEventType())) {
+                Set<Integer> evictedPlayers;
+                if (TeamType.HOME.equals(gameEvent.getTeamType())) {
+                    if (homeEvictedPlayers == null) {
+                        homeEvictedPlayers = getEvictedPlayersForCurrentSet(TeamType.HOME, true, true);
+                    }
+                    evictedPlayers = homeEvictedPlayers;
+                } else {
+                    if (guestEvictedPlayers == null) {
+                        guestEvictedPlayers = getEvictedPlayersForCurrentSet(TeamType.GUEST, true, true);
+                    }
+                    evictedPlayers = guestEvictedPlayers;
+                }
 
-        for (SanctionDto sanction : getAllSanctions(TeamType.HOME, currentSetIndex)) {
-            if (sanction.getHomePoints() == homePoints && sanction.getGuestPoints() == guestPoints) {
-                gameEvents.add(GameEvent.newSanctionEvent(TeamType.HOME, sanction));
+                SubstitutionDto substitution = gameEvent.getSubstitution();
+                if (!evictedPlayers.contains(substitution.getPlayerIn()) && !evictedPlayers.contains(substitution.getPlayerOut())) {
+                    gameEvents.addFirst(gameEvent);
+                }
+            } else {
+                gameEvents.addFirst(gameEvent);
             }
-        }
 
-        for (SanctionDto sanction : getAllSanctions(TeamType.GUEST, currentSetIndex)) {
-            if (sanction.getHomePoints() == homePoints && sanction.getGuestPoints() == guestPoints) {
-                gameEvents.add(GameEvent.newSanctionEvent(TeamType.GUEST, sanction));
+            if (GameEvent.EventType.POINT.equals(gameEvent.getEventType())) {
+                break;
             }
         }
 
-        return gameEvents;
+        return new ArrayList<>(gameEvents);
     }
 
     @Override
     public void undoGameEvent(GameEvent gameEvent) {
-        switch (gameEvent.getEventType()) {
-            case POINT -> removeLastPoint();
-            case TIMEOUT -> undoTimeout(gameEvent.getTeamType());
-            case SUBSTITUTION -> undoSubstitution(gameEvent.getTeamType(), gameEvent.getSubstitution());
-            case SANCTION -> undoSanction(gameEvent.getTeamType(), gameEvent.getSanction());
-            default -> {
+        executeCommand(GameCommand.newUndoCommand(gameEvent), () -> {
+            removeUndoableEvent(gameEvent);
+
+            // Reverting an event must not record new undoable events (e.g. side changes when removing a point)
+            mReverting = true;
+            try {
+                switch (gameEvent.getEventType()) {
+                    case POINT -> removeLastPoint();
+                    case TIMEOUT -> undoTimeout(gameEvent.getTeamType());
+                    case SUBSTITUTION -> undoSubstitution(gameEvent.getTeamType(), gameEvent.getSubstitution());
+                    case SANCTION -> undoSanction(gameEvent.getTeamType(), gameEvent.getSanction());
+                    default -> {
+                    }
+                }
+            } finally {
+                mReverting = false;
             }
-        }
+        });
     }
 
     void forceFinishSet(TeamType teamType) {
@@ -1319,7 +1476,7 @@ public abstract class Game extends BaseGame {
 
         for (com.tonkar.volleyballreferee.engine.game.set.Set set : mSets) {
             scoreBuilder
-                    .append(UiUtils.formatScoreFromLocale(set.getPoints(TeamType.HOME), set.getPoints(TeamType.GUEST), false))
+                    .append(ScoreFormat.formatFromLocale(set.getPoints(TeamType.HOME), set.getPoints(TeamType.GUEST), false))
                     .append("\t\t");
         }
 
@@ -1356,27 +1513,16 @@ public abstract class Game extends BaseGame {
     }
 
     @Override
-    public void markLastSanctionAsImproperRequest(com.tonkar.volleyballreferee.engine.team.TeamType teamType) {
-        java.util.List<SanctionDto> sanctions = getAllSanctions(teamType);
-        if (sanctions == null || sanctions.isEmpty()) return;
-        SanctionDto last = sanctions.get(sanctions.size() - 1);
-        try {
-            // If field exists
-            java.lang.reflect.Method setter = last.getClass().getMethod("setImproperRequest", boolean.class);
-            setter.invoke(last, true);
-        } catch (Throwable ignored) {
-            // If field not present at runtime, no-op (backward compatibility)
+    public void markLastSanctionAsImproperRequest(TeamType teamType) {
+        List<SanctionDto> sanctions = TeamType.HOME.equals(teamType) ? mHomeTeamSanctions : mGuestTeamSanctions;
+        if (!sanctions.isEmpty()) {
+            getSanctionIndex(teamType).setImproperRequest(sanctions.get(sanctions.size() - 1), true);
         }
     }
 
     @Override
     public void addImproperRequest(TeamType teamType) {
-        // Registrar como Delay Warning y marcar la última como IR
-        giveSanction(teamType,
-                com.tonkar.volleyballreferee.engine.game.sanction.SanctionType.DELAY_WARNING,
-                com.tonkar.volleyballreferee.engine.api.model.SanctionDto.TEAM);
-        try {
-            markLastSanctionAsImproperRequest(teamType);
-        } catch (Throwable ignored) {}
+        executeCommand(GameCommand.newImproperRequestCommand(teamType),
+                       () -> applySanction(teamType, SanctionType.DELAY_WARNING, SanctionDto.TEAM, true));
     }
 }
@@ -0,0 +1,178 @@
+package com.tonkar.volleyballreferee.engine.game;
+
+import com.google.gson.annotations.SerializedName;
+import com.tonkar.volleyballreferee.engine.api.model.*;
+import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+import com.tonkar.volleyballreferee.engine.team.player.PositionType;
+
+public class GameCommand {
+
+    public enum CommandType {
+        MATCH_START,
+        POINT,
+        TIMEOUT,
+        SUBSTITUTION,
+        SANCTION,
+        IMPROPER_REQUEST,
+        LINEUP_CONFIRMATION,
+        GAME_CAPTAIN,
+        TEAMS_SWAP,
+        PLAYERS_SWAP,
+        SERVICE_SWAP,
+        SET_RESET,
+        UNDO
+    }
+
+    @SerializedName("seq")
+    private long                mSeq;
+    @SerializedName("type")
+    private CommandType         mType;
+    @SerializedName("time")
+    private long                mTime;
+    @SerializedName("team")
+    private TeamType            mTeamType;
+    @SerializedName("num")
+    private int                 mNumber;
+    @SerializedName("pos")
+    private PositionType        mPositionType;
+    @SerializedName("origin")
+    private ActionOriginType    mActionOriginType;
+    @SerializedName("card")
+    private SanctionType        mSanctionType;
+    @SerializedName("event")
+    private GameEvent.EventType mEventType;
+    @SerializedName("sub")
+    private SubstitutionDto     mSubstitution;
+    @SerializedName("sanction")
+    private SanctionDto         mSanction;
+    @SerializedName("target")
+    private long                mTargetSeq;
+
+    // For GSON Deserialization
+    public GameCommand() {}
+
+    private GameCommand(CommandType type, TeamType teamType) {
+        mType = type;
+        mTime = System.currentTimeMillis();
+        mTeamType = teamType;
+    }
+
+    public static GameCommand newMatchStartCommand() {
+        return new GameCommand(CommandType.MATCH_START, null);
+    }
+
+    public static GameCommand newPointCommand(TeamType teamType) {
+        return new GameCommand(CommandType.POINT, teamType);
+    }
+
+    public static GameCommand newTimeoutCommand(TeamType teamType) {
+        return new GameCommand(CommandType.TIMEOUT, teamType);
+    }
+
+    public static GameCommand newSubstitutionCommand(TeamType teamType,
+                                                     int number,
+                                                     PositionType positionType,
+                                                     ActionOriginType actionOriginType) {
+        GameCommand command = new GameCommand(CommandType.SUBSTITUTION, teamType);
+        command.mNumber = number;
+        command.mPositionType = positionType;
+        command.mActionOriginType = actionOriginType;
+        return command;
+    }
+
+    public static GameCommand newSanctionCommand(TeamType teamType, SanctionType sanctionType, int number) {
+        GameCommand command = new GameCommand(CommandType.SANCTION, teamType);
+        command.mSanctionType = sanctionType;
+        command.mNumber = number;
+        return command;
+    }
+
+    public static GameCommand newImproperRequestCommand(TeamType teamType) {
+        return new GameCommand(CommandType.IMPROPER_REQUEST, teamType);
+    }
+
+    public static GameCommand newLineupConfirmationCommand(TeamType teamType) {
+        return new GameCommand(CommandType.LINEUP_CONFIRMATION, teamType);
+    }
+
+    public static GameCommand newGameCaptainCommand(TeamType teamType, int number) {
+        GameCommand command = new GameCommand(CommandType.GAME_CAPTAIN, teamType);
+        command.mNumber = number;
+        return command;
+    }
+
+    public static GameCommand newTeamsSwapCommand(ActionOriginType actionOriginType) {
+        GameCommand command = new GameCommand(CommandType.TEAMS_SWAP, null);
+        command.mActionOriginType = actionOriginType;
+        return command;
+    }
+
+    public static GameCommand newPlayersSwapCommand(TeamType teamType) {
+        return new GameCommand(CommandType.PLAYERS_SWAP, teamType);
+    }
+
+    public static GameCommand newServiceSwapCommand() {
+        return new GameCommand(CommandType.SERVICE_SWAP, null);
+    }
+
+    public static GameCommand newSetResetCommand() {
+        return new GameCommand(CommandType.SET_RESET, null);
+    }
+
+    public static GameCommand newUndoCommand(GameEvent gameEvent) {
+        GameCommand command = new GameCommand(CommandType.UNDO, gameEvent.getTeamType());
+        command.mEventType = gameEvent.getEventType();
+        command.mSubstitution = gameEvent.getSubstitution();
+        command.mSanction = gameEvent.getSanction();
+        command.mTargetSeq = gameEvent.getSeq();
+        return command;
+    }
+
+    public long getSeq() {
+        return mSeq;
+    }
+
+    void setSeq(long seq) {
+        mSeq = seq;
+    }
+
+    public CommandType getType() {
+        return mType;
+    }
+
+    public long getTime() {
+        return mTime;
+    }
+
+    public TeamType getTeamType() {
+        return mTeamType;
+    }
+
+    public int getNumber() {
+        return mNumber;
+    }
+
+    public PositionType getPositionType() {
+        return mPositionType;
+    }
+
+    public ActionOriginType getActionOriginType() {
+        return mActionOriginType;
+    }
+
+    public SanctionType getSanctionType() {
+        return mSanctionType;
+    }
+
+    public GameEvent toGameEvent() {
+        GameEvent gameEvent = switch (mEventType) {
+            case TIMEOUT -> GameEvent.newTimeoutEvent(mTeamType);
+            case SUBSTITUTION -> GameEvent.newSubstitutionEvent(mTeamType, mSubstitution);
+            case SANCTION -> GameEvent.newSanctionEvent(mTeamType, mSanction);
+            default -> GameEvent.newPointEvent(mTeamType);
+        };
+        gameEvent.setSeq(mTargetSeq);
+        return gameEvent;
+    }
+}
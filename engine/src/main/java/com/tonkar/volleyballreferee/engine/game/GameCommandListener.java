@@ -0,0 +1,6 @@
+package com.tonkar.volleyballreferee.engine.game;
+
+public interface GameCommandListener {
+
+    void onGameCommand(GameCommand command);
+}
@@ -20,6 +20,8 @@ public class GameEvent {
     private final EventType       eventType;
     private final SubstitutionDto substitution;
     private final SanctionDto     sanction;
+    private       long            seq;
+    private       int             setIndex;
 
     private GameEvent(TeamType teamType, EventType eventType, SubstitutionDto substitution, SanctionDto sanction) {
         this.teamType = teamType;
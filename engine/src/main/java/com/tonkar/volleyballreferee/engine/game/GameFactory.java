@@ -1,7 +1,6 @@
 package com.tonkar.volleyballreferee.engine.game;
 
-import android.util.Log;
-
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.rules.Rules;
 import com.tonkar.volleyballreferee.engine.service.IStoredGame;
@@ -14,7 +13,7 @@ public class GameFactory {
                                               long createdAt,
                                               long scheduledAt,
                                               Rules rules) {
-        Log.i(Tags.FACTORY, "Create indoor game rules");
+        EngineLog.i(Tags.FACTORY, "Create indoor game rules");
         return new IndoorGame(id, createdBy, refereeName, createdAt, scheduledAt, rules);
     }
 
@@ -24,7 +23,7 @@ public class GameFactory {
                                             long createdAt,
                                             long scheduledAt,
                                             Rules rules) {
-        Log.i(Tags.FACTORY, "Create beach game");
+        EngineLog.i(Tags.FACTORY, "Create beach game");
         return new BeachGame(id, createdBy, refereeName, createdAt, scheduledAt, rules);
     }
 
@@ -34,7 +33,7 @@ public class GameFactory {
                                                   long createdAt,
                                                   long scheduledAt,
                                                   Rules rules) {
-        Log.i(Tags.FACTORY, "Create score-based game");
+        EngineLog.i(Tags.FACTORY, "Create score-based game");
         IndoorGame game = createIndoorGame(id, createdBy, refereeName, createdAt, scheduledAt, rules);
         game.setUsage(UsageType.POINTS_SCOREBOARD);
         return game;
@@ -46,17 +45,17 @@ public class GameFactory {
                                                     long createdAt,
                                                     long scheduledAt,
                                                     Rules rules) {
-        Log.i(Tags.FACTORY, "Create indoor 4x4 game");
+        EngineLog.i(Tags.FACTORY, "Create indoor 4x4 game");
         return new Indoor4x4Game(id, createdBy, refereeName, createdAt, scheduledAt, rules);
     }
 
     public static SnowGame createSnowGame(String id, String createdBy, String refereeName, long createdAt, long scheduledAt, Rules rules) {
-        Log.i(Tags.FACTORY, "Create snow game");
+        EngineLog.i(Tags.FACTORY, "Create snow game");
         return new SnowGame(id, createdBy, refereeName, createdAt, scheduledAt, rules);
     }
 
     public static IGame createGame(IStoredGame storedGame) {
-        Log.i(Tags.FACTORY, "Create game from web");
+        EngineLog.i(Tags.FACTORY, "Create game from web");
         IGame game = null;
 
         switch (storedGame.getKind()) {
@@ -20,6 +20,18 @@ public interface IGame extends IGeneral, IScore, ITeam, ITimeout, ISanction {
 
     void undoGameEvent(GameEvent gameEvent);
 
+    void addGameCommandListener(GameCommandListener listener);
+
+    void removeGameCommandListener(GameCommandListener listener);
+
+    long getJournalSeq();
+
+    void applyGameCommand(GameCommand command);
+
+    List<GameCommand> getGameCommands();
+
+    IGame replayGameCommands(long lastSeq);
+
 
     void markLastSanctionAsImproperRequest(TeamType teamType);
     void addImproperRequest(TeamType teamType);
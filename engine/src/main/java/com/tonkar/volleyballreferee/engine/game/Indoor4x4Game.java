@@ -1,7 +1,5 @@
 package com.tonkar.volleyballreferee.engine.game;
 
-import android.graphics.Color;
-
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
 import com.tonkar.volleyballreferee.engine.game.set.Indoor4x4Set;
@@ -45,8 +43,19 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
     }
 
     @Override
-    public void addPoint(final TeamType teamType) {
-        super.addPoint(teamType);
+    protected void dispatchGameCommand(GameCommand command) {
+        switch (command.getType()) {
+            case SUBSTITUTION -> substitutePlayer(command.getTeamType(), command.getNumber(), command.getPositionType(),
+                                                  command.getActionOriginType());
+            case LINEUP_CONFIRMATION -> confirmStartingLineup(command.getTeamType());
+            case GAME_CAPTAIN -> setGameCaptain(command.getTeamType(), command.getNumber());
+            default -> super.dispatchGameCommand(command);
+        }
+    }
+
+    @Override
+    protected void applyPoint(final TeamType teamType) {
+        super.applyPoint(teamType);
 
         if (!currentSet().isSetCompleted()) {
             // Record the last server so we can prevent him from coming back on position 1 for serving
@@ -67,7 +76,7 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
             }
 
             // Specific custom rule
-            if (samePlayerServedNConsecutiveTimes(teamType, getPoints(teamType), getPointsLadder())) {
+            if (samePlayerServedNConsecutiveTimes(teamType)) {
                 rotateToNextPositions(teamType);
             }
         }
@@ -88,18 +97,23 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
         }
 
         // Specific custom rule
-        if (oldServingTeam.equals(newServingTeam) && samePlayerHadServedNConsecutiveTimes(oldServingTeam, getPoints(oldServingTeam),
-                                                                                          getPointsLadder())) {
+        if (oldServingTeam.equals(newServingTeam) && samePlayerHadServedNConsecutiveTimes(oldServingTeam)) {
             rotateToPreviousPositions(oldServingTeam);
         }
     }
 
     @Override
     public void substitutePlayer(TeamType teamType, int number, PositionType positionType, ActionOriginType actionOriginType) {
-        if (getIndoorTeamComposition(teamType).substitutePlayer(number, positionType, getPoints(TeamType.HOME), getPoints(TeamType.GUEST),
-                                                                actionOriginType)) {
-            notifyPlayerChanged(teamType, number, positionType, actionOriginType);
-        }
+        executeCommand(GameCommand.newSubstitutionCommand(teamType, number, positionType, actionOriginType), () -> {
+            final int substitutionsCount = getIndoorTeamComposition(teamType).countSubstitutions();
+            if (getIndoorTeamComposition(teamType).substitutePlayer(number, positionType, getPoints(TeamType.HOME), getPoints(TeamType.GUEST),
+                                                                    actionOriginType)) {
+                if (getIndoorTeamComposition(teamType).countSubstitutions() > substitutionsCount) {
+                    pushSubstitutionEvent(teamType, getIndoorTeamComposition(teamType).getLastSubstitution());
+                }
+                notifyPlayerChanged(teamType, number, positionType, actionOriginType);
+            }
+        });
     }
 
     @Override
@@ -120,8 +134,10 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
 
     @Override
     public void confirmStartingLineup(TeamType teamType) {
-        getIndoorTeamComposition(teamType).confirmStartingLineup();
-        notifyStartingLineupSubmitted(teamType);
+        executeCommand(GameCommand.newLineupConfirmationCommand(teamType), () -> {
+            getIndoorTeamComposition(teamType).confirmStartingLineup();
+            notifyStartingLineupSubmitted(teamType);
+        });
     }
 
     @Override
@@ -150,7 +166,7 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
 
     @Override
     public void setGameCaptain(TeamType teamType, int number) {
-        getIndoorTeamComposition(teamType).setGameCaptain(number);
+        executeCommand(GameCommand.newGameCaptainCommand(teamType, number), () -> getIndoorTeamComposition(teamType).setGameCaptain(number));
     }
 
     @Override
@@ -239,7 +255,7 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
 
     @Override
     public int getLiberoColor(TeamType teamType) {
-        return Color.parseColor(TeamDefinition.DEFAULT_COLOR);
+        return TeamDefinition.parseColor(TeamDefinition.DEFAULT_COLOR);
     }
 
     @Override
@@ -286,8 +302,8 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
     }
 
     @Override
-    public void giveSanction(TeamType teamType, SanctionType sanctionType, int number) {
-        super.giveSanction(teamType, sanctionType, number);
+    protected void applySanction(TeamType teamType, SanctionType sanctionType, int number) {
+        super.applySanction(teamType, sanctionType, number);
 
         if (SanctionDto.isPlayer(number) && (sanctionType.isMisconductExpulsionCard() || sanctionType.isMisconductDisqualificationCard())) {
             // The player excluded for the set/match has to be legally replaced
@@ -338,7 +354,7 @@ public class Indoor4x4Game extends Game implements IClassicTeam {
     @Override
     void restoreTeam(IStoredGame storedGame, TeamType teamType) {
         super.restoreTeam(storedGame, teamType);
-        setLiberoColor(teamType, Color.parseColor(TeamDefinition.DEFAULT_COLOR));
+        setLiberoColor(teamType, TeamDefinition.parseColor(TeamDefinition.DEFAULT_COLOR));
         setCaptain(teamType, storedGame.getCaptain(teamType));
     }
 
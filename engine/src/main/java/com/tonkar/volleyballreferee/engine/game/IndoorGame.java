@@ -43,8 +43,19 @@ public class IndoorGame extends Game implements IClassicTeam {
     }
 
     @Override
-    public void addPoint(final TeamType teamType) {
-        super.addPoint(teamType);
+    protected void dispatchGameCommand(GameCommand command) {
+        switch (command.getType()) {
+            case SUBSTITUTION -> substitutePlayer(command.getTeamType(), command.getNumber(), command.getPositionType(),
+                                                  command.getActionOriginType());
+            case LINEUP_CONFIRMATION -> confirmStartingLineup(command.getTeamType());
+            case GAME_CAPTAIN -> setGameCaptain(command.getTeamType(), command.getNumber());
+            default -> super.dispatchGameCommand(command);
+        }
+    }
+
+    @Override
+    protected void applyPoint(final TeamType teamType) {
+        super.applyPoint(teamType);
 
         if (!currentSet().isSetCompleted()) {
             checkPosition1(teamType);
@@ -66,7 +77,7 @@ public class IndoorGame extends Game implements IClassicTeam {
             }
 
             // Specific custom rule
-            if (samePlayerServedNConsecutiveTimes(teamType, getPoints(teamType), getPointsLadder())) {
+            if (samePlayerServedNConsecutiveTimes(teamType)) {
                 rotateToNextPositions(teamType);
             }
         }
@@ -88,8 +99,7 @@ public class IndoorGame extends Game implements IClassicTeam {
         }
 
         // Specific custom rule
-        if (oldServingTeam.equals(newServingTeam) && samePlayerHadServedNConsecutiveTimes(oldServingTeam, getPoints(oldServingTeam),
-                                                                                          getPointsLadder())) {
+        if (oldServingTeam.equals(newServingTeam) && samePlayerHadServedNConsecutiveTimes(oldServingTeam)) {
             rotateToPreviousPositions(oldServingTeam);
         }
     }
@@ -102,17 +112,23 @@ public class IndoorGame extends Game implements IClassicTeam {
 
         TeamType defendingTeam = scoringTeam.other();
         number = getIndoorTeamComposition(defendingTeam).checkPosition1Defence();
-        if (number > -1 && getConsecutiveServes(scoringTeam, getPointsLadder()) == 0) {
+        if (number > -1 && getConsecutiveServes(scoringTeam) == 0) {
             substitutePlayer(defendingTeam, number, PositionType.POSITION_1, ActionOriginType.APPLICATION);
         }
     }
 
     @Override
     public void substitutePlayer(TeamType teamType, int number, PositionType positionType, ActionOriginType actionOriginType) {
-        if (getIndoorTeamComposition(teamType).substitutePlayer(number, positionType, getPoints(TeamType.HOME), getPoints(TeamType.GUEST),
-                                                                actionOriginType)) {
-            notifyPlayerChanged(teamType, number, positionType, actionOriginType);
-        }
+        executeCommand(GameCommand.newSubstitutionCommand(teamType, number, positionType, actionOriginType), () -> {
+            final int substitutionsCount = getIndoorTeamComposition(teamType).countSubstitutions();
+            if (getIndoorTeamComposition(teamType).substitutePlayer(number, positionType, getPoints(TeamType.HOME), getPoints(TeamType.GUEST),
+                                                                    actionOriginType)) {
+                if (getIndoorTeamComposition(teamType).countSubstitutions() > substitutionsCount) {
+                    pushSubstitutionEvent(teamType, getIndoorTeamComposition(teamType).getLastSubstitution());
+                }
+                notifyPlayerChanged(teamType, number, positionType, actionOriginType);
+            }
+        });
     }
 
     @Override
@@ -133,8 +149,10 @@ public class IndoorGame extends Game implements IClassicTeam {
 
     @Override
     public void confirmStartingLineup(TeamType teamType) {
-        getIndoorTeamComposition(teamType).confirmStartingLineup();
-        notifyStartingLineupSubmitted(teamType);
+        executeCommand(GameCommand.newLineupConfirmationCommand(teamType), () -> {
+            getIndoorTeamComposition(teamType).confirmStartingLineup();
+            notifyStartingLineupSubmitted(teamType);
+        });
     }
 
     @Override
@@ -163,7 +181,7 @@ public class IndoorGame extends Game implements IClassicTeam {
 
     @Override
     public void setGameCaptain(TeamType teamType, int number) {
-        getIndoorTeamComposition(teamType).setGameCaptain(number);
+        executeCommand(GameCommand.newGameCaptainCommand(teamType, number), () -> getIndoorTeamComposition(teamType).setGameCaptain(number));
     }
 
     @Override
@@ -312,8 +330,8 @@ public class IndoorGame extends Game implements IClassicTeam {
     }
 
     @Override
-    public void giveSanction(TeamType teamType, SanctionType sanctionType, int number) {
-        super.giveSanction(teamType, sanctionType, number);
+    protected void applySanction(TeamType teamType, SanctionType sanctionType, int number) {
+        super.applySanction(teamType, sanctionType, number);
 
         if (SanctionDto.isPlayer(number) && (sanctionType.isMisconductExpulsionCard() || sanctionType.isMisconductDisqualificationCard())) {
             // The player excluded for the set/match has to be legally replaced
@@ -1,7 +1,5 @@
 package com.tonkar.volleyballreferee.engine.game;
 
-import android.graphics.Color;
-
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
 import com.tonkar.volleyballreferee.engine.game.set.SnowSet;
@@ -45,8 +43,19 @@ public class SnowGame extends Game implements IClassicTeam {
     }
 
     @Override
-    public void addPoint(final TeamType teamType) {
-        super.addPoint(teamType);
+    protected void dispatchGameCommand(GameCommand command) {
+        switch (command.getType()) {
+            case SUBSTITUTION -> substitutePlayer(command.getTeamType(), command.getNumber(), command.getPositionType(),
+                                                  command.getActionOriginType());
+            case LINEUP_CONFIRMATION -> confirmStartingLineup(command.getTeamType());
+            case GAME_CAPTAIN -> setGameCaptain(command.getTeamType(), command.getNumber());
+            default -> super.dispatchGameCommand(command);
+        }
+    }
+
+    @Override
+    protected void applyPoint(final TeamType teamType) {
+        super.applyPoint(teamType);
 
         if (!currentSet().isSetCompleted()) {
             // In snow volley, the teams change sides every 5 points
@@ -98,10 +107,16 @@ public class SnowGame extends Game implements IClassicTeam {
 
     @Override
     public void substitutePlayer(TeamType teamType, int number, PositionType positionType, ActionOriginType actionOriginType) {
-        if (getSnowTeamComposition(teamType).substitutePlayer(number, positionType, getPoints(TeamType.HOME), getPoints(TeamType.GUEST),
-                                                              actionOriginType)) {
-            notifyPlayerChanged(teamType, number, positionType, actionOriginType);
-        }
+        executeCommand(GameCommand.newSubstitutionCommand(teamType, number, positionType, actionOriginType), () -> {
+            final int substitutionsCount = getSnowTeamComposition(teamType).countSubstitutions();
+            if (getSnowTeamComposition(teamType).substitutePlayer(number, positionType, getPoints(TeamType.HOME), getPoints(TeamType.GUEST),
+                                                                  actionOriginType)) {
+                if (getSnowTeamComposition(teamType).countSubstitutions() > substitutionsCount) {
+                    pushSubstitutionEvent(teamType, getSnowTeamComposition(teamType).getLastSubstitution());
+                }
+                notifyPlayerChanged(teamType, number, positionType, actionOriginType);
+            }
+        });
     }
 
     @Override
@@ -122,8 +137,10 @@ public class SnowGame extends Game implements IClassicTeam {
 
     @Override
     public void confirmStartingLineup(TeamType teamType) {
-        getSnowTeamComposition(teamType).confirmStartingLineup();
-        notifyStartingLineupSubmitted(teamType);
+        executeCommand(GameCommand.newLineupConfirmationCommand(teamType), () -> {
+            getSnowTeamComposition(teamType).confirmStartingLineup();
+            notifyStartingLineupSubmitted(teamType);
+        });
     }
 
     @Override
@@ -152,7 +169,7 @@ public class SnowGame extends Game implements IClassicTeam {
 
     @Override
     public void setGameCaptain(TeamType teamType, int number) {
-        getSnowTeamComposition(teamType).setGameCaptain(number);
+        executeCommand(GameCommand.newGameCaptainCommand(teamType, number), () -> getSnowTeamComposition(teamType).setGameCaptain(number));
     }
 
     @Override
@@ -241,7 +258,7 @@ public class SnowGame extends Game implements IClassicTeam {
 
     @Override
     public int getLiberoColor(TeamType teamType) {
-        return Color.parseColor(TeamDefinition.DEFAULT_COLOR);
+        return TeamDefinition.parseColor(TeamDefinition.DEFAULT_COLOR);
     }
 
     @Override
@@ -288,8 +305,8 @@ public class SnowGame extends Game implements IClassicTeam {
     }
 
     @Override
-    public void giveSanction(TeamType teamType, SanctionType sanctionType, int number) {
-        super.giveSanction(teamType, sanctionType, number);
+    protected void applySanction(TeamType teamType, SanctionType sanctionType, int number) {
+        super.applySanction(teamType, sanctionType, number);
 
         if (SanctionDto.isPlayer(number) && (sanctionType.isMisconductExpulsionCard() || sanctionType.isMisconductDisqualificationCard())) {
             // The player excluded for the set/match has to be legally replaced
@@ -340,7 +357,7 @@ public class SnowGame extends Game implements IClassicTeam {
     @Override
     void restoreTeam(IStoredGame storedGame, TeamType teamType) {
         super.restoreTeam(storedGame, teamType);
-        setLiberoColor(teamType, Color.parseColor(TeamDefinition.DEFAULT_COLOR));
+        setLiberoColor(teamType, TeamDefinition.parseColor(TeamDefinition.DEFAULT_COLOR));
         setCaptain(teamType, storedGame.getCaptain(teamType));
     }
 
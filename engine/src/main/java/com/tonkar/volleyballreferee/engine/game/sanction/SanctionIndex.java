@@ -0,0 +1,197 @@
+package com.tonkar.volleyballreferee.engine.game.sanction;
+
+import com.tonkar.volleyballreferee.engine.api.model.SanctionDto;
+
+import java.util.*;
+
+/**
+ * The sanctions of a team, indexed by set and by player.
+ * The index owns the changes of the list it wraps, so that the list and the index never diverge.
+ */
+public class SanctionIndex {
+
+    private final List<SanctionDto>                   mSanctions;
+    private final Map<Integer, List<SanctionDto>>     mSanctionsBySet;
+    private final Map<Integer, List<SanctionDto>>     mSanctionsByPlayer;
+    private final Map<Integer, SanctionType>          mMostSeriousSanctions;
+    private final Map<Integer, Integer>               mDisqualifiedPlayers;
+    private final Map<Integer, Map<Integer, Integer>> mExpelledPlayersBySet;
+    private       int                                 mDelaySanctions;
+    private       int                                 mMisconductSanctions;
+
+    public SanctionIndex(List<SanctionDto> sanctions) {
+        mSanctions = sanctions;
+        mSanctionsBySet = new HashMap<>();
+        mSanctionsByPlayer = new HashMap<>();
+        mMostSeriousSanctions = new HashMap<>();
+        mDisqualifiedPlayers = new HashMap<>();
+        mExpelledPlayersBySet = new HashMap<>();
+        mDelaySanctions = 0;
+        mMisconductSanctions = 0;
+
+        for (SanctionDto sanction : sanctions) {
+            index(sanction);
+        }
+    }
+
+    public boolean isIndexOf(List<SanctionDto> sanctions) {
+        return mSanctions == sanctions;
+    }
+
+    public void add(SanctionDto sanction) {
+        mSanctions.add(sanction);
+        index(sanction);
+    }
+
+    public boolean remove(SanctionDto sanction) {
+        boolean removed = mSanctions.remove(sanction);
+
+        if (removed) {
+            unindex(sanction);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Changes the improper request flag of an indexed sanction, the delay sanctions do not count the improper requests.
+     */
+    public void setImproperRequest(SanctionDto sanction, boolean improperRequest) {
+        unindex(sanction);
+        sanction.setImproperRequest(improperRequest);
+        index(sanction);
+    }
+
+    public void removeSet(int setIndex) {
+        List<SanctionDto> sanctionsForSet = mSanctionsBySet.get(setIndex);
+
+        if (sanctionsForSet != null) {
+            for (SanctionDto sanction : new ArrayList<>(sanctionsForSet)) {
+                remove(sanction);
+            }
+        }
+    }
+
+    public void clear() {
+        mSanctions.clear();
+        mSanctionsBySet.clear();
+        mSanctionsByPlayer.clear();
+        mMostSeriousSanctions.clear();
+        mDisqualifiedPlayers.clear();
+        mExpelledPlayersBySet.clear();
+        mDelaySanctions = 0;
+        mMisconductSanctions = 0;
+    }
+
+    public List<SanctionDto> getSanctions(int setIndex) {
+        List<SanctionDto> sanctionsForSet = mSanctionsBySet.get(setIndex);
+        return sanctionsForSet == null ? List.of() : Collections.unmodifiableList(sanctionsForSet);
+    }
+
+    public List<SanctionDto> getPlayerSanctions(int number) {
+        List<SanctionDto> sanctionsForPlayer = mSanctionsByPlayer.get(number);
+        return sanctionsForPlayer == null ? List.of() : Collections.unmodifiableList(sanctionsForPlayer);
+    }
+
+    public boolean hasSanctions(int number) {
+        return mSanctionsByPlayer.containsKey(number);
+    }
+
+    /**
+     * The most serious sanction of the player, or null if the player has no sanction.
+     */
+    public SanctionType getMostSeriousSanction(int number) {
+        return mMostSeriousSanctions.get(number);
+    }
+
+    public boolean hasDelaySanction() {
+        return mDelaySanctions > 0;
+    }
+
+    public boolean hasMisconductSanction() {
+        return mMisconductSanctions > 0;
+    }
+
+    public Set<Integer> getEvictedPlayers(int setIndex, boolean withExpulsions, boolean withDisqualifications) {
+        Set<Integer> players = new HashSet<>();
+
+        if (withDisqualifications) {
+            players.addAll(mDisqualifiedPlayers.keySet());
+        }
+        if (withExpulsions) {
+            players.addAll(mExpelledPlayersBySet.getOrDefault(setIndex, Map.of()).keySet());
+        }
+
+        return players;
+    }
+
+    private void index(SanctionDto sanction) {
+        mSanctionsBySet.computeIfAbsent(sanction.getSet(), setIndex -> new ArrayList<>()).add(sanction);
+        mSanctionsByPlayer.computeIfAbsent(sanction.getNum(), number -> new ArrayList<>()).add(sanction);
+        mMostSeriousSanctions.merge(sanction.getNum(), sanction.getCard(),
+                                    (current, card) -> card.seriousness() > current.seriousness() ? card : current);
+
+        if (sanction.getCard().isDelaySanctionType() && !sanction.isImproperRequest()) {
+            mDelaySanctions++;
+        }
+        if (sanction.getCard().isMisconductSanctionType()) {
+            mMisconductSanctions++;
+        }
+        if (sanction.getCard().isMisconductDisqualificationCard()) {
+            mDisqualifiedPlayers.merge(sanction.getNum(), 1, Integer::sum);
+        } else if (sanction.getCard().isMisconductExpulsionCard()) {
+            mExpelledPlayersBySet.computeIfAbsent(sanction.getSet(), setIndex -> new HashMap<>()).merge(sanction.getNum(), 1, Integer::sum);
+        }
+    }
+
+    private void unindex(SanctionDto sanction) {
+        removeFrom(mSanctionsBySet, sanction.getSet(), sanction);
+        removeFrom(mSanctionsByPlayer, sanction.getNum(), sanction);
+
+        List<SanctionDto> sanctionsForPlayer = mSanctionsByPlayer.get(sanction.getNum());
+        if (sanctionsForPlayer == null) {
+            mMostSeriousSanctions.remove(sanction.getNum());
+        } else {
+            SanctionType mostSeriousSanction = sanctionsForPlayer.get(0).getCard();
+            for (SanctionDto playerSanction : sanctionsForPlayer) {
+                if (playerSanction.getCard().seriousness() > mostSeriousSanction.seriousness()) {
+                    mostSeriousSanction = playerSanction.getCard();
+                }
+            }
+            mMostSeriousSanctions.put(sanction.getNum(), mostSeriousSanction);
+        }
+
+        if (sanction.getCard().isDelaySanctionType() && !sanction.isImproperRequest()) {
+            mDelaySanctions--;
+        }
+        if (sanction.getCard().isMisconductSanctionType()) {
+            mMisconductSanctions--;
+        }
+        if (sanction.getCard().isMisconductDisqualificationCard()) {
+            decrement(mDisqualifiedPlayers, sanction.getNum());
+        } else if (sanction.getCard().isMisconductExpulsionCard()) {
+            Map<Integer, Integer> expelledPlayers = mExpelledPlayersBySet.get(sanction.getSet());
+            if (expelledPlayers != null) {
+                decrement(expelledPlayers, sanction.getNum());
+                if (expelledPlayers.isEmpty()) {
+                    mExpelledPlayersBySet.remove(sanction.getSet());
+                }
+            }
+        }
+    }
+
+    private static void removeFrom(Map<Integer, List<SanctionDto>> sanctionsByKey, int key, SanctionDto sanction) {
+        List<SanctionDto> sanctions = sanctionsByKey.get(key);
+
+        if (sanctions != null) {
+            sanctions.remove(sanction);
+            if (sanctions.isEmpty()) {
+                sanctionsByKey.remove(key);
+            }
+        }
+    }
+
+    private static void decrement(Map<Integer, Integer> counts, int key) {
+        counts.computeIfPresent(key, (number, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.tonkar.volleyballreferee.engine.game.score;
+
+import java.util.Locale;
+
+public class ScoreFormat {
+
+    private ScoreFormat() {}
+
+    public static String formatFromLocale(int leftScore, int rightScore, boolean withSpace) {
+        String format = withSpace ? "%d\t-\t%d" : "%d-%d";
+        if (isRightToLeft(Locale.getDefault())) {
+            return String.format(Locale.getDefault(), format, rightScore, leftScore);
+        } else {
+            return String.format(Locale.getDefault(), format, leftScore, rightScore);
+        }
+    }
+
+    // The layout direction of a locale is given by the first character of its display name
+    private static boolean isRightToLeft(Locale locale) {
+        String displayName = locale.getDisplayName(locale);
+
+        if (displayName.isEmpty()) {
+            return false;
+        } else {
+            byte directionality = Character.getDirectionality(displayName.charAt(0));
+            return directionality == Character.DIRECTIONALITY_RIGHT_TO_LEFT || directionality == Character.DIRECTIONALITY_RIGHT_TO_LEFT_ARABIC;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.tonkar.volleyballreferee.engine.game.set;
+
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+
+import java.util.*;
+
+/**
+ * The rallies of a set, one bit per rally (0 for home, 1 for guest), with rank/select helpers.
+ * Only the set can change the ladder, other classes read it or its list view.
+ */
+public class PointsLadder {
+
+    private           long[]         mBits;
+    private           int            mSize;
+    private transient int            mCurrentRun;
+    private transient List<TeamType> mListView;
+
+    PointsLadder() {
+        mBits = new long[1];
+        mSize = 0;
+        mCurrentRun = 0;
+    }
+
+    void add(TeamType teamType) {
+        mCurrentRun = teamType.equals(getLast()) ? mCurrentRun + 1 : 1;
+
+        if (mSize == mBits.length * Long.SIZE) {
+            mBits = Arrays.copyOf(mBits, mBits.length * 2);
+        }
+
+        if (TeamType.GUEST.equals(teamType)) {
+            mBits[mSize >>> 6] |= 1L << mSize;
+        } else {
+            mBits[mSize >>> 6] &= ~(1L << mSize);
+        }
+
+        mSize++;
+    }
+
+    TeamType removeLast() {
+        TeamType teamType = getLast();
+
+        if (teamType != null) {
+            mSize--;
+            mBits[mSize >>> 6] &= ~(1L << mSize);
+            mCurrentRun--;
+
+            // The run of the other team is only known again by looking back at the rallies
+            if (mCurrentRun == 0) {
+                mCurrentRun = computeCurrentRun();
+            }
+        }
+
+        return teamType;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public TeamType get(int rally) {
+        if (rally < 0 || rally >= mSize) {
+            throw new IndexOutOfBoundsException(String.format("Rally %d is out of a ladder of %d rallies", rally, mSize));
+        }
+
+        return (mBits[rally >>> 6] & (1L << rally)) == 0L ? TeamType.HOME : TeamType.GUEST;
+    }
+
+    public TeamType getLast() {
+        return mSize == 0 ? null : get(mSize - 1);
+    }
+
+    /**
+     * Rank: the points of the team after the given number of rallies.
+     */
+    public int countPoints(TeamType teamType, int rallies) {
+        rallies = Math.min(Math.max(rallies, 0), mSize);
+        int guestPoints = 0;
+        int word = 0;
+
+        for (; (word + 1) * Long.SIZE <= rallies; word++) {
+            guestPoints += Long.bitCount(mBits[word]);
+        }
+
+        int remainingRallies = rallies - word * Long.SIZE;
+        if (remainingRallies > 0) {
+            guestPoints += Long.bitCount(mBits[word] & ((1L << remainingRallies) - 1L));
+        }
+
+        return TeamType.GUEST.equals(teamType) ? guestPoints : rallies - guestPoints;
+    }
+
+    /**
+     * Select: the index of the rally where the team scored the given point (1-based), or -1 if the team never reached it.
+     */
+    public int findRally(TeamType teamType, int point) {
+        int rally = -1;
+
+        if (point > 0) {
+            int remainingPoints = point;
+
+            for (int word = 0; word * Long.SIZE < mSize && rally < 0; word++) {
+                int wordSize = Math.min(Long.SIZE, mSize - word * Long.SIZE);
+                long wordMask = wordSize == Long.SIZE ? -1L : (1L << wordSize) - 1L;
+                long bits = (TeamType.GUEST.equals(teamType) ? mBits[word] : ~mBits[word]) & wordMask;
+                int count = Long.bitCount(bits);
+
+                if (count < remainingPoints) {
+                    remainingPoints -= count;
+                } else {
+                    for (int index = 1; index < remainingPoints; index++) {
+                        bits &= bits - 1L;
+                    }
+                    rally = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+
+        return rally;
+    }
+
+    /**
+     * The number of points in a row scored by the team who scored the last point, kept up to date by add and removeLast.
+     */
+    public int getCurrentRun() {
+        return mCurrentRun;
+    }
+
+    private int computeCurrentRun() {
+        int run = 0;
+
+        if (mSize > 0) {
+            boolean guestRun = (mBits[(mSize - 1) >>> 6] & (1L << (mSize - 1))) != 0L;
+            int rally = mSize - 1;
+
+            while (rally >= 0) {
+                int word = rally >>> 6;
+                int bitInWord = rally & 63;
+                long wordMask = bitInWord == 63 ? -1L : (1L << (bitInWord + 1)) - 1L;
+                // Ones where the rally was won by the other team
+                long otherBits = (guestRun ? ~mBits[word] : mBits[word]) & wordMask;
+
+                if (otherBits == 0L) {
+                    run += bitInWord + 1;
+                    rally = word * Long.SIZE - 1;
+                } else {
+                    run += bitInWord - (63 - Long.numberOfLeadingZeros(otherBits));
+                    rally = -1;
+                }
+            }
+        }
+
+        return run;
+    }
+
+    public int getLongestRun(TeamType teamType) {
+        int longestRun = 0;
+        int run = 0;
+
+        for (int rally = 0; rally < mSize; rally++) {
+            if (teamType.equals(get(rally))) {
+                run++;
+                longestRun = Math.max(longestRun, run);
+            } else {
+                run = 0;
+            }
+        }
+
+        return longestRun;
+    }
+
+    /**
+     * A read-only view of the ladder, which follows the changes of the set without copying the rallies.
+     */
+    public List<TeamType> asList() {
+        if (mListView == null) {
+            mListView = new AbstractList<>() {
+                @Override
+                public TeamType get(int index) {
+                    return PointsLadder.this.get(index);
+                }
+
+                @Override
+                public int size() {
+                    return mSize;
+                }
+            };
+        }
+
+        return mListView;
+    }
+
+    public static PointsLadder of(List<TeamType> teamTypes) {
+        PointsLadder pointsLadder = new PointsLadder();
+
+        for (TeamType teamType : teamTypes) {
+            pointsLadder.add(teamType);
+        }
+
+        return pointsLadder;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        } else if (object instanceof PointsLadder other && mSize == other.mSize) {
+            for (int word = 0; word * Long.SIZE < mSize; word++) {
+                if (mBits[word] != other.mBits[word]) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = mSize;
+
+        for (int word = 0; word * Long.SIZE < mSize; word++) {
+            hashCode = 31 * hashCode + Long.hashCode(mBits[word]);
+        }
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+}
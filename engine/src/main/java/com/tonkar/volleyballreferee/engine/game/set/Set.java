@@ -29,7 +29,7 @@ public abstract class Set {
     @SerializedName("guestRemainingTimeouts")
     private       int              mGuestRemainingTimeouts;
     @SerializedName("pointsLadder")
-    private final List<TeamType>   mPointsLadder;
+    private final PointsLadder     mPointsLadder;
     @SerializedName("servingTeamAtStart")
     private       TeamType         mServingTeamAtStart;
     @SerializedName("startTime")
@@ -65,7 +65,7 @@ public abstract class Set {
 
         mHomePoints = 0;
         mGuestPoints = 0;
-        mPointsLadder = new ArrayList<>();
+        mPointsLadder = new PointsLadder();
 
         mHomeRemainingTimeouts = rules.getTeamTimeoutsPerSet();
         mGuestRemainingTimeouts = rules.getTeamTimeoutsPerSet();
@@ -102,10 +102,14 @@ public abstract class Set {
     }
 
     public int addPoint(final TeamType teamType) {
+        return addPoint(teamType, System.currentTimeMillis());
+    }
+
+    public int addPoint(final TeamType teamType, long time) {
         int points = 0;
 
         if (mHomePoints == 0 && mGuestPoints == 0) {
-            mStartTime = System.currentTimeMillis();
+            mStartTime = time;
         }
 
         switch (teamType) {
@@ -122,7 +126,7 @@ public abstract class Set {
         mPointsLadder.add(teamType);
 
         if (isSetCompleted()) {
-            mEndTime = System.currentTimeMillis();
+            mEndTime = time;
         }
 
         return points;
@@ -134,8 +138,7 @@ public abstract class Set {
         if (mPointsLadder.isEmpty()) {
             teamLosingOnePoint = null;
         } else {
-            teamLosingOnePoint = mPointsLadder.get(mPointsLadder.size() - 1);
-            mPointsLadder.remove(mPointsLadder.size() - 1);
+            teamLosingOnePoint = mPointsLadder.removeLast();
 
             switch (teamLosingOnePoint) {
                 case HOME -> mHomePoints--;
@@ -151,7 +154,53 @@ public abstract class Set {
     }
 
     public List<TeamType> getPointsLadder() {
-        return new ArrayList<>(mPointsLadder);
+        return mPointsLadder.asList();
+    }
+
+    public PointsLadder getLadder() {
+        return mPointsLadder;
+    }
+
+    /**
+     * The serves of the team in its current run. The side-out which started the run doesn't count as a serve.
+     */
+    public int getConsecutiveServes(TeamType teamType) {
+        int consecutiveServes = 0;
+
+        if (teamType.equals(mPointsLadder.getLast())) {
+            consecutiveServes = mPointsLadder.getCurrentRun();
+
+            if (mPointsLadder.getCurrentRun() < mPointsLadder.size() || !teamType.equals(mServingTeamAtStart)) {
+                consecutiveServes--;
+            }
+        }
+
+        return consecutiveServes;
+    }
+
+    public boolean isConsecutiveServesLimitReached(TeamType teamType, int limit) {
+        return isConsecutiveServesLimit(getConsecutiveServes(teamType), limit);
+    }
+
+    /**
+     * Whether the team would reach the limit if it scored the next point, without adding it to the ladder.
+     */
+    public boolean isConsecutiveServesLimitReachedOnNextPoint(TeamType teamType, int limit) {
+        int consecutiveServes;
+
+        if (teamType.equals(mPointsLadder.getLast())) {
+            consecutiveServes = getConsecutiveServes(teamType) + 1;
+        } else if (mPointsLadder.isEmpty() && teamType.equals(mServingTeamAtStart)) {
+            consecutiveServes = 1;
+        } else {
+            consecutiveServes = 0;
+        }
+
+        return isConsecutiveServesLimit(consecutiveServes, limit);
+    }
+
+    private boolean isConsecutiveServesLimit(int consecutiveServes, int limit) {
+        return limit > 0 && consecutiveServes > 0 && consecutiveServes % limit == 0;
     }
 
     public int getRemainingTimeouts(final TeamType teamType) {
@@ -205,7 +254,7 @@ public abstract class Set {
         if (mPointsLadder.isEmpty()) {
             servingTeam = mServingTeamAtStart;
         } else {
-            servingTeam = mPointsLadder.get(mPointsLadder.size() - 1);
+            servingTeam = mPointsLadder.getLast();
         }
 
         return servingTeam;
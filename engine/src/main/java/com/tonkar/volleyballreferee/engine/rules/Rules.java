@@ -1,7 +1,6 @@
 package com.tonkar.volleyballreferee.engine.rules;
 
-import android.util.Log;
-
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.GameType;
@@ -159,7 +158,7 @@ public class Rules extends RulesDto {
     }
 
     public void printRules() {
-        Log.i(Tags.RULES, toString());
+        EngineLog.i(Tags.RULES, toString());
     }
 
     public static RulesSummaryDto getDefaultRules(GameType kind) {
@@ -0,0 +1,187 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import com.tonkar.volleyballreferee.engine.EngineLog;
+import com.tonkar.volleyballreferee.engine.Tags;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Downloads items with at most a given number of downloads in flight.
+ * A download which fails transiently is retried with an exponential backoff. After a permanent failure, no new download is started
+ * and the failure is reported once the downloads in flight are finished.
+ */
+public class DownloadPipeline<T> {
+
+    public interface Downloader<T> {
+        /**
+         * Starts downloading the item, the outcome is reported to the result from any thread.
+         */
+        void download(T item, TransferResult result);
+    }
+
+    public interface Listener {
+        void onProgress(int downloaded, int total);
+
+        void onCompleted(boolean succeeded);
+    }
+
+    public static final int  DEFAULT_MAX_ATTEMPTS   = 3;
+    public static final long DEFAULT_BACKOFF_MILLIS = 500L;
+
+    private static final ScheduledExecutorService sRetryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "download-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Downloader<T> mDownloader;
+    private final int           mConcurrency;
+    private final int           mMaxAttempts;
+    private final long          mBackoffMillis;
+    private final Queue<T>      mPendingItems;
+    private       Listener      mListener;
+    private       int           mTotal;
+    private       int           mInFlight;
+    private       int           mDownloaded;
+    private       boolean       mFailed;
+    private       boolean       mCompleted;
+
+    public DownloadPipeline(Downloader<T> downloader, int concurrency) {
+        this(downloader, concurrency, DEFAULT_MAX_ATTEMPTS, DEFAULT_BACKOFF_MILLIS);
+    }
+
+    public DownloadPipeline(Downloader<T> downloader, int concurrency, int maxAttempts, long backoffMillis) {
+        if (concurrency < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException(String.format("Invalid concurrency %d or attempts %d", concurrency, maxAttempts));
+        }
+
+        mDownloader = downloader;
+        mConcurrency = concurrency;
+        mMaxAttempts = maxAttempts;
+        mBackoffMillis = backoffMillis;
+        mPendingItems = new ArrayDeque<>();
+    }
+
+    public void start(Collection<T> items, Listener listener) {
+        synchronized (this) {
+            if (mListener != null) {
+                throw new IllegalStateException("The download pipeline was already started");
+            }
+
+            mListener = listener;
+            mPendingItems.addAll(items);
+            mTotal = mPendingItems.size();
+        }
+
+        if (items.isEmpty()) {
+            complete();
+        } else {
+            startNext();
+        }
+    }
+
+    private void startNext() {
+        List<T> items = new ArrayList<>();
+
+        synchronized (this) {
+            while (!mFailed && mInFlight < mConcurrency && !mPendingItems.isEmpty()) {
+                items.add(mPendingItems.poll());
+                mInFlight++;
+            }
+        }
+
+        for (T item : items) {
+            download(item, 1);
+        }
+    }
+
+    private void download(T item, int attempt) {
+        try {
+            mDownloader.download(item, new ItemResult(item, attempt));
+        } catch (RuntimeException e) {
+            EngineLog.e(Tags.SYNC_WORKER, String.format("Failed to start a download: %s", e.getMessage()));
+            onDownloaded(false);
+        }
+    }
+
+    private void onDownloaded(boolean succeeded) {
+        int downloaded;
+        int total;
+        boolean completed;
+
+        synchronized (this) {
+            mInFlight--;
+            if (succeeded) {
+                mDownloaded++;
+            } else {
+                mFailed = true;
+            }
+            downloaded = mDownloaded;
+            total = mTotal;
+            completed = mInFlight == 0 && (mFailed || mPendingItems.isEmpty());
+        }
+
+        if (succeeded) {
+            mListener.onProgress(downloaded, total);
+        }
+
+        if (completed) {
+            complete();
+        } else {
+            startNext();
+        }
+    }
+
+    private void complete() {
+        boolean failed;
+
+        synchronized (this) {
+            if (mCompleted) {
+                return;
+            }
+            mCompleted = true;
+            failed = mFailed;
+        }
+
+        mListener.onCompleted(!failed);
+    }
+
+    private synchronized boolean isFailed() {
+        return mFailed;
+    }
+
+    private class ItemResult implements TransferResult {
+
+        private final T             mItem;
+        private final int           mAttempt;
+        private final AtomicBoolean mReported;
+
+        private ItemResult(T item, int attempt) {
+            mItem = item;
+            mAttempt = attempt;
+            mReported = new AtomicBoolean(false);
+        }
+
+        @Override
+        public void succeeded() {
+            if (mReported.compareAndSet(false, true)) {
+                onDownloaded(true);
+            }
+        }
+
+        @Override
+        public void failed(boolean transientFailure) {
+            if (mReported.compareAndSet(false, true)) {
+                if (transientFailure && mAttempt < mMaxAttempts && !isFailed()) {
+                    long delayMillis = mBackoffMillis << (mAttempt - 1);
+                    EngineLog.i(Tags.SYNC_WORKER, String.format("Retry a download in %d ms after %d attempts", delayMillis, mAttempt));
+                    sRetryScheduler.schedule(() -> download(mItem, mAttempt + 1), delayMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    onDownloaded(false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.tonkar.volleyballreferee.engine.api.JsonProjection;
+import com.tonkar.volleyballreferee.engine.api.model.*;
+import com.tonkar.volleyballreferee.engine.game.GameStatus;
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Read only view of a stored game for the screens which display it.
+ * The summary columns come from the database row, the other properties are decoded from the JSON content when they are first
+ * requested, and kept. The full game to modify or to push is read by VbrRepository.getGame.
+ */
+public class LazyStoredGame extends StoredGame {
+
+    private static final Type SETS_TYPE      = new TypeToken<List<SetDto>>() {}.getType();
+    private static final Type SANCTIONS_TYPE = new TypeToken<List<SanctionDto>>() {}.getType();
+    private static final Type LADDER_TYPE    = new TypeToken<List<TeamType>>() {}.getType();
+
+    private final transient JsonProjection               mContent;
+    private final transient String                       mHomeTeamName;
+    private final transient String                       mGuestTeamName;
+    private final transient Set<String>                  mLoadedProperties;
+    private final transient Map<Integer, List<TeamType>> mLadders;
+
+    public LazyStoredGame(GameSummaryDto summary, String json) {
+        super();
+        mContent = new JsonProjection(json);
+        mHomeTeamName = summary.getHomeTeamName();
+        mGuestTeamName = summary.getGuestTeamName();
+        mLoadedProperties = new HashSet<>();
+        mLadders = new HashMap<>();
+
+        setId(summary.getId());
+        setCreatedBy(summary.getCreatedBy());
+        setCreatedAt(summary.getCreatedAt());
+        setUpdatedAt(summary.getUpdatedAt());
+        setScheduledAt(summary.getScheduledAt());
+        setRefereeName(summary.getRefereeName());
+        setKind(summary.getKind());
+        setGender(summary.getGender());
+        setUsage(summary.getUsage());
+        setHomeSets(summary.getHomeSets());
+        setGuestSets(summary.getGuestSets());
+        setScore(summary.getScore());
+    }
+
+    @Override
+    public SelectedLeagueDto getLeague() {
+        return load("league", SelectedLeagueDto.class, super::getLeague, super::setLeague);
+    }
+
+    @Override
+    public void setLeague(SelectedLeagueDto league) {
+        markLoaded("league");
+        super.setLeague(league);
+    }
+
+    @Override
+    public TeamDto getHomeTeam() {
+        return load("homeTeam", TeamDto.class, super::getHomeTeam, super::setHomeTeam);
+    }
+
+    @Override
+    public void setHomeTeam(TeamDto homeTeam) {
+        markLoaded("homeTeam");
+        super.setHomeTeam(homeTeam);
+    }
+
+    @Override
+    public TeamDto getGuestTeam() {
+        return load("guestTeam", TeamDto.class, super::getGuestTeam, super::setGuestTeam);
+    }
+
+    @Override
+    public void setGuestTeam(TeamDto guestTeam) {
+        markLoaded("guestTeam");
+        super.setGuestTeam(guestTeam);
+    }
+
+    @Override
+    public List<SetDto> getSets() {
+        return load("sets", SETS_TYPE, super::getSets, super::setSets);
+    }
+
+    @Override
+    public void setSets(List<SetDto> sets) {
+        markLoaded("sets");
+        super.setSets(sets);
+    }
+
+    @Override
+    public List<SanctionDto> getHomeCards() {
+        return load("homeCards", SANCTIONS_TYPE, super::getHomeCards, super::setHomeCards);
+    }
+
+    @Override
+    public void setHomeCards(List<SanctionDto> homeCards) {
+        markLoaded("homeCards");
+        super.setHomeCards(homeCards);
+    }
+
+    @Override
+    public List<SanctionDto> getGuestCards() {
+        return load("guestCards", SANCTIONS_TYPE, super::getGuestCards, super::setGuestCards);
+    }
+
+    @Override
+    public void setGuestCards(List<SanctionDto> guestCards) {
+        markLoaded("guestCards");
+        super.setGuestCards(guestCards);
+    }
+
+    @Override
+    public Rules getRules() {
+        load("rules", RulesDto.class, () -> null, super::setRules);
+        return super.getRules();
+    }
+
+    @Override
+    public void setRules(RulesDto rules) {
+        markLoaded("rules");
+        super.setRules(rules);
+    }
+
+    @Override
+    public GameStatus getStatus() {
+        loadDetails();
+        return super.getStatus();
+    }
+
+    @Override
+    public void setStatus(GameStatus status) {
+        loadDetails();
+        super.setStatus(status);
+    }
+
+    @Override
+    public String getRefereedBy() {
+        loadDetails();
+        return super.getRefereedBy();
+    }
+
+    @Override
+    public void setRefereedBy(String refereedBy) {
+        loadDetails();
+        super.setRefereedBy(refereedBy);
+    }
+
+    @Override
+    public long getStartTime() {
+        loadDetails();
+        return super.getStartTime();
+    }
+
+    @Override
+    public void setStartTime(long startTime) {
+        loadDetails();
+        super.setStartTime(startTime);
+    }
+
+    @Override
+    public long getEndTime() {
+        loadDetails();
+        return super.getEndTime();
+    }
+
+    @Override
+    public void setEndTime(long endTime) {
+        loadDetails();
+        super.setEndTime(endTime);
+    }
+
+    @Override
+    public String getReferee1Name() {
+        loadDetails();
+        return super.getReferee1Name();
+    }
+
+    @Override
+    public void setReferee1Name(String referee1Name) {
+        loadDetails();
+        super.setReferee1Name(referee1Name);
+    }
+
+    @Override
+    public String getReferee2Name() {
+        loadDetails();
+        return super.getReferee2Name();
+    }
+
+    @Override
+    public void setReferee2Name(String referee2Name) {
+        loadDetails();
+        super.setReferee2Name(referee2Name);
+    }
+
+    @Override
+    public String getScorerName() {
+        loadDetails();
+        return super.getScorerName();
+    }
+
+    @Override
+    public void setScorerName(String scorerName) {
+        loadDetails();
+        super.setScorerName(scorerName);
+    }
+
+    @Override
+    public String getTeamName(TeamType teamType) {
+        String teamName;
+
+        if (isLoaded(TeamType.HOME.equals(teamType) ? "homeTeam" : "guestTeam")) {
+            teamName = super.getTeamName(teamType);
+        } else {
+            teamName = TeamType.HOME.equals(teamType) ? mHomeTeamName : mGuestTeamName;
+        }
+
+        return teamName;
+    }
+
+    // Reads only the ladder of the set, unless all the sets are already decoded
+    @Override
+    public List<TeamType> getPointsLadder(int setIndex) {
+        if (isLoaded("sets")) {
+            return super.getPointsLadder(setIndex);
+        }
+
+        return mLadders.computeIfAbsent(setIndex, index -> Optional
+                .ofNullable(mContent.<List<TeamType>>read(String.format(Locale.ROOT, "sets[%d].ladder", index), LADDER_TYPE))
+                .orElseGet(ArrayList::new));
+    }
+
+    private <T> T load(String property, Type type, Supplier<T> getter, Consumer<T> setter) {
+        if (!isLoaded(property)) {
+            markLoaded(property);
+            T value = mContent.read(property, type);
+            if (value != null) {
+                setter.accept(value);
+            }
+        }
+
+        return getter.get();
+    }
+
+    // The scalar properties missing from the summary columns are decoded together, in one pass which skips the rest of the game
+    private void loadDetails() {
+        if (!isLoaded("details")) {
+            markLoaded("details");
+            Details details = mContent.read("", Details.class);
+            if (details != null) {
+                super.setStartTime(details.mStartTime);
+                super.setEndTime(details.mEndTime);
+                super.setRefereedBy(details.mRefereedBy);
+                Optional.ofNullable(details.mStatus).ifPresent(super::setStatus);
+                Optional.ofNullable(details.mReferee1Name).ifPresent(super::setReferee1Name);
+                Optional.ofNullable(details.mReferee2Name).ifPresent(super::setReferee2Name);
+                Optional.ofNullable(details.mScorerName).ifPresent(super::setScorerName);
+            }
+        }
+    }
+
+    // The constructor of StoredGame calls the setters before the fields of this class are initialized
+    private boolean isLoaded(String property) {
+        return mLoadedProperties == null || mLoadedProperties.contains(property);
+    }
+
+    private void markLoaded(String property) {
+        if (mLoadedProperties != null) {
+            mLoadedProperties.add(property);
+        }
+    }
+
+    private static class Details {
+        @SerializedName("status")
+        private GameStatus mStatus;
+        @SerializedName("refereedBy")
+        private String     mRefereedBy;
+        @SerializedName("startTime")
+        private long       mStartTime;
+        @SerializedName("endTime")
+        private long       mEndTime;
+        @SerializedName("referee1")
+        private String     mReferee1Name;
+        @SerializedName("referee2")
+        private String     mReferee2Name;
+        @SerializedName("scorer")
+        private String     mScorerName;
+    }
+}
@@ -0,0 +1,275 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import com.tonkar.volleyballreferee.engine.EngineLog;
+import com.tonkar.volleyballreferee.engine.Tags;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sends the messages of a persistent outbox to the server one at a time, in queue order, from a single thread.
+ * A message stays in the store until it is sent, so that it survives the process. After a transient failure the message is retried
+ * with an exponential backoff, and while offline the sender waits to be woken up.
+ */
+public class OutboxSender<M> {
+
+    public interface Store<M> {
+        /**
+         * Returns the oldest message of the outbox, or null when it is empty.
+         */
+        M next();
+
+        /**
+         * Removes the sent message, unless a newer message superseded it in the meantime.
+         */
+        void remove(M message);
+
+        /**
+         * Removes the message refused by the server.
+         */
+        void reject(M message);
+
+        int depth();
+
+        int size(M message);
+    }
+
+    public interface Transport<M> {
+        void send(M message, TransferResult result);
+    }
+
+    public static final long DEFAULT_BACKOFF_MILLIS     = 1000L;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 60000L;
+
+    private final ScheduledExecutorService mExecutor;
+    private final Store<M>                 mStore;
+    private final Transport<M>             mTransport;
+    private final BooleanSupplier          mOnline;
+    private final long                     mBackoffMillis;
+    private final long                     mMaxBackoffMillis;
+    private       boolean                  mSending;
+    private       ScheduledFuture<?>       mRetry;
+    private       int                      mFailures;
+    private       int                      mQueueDepth;
+    private       int                      mMaxQueueDepth;
+    private       long                     mSentMessages;
+    private       long                     mSentBytes;
+    private       long                     mFailedAttempts;
+    private       long                     mRejectedMessages;
+
+    public OutboxSender(String name, Store<M> store, Transport<M> transport, BooleanSupplier online) {
+        this(name, store, transport, online, DEFAULT_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS);
+    }
+
+    public OutboxSender(String name, Store<M> store, Transport<M> transport, BooleanSupplier online, long backoffMillis,
+                        long maxBackoffMillis) {
+        mExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        mStore = store;
+        mTransport = transport;
+        mOnline = online;
+        mBackoffMillis = backoffMillis;
+        mMaxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Sends the queued messages, unless a message is waiting for its retry.
+     */
+    public void wake() {
+        mExecutor.execute(this::sendNext);
+    }
+
+    /**
+     * Sends the queued messages now, such as when the device is back online.
+     */
+    public void retryNow() {
+        mExecutor.execute(() -> {
+            if (mRetry != null) {
+                mRetry.cancel(false);
+                mRetry = null;
+            }
+            mFailures = 0;
+            sendNext();
+        });
+    }
+
+    public void shutdown() {
+        mExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the statistics since the previous call. The queue depth is the last one read by the sender, the store is not read on the
+     * calling thread.
+     */
+    public Stats takeStats() {
+        synchronized (this) {
+            Stats stats = new Stats(mQueueDepth, mMaxQueueDepth, mSentMessages, mSentBytes, mFailedAttempts, mRejectedMessages);
+            mMaxQueueDepth = 0;
+            mSentMessages = 0L;
+            mSentBytes = 0L;
+            mFailedAttempts = 0L;
+            mRejectedMessages = 0L;
+            return stats;
+        }
+    }
+
+    private void sendNext() {
+        if (mSending || mRetry != null || !mOnline.getAsBoolean()) {
+            return;
+        }
+
+        M message;
+
+        try {
+            message = mStore.next();
+            int depth = mStore.depth();
+            synchronized (this) {
+                mQueueDepth = depth;
+                mMaxQueueDepth = Math.max(mMaxQueueDepth, depth);
+            }
+        } catch (RuntimeException e) {
+            EngineLog.e(Tags.SYNC_WORKER, String.format("Failed to read the outbox: %s", e.getMessage()));
+            scheduleRetry();
+            return;
+        }
+
+        if (message != null) {
+            mSending = true;
+            AtomicBoolean reported = new AtomicBoolean(false);
+
+            try {
+                mTransport.send(message, new TransferResult() {
+                    @Override
+                    public void succeeded() {
+                        if (reported.compareAndSet(false, true)) {
+                            mExecutor.execute(() -> onSent(message));
+                        }
+                    }
+
+                    @Override
+                    public void failed(boolean transientFailure) {
+                        if (reported.compareAndSet(false, true)) {
+                            mExecutor.execute(() -> onFailed(message, transientFailure));
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                EngineLog.e(Tags.SYNC_WORKER, String.format("Failed to send an outbox message: %s", e.getMessage()));
+                if (reported.compareAndSet(false, true)) {
+                    onFailed(message, true);
+                }
+            }
+        }
+    }
+
+    private void onSent(M message) {
+        mSending = false;
+        mFailures = 0;
+
+        synchronized (this) {
+            mSentMessages++;
+            mSentBytes += mStore.size(message);
+        }
+
+        if (removeFromStore(message, false)) {
+            sendNext();
+        }
+    }
+
+    private void onFailed(M message, boolean transientFailure) {
+        mSending = false;
+
+        if (transientFailure) {
+            synchronized (this) {
+                mFailedAttempts++;
+            }
+            scheduleRetry();
+        } else {
+            synchronized (this) {
+                mRejectedMessages++;
+            }
+            if (removeFromStore(message, true)) {
+                sendNext();
+            }
+        }
+    }
+
+    // The message stays in the store when it cannot be removed, it is sent again after the backoff
+    private boolean removeFromStore(M message, boolean rejected) {
+        try {
+            if (rejected) {
+                mStore.reject(message);
+            } else {
+                mStore.remove(message);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            EngineLog.e(Tags.SYNC_WORKER, String.format("Failed to remove an outbox message: %s", e.getMessage()));
+            scheduleRetry();
+            return false;
+        }
+    }
+
+    private void scheduleRetry() {
+        mFailures++;
+        long delayMillis = Math.min(mMaxBackoffMillis, mBackoffMillis << Math.min(mFailures - 1, 16));
+        EngineLog.i(Tags.SYNC_WORKER, String.format("Retry the outbox in %d ms after %d failures", delayMillis, mFailures));
+        mRetry = mExecutor.schedule(() -> {
+            mRetry = null;
+            sendNext();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static class Stats {
+
+        private final int  mQueueDepth;
+        private final int  mMaxQueueDepth;
+        private final long mSentMessages;
+        private final long mSentBytes;
+        private final long mFailedAttempts;
+        private final long mRejectedMessages;
+
+        Stats(int queueDepth, int maxQueueDepth, long sentMessages, long sentBytes, long failedAttempts, long rejectedMessages) {
+            mQueueDepth = queueDepth;
+            mMaxQueueDepth = maxQueueDepth;
+            mSentMessages = sentMessages;
+            mSentBytes = sentBytes;
+            mFailedAttempts = failedAttempts;
+            mRejectedMessages = rejectedMessages;
+        }
+
+        public int getQueueDepth() {
+            return mQueueDepth;
+        }
+
+        public int getMaxQueueDepth() {
+            return mMaxQueueDepth;
+        }
+
+        public long getSentMessages() {
+            return mSentMessages;
+        }
+
+        public long getSentBytes() {
+            return mSentBytes;
+        }
+
+        public long getFailedAttempts() {
+            return mFailedAttempts;
+        }
+
+        public long getRejectedMessages() {
+            return mRejectedMessages;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d queued messages (%d at most), %d sent messages, %d sent bytes, %d failed attempts, %d rejected messages",
+                                 mQueueDepth, mMaxQueueDepth, mSentMessages, mSentBytes, mFailedAttempts, mRejectedMessages);
+        }
+    }
+}
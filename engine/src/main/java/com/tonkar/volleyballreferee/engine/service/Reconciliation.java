@@ -0,0 +1,101 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Compares the local items with the full list of the remote items by id, in linear time.
+ * - An item only on the server is downloaded.
+ * - An item on both sides is downloaded when the remote one is newer, and sent when the local one is newer.
+ * - A local item missing from the server was deleted from it when it was synced, and is deleted locally.
+ * Otherwise sending it must have failed, and it is created on the server again.
+ */
+public class Reconciliation<T> {
+
+    private final List<T> mToDownload;
+    private final List<T> mToUpdateRemotely;
+    private final List<T> mToCreateRemotely;
+    private final List<T> mToDeleteLocally;
+    private       int     mUnchanged;
+
+    private Reconciliation() {
+        mToDownload = new ArrayList<>();
+        mToUpdateRemotely = new ArrayList<>();
+        mToCreateRemotely = new ArrayList<>();
+        mToDeleteLocally = new ArrayList<>();
+    }
+
+    /**
+     * Without update dates, the remote version of the items on both sides is always downloaded.
+     */
+    public static <T> Reconciliation<T> reconcile(Collection<T> localItems, Collection<T> remoteItems, Function<T, String> id,
+                                                  ToLongFunction<T> updatedAt, Predicate<T> synced) {
+        Reconciliation<T> reconciliation = new Reconciliation<>();
+        Map<String, T> remoteItemsById = new LinkedHashMap<>();
+
+        for (T remoteItem : remoteItems) {
+            remoteItemsById.put(id.apply(remoteItem), remoteItem);
+        }
+
+        for (T localItem : localItems) {
+            T remoteItem = remoteItemsById.remove(id.apply(localItem));
+
+            if (remoteItem == null) {
+                if (synced.test(localItem)) {
+                    reconciliation.mToDeleteLocally.add(localItem);
+                } else {
+                    reconciliation.mToCreateRemotely.add(localItem);
+                }
+            } else if (updatedAt == null || updatedAt.applyAsLong(localItem) < updatedAt.applyAsLong(remoteItem)) {
+                reconciliation.mToDownload.add(remoteItem);
+            } else if (updatedAt.applyAsLong(localItem) > updatedAt.applyAsLong(remoteItem)) {
+                reconciliation.mToUpdateRemotely.add(localItem);
+            } else {
+                reconciliation.mUnchanged++;
+            }
+        }
+
+        // The remaining remote items are not stored locally
+        reconciliation.mToDownload.addAll(remoteItemsById.values());
+
+        return reconciliation;
+    }
+
+    /**
+     * The remote items to download.
+     */
+    public List<T> getToDownload() {
+        return mToDownload;
+    }
+
+    /**
+     * The local items which are newer than the remote ones.
+     */
+    public List<T> getToUpdateRemotely() {
+        return mToUpdateRemotely;
+    }
+
+    /**
+     * The local items which were never synced and are missing from the server.
+     */
+    public List<T> getToCreateRemotely() {
+        return mToCreateRemotely;
+    }
+
+    /**
+     * The local items which were synced and are no longer on the server.
+     */
+    public List<T> getToDeleteLocally() {
+        return mToDeleteLocally;
+    }
+
+    public int getUnchanged() {
+        return mUnchanged;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d to download, %d to update remotely, %d to create remotely, %d to delete locally, %d unchanged",
+                             mToDownload.size(), mToUpdateRemotely.size(), mToCreateRemotely.size(), mToDeleteLocally.size(), mUnchanged);
+    }
+}
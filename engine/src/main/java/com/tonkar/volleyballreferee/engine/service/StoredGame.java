@@ -17,6 +17,191 @@ public class StoredGame extends GameDto implements IStoredGame {
         setRules(new RulesDto());
     }
 
+    public static StoredGame fromGame(IGame game) {
+        StoredGame storedGame = new StoredGame();
+        storedGame.setId(game.getId());
+        storedGame.setCreatedBy(game.getCreatedBy());
+        storedGame.setCreatedAt(game.getCreatedAt());
+        storedGame.setUpdatedAt(game.getUpdatedAt());
+        storedGame.setScheduledAt(game.getScheduledAt());
+        storedGame.setRefereedBy(game.getRefereedBy());
+        storedGame.setRefereeName(game.getRefereeName());
+        storedGame.setReferee1Name(game.getReferee1Name());
+        storedGame.setReferee2Name(game.getReferee2Name());
+        storedGame.setScorerName(game.getScorerName());
+        storedGame.setKind(game.getKind());
+        storedGame.setGender(game.getGender());
+        storedGame.setUsage(game.getUsage());
+        storedGame.setStatus(game.getMatchStatus());
+        if (game.getLeague() != null && game.getKind().equals(game.getLeague().getKind()) && game
+                .getLeague()
+                .getName()
+                .length() > 1 && game.getLeague().getDivision().length() > 1) {
+            SelectedLeagueDto league = new SelectedLeagueDto();
+            league.setAll(game.getLeague());
+            storedGame.setLeague(league);
+        } else {
+            storedGame.setLeague(null);
+        }
+
+        TeamDto homeTeam = storedGame.getTeam(TeamType.HOME);
+        homeTeam.setId(game.getTeamId(TeamType.HOME));
+        homeTeam.setCreatedBy(game.getCreatedBy(TeamType.HOME));
+        homeTeam.setCreatedAt(game.getCreatedAt(TeamType.HOME));
+        homeTeam.setUpdatedAt(game.getUpdatedAt(TeamType.HOME));
+        homeTeam.setKind(game.getTeamsKind());
+        homeTeam.setGender(game.getGender(TeamType.HOME));
+        homeTeam.setName(game.getTeamName(TeamType.HOME));
+        homeTeam.setColorInt(game.getTeamColor(TeamType.HOME));
+        homeTeam.setLiberoColorInt(game.getLiberoColor(TeamType.HOME));
+        homeTeam.setCaptain(game.getCaptain(TeamType.HOME));
+        homeTeam.setCoach(game.getCoachName(TeamType.HOME));
+
+        for (PlayerDto player : game.getPlayers(TeamType.HOME)) {
+            if (game.isLibero(TeamType.HOME, player.getNum())) {
+                homeTeam.getLiberos().add(player);
+            } else {
+                homeTeam.getPlayers().add(player);
+            }
+        }
+
+        TeamDto guestTeam = storedGame.getTeam(TeamType.GUEST);
+        guestTeam.setId(game.getTeamId(TeamType.GUEST));
+        guestTeam.setCreatedBy(game.getCreatedBy(TeamType.GUEST));
+        guestTeam.setCreatedAt(game.getCreatedAt(TeamType.GUEST));
+        guestTeam.setUpdatedAt(game.getUpdatedAt(TeamType.GUEST));
+        guestTeam.setKind(game.getTeamsKind());
+        guestTeam.setGender(game.getGender(TeamType.GUEST));
+        guestTeam.setName(game.getTeamName(TeamType.GUEST));
+        guestTeam.setColorInt(game.getTeamColor(TeamType.GUEST));
+        guestTeam.setLiberoColorInt(game.getLiberoColor(TeamType.GUEST));
+        guestTeam.setCaptain(game.getCaptain(TeamType.GUEST));
+        guestTeam.setCoach(game.getCoachName(TeamType.GUEST));
+
+        for (PlayerDto player : game.getPlayers(TeamType.GUEST)) {
+            if (game.isLibero(TeamType.GUEST, player.getNum())) {
+                guestTeam.getLiberos().add(player);
+            } else {
+                guestTeam.getPlayers().add(player);
+            }
+        }
+
+        storedGame.setRules(game.getRules());
+
+        storedGame.updateFromGame(game);
+
+        return storedGame;
+    }
+
+    public void updateFromGame(IGame game) {
+        setUpdatedAt(Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime());
+        setMatchStatus(game.isMatchCompleted() ? GameStatus.COMPLETED : GameStatus.LIVE);
+        setSets(TeamType.HOME, game.getSets(TeamType.HOME));
+        setSets(TeamType.GUEST, game.getSets(TeamType.GUEST));
+        setScore(game.getScore());
+        setStartTime(game.getStartTime());
+        setEndTime(game.getEndTime());
+
+        getSets().clear();
+
+        for (int setIndex = 0; setIndex < game.getNumberOfSets(); setIndex++) {
+            SetDto set = new SetDto();
+
+            set.setDuration(game.getSetDuration(setIndex));
+            set.setStartTime(game.getSetStartTime(setIndex));
+            set.setEndTime(game.getSetEndTime(setIndex));
+            set.getLadder().addAll(game.getPointsLadder(setIndex));
+            set.setServing(game.getServingTeam(setIndex));
+            set.setFirstServing(game.getFirstServingTeam(setIndex));
+
+            set.setPoints(TeamType.HOME, game.getPoints(TeamType.HOME, setIndex));
+            set.setTimeouts(TeamType.HOME, game.countRemainingTimeouts(TeamType.HOME, setIndex));
+
+            CourtDto homeCurrentPlayers = set.getCurrentPlayers(TeamType.HOME);
+            for (PositionType position : PositionType.listPositions(game.getKind())) {
+                homeCurrentPlayers.setPlayerAt(game.getPlayerAtPosition(TeamType.HOME, position, setIndex), position);
+            }
+
+            for (TimeoutDto timeout : game.getCalledTimeouts(TeamType.HOME, setIndex)) {
+                set.getCalledTimeouts(TeamType.HOME).add(new TimeoutDto(timeout.getHomePoints(), timeout.getGuestPoints()));
+            }
+
+            set.setPoints(TeamType.GUEST, game.getPoints(TeamType.GUEST, setIndex));
+            set.setTimeouts(TeamType.GUEST, game.countRemainingTimeouts(TeamType.GUEST, setIndex));
+
+            CourtDto guestCurrentPlayers = set.getCurrentPlayers(TeamType.GUEST);
+            for (PositionType position : PositionType.listPositions(game.getKind())) {
+                guestCurrentPlayers.setPlayerAt(game.getPlayerAtPosition(TeamType.GUEST, position, setIndex), position);
+            }
+
+            for (TimeoutDto timeout : game.getCalledTimeouts(TeamType.GUEST, setIndex)) {
+                set.getCalledTimeouts(TeamType.GUEST).add(new TimeoutDto(timeout.getHomePoints(), timeout.getGuestPoints()));
+            }
+
+            if (game instanceof IClassicTeam indoorTeam) {
+
+                CourtDto homeStartingPlayers = set.getStartingPlayers(TeamType.HOME);
+                for (PositionType position : PositionType.listPositions(game.getKind())) {
+                    homeStartingPlayers.setPlayerAt(game.getPlayerAtPositionInStartingLineup(TeamType.HOME, position, setIndex),
+                                                    position);
+                }
+
+                for (SubstitutionDto substitution : indoorTeam.getSubstitutions(TeamType.HOME, setIndex)) {
+                    set
+                            .getSubstitutions(TeamType.HOME)
+                            .add(new SubstitutionDto(substitution.getPlayerIn(), substitution.getPlayerOut(),
+                                                     substitution.getHomePoints(), substitution.getGuestPoints()));
+                }
+
+                CourtDto guestStartingPlayers = set.getStartingPlayers(TeamType.GUEST);
+                for (PositionType position : PositionType.listPositions(game.getKind())) {
+                    guestStartingPlayers.setPlayerAt(game.getPlayerAtPositionInStartingLineup(TeamType.GUEST, position, setIndex),
+                                                     position);
+                }
+
+                for (SubstitutionDto substitution : indoorTeam.getSubstitutions(TeamType.GUEST, setIndex)) {
+                    set
+                            .getSubstitutions(TeamType.GUEST)
+                            .add(new SubstitutionDto(substitution.getPlayerIn(), substitution.getPlayerOut(),
+                                                     substitution.getHomePoints(), substitution.getGuestPoints()));
+                }
+
+                set.setGameCaptain(TeamType.HOME, indoorTeam.getGameCaptain(TeamType.HOME, setIndex));
+                set.setGameCaptain(TeamType.GUEST, indoorTeam.getGameCaptain(TeamType.GUEST, setIndex));
+            }
+
+            getSets().add(set);
+        }
+
+        // Prune a trailing empty set to avoid shifting the 'current' set index.
+        int lastIndex = getNumberOfSets() - 1;
+        if (lastIndex > 0) {
+            boolean noPoints = getPoints(TeamType.HOME, lastIndex) == 0
+                    && getPoints(TeamType.GUEST, lastIndex) == 0;
+            boolean noSubs = getSubstitutions(TeamType.HOME, lastIndex).isEmpty()
+                    && getSubstitutions(TeamType.GUEST, lastIndex).isEmpty();
+            boolean noLineup = !isStartingLineupConfirmed(TeamType.HOME, lastIndex)
+                    && !isStartingLineupConfirmed(TeamType.GUEST, lastIndex);
+            if (noPoints && noSubs && noLineup) {
+                getSets().remove(lastIndex);
+            }
+        }
+
+        getAllSanctions(TeamType.HOME).clear();
+
+        for (SanctionDto sanction : game.getAllSanctions(TeamType.HOME)) {
+            getAllSanctions(TeamType.HOME).add(new SanctionDto(sanction.getCard(), sanction.getNum(), sanction.getSet(), sanction.getHomePoints(),
+                                                        sanction.getGuestPoints()));
+        }
+
+        getAllSanctions(TeamType.GUEST).clear();
+
+        for (SanctionDto sanction : game.getAllSanctions(TeamType.GUEST)) {
+            getAllSanctions(TeamType.GUEST).add(new SanctionDto(sanction.getCard(), sanction.getNum(), sanction.getSet(), sanction.getHomePoints(),
+                                                        sanction.getGuestPoints()));
+        }
+    }
+
     @Override
     public String getGameSummary() {
         if (GameStatus.COMPLETED.equals(getMatchStatus())) {
@@ -0,0 +1,11 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+/**
+ * Outcome of a request to the server, reported from any thread.
+ */
+public interface TransferResult {
+
+    void succeeded();
+
+    void failed(boolean transientFailure);
+}
@@ -0,0 +1,150 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import com.tonkar.volleyballreferee.engine.EngineLog;
+import com.tonkar.volleyballreferee.engine.Tags;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Gathers the items submitted within a bounded window and writes them in one batch.
+ * The window starts with the first pending item and is never extended, so an item waits at most the window before being written.
+ * All the writes run on the executor, one at a time and in submission order.
+ */
+public class WriteCoalescer<T> {
+
+    public interface BatchWriter<T> {
+        void write(List<T> items) throws Exception;
+    }
+
+    private final ScheduledExecutorService mExecutor;
+    private final long                     mWindowMillis;
+    private final BatchWriter<T>           mWriter;
+    private final List<T>                  mPendingItems;
+    private       ScheduledFuture<?>       mScheduledFlush;
+    private       long                     mBurstStartNanos;
+    private       long                     mRequestedWrites;
+    private       long                     mPerformedWrites;
+    private       long                     mTotalFlushLatencyNanos;
+    private       long                     mMaxFlushLatencyNanos;
+
+    public WriteCoalescer(ScheduledExecutorService executor, long windowMillis, BatchWriter<T> writer) {
+        mExecutor = executor;
+        mWindowMillis = windowMillis;
+        mWriter = writer;
+        mPendingItems = new ArrayList<>();
+    }
+
+    public synchronized void submit(T item) {
+        mRequestedWrites++;
+        mPendingItems.add(item);
+
+        if (mScheduledFlush == null) {
+            mBurstStartNanos = System.nanoTime();
+            mScheduledFlush = mExecutor.schedule(this::writePendingItems, mWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the pending items now instead of waiting for the end of the window.
+     */
+    public synchronized Future<?> flush() {
+        if (mScheduledFlush != null) {
+            mScheduledFlush.cancel(false);
+            mScheduledFlush = null;
+        }
+
+        return mExecutor.submit(this::writePendingItems);
+    }
+
+    /**
+     * Drops the pending items, for instance when a snapshot already contains them.
+     */
+    public synchronized void discard() {
+        if (mScheduledFlush != null) {
+            mScheduledFlush.cancel(false);
+            mScheduledFlush = null;
+        }
+
+        mPendingItems.clear();
+    }
+
+    /**
+     * Writes the pending items and releases the executor once they are written.
+     */
+    public synchronized void shutdown() {
+        flush();
+        mExecutor.shutdown();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(mRequestedWrites, mPerformedWrites,
+                         mPerformedWrites == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(mTotalFlushLatencyNanos / mPerformedWrites),
+                         TimeUnit.NANOSECONDS.toMillis(mMaxFlushLatencyNanos));
+    }
+
+    private void writePendingItems() {
+        List<T> items;
+        long burstStartNanos;
+
+        synchronized (this) {
+            mScheduledFlush = null;
+            items = new ArrayList<>(mPendingItems);
+            mPendingItems.clear();
+            burstStartNanos = mBurstStartNanos;
+        }
+
+        if (!items.isEmpty()) {
+            try {
+                mWriter.write(items);
+            } catch (Exception e) {
+                EngineLog.e(Tags.STORED_GAMES, String.format("Failed to write %d coalesced items: %s", items.size(), e.getMessage()));
+            }
+
+            long latencyNanos = System.nanoTime() - burstStartNanos;
+
+            synchronized (this) {
+                mPerformedWrites++;
+                mTotalFlushLatencyNanos += latencyNanos;
+                mMaxFlushLatencyNanos = Math.max(mMaxFlushLatencyNanos, latencyNanos);
+            }
+        }
+    }
+
+    public static class Stats {
+
+        private final long mRequestedWrites;
+        private final long mPerformedWrites;
+        private final long mAverageFlushLatencyMillis;
+        private final long mMaxFlushLatencyMillis;
+
+        Stats(long requestedWrites, long performedWrites, long averageFlushLatencyMillis, long maxFlushLatencyMillis) {
+            mRequestedWrites = requestedWrites;
+            mPerformedWrites = performedWrites;
+            mAverageFlushLatencyMillis = averageFlushLatencyMillis;
+            mMaxFlushLatencyMillis = maxFlushLatencyMillis;
+        }
+
+        public long getRequestedWrites() {
+            return mRequestedWrites;
+        }
+
+        public long getPerformedWrites() {
+            return mPerformedWrites;
+        }
+
+        public long getAverageFlushLatencyMillis() {
+            return mAverageFlushLatencyMillis;
+        }
+
+        public long getMaxFlushLatencyMillis() {
+            return mMaxFlushLatencyMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requested writes, %d performed writes, flush latency %d ms on average and %d ms at most",
+                                 mRequestedWrites, mPerformedWrites, mAverageFlushLatencyMillis, mMaxFlushLatencyMillis);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import com.tonkar.volleyballreferee.engine.EngineLog;
+import com.tonkar.volleyballreferee.engine.Tags;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs the writes one at a time on a single thread, in submission order.
+ * The writes queued while a transaction commits are grouped into the next transaction.
+ * A pending write with a key is superseded by a newer write with the same key, which takes its place at the end of the queue.
+ */
+public class WriteQueue {
+
+    public interface TransactionRunner {
+        void runInTransaction(Runnable transaction);
+    }
+
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final ExecutorService    mExecutor;
+    private final TransactionRunner  mTransactionRunner;
+    private final Deque<Write>       mPendingWrites;
+    private final Map<String, Write> mPendingWritesByKey;
+    private       Thread             mWriterThread;
+    private       boolean            mDraining;
+    private       int                mMaxQueueDepth;
+    private       long               mSubmittedWrites;
+    private       long               mSupersededWrites;
+    private       long               mCommits;
+    private       long               mTotalCommitLatencyNanos;
+    private       long               mMaxCommitLatencyNanos;
+
+    public WriteQueue(String name, TransactionRunner transactionRunner) {
+        mExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        mTransactionRunner = transactionRunner;
+        mPendingWrites = new ArrayDeque<>();
+        mPendingWritesByKey = new HashMap<>();
+    }
+
+    public CompletableFuture<Void> submit(Runnable write) {
+        return submit(null, write);
+    }
+
+    /**
+     * Queues the write, superseding the pending write with the same key if any.
+     * The future completes once the transaction containing the write is committed.
+     */
+    public synchronized CompletableFuture<Void> submit(String key, Runnable write) {
+        Write queuedWrite = new Write(key, write);
+        mSubmittedWrites++;
+
+        if (key != null) {
+            Write supersededWrite = mPendingWritesByKey.put(key, queuedWrite);
+            if (supersededWrite != null) {
+                mPendingWrites.remove(supersededWrite);
+                queuedWrite.mDone.whenComplete((result, throwable) -> complete(supersededWrite, throwable));
+                mSupersededWrites++;
+            }
+        }
+
+        mPendingWrites.add(queuedWrite);
+        mMaxQueueDepth = Math.max(mMaxQueueDepth, mPendingWrites.size());
+
+        if (!mDraining) {
+            mDraining = true;
+            mExecutor.execute(this::drain);
+        }
+
+        return queuedWrite.mDone;
+    }
+
+    /**
+     * Queues the write and waits until it is committed, or runs it directly when called by a write of the queue.
+     * The failure of the write or of its transaction is thrown to the caller.
+     */
+    public void submitAndWait(String key, Runnable write) {
+        if (Thread.currentThread() == mWriterThread) {
+            write.run();
+        } else {
+            try {
+                submit(key, write).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(e.getCause());
+            }
+        }
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(mPendingWrites.size(), mMaxQueueDepth, mSubmittedWrites, mSupersededWrites, mCommits,
+                         mCommits == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(mTotalCommitLatencyNanos / mCommits),
+                         TimeUnit.NANOSECONDS.toMillis(mMaxCommitLatencyNanos));
+    }
+
+    private void drain() {
+        mWriterThread = Thread.currentThread();
+
+        while (true) {
+            List<Write> batch = new ArrayList<>();
+
+            synchronized (this) {
+                while (!mPendingWrites.isEmpty() && batch.size() < MAX_BATCH_SIZE) {
+                    Write write = mPendingWrites.poll();
+                    if (write.mKey != null) {
+                        mPendingWritesByKey.remove(write.mKey);
+                    }
+                    batch.add(write);
+                }
+
+                if (batch.isEmpty()) {
+                    mDraining = false;
+                    return;
+                }
+            }
+
+            commit(batch);
+        }
+    }
+
+    private void commit(List<Write> batch) {
+        long startNanos = System.nanoTime();
+        List<Write> writes = new ArrayList<>(batch);
+        Throwable failure = null;
+
+        // A failed write rolls back the whole transaction, so that none of its changes are committed, and the other writes are retried
+        while (!writes.isEmpty()) {
+            try {
+                mTransactionRunner.runInTransaction(() -> {
+                    for (Write write : writes) {
+                        try {
+                            write.mWrite.run();
+                        } catch (RuntimeException e) {
+                            write.mFailure = e;
+                            throw e;
+                        }
+                    }
+                });
+                break;
+            } catch (RuntimeException e) {
+                if (!writes.removeIf(write -> write.mFailure != null)) {
+                    failure = e;
+                    EngineLog.e(Tags.DATABASE, String.format("Failed to commit %d writes: %s", writes.size(), e.getMessage()));
+                    break;
+                }
+                EngineLog.e(Tags.DATABASE, String.format("Failed to write a queued item, the transaction is retried without it: %s",
+                                                        e.getMessage()));
+            }
+        }
+
+        long latencyNanos = System.nanoTime() - startNanos;
+
+        synchronized (this) {
+            mCommits++;
+            mTotalCommitLatencyNanos += latencyNanos;
+            mMaxCommitLatencyNanos = Math.max(mMaxCommitLatencyNanos, latencyNanos);
+        }
+
+        for (Write write : batch) {
+            complete(write, write.mFailure == null ? failure : write.mFailure);
+        }
+    }
+
+    private static void complete(Write write, Throwable failure) {
+        if (failure == null) {
+            write.mDone.complete(null);
+        } else {
+            write.mDone.completeExceptionally(failure);
+        }
+    }
+
+    private static class Write {
+
+        private final String                  mKey;
+        private final Runnable                mWrite;
+        private final CompletableFuture<Void> mDone;
+        private       Throwable               mFailure;
+
+        Write(String key, Runnable write) {
+            mKey = key;
+            mWrite = write;
+            mDone = new CompletableFuture<>();
+        }
+    }
+
+    public static class Stats {
+
+        private final int  mQueueDepth;
+        private final int  mMaxQueueDepth;
+        private final long mSubmittedWrites;
+        private final long mSupersededWrites;
+        private final long mCommits;
+        private final long mAverageCommitLatencyMillis;
+        private final long mMaxCommitLatencyMillis;
+
+        Stats(int queueDepth, int maxQueueDepth, long submittedWrites, long supersededWrites, long commits, long averageCommitLatencyMillis,
+              long maxCommitLatencyMillis) {
+            mQueueDepth = queueDepth;
+            mMaxQueueDepth = maxQueueDepth;
+            mSubmittedWrites = submittedWrites;
+            mSupersededWrites = supersededWrites;
+            mCommits = commits;
+            mAverageCommitLatencyMillis = averageCommitLatencyMillis;
+            mMaxCommitLatencyMillis = maxCommitLatencyMillis;
+        }
+
+        public int getQueueDepth() {
+            return mQueueDepth;
+        }
+
+        public int getMaxQueueDepth() {
+            return mMaxQueueDepth;
+        }
+
+        public long getSubmittedWrites() {
+            return mSubmittedWrites;
+        }
+
+        public long getSupersededWrites() {
+            return mSupersededWrites;
+        }
+
+        public long getCommits() {
+            return mCommits;
+        }
+
+        public long getAverageCommitLatencyMillis() {
+            return mAverageCommitLatencyMillis;
+        }
+
+        public long getMaxCommitLatencyMillis() {
+            return mMaxCommitLatencyMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d queued writes (%d at most), %d submitted writes, %d superseded writes, %d commits, commit latency %d ms on average and %d ms at most",
+                    mQueueDepth, mMaxQueueDepth, mSubmittedWrites, mSupersededWrites, mCommits, mAverageCommitLatencyMillis,
+                    mMaxCommitLatencyMillis);
+        }
+    }
+}
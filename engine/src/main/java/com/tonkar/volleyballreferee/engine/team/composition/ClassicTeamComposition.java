@@ -1,8 +1,7 @@
 package com.tonkar.volleyballreferee.engine.team.composition;
 
-import android.util.Log;
-
 import com.google.gson.annotations.SerializedName;
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.ActionOriginType;
@@ -28,6 +27,8 @@ public abstract class ClassicTeamComposition extends TeamComposition {
     @SerializedName("secondaryCaptain")
     private       int                     mSecondaryCaptain;
 
+    private transient SubstitutionsIndex mSubstitutionsIndex;
+
     ClassicTeamComposition(final TeamDefinition teamDefinition, int substitutionType, int maxSubstitutionsPerSet) {
         super(teamDefinition);
 
@@ -78,17 +79,12 @@ public abstract class ClassicTeamComposition extends TeamComposition {
             PositionType positionType = getPlayerPosition(substitution.getPlayerIn());
 
             if (!PositionType.BENCH.equals(positionType) && PositionType.BENCH.equals(getPlayerPosition(substitution.getPlayerOut()))) {
-                for (Iterator<SubstitutionDto> iterator = mSubstitutions.iterator(); iterator.hasNext(); ) {
-                    SubstitutionDto tmpSubstitution = iterator.next();
-                    if (tmpSubstitution.equals(substitution)) {
-                        iterator.remove();
-                        mStartingLineupConfirmed = false;
-                        substitutePlayer(substitution.getPlayerOut(), positionType, substitution.getHomePoints(),
-                                         substitution.getGuestPoints(), ActionOriginType.USER);
-                        mStartingLineupConfirmed = true;
-                        result = true;
-                        break;
-                    }
+                if (getSubstitutionsIndex().remove(substitution)) {
+                    mStartingLineupConfirmed = false;
+                    substitutePlayer(substitution.getPlayerOut(), positionType, substitution.getHomePoints(), substitution.getGuestPoints(),
+                                     ActionOriginType.USER);
+                    mStartingLineupConfirmed = true;
+                    result = true;
                 }
             }
         }
@@ -118,7 +114,7 @@ public abstract class ClassicTeamComposition extends TeamComposition {
             availablePlayers.addAll(getFreePlayersOnBench());
         }
 
-        Log.i(Tags.TEAM,
+        EngineLog.i(Tags.TEAM,
               String.format("Possible substitutions for position %s of %s team are %s", positionType, getTeamDefinition().getTeamType(),
                             availablePlayers));
 
@@ -144,12 +140,12 @@ public abstract class ClassicTeamComposition extends TeamComposition {
                                   int homeTeamPoints,
                                   int guestTeamPoints,
                                   ActionOriginType actionOriginType) {
-        Log.i(Tags.TEAM, String.format("Replacing player #%d by #%d for position %s of %s team", oldNumber, newNumber, positionType,
+        EngineLog.i(Tags.TEAM, String.format("Replacing player #%d by #%d for position %s of %s team", oldNumber, newNumber, positionType,
                                        getTeamDefinition().getTeamType()));
 
         if (isStartingLineupConfirmed()) {
-            Log.i(Tags.TEAM, "Actual substitution");
-            mSubstitutions.add(new SubstitutionDto(newNumber, oldNumber, homeTeamPoints, guestTeamPoints));
+            EngineLog.i(Tags.TEAM, "Actual substitution");
+            getSubstitutionsIndex().add(new SubstitutionDto(newNumber, oldNumber, homeTeamPoints, guestTeamPoints));
         }
     }
 
@@ -162,15 +158,23 @@ public abstract class ClassicTeamComposition extends TeamComposition {
     }
 
     protected boolean isInvolvedInPastSubstitution(int number) {
-        return mSubstitutionsLimitation.isInvolvedInPastSubstitution(mSubstitutions, number);
+        return mSubstitutionsLimitation.isInvolvedInPastSubstitution(getSubstitutionsIndex(), number);
     }
 
     protected boolean canSubstitute(int number) {
-        return mSubstitutionsLimitation.canSubstitute(mSubstitutions, number);
+        return mSubstitutionsLimitation.canSubstitute(getSubstitutionsIndex(), number);
     }
 
     protected Set<Integer> getSubstitutePlayers(int number) {
-        return mSubstitutionsLimitation.getSubstitutePlayers(mSubstitutions, number, getFreePlayersOnBench());
+        return mSubstitutionsLimitation.getSubstitutePlayers(getSubstitutionsIndex(), number, getFreePlayersOnBench());
+    }
+
+    private SubstitutionsIndex getSubstitutionsIndex() {
+        // The list is replaced when GSON reads the composition, the index then follows the new list
+        if (mSubstitutionsIndex == null || !mSubstitutionsIndex.isIndexOf(mSubstitutions)) {
+            mSubstitutionsIndex = new SubstitutionsIndex(mSubstitutions);
+        }
+        return mSubstitutionsIndex;
     }
 
     protected List<Integer> getFreePlayersOnBench() {
@@ -189,6 +193,14 @@ public abstract class ClassicTeamComposition extends TeamComposition {
         return new ArrayList<>(mSubstitutions);
     }
 
+    public int countSubstitutions() {
+        return mSubstitutions.size();
+    }
+
+    public SubstitutionDto getLastSubstitution() {
+        return mSubstitutions.isEmpty() ? null : mSubstitutions.get(mSubstitutions.size() - 1);
+    }
+
     public CourtDto getStartingLineup() {
         return mStartingLineup;
     }
@@ -222,7 +234,7 @@ public abstract class ClassicTeamComposition extends TeamComposition {
     public void setGameCaptain(int number) {
         if (isStartingLineupConfirmed() && getTeamDefinition().hasPlayer(number) && !getTeamDefinition().isCaptain(
                 number) && !isSecondaryCaptain(number) && !PositionType.BENCH.equals(getPlayerPosition(number))) {
-            Log.i(Tags.TEAM, String.format("Player #%d of %s team is now secondary captain", number, getTeamDefinition().getTeamType()));
+            EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is now secondary captain", number, getTeamDefinition().getTeamType()));
             mSecondaryCaptain = number;
         }
     }
@@ -242,11 +254,11 @@ public abstract class ClassicTeamComposition extends TeamComposition {
     public Set<Integer> getPossibleSecondaryCaptains() {
         Set<Integer> players = new TreeSet<>();
 
-        for (int number : getPlayersOnCourt()) {
+        forEachPlayerOnCourt(number -> {
             if (!getTeamDefinition().isCaptain(number) && !isSecondaryCaptain(number)) {
                 players.add(number);
             }
-        }
+        });
 
         return players;
     }
@@ -1,8 +1,7 @@
 package com.tonkar.volleyballreferee.engine.team.composition;
 
-import android.util.Log;
-
 import com.google.gson.annotations.SerializedName;
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.PlayerDto;
 import com.tonkar.volleyballreferee.engine.game.ActionOriginType;
@@ -46,17 +45,17 @@ public class IndoorTeamComposition extends ClassicTeamComposition {
                                   int homeTeamPoints,
                                   int guestTeamPoints,
                                   ActionOriginType actionOriginType) {
-        Log.i(Tags.TEAM, String.format("Replacing player #%d by #%d for position %s of %s team", oldNumber, newNumber, positionType,
+        EngineLog.i(Tags.TEAM, String.format("Replacing player #%d by #%d for position %s of %s team", oldNumber, newNumber, positionType,
                                        getTeamDefinition().getTeamType()));
 
         if (isStartingLineupConfirmed()) {
             if (getTeamDefinition().isLibero(newNumber)) {
-                Log.i(Tags.TEAM, String.format("Player #%d of %s team is a libero and becomes acting libero", newNumber,
+                EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is a libero and becomes acting libero", newNumber,
                                                getTeamDefinition().getTeamType()));
                 mActingLibero = newNumber;
 
                 if (!getTeamDefinition().isLibero(oldNumber)) {
-                    Log.i(Tags.TEAM, String.format("Player #%d of %s team is a middle blocker and is waiting outside", oldNumber,
+                    EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is a middle blocker and is waiting outside", oldNumber,
                                                    getTeamDefinition().getTeamType()));
 
                     if (mMiddleBlockers.size() == 1) {
@@ -78,21 +77,21 @@ public class IndoorTeamComposition extends ClassicTeamComposition {
             } else if (isMiddleBlocker(newNumber) && hasWaitingMiddleBlocker() && getTeamDefinition().isLibero(oldNumber)) {
                 if (ActionOriginType.APPLICATION.equals(actionOriginType)) {
                     // The middle blocker is back on court as a result of a rotation
-                    Log.i(Tags.TEAM, String.format("Player #%d of %s team is a middle blocker and is back on court", newNumber,
+                    EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is a middle blocker and is back on court", newNumber,
                                                    getTeamDefinition().getTeamType()));
                     middleBlockerOnCourt();
                 } else {
                     // The middle blocker is back on court as a result of a substitution, the user wants this middle blocker to stay in defence
-                    Log.i(Tags.TEAM, String.format("Player #%d of %s team is a middle blocker and will stay on court in defence", newNumber,
+                    EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is a middle blocker and will stay on court in defence", newNumber,
                                                    getTeamDefinition().getTeamType()));
                     removeMiddleBlocker(newNumber);
                 }
             } else {
-                Log.i(Tags.TEAM, "Actual substitution");
+                EngineLog.i(Tags.TEAM, "Actual substitution");
                 super.onSubstitution(oldNumber, newNumber, positionType, homeTeamPoints, guestTeamPoints, actionOriginType);
 
                 if (isMiddleBlocker(oldNumber)) {
-                    Log.i(Tags.TEAM,
+                    EngineLog.i(Tags.TEAM,
                           String.format("Player #%d of %s team is a new middle blocker", newNumber, getTeamDefinition().getTeamType()));
                     mMiddleBlockers.remove(oldNumber);
                     mMiddleBlockers.add(newNumber);
@@ -104,7 +103,7 @@ public class IndoorTeamComposition extends ClassicTeamComposition {
     @Override
     public Set<Integer> getPossibleSubstitutions(PositionType positionType) {
         Set<Integer> availablePlayers = new TreeSet<>(getPossibleSubstitutionsNoMax(positionType));
-        Log.i(Tags.TEAM,
+        EngineLog.i(Tags.TEAM,
               String.format("Possible substitutions for position %s of %s team are %s", positionType, getTeamDefinition().getTeamType(),
                             availablePlayers));
         return availablePlayers;
@@ -310,11 +309,11 @@ public class IndoorTeamComposition extends ClassicTeamComposition {
     public Set<Integer> getPossibleSecondaryCaptains() {
         Set<Integer> players = new TreeSet<>();
 
-        for (int number : getPlayersOnCourt()) {
+        forEachPlayerOnCourt(number -> {
             if (!getTeamDefinition().isCaptain(number) && !isSecondaryCaptain(number)) {
                 players.add(number);
             }
-        }
+        });
 
         return players;
     }
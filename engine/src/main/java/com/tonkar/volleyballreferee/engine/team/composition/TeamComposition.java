@@ -1,8 +1,7 @@
 package com.tonkar.volleyballreferee.engine.team.composition;
 
-import android.util.Log;
-
 import com.google.gson.annotations.SerializedName;
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.PlayerDto;
 import com.tonkar.volleyballreferee.engine.game.ActionOriginType;
@@ -10,6 +9,7 @@ import com.tonkar.volleyballreferee.engine.team.definition.TeamDefinition;
 import com.tonkar.volleyballreferee.engine.team.player.*;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 
 public abstract class TeamComposition {
 
@@ -20,6 +20,12 @@ public abstract class TeamComposition {
     @SerializedName("players")
     private final Map<Integer, Player> mPlayers;
 
+    // The number of the player at each court position (PositionType ordinal), -1 when the position is free.
+    // It is derived from mPlayers, and rebuilt when GSON replaces the map.
+    private transient int[]                mCourt;
+    private transient int[]                mRotatingPlayers;
+    private transient Map<Integer, Player> mIndexedPlayers;
+
     TeamComposition(final TeamDefinition teamDefinition) {
         mClassType = getClass().getName();
         mTeamDefinition = teamDefinition;
@@ -30,22 +36,59 @@ public abstract class TeamComposition {
         }
     }
 
+    private int[] getCourt() {
+        if (mIndexedPlayers != mPlayers) {
+            if (mCourt == null) {
+                mCourt = new int[PositionType.BENCH.ordinal()];
+                mRotatingPlayers = new int[PositionType.BENCH.ordinal()];
+            }
+
+            Arrays.fill(mCourt, -1);
+            for (Player player : mPlayers.values()) {
+                if (!PositionType.BENCH.equals(player.getPosition())) {
+                    mCourt[player.getPosition().ordinal()] = player.getNumber();
+                }
+            }
+
+            mIndexedPlayers = mPlayers;
+        }
+
+        return mCourt;
+    }
+
+    private void movePlayer(final Player player, final PositionType positionType) {
+        int[] court = getCourt();
+
+        if (!PositionType.BENCH.equals(player.getPosition()) && court[player.getPosition().ordinal()] == player.getNumber()) {
+            court[player.getPosition().ordinal()] = -1;
+        }
+
+        player.setPosition(positionType);
+
+        if (!PositionType.BENCH.equals(positionType)) {
+            court[positionType.ordinal()] = player.getNumber();
+        }
+    }
+
     public TeamDefinition getTeamDefinition() {
         return mTeamDefinition;
     }
 
     public Set<Integer> getPlayersOnCourt() {
         Set<Integer> playersOnCourt = new TreeSet<>();
+        forEachPlayerOnCourt(playersOnCourt::add);
+        return playersOnCourt;
+    }
 
-        for (Player player : mPlayers.values()) {
-            if (!PositionType.BENCH.equals(player.getPosition())) {
-                playersOnCourt.add(player.getNumber());
+    /**
+     * Visits the players on court in the order of their positions, without allocating.
+     */
+    public void forEachPlayerOnCourt(IntConsumer action) {
+        for (int number : getCourt()) {
+            if (number > -1) {
+                action.accept(number);
             }
         }
-
-        Log.i(Tags.TEAM, String.format("Players on court for %s team: %s", mTeamDefinition.getTeamType(), playersOnCourt));
-
-        return playersOnCourt;
     }
 
     protected abstract Player createPlayer(int number);
@@ -73,18 +116,18 @@ public abstract class TeamComposition {
 
         int oldNumber = getPlayerAtPosition(positionType);
 
-        Log.i(Tags.TEAM,
+        EngineLog.i(Tags.TEAM,
               String.format("Substitute player #%d of %s team by player #%d on position %s", oldNumber, mTeamDefinition.getTeamType(),
                             number, positionType));
 
         if (mTeamDefinition.hasPlayer(number)) {
-            mPlayers.get(number).setPosition(positionType);
+            movePlayer(mPlayers.get(number), positionType);
             result = true;
         }
 
         if (result && oldNumber > -1 && mTeamDefinition.hasPlayer(oldNumber)) {
-            mPlayers.get(oldNumber).setPosition(PositionType.BENCH);
-            Log.i(Tags.TEAM, String.format("Player #%d of %s team is now on bench", oldNumber, mTeamDefinition.getTeamType()));
+            movePlayer(mPlayers.get(oldNumber), PositionType.BENCH);
+            EngineLog.i(Tags.TEAM, String.format("Player #%d of %s team is now on bench", oldNumber, mTeamDefinition.getTeamType()));
         }
 
         if (result) {
@@ -102,18 +145,7 @@ public abstract class TeamComposition {
                                            ActionOriginType actionOriginType);
 
     public int getPlayerAtPosition(final PositionType positionType) {
-        int number = -1;
-
-        if (!PositionType.BENCH.equals(positionType)) {
-            for (Player player : mPlayers.values()) {
-                if (player.getPosition().equals(positionType)) {
-                    number = player.getNumber();
-                    break;
-                }
-            }
-        }
-
-        return number;
+        return PositionType.BENCH.equals(positionType) ? -1 : getCourt()[positionType.ordinal()];
     }
 
     public boolean hasCaptainOnCourt() {
@@ -121,16 +153,30 @@ public abstract class TeamComposition {
     }
 
     public void rotateToNextPositions() {
-        for (Integer number : getPlayersOnCourt()) {
-            final Player player = mPlayers.get(number);
-            player.turnToNextPosition();
-        }
+        rotate(true);
     }
 
     public void rotateToPreviousPositions() {
-        for (Integer number : getPlayersOnCourt()) {
-            final Player player = mPlayers.get(number);
-            player.turnToPreviousPosition();
+        rotate(false);
+    }
+
+    private void rotate(boolean next) {
+        int[] court = getCourt();
+        System.arraycopy(court, 0, mRotatingPlayers, 0, court.length);
+        Arrays.fill(court, -1);
+
+        for (int number : mRotatingPlayers) {
+            if (number > -1) {
+                final Player player = mPlayers.get(number);
+                if (next) {
+                    player.turnToNextPosition();
+                } else {
+                    player.turnToPreviousPosition();
+                }
+                if (!PositionType.BENCH.equals(player.getPosition())) {
+                    court[player.getPosition().ordinal()] = number;
+                }
+            }
         }
     }
 
@@ -1,7 +1,6 @@
 package com.tonkar.volleyballreferee.engine.team.definition;
 
-import android.util.Log;
-
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.PlayerDto;
 import com.tonkar.volleyballreferee.engine.game.GameType;
@@ -43,7 +42,7 @@ public class BeachTeamDefinition extends TeamDefinition {
     @Override
     public void setCaptain(int number) {
         if (hasPlayer(number)) {
-            Log.i(Tags.TEAM, String.format("Set player #%d as captain of %s team", number, getTeamType()));
+            EngineLog.i(Tags.TEAM, String.format("Set player #%d as captain of %s team", number, getTeamType()));
             super.setCaptain(number);
         }
     }
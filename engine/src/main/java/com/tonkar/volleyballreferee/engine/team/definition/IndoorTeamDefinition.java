@@ -1,7 +1,6 @@
 package com.tonkar.volleyballreferee.engine.team.definition;
 
-import android.util.Log;
-
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.PlayerDto;
 import com.tonkar.volleyballreferee.engine.game.GameType;
@@ -66,7 +65,7 @@ public class IndoorTeamDefinition extends TeamDefinition {
     @Override
     public void addLibero(final int number) {
         if (canAddLibero() && hasPlayer(number)) {
-            Log.i(Tags.TEAM, String.format("Add player #%d as libero of %s team", number, getTeamType()));
+            EngineLog.i(Tags.TEAM, String.format("Add player #%d as libero of %s team", number, getTeamType()));
             PlayerDto player = getPlayer(number);
             getLiberos().add(player);
         }
@@ -75,7 +74,7 @@ public class IndoorTeamDefinition extends TeamDefinition {
     @Override
     public void removeLibero(final int number) {
         if (hasPlayer(number) && isLibero(number)) {
-            Log.i(Tags.TEAM, String.format("Remove player #%d as libero from %s team", number, getTeamType()));
+            EngineLog.i(Tags.TEAM, String.format("Remove player #%d as libero from %s team", number, getTeamType()));
             getLiberos().remove(new PlayerDto(number));
         }
     }
@@ -83,7 +82,7 @@ public class IndoorTeamDefinition extends TeamDefinition {
     @Override
     public void setCaptain(int number) {
         if (hasPlayer(number)) {
-            Log.i(Tags.TEAM, String.format("Set player #%d as captain of %s team", number, getTeamType()));
+            EngineLog.i(Tags.TEAM, String.format("Set player #%d as captain of %s team", number, getTeamType()));
             super.setCaptain(number);
         }
     }
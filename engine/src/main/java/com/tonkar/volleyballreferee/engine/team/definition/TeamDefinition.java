@@ -1,8 +1,7 @@
 package com.tonkar.volleyballreferee.engine.team.definition;
 
-import android.util.Log;
-
 import com.google.gson.annotations.SerializedName;
+import com.tonkar.volleyballreferee.engine.EngineLog;
 import com.tonkar.volleyballreferee.engine.Tags;
 import com.tonkar.volleyballreferee.engine.api.model.*;
 import com.tonkar.volleyballreferee.engine.game.GameType;
@@ -40,14 +39,14 @@ public abstract class TeamDefinition extends TeamDto {
 
     public void addPlayer(final int number) {
         if (!hasPlayer(number)) {
-            Log.i(Tags.TEAM, String.format("Add player #%d to %s team", number, mTeamType));
+            EngineLog.i(Tags.TEAM, String.format("Add player #%d to %s team", number, mTeamType));
             getPlayers().add(new PlayerDto(number));
         }
     }
 
     public void removePlayer(final int number) {
         if (hasPlayer(number)) {
-            Log.i(Tags.TEAM, String.format("Remove player #%d from %s team", number, mTeamType));
+            EngineLog.i(Tags.TEAM, String.format("Remove player #%d from %s team", number, mTeamType));
             getPlayers().remove(new PlayerDto(number));
         }
     }
@@ -83,7 +82,7 @@ public abstract class TeamDefinition extends TeamDto {
     }
 
     public void setPlayerName(final int number, final String name) {
-        Log.i(Tags.TEAM, String.format("Set name of player #%d to %s team as %s", number, mTeamType, name));
+        EngineLog.i(Tags.TEAM, String.format("Set name of player #%d to %s team as %s", number, mTeamType, name));
         for (PlayerDto player : getPlayers()) {
             if (player.getNum() == number) {
                 player.setName(name);
@@ -39,6 +39,18 @@ public class AlternativeSubstitutionsLimitation2 extends SubstitutionsLimitation
         return substituteNumbers;
     }
 
+    @Override
+    public boolean canSubstitute(SubstitutionsIndex substitutions, int number) {
+        return true;
+    }
+
+    @Override
+    public Set<Integer> getSubstitutePlayers(SubstitutionsIndex substitutions, int number, List<Integer> freePlayersOnBench) {
+        // The chain of substitutes depends on the order of the substitutions, it is only searched when the player is involved
+        return substitutions.countTrips(number) > 0 ? getSubstitutePlayers(substitutions.getSubstitutions(), number,
+                                                                           freePlayersOnBench) : new HashSet<>(freePlayersOnBench);
+    }
+
     private void findSubstitutePlayers(List<SubstitutionDto> substitutions, Set<Integer> substituteNumbers, int numberOfRecursions) {
         for (SubstitutionDto substitution : substitutions) {
             if (substituteNumbers.contains(substitution.getPlayerIn())) {
@@ -52,4 +52,15 @@ public class FivbSubstitutionsLimitation extends SubstitutionsLimitation {
 
         return substituteNumbers;
     }
+
+    @Override
+    public boolean canSubstitute(SubstitutionsIndex substitutions, int number) {
+        // A player can only do one return trip in each set
+        return substitutions.countTrips(number) < 2;
+    }
+
+    @Override
+    public Set<Integer> getSubstitutePlayers(SubstitutionsIndex substitutions, int number, List<Integer> freePlayersOnBench) {
+        return new HashSet<>(substitutions.getPartners(number));
+    }
 }
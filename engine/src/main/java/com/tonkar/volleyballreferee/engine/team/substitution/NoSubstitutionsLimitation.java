@@ -24,4 +24,19 @@ public class NoSubstitutionsLimitation extends SubstitutionsLimitation {
     public Set<Integer> getSubstitutePlayers(List<SubstitutionDto> substitutions, int number, List<Integer> freePlayersOnBench) {
         return new HashSet<>();
     }
+
+    @Override
+    public boolean isInvolvedInPastSubstitution(SubstitutionsIndex substitutions, int number) {
+        return false;
+    }
+
+    @Override
+    public boolean canSubstitute(SubstitutionsIndex substitutions, int number) {
+        return true;
+    }
+
+    @Override
+    public Set<Integer> getSubstitutePlayers(SubstitutionsIndex substitutions, int number, List<Integer> freePlayersOnBench) {
+        return new HashSet<>();
+    }
 }
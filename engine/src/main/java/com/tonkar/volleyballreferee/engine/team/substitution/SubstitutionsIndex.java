@@ -0,0 +1,84 @@
+package com.tonkar.volleyballreferee.engine.team.substitution;
+
+import com.tonkar.volleyballreferee.engine.api.model.SubstitutionDto;
+
+import java.util.*;
+
+/**
+ * The substitutions of a team in a set, with the trips and the substitution partners of each player.
+ * The index owns the changes of the list it wraps, so that the list and the counters never diverge.
+ */
+public class SubstitutionsIndex {
+
+    private final List<SubstitutionDto>               mSubstitutions;
+    private final Map<Integer, Integer>               mTrips;
+    private final Map<Integer, Map<Integer, Integer>> mPartners;
+
+    public SubstitutionsIndex(List<SubstitutionDto> substitutions) {
+        mSubstitutions = substitutions;
+        mTrips = new HashMap<>();
+        mPartners = new HashMap<>();
+
+        for (SubstitutionDto substitution : substitutions) {
+            index(substitution, 1);
+        }
+    }
+
+    public boolean isIndexOf(List<SubstitutionDto> substitutions) {
+        return mSubstitutions == substitutions;
+    }
+
+    public void add(SubstitutionDto substitution) {
+        mSubstitutions.add(substitution);
+        index(substitution, 1);
+    }
+
+    public boolean remove(SubstitutionDto substitution) {
+        boolean removed = mSubstitutions.remove(substitution);
+
+        if (removed) {
+            index(substitution, -1);
+        }
+
+        return removed;
+    }
+
+    public List<SubstitutionDto> getSubstitutions() {
+        return Collections.unmodifiableList(mSubstitutions);
+    }
+
+    /**
+     * The number of substitutions in which the player came in or went out.
+     */
+    public int countTrips(int number) {
+        return mTrips.getOrDefault(number, 0);
+    }
+
+    /**
+     * The players who replaced or were replaced by the player.
+     */
+    public Set<Integer> getPartners(int number) {
+        Map<Integer, Integer> partners = mPartners.get(number);
+        return partners == null ? Set.of() : Collections.unmodifiableSet(partners.keySet());
+    }
+
+    private void index(SubstitutionDto substitution, int delta) {
+        count(mTrips, substitution.getPlayerIn(), delta);
+        count(mTrips, substitution.getPlayerOut(), delta);
+        countPartner(substitution.getPlayerIn(), substitution.getPlayerOut(), delta);
+        countPartner(substitution.getPlayerOut(), substitution.getPlayerIn(), delta);
+    }
+
+    private void countPartner(int number, int partner, int delta) {
+        Map<Integer, Integer> partners = mPartners.computeIfAbsent(number, key -> new HashMap<>());
+        count(partners, partner, delta);
+
+        if (partners.isEmpty()) {
+            mPartners.remove(number);
+        }
+    }
+
+    private static void count(Map<Integer, Integer> counts, int key, int delta) {
+        counts.merge(key, delta, (count, increment) -> count + increment == 0 ? null : count + increment);
+    }
+}
@@ -20,4 +20,14 @@ public abstract class SubstitutionsLimitation {
 
     public abstract Set<Integer> getSubstitutePlayers(List<SubstitutionDto> substitutions, int number, List<Integer> freePlayersOnBench);
 
+    // The same rules answered from the counters of the index, the list versions above remain the reference
+
+    public boolean isInvolvedInPastSubstitution(SubstitutionsIndex substitutions, int number) {
+        return substitutions.countTrips(number) > 0;
+    }
+
+    public abstract boolean canSubstitute(SubstitutionsIndex substitutions, int number);
+
+    public abstract Set<Integer> getSubstitutePlayers(SubstitutionsIndex substitutions, int number, List<Integer> freePlayersOnBench);
+
 }
@@ -0,0 +1,71 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonParseException;
+import com.tonkar.volleyballreferee.engine.api.model.*;
+import com.tonkar.volleyballreferee.engine.game.RandomMatchGenerator;
+import com.tonkar.volleyballreferee.engine.service.StoredGame;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+public class CompressedJsonTest {
+
+    @Test
+    public void encode_sameJson() {
+        RandomMatchGenerator generator = new RandomMatchGenerator(23L);
+
+        for (int index = 0; index < 20; index++) {
+            StoredGame storedGame = generator.nextStoredGame();
+
+            for (String json : new String[] {
+                    JsonConverters.GSON.toJson(storedGame, GameDto.class),
+                    JsonConverters.GSON.toJson(storedGame.getHomeTeam(), TeamDto.class),
+                    JsonConverters.GSON.toJson(storedGame.getRules(), RulesDto.class)
+            }) {
+                byte[] content = CompressedJson.encode(json);
+                assertTrue(CompressedJson.isEncoded(content));
+                assertEquals(json, CompressedJson.decode(content));
+                assertTrue(content.length < deflatedLength(json));
+            }
+        }
+    }
+
+    @Test
+    public void encode_smallJsonStored() {
+        byte[] content = CompressedJson.encode("{}");
+
+        assertEquals(CompressedJson.FORMAT_STORED, content[2]);
+        assertEquals("{}", CompressedJson.decode(content));
+    }
+
+    @Test
+    public void decode_legacyJson() {
+        String json = "{\"name\":\"Équipe\"}";
+
+        assertFalse(CompressedJson.isEncoded(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(json, CompressedJson.decode(json.getBytes(StandardCharsets.UTF_8)));
+        assertNull(CompressedJson.decode(null));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void decode_truncated() {
+        byte[] content = CompressedJson.encode(JsonConverters.GSON.toJson(new RandomMatchGenerator(8L).nextStoredGame(), GameDto.class));
+        CompressedJson.decode(Arrays.copyOf(content, content.length / 2));
+    }
+
+    // The same compression without the preset dictionary
+    private static int deflatedLength(String json) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(json.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+        byte[] buffer = new byte[json.length() * 2 + 64];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        return length;
+    }
+}
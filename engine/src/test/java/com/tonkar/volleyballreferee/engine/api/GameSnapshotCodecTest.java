@@ -0,0 +1,57 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonParseException;
+import com.tonkar.volleyballreferee.engine.game.*;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class GameSnapshotCodecTest {
+
+    @Test
+    public void snapshot_sameGameAsJson() {
+        RandomMatchGenerator generator = new RandomMatchGenerator(17L);
+
+        for (GameType kind : GameType.values()) {
+            for (int index = 0; index < 10; index++) {
+                IGame game = generator.nextGame(kind);
+                String json = JsonConverters.GSON.toJson(game, BaseGame.class);
+                byte[] snapshot = GameSnapshotCodec.encode(game);
+
+                assertTrue(GameSnapshotCodec.isBinary(snapshot));
+                assertTrue(snapshot.length * 2 < json.length());
+
+                BaseGame decodedGame = GameSnapshotCodec.decode(snapshot);
+                assertEquals(game.getClass(), decodedGame.getClass());
+                assertEquals(json, JsonConverters.GSON.toJson(decodedGame, BaseGame.class));
+                assertEquals(game.getScore(), decodedGame.getScore());
+            }
+        }
+    }
+
+    @Test
+    public void snapshot_legacyJson() {
+        IGame game = new RandomMatchGenerator(3L).nextGame(GameType.BEACH);
+        String json = JsonConverters.GSON.toJson(game, BaseGame.class);
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(GameSnapshotCodec.isBinary(content));
+        assertEquals(json, JsonConverters.GSON.toJson(GameSnapshotCodec.decode(content), BaseGame.class));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void snapshot_newerVersion() {
+        byte[] snapshot = GameSnapshotCodec.encode(new RandomMatchGenerator(5L).nextGame(GameType.SNOW));
+        snapshot[3] = (byte) (GameSnapshotCodec.VERSION + 1);
+        GameSnapshotCodec.decode(snapshot);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void snapshot_truncated() {
+        byte[] snapshot = GameSnapshotCodec.encode(new RandomMatchGenerator(5L).nextGame(GameType.INDOOR));
+        GameSnapshotCodec.decode(java.util.Arrays.copyOf(snapshot, snapshot.length / 2));
+    }
+}
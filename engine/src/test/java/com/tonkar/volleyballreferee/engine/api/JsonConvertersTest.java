@@ -0,0 +1,94 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.*;
+import com.tonkar.volleyballreferee.engine.game.*;
+import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
+import com.tonkar.volleyballreferee.engine.game.set.*;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+import com.tonkar.volleyballreferee.engine.team.composition.TeamComposition;
+import com.tonkar.volleyballreferee.engine.team.definition.TeamDefinition;
+import com.tonkar.volleyballreferee.engine.team.player.*;
+import com.tonkar.volleyballreferee.engine.team.substitution.SubstitutionsLimitation;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+
+public class JsonConvertersTest {
+
+    // The tree based converters used before the type adapter factory, the stored JSON must not change
+    private static Gson treeGson() {
+        GsonBuilder builder = new GsonBuilder();
+
+        for (Class<?> baseClass : new Class<?>[] { BaseGame.class, Set.class, TeamComposition.class, TeamDefinition.class, Player.class,
+                                                   SubstitutionsLimitation.class }) {
+            builder.registerTypeAdapter(baseClass, new TreeDeserializer()).registerTypeAdapter(baseClass, new TreeSerializer());
+        }
+
+        return builder
+                .registerTypeAdapter(PointsLadder.class, new JsonConverters.PointsLadderTypeAdapter().nullSafe())
+                .registerTypeAdapter(TeamType.class, new JsonConverters.TeamTypeDeserializer())
+                .registerTypeAdapter(TeamType.class, new JsonConverters.TeamTypeSerializer())
+                .registerTypeAdapter(PositionType.class, new JsonConverters.PositionTypeDeserializer())
+                .registerTypeAdapter(PositionType.class, new JsonConverters.PositionTypeSerializer())
+                .registerTypeAdapter(SanctionType.class, new JsonConverters.SanctionTypeDeserializer())
+                .registerTypeAdapter(SanctionType.class, new JsonConverters.SanctionTypeSerializer())
+                .create();
+    }
+
+    @Test
+    public void games_sameJsonAsTree() {
+        Gson treeGson = treeGson();
+        RandomMatchGenerator generator = new RandomMatchGenerator(31L);
+
+        for (GameType kind : GameType.values()) {
+            for (int index = 0; index < 10; index++) {
+                IGame game = generator.nextGame(kind);
+                String json = JsonConverters.GSON.toJson(game, BaseGame.class);
+                assertEquals(treeGson.toJson(game, BaseGame.class), json);
+
+                BaseGame readGame = JsonConverters.GSON.fromJson(json, BaseGame.class);
+                assertEquals(game.getClass(), readGame.getClass());
+                assertEquals(json, JsonConverters.GSON.toJson(readGame, BaseGame.class));
+                assertEquals(json, treeGson.toJson(treeGson.fromJson(json, BaseGame.class), BaseGame.class));
+            }
+        }
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_unknownClassType() {
+        JsonConverters.GSON.fromJson("{\"classType\":\"com.tonkar.volleyballreferee.engine.team.TeamType\"}", Player.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_missingClassType() {
+        JsonConverters.GSON.fromJson("{\"number\":4}", Player.class);
+    }
+
+    @Test
+    public void read_null() {
+        assertNull(JsonConverters.GSON.fromJson("null", Player.class));
+    }
+
+    private static class TreeDeserializer implements JsonDeserializer<Object> {
+
+        @Override
+        public Object deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+            try {
+                return context.deserialize(json, Class.forName(json.getAsJsonObject().get("classType").getAsString()));
+            } catch (ClassNotFoundException e) {
+                throw new JsonParseException(e.getMessage());
+            }
+        }
+    }
+
+    private static class TreeSerializer implements JsonSerializer<Object> {
+
+        @Override
+        public JsonElement serialize(Object src, Type typeOfSrc, JsonSerializationContext context) {
+            return context.serialize(src, src.getClass());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonSyntaxException;
+import com.tonkar.volleyballreferee.engine.api.model.*;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class ResponseDecoderTest {
+
+    @Test
+    public void decode_object() throws IOException {
+        String json = "{\"count\": 12}";
+
+        CountDto count = ResponseDecoder.decode("test/count", stream(json), CountDto.class);
+
+        assertEquals(12L, count.getCount());
+        ResponseDecoder.Stats stats = ResponseDecoder.getStats().get("test/count");
+        assertEquals(1L, stats.getResponses());
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length, stats.getBytes());
+    }
+
+    @Test
+    public void decode_arrayElementByElement() throws IOException {
+        List<String> ids = new ArrayList<>();
+
+        int count = ResponseDecoder.decodeArray("test/teams", stream("[{\"id\": \"a\"}, {\"id\": \"b\"}, {\"id\": \"c\"}]"),
+                                                TeamSummaryDto.class, team -> ids.add(team.getId()));
+
+        assertEquals(3, count);
+        assertEquals(List.of("a", "b", "c"), ids);
+    }
+
+    @Test
+    public void decode_page() throws IOException {
+        List<GameSummaryDto> games = new ArrayList<>();
+        String json = "{\"content\": [{\"id\": \"g1\"}, {\"id\": \"g2\"}], \"last\": true, \"number\": 3, \"deleted\": [\"g0\"], \"cursor\": 42}";
+
+        DeltaPageDto<?> page = ResponseDecoder.decodePage("test/games", stream(json), DeltaPageDto.class, GameSummaryDto.class, games::add);
+
+        assertEquals(2, games.size());
+        assertEquals("g2", games.get(1).getId());
+        assertTrue(page.getContent().isEmpty());
+        assertTrue(page.isLast());
+        assertEquals(3, page.getNumber());
+        assertEquals(List.of("g0"), page.getDeleted());
+        assertEquals(42L, page.getCursor());
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void decode_invalidPage() throws IOException {
+        ResponseDecoder.decodePage("test/invalid", stream("[]"), PageDto.class, GameSummaryDto.class, game -> fail());
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
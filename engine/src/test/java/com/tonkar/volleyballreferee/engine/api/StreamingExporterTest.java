@@ -0,0 +1,93 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.tonkar.volleyballreferee.engine.api.model.GameDto;
+import com.tonkar.volleyballreferee.engine.game.RandomMatchGenerator;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+public class StreamingExporterTest {
+
+    @Test
+    public void export_storedContents() throws IOException {
+        List<String> games = randomGames(3);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (StreamingExporter exporter = new StreamingExporter(outputStream, false)) {
+            exporter.write(CompressedJson.encode(games.get(0)));
+            exporter.write(null);
+            exporter.write(games.get(1).getBytes(StandardCharsets.UTF_8));
+            exporter.write(CompressedJson.encode(games.get(2)));
+            exporter.finish();
+            assertEquals(3, exporter.getCount());
+        }
+
+        assertEquals("[" + String.join(",", games) + "]", outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void export_gzip() throws IOException {
+        List<String> games = randomGames(20);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (StreamingExporter exporter = new StreamingExporter(outputStream, true)) {
+            for (String game : games) {
+                exporter.write(CompressedJson.encode(game));
+            }
+            exporter.finish();
+        }
+
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray())),
+                                                   StandardCharsets.UTF_8)) {
+            List<GameDto> exportedGames = JsonConverters.GSON.fromJson(reader, new TypeToken<List<GameDto>>() {}.getType());
+            assertEquals(games.size(), exportedGames.size());
+            for (int index = 0; index < games.size(); index++) {
+                assertEquals(games.get(index), JsonConverters.GSON.toJson(exportedGames.get(index), GameDto.class));
+            }
+        }
+
+        ByteArrayOutputStream emptyOutputStream = new ByteArrayOutputStream();
+        try (StreamingExporter exporter = new StreamingExporter(emptyOutputStream, false)) {
+            exporter.finish();
+        }
+        assertEquals("[]", emptyOutputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void export_failedPartway() throws IOException {
+        List<String> games = randomGames(2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (StreamingExporter exporter = new StreamingExporter(outputStream, false)) {
+            exporter.write(CompressedJson.encode(games.get(0)));
+            exporter.write(CompressedJson.encode(games.get(1)));
+            throw new IOException("Failed to read the next game");
+        } catch (IOException e) {
+            assertEquals("Failed to read the next game", e.getMessage());
+        }
+
+        String exported = outputStream.toString(StandardCharsets.UTF_8);
+        assertEquals("[" + String.join(",", games), exported);
+        assertThrows(JsonParseException.class,
+                     () -> JsonConverters.GSON.fromJson(exported, new TypeToken<List<GameDto>>() {}.getType()));
+    }
+
+    private static List<String> randomGames(int count) {
+        RandomMatchGenerator generator = new RandomMatchGenerator(31L);
+        List<String> games = new ArrayList<>();
+
+        for (int index = 0; index < count; index++) {
+            games.add(JsonConverters.GSON.toJson(generator.nextStoredGame(), GameDto.class));
+        }
+
+        return games;
+    }
+}
@@ -0,0 +1,123 @@
+package com.tonkar.volleyballreferee.engine.api;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonParseException;
+import com.tonkar.volleyballreferee.engine.api.model.TeamDto;
+
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+
+public class StreamingImporterTest {
+
+    private Map<String, TeamDto> mStoredTeams;
+    private List<Integer>        mBatchSizes;
+    private Set<String>          mFailingIds;
+
+    @Before
+    public void setUp() {
+        mStoredTeams = new HashMap<>();
+        mBatchSizes = new ArrayList<>();
+        mFailingIds = Set.of();
+    }
+
+    @Test
+    public void import_inBatches() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int index = 0; index < 12; index++) {
+            json.append(index == 0 ? "" : ",").append(team("t" + index, "Team " + index, 10L));
+        }
+        json.append("]");
+
+        List<StreamingImporter.Report> progress = new ArrayList<>();
+        StreamingImporter.Report report = createImporter(5).importFrom(new StringReader(json.toString()), progress::add);
+
+        assertEquals(List.of(5, 5, 2), mBatchSizes);
+        assertEquals(3, progress.size());
+        assertEquals(10, progress.get(1).getImported());
+        assertEquals(12, report.getRead());
+        assertEquals(12, report.getImported());
+        assertEquals(12, mStoredTeams.size());
+        assertEquals("Team 7", mStoredTeams.get("t7").getName());
+    }
+
+    @Test
+    public void import_skipDuplicatesAndInvalid() throws IOException {
+        TeamDto storedTeam = new TeamDto();
+        storedTeam.setId("stored");
+        storedTeam.setUpdatedAt(20L);
+        mStoredTeams.put(storedTeam.getId(), storedTeam);
+
+        String json = "{\"version\": 1, \"teams\": [" + String.join(",", team("stored", "Older", 10L), team("stored", "Same", 20L),
+                                                                   team("new", "First", 10L), team("new", "Older copy", 5L),
+                                                                   team("new", "Newer copy", 30L), team("blank", "", 10L),
+                                                                   "{\"players\": 12}", team("other", "Other", 1L)) + "]}";
+
+        StreamingImporter.Report report = createImporter(StreamingImporter.DEFAULT_BATCH_SIZE).importFrom(new StringReader(json), null);
+
+        assertEquals(8, report.getRead());
+        assertEquals(2, report.getImported());
+        assertEquals(4, report.getDuplicates());
+        assertEquals(2, report.getInvalid());
+        assertEquals(List.of(2), mBatchSizes);
+        assertEquals(20L, mStoredTeams.get("stored").getUpdatedAt());
+        assertEquals("Newer copy", mStoredTeams.get("new").getName());
+        assertEquals("Other", mStoredTeams.get("other").getName());
+    }
+
+    @Test
+    public void import_countCommittedItemsOnce() throws IOException {
+        mFailingIds = Set.of("failed");
+        String json = "[" + String.join(",", team("a", "First", 10L), team("failed", "Failed", 10L), team("a", "Newer copy", 20L),
+                                        team("b", "B", 10L)) + "]";
+
+        StreamingImporter.Report report = createImporter(1).importFrom(new StringReader(json), null);
+
+        assertEquals(4, report.getRead());
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(1, report.getFailed());
+        assertEquals(Set.of("a", "b"), mStoredTeams.keySet());
+        assertEquals("Newer copy", mStoredTeams.get("a").getName());
+    }
+
+    @Test
+    public void import_malformedKeepsPreviousBatches() {
+        String json = "[" + team("a", "A", 1L) + "," + team("b", "B", 1L) + ", {\"name\": ";
+
+        assertThrows(JsonParseException.class, () -> createImporter(1).importFrom(new StringReader(json), null));
+        assertEquals(Set.of("a", "b"), mStoredTeams.keySet());
+        assertThrows(JsonParseException.class, () -> createImporter(1).importFrom(new StringReader("{\"teams\": 3}"), null));
+    }
+
+    private StreamingImporter<TeamDto> createImporter(int batchSize) {
+        return new StreamingImporter<>(TeamDto.class, batchSize, TeamDto::getId, TeamDto::getUpdatedAt, team -> !team.getName().isBlank(),
+                                       new StreamingImporter.Store<>() {
+                                           @Override
+                                           public Long findUpdatedAt(String id) {
+                                               TeamDto team = mStoredTeams.get(id);
+                                               return team == null ? null : team.getUpdatedAt();
+                                           }
+
+                                           @Override
+                                           public List<TeamDto> insertAll(List<TeamDto> teams) {
+                                               List<TeamDto> committedTeams = new ArrayList<>();
+                                               mBatchSizes.add(teams.size());
+                                               for (TeamDto team : teams) {
+                                                   if (!mFailingIds.contains(team.getId())) {
+                                                       mStoredTeams.put(team.getId(), team);
+                                                       committedTeams.add(team);
+                                                   }
+                                               }
+                                               return committedTeams;
+                                           }
+                                       });
+    }
+
+    private static String team(String id, String name, long updatedAt) {
+        return String.format("{\"id\": \"%s\", \"name\": \"%s\", \"updatedAt\": %d, \"kind\": \"INDOOR\", \"gender\": \"MIXED\"}", id, name,
+                             updatedAt);
+    }
+}
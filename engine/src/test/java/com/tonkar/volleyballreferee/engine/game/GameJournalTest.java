@@ -0,0 +1,180 @@
+package com.tonkar.volleyballreferee.engine.game;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.reflect.TypeToken;
+import com.tonkar.volleyballreferee.engine.api.JsonConverters;
+import com.tonkar.volleyballreferee.engine.api.model.SanctionDto;
+import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+import com.tonkar.volleyballreferee.engine.team.player.PositionType;
+
+import org.junit.Test;
+
+import java.util.*;
+
+public class GameJournalTest {
+
+    private static class Journal implements GameCommandListener {
+
+        private final List<String> mCommands = new ArrayList<>();
+
+        @Override
+        public void onGameCommand(GameCommand command) {
+            mCommands.add(JsonConverters.GSON.toJson(command, GameCommand.class));
+        }
+
+        IGame rebuild(String snapshot) {
+            IGame game = JsonConverters.GSON.fromJson(snapshot, new TypeToken<BaseGame>() {}.getType());
+            for (String json : mCommands) {
+                GameCommand command = JsonConverters.GSON.fromJson(json, GameCommand.class);
+                if (command.getSeq() > game.getJournalSeq()) {
+                    game.applyGameCommand(command);
+                }
+            }
+            return game;
+        }
+    }
+
+    private static String snapshot(IGame game) {
+        return JsonConverters.GSON.toJson(game, new TypeToken<BaseGame>() {}.getType());
+    }
+
+    @Test
+    public void journal_nestedCommands() {
+        IndoorGame indoorGame = createIndoorGame();
+        Journal journal = new Journal();
+        indoorGame.addGameCommandListener(journal);
+        long journalSeq = indoorGame.getJournalSeq();
+
+        indoorGame.giveSanction(TeamType.HOME, SanctionType.RED, 1);
+        indoorGame.addImproperRequest(TeamType.GUEST);
+
+        // The point given by the red card and the delay warning of the improper request are not journaled
+        assertEquals(2, journal.mCommands.size());
+        assertEquals(journalSeq + 2, indoorGame.getJournalSeq());
+        assertEquals(1, indoorGame.getPoints(TeamType.GUEST));
+    }
+
+    @Test
+    public void journal_rebuildIndoor() {
+        IndoorGame indoorGame = createIndoorGame();
+        Journal journal = new Journal();
+        indoorGame.addGameCommandListener(journal);
+        String emptySnapshot = snapshot(indoorGame);
+
+        for (int index = 0; index < 10; index++) {
+            indoorGame.addPoint(index % 3 == 0 ? TeamType.GUEST : TeamType.HOME);
+        }
+        indoorGame.callTimeout(TeamType.GUEST);
+        indoorGame.substitutePlayer(TeamType.HOME, 7, indoorGame.getPlayerPosition(TeamType.HOME, 1), ActionOriginType.USER);
+        String middleSnapshot = snapshot(indoorGame);
+
+        indoorGame.giveSanction(TeamType.GUEST, SanctionType.YELLOW, 3);
+        indoorGame.giveSanction(TeamType.HOME, SanctionType.DELAY_WARNING, SanctionDto.TEAM);
+        for (int index = 0; index < 20; index++) {
+            indoorGame.addPoint(TeamType.HOME);
+        }
+        indoorGame.callTimeout(TeamType.HOME);
+        indoorGame.undoGameEvent(GameEvent.newTimeoutEvent(TeamType.HOME));
+        indoorGame.addPoint(TeamType.GUEST);
+        indoorGame.undoGameEvent(GameEvent.newPointEvent(TeamType.GUEST));
+
+        assertEquals(2, indoorGame.getNumberOfSets());
+        assertEquals(indoorGame, journal.rebuild(emptySnapshot));
+        assertEquals(indoorGame, journal.rebuild(middleSnapshot));
+        assertEquals(indoorGame, journal.rebuild(snapshot(indoorGame)));
+        assertEquals(indoorGame.getJournalSeq(), journal.rebuild(middleSnapshot).getJournalSeq());
+    }
+
+    @Test
+    public void journal_rebuildBeach() {
+        BeachGame beachGame = GameFactory.createBeachGame(UUID.randomUUID().toString(), "user-id", "", System.currentTimeMillis(),
+                                                          System.currentTimeMillis(), Rules.officialBeachRules());
+        beachGame.startMatch();
+        Journal journal = new Journal();
+        beachGame.addGameCommandListener(journal);
+        String emptySnapshot = snapshot(beachGame);
+
+        beachGame.swapServiceAtStart();
+        beachGame.swapPlayers(TeamType.GUEST);
+        for (int index = 0; index < 30; index++) {
+            beachGame.addPoint(index % 4 == 0 ? TeamType.GUEST : TeamType.HOME);
+        }
+        beachGame.callTimeout(TeamType.HOME);
+        beachGame.swapTeams(ActionOriginType.USER);
+        beachGame.resetCurrentSet();
+        beachGame.addPoint(TeamType.GUEST);
+
+        assertEquals(beachGame, journal.rebuild(emptySnapshot));
+        assertEquals(beachGame.getPoints(TeamType.GUEST), journal.rebuild(emptySnapshot).getPoints(TeamType.GUEST));
+    }
+
+    @Test
+    public void replay_deterministic() {
+        IndoorGame indoorGame = createIndoorGame();
+
+        for (int index = 0; index < 40; index++) {
+            indoorGame.addPoint(index % 5 == 0 ? TeamType.GUEST : TeamType.HOME);
+        }
+        long middleSeq = indoorGame.getJournalSeq();
+        int middleHomeSets = indoorGame.getSets(TeamType.HOME);
+        indoorGame.callTimeout(TeamType.GUEST);
+        indoorGame.giveSanction(TeamType.GUEST, SanctionType.RED, 2);
+        indoorGame.undoGameEvent(GameEvent.newPointEvent(TeamType.HOME));
+
+        assertEquals(indoorGame, indoorGame.replayGameCommands(indoorGame.getJournalSeq()));
+        assertEquals(indoorGame.getGameCommands().size(), indoorGame.replayGameCommands(Long.MAX_VALUE).getGameCommands().size());
+
+        IGame middleGame = indoorGame.replayGameCommands(middleSeq);
+        assertEquals(middleSeq, middleGame.getJournalSeq());
+        assertEquals(middleHomeSets, middleGame.getSets(TeamType.HOME));
+        assertEquals(0, middleGame.getCalledTimeouts(TeamType.GUEST).size());
+    }
+
+    @Test
+    public void undo_afterRestore() {
+        IndoorGame indoorGame = createIndoorGame();
+
+        indoorGame.addPoint(TeamType.HOME);
+        indoorGame.callTimeout(TeamType.GUEST);
+        indoorGame.giveSanction(TeamType.HOME, SanctionType.YELLOW, 4);
+
+        IGame restoredGame = JsonConverters.GSON.fromJson(snapshot(indoorGame), new TypeToken<BaseGame>() {}.getType());
+        List<GameEvent> gameEvents = restoredGame.getLatestGameEvents();
+        assertEquals(indoorGame.getLatestGameEvents().size(), gameEvents.size());
+        assertEquals(3, gameEvents.size());
+        assertEquals(GameEvent.EventType.SANCTION, gameEvents.get(2).getEventType());
+
+        restoredGame.undoGameEvent(gameEvents.get(2));
+        restoredGame.undoGameEvent(gameEvents.get(1));
+        gameEvents = restoredGame.getLatestGameEvents();
+        assertEquals(1, gameEvents.size());
+        assertEquals(GameEvent.EventType.POINT, gameEvents.get(0).getEventType());
+        assertEquals(0, restoredGame.getAllSanctions(TeamType.HOME).size());
+        assertEquals(0, restoredGame.getCalledTimeouts(TeamType.GUEST).size());
+    }
+
+    private IndoorGame createIndoorGame() {
+        IndoorGame indoorGame = GameFactory.createIndoorGame(UUID.randomUUID().toString(), "user-id", "", System.currentTimeMillis(),
+                                                             System.currentTimeMillis(), Rules.officialIndoorRules());
+
+        for (int number = 1; number <= 8; number++) {
+            indoorGame.addPlayer(TeamType.HOME, number);
+            indoorGame.addPlayer(TeamType.GUEST, number);
+        }
+
+        indoorGame.startMatch();
+
+        for (PositionType positionType : PositionType.listPositions(GameType.INDOOR)) {
+            indoorGame.substitutePlayer(TeamType.HOME, positionType.ordinal() + 1, positionType, ActionOriginType.USER);
+            indoorGame.substitutePlayer(TeamType.GUEST, positionType.ordinal() + 1, positionType, ActionOriginType.USER);
+        }
+
+        indoorGame.confirmStartingLineup(TeamType.HOME);
+        indoorGame.confirmStartingLineup(TeamType.GUEST);
+
+        return indoorGame;
+    }
+}
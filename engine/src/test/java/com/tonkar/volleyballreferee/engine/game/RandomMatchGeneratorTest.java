@@ -0,0 +1,63 @@
+package com.tonkar.volleyballreferee.engine.game;
+
+import static org.junit.Assert.*;
+
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+
+import org.junit.Test;
+
+import java.util.*;
+
+public class RandomMatchGeneratorTest {
+
+    @Test
+    public void generate_allGameTypes() {
+        RandomMatchGenerator generator = new RandomMatchGenerator(42L);
+
+        for (GameType kind : GameType.values()) {
+            for (int index = 0; index < 50; index++) {
+                IGame game = generator.nextGame(kind);
+                assertEquals(kind, game.getKind());
+                assertTrue(game.isMatchCompleted());
+                assertTrue(GameInvariants.findViolations(game).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void generate_allRulesVariants() {
+        Set<Integer> matchTerminations = new HashSet<>();
+        Set<Integer> substitutionsLimitations = new HashSet<>();
+        Set<Boolean> customConsecutiveServes = new HashSet<>();
+
+        new RandomMatchGenerator(7L).games(200).forEach(game -> {
+            Rules rules = game.getRules();
+            matchTerminations.add(rules.getMatchTermination());
+            substitutionsLimitations.add(rules.getSubstitutionsLimitation());
+            customConsecutiveServes.add(rules.getCustomConsecutiveServesPerPlayer() < 9999);
+        });
+
+        assertEquals(2, matchTerminations.size());
+        assertEquals(4, substitutionsLimitations.size());
+        assertEquals(2, customConsecutiveServes.size());
+    }
+
+    @Test
+    public void generate_sameSeed() {
+        List<IGame> games1 = new RandomMatchGenerator(2024L).games(20).toList();
+        List<IGame> games2 = new RandomMatchGenerator(2024L).games(20).toList();
+
+        for (int index = 0; index < games1.size(); index++) {
+            IGame game1 = games1.get(index);
+            IGame game2 = games2.get(index);
+            assertEquals(game1.getId(), game2.getId());
+            assertEquals(game1.getScore(), game2.getScore());
+            assertEquals(game1.getJournalSeq(), game2.getJournalSeq());
+            assertEquals(game1.getAllSanctions(TeamType.HOME), game2.getAllSanctions(TeamType.HOME));
+            for (int setIndex = 0; setIndex < game1.getNumberOfSets(); setIndex++) {
+                assertEquals(game1.getPointsLadder(setIndex), game2.getPointsLadder(setIndex));
+            }
+        }
+    }
+}
@@ -2,18 +2,14 @@ package com.tonkar.volleyballreferee.engine.game;
 
 import static org.junit.Assert.*;
 
-import androidx.test.ext.junit.runners.AndroidJUnit4;
-
 import com.tonkar.volleyballreferee.engine.rules.Rules;
 import com.tonkar.volleyballreferee.engine.team.TeamType;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
 
 import java.util.*;
 
-@RunWith(AndroidJUnit4.class)
 public class SnowGameTest {
 
     @Test
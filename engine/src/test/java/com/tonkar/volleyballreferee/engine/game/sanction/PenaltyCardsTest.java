@@ -2,8 +2,6 @@ package com.tonkar.volleyballreferee.engine.game.sanction;
 
 import static org.junit.Assert.*;
 
-import androidx.test.ext.junit.runners.AndroidJUnit4;
-
 import com.tonkar.volleyballreferee.engine.api.model.SanctionDto;
 import com.tonkar.volleyballreferee.engine.game.*;
 import com.tonkar.volleyballreferee.engine.rules.Rules;
@@ -11,11 +9,9 @@ import com.tonkar.volleyballreferee.engine.team.*;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
 
 import java.util.*;
 
-@RunWith(AndroidJUnit4.class)
 public class PenaltyCardsTest {
 
     @Test
@@ -50,6 +46,29 @@ public class PenaltyCardsTest {
         assertEquals(SanctionType.DELAY_PENALTY, game.getPossibleDelaySanction(TeamType.GUEST));
     }
 
+    @Test
+    public void beachGame_improperRequest() {
+        IGame game = GameFactory.createBeachGame(UUID.randomUUID().toString(), null, "",
+                                                 Calendar.getInstance(TimeZone.getTimeZone("UTC")).getTime().getTime(),
+                                                 System.currentTimeMillis(), Rules.officialBeachRules());
+        game.startMatch();
+
+        game.addImproperRequest(TeamType.HOME);
+
+        assertTrue(game.getAllSanctions(TeamType.HOME).get(0).isImproperRequest());
+        assertEquals(SanctionType.DELAY_WARNING, game.getPossibleDelaySanction(TeamType.HOME));
+
+        game.undoGameEvent(game.getLatestGameEvents().get(game.getLatestGameEvents().size() - 1));
+
+        assertTrue(game.getAllSanctions(TeamType.HOME).isEmpty());
+        assertEquals(SanctionType.DELAY_WARNING, game.getPossibleDelaySanction(TeamType.HOME));
+
+        game.giveSanction(TeamType.HOME, SanctionType.DELAY_WARNING, SanctionDto.TEAM);
+        game.undoGameEvent(game.getLatestGameEvents().get(game.getLatestGameEvents().size() - 1));
+
+        assertEquals(SanctionType.DELAY_WARNING, game.getPossibleDelaySanction(TeamType.HOME));
+    }
+
     @Test
     public void beachGame_yellowCard() {
         IGame game = GameFactory.createBeachGame(UUID.randomUUID().toString(), null, "",
@@ -0,0 +1,60 @@
+package com.tonkar.volleyballreferee.engine.game.sanction;
+
+import static org.junit.Assert.*;
+
+import com.tonkar.volleyballreferee.engine.api.model.SanctionDto;
+
+import org.junit.Test;
+
+import java.util.*;
+
+public class SanctionIndexTest {
+
+    @Test
+    public void index_addAndRemove() {
+        List<SanctionDto> sanctions = new ArrayList<>();
+        SanctionIndex sanctionIndex = new SanctionIndex(sanctions);
+
+        SanctionDto yellow = new SanctionDto(SanctionType.YELLOW, 4, 0, 3, 2);
+        SanctionDto red = new SanctionDto(SanctionType.RED, 4, 1, 10, 8);
+        SanctionDto delayWarning = new SanctionDto(SanctionType.DELAY_WARNING, SanctionDto.TEAM, 1, 11, 8);
+        sanctionIndex.add(yellow);
+        sanctionIndex.add(red);
+        sanctionIndex.add(delayWarning);
+
+        assertEquals(List.of(yellow, red, delayWarning), sanctions);
+        assertEquals(List.of(red, delayWarning), sanctionIndex.getSanctions(1));
+        assertEquals(List.of(yellow, red), sanctionIndex.getPlayerSanctions(4));
+        assertEquals(SanctionType.RED, sanctionIndex.getMostSeriousSanction(4));
+        assertTrue(sanctionIndex.hasDelaySanction());
+        assertTrue(sanctionIndex.hasMisconductSanction());
+
+        assertTrue(sanctionIndex.remove(red));
+        assertFalse(sanctionIndex.remove(red));
+        assertEquals(SanctionType.YELLOW, sanctionIndex.getMostSeriousSanction(4));
+
+        sanctionIndex.removeSet(1);
+        assertEquals(List.of(yellow), sanctions);
+        assertFalse(sanctionIndex.hasDelaySanction());
+        assertTrue(sanctionIndex.getSanctions(1).isEmpty());
+        assertFalse(sanctionIndex.hasSanctions(SanctionDto.TEAM));
+    }
+
+    @Test
+    public void index_evictedPlayers() {
+        List<SanctionDto> sanctions = new ArrayList<>();
+        sanctions.add(new SanctionDto(SanctionType.RED_EXPULSION, 7, 0, 5, 5));
+        sanctions.add(new SanctionDto(SanctionType.RED_DISQUALIFICATION, 9, 1, 2, 1));
+        SanctionIndex sanctionIndex = new SanctionIndex(sanctions);
+
+        assertEquals(Set.of(7, 9), sanctionIndex.getEvictedPlayers(0, true, true));
+        assertEquals(Set.of(9), sanctionIndex.getEvictedPlayers(1, true, true));
+        assertEquals(Set.of(7), sanctionIndex.getEvictedPlayers(0, true, false));
+        assertEquals(Set.of(), sanctionIndex.getEvictedPlayers(2, true, false));
+
+        sanctionIndex.clear();
+        assertTrue(sanctions.isEmpty());
+        assertEquals(Set.of(), sanctionIndex.getEvictedPlayers(1, true, true));
+        assertNull(sanctionIndex.getMostSeriousSanction(9));
+    }
+}
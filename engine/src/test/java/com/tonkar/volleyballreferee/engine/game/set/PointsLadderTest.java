@@ -0,0 +1,104 @@
+package com.tonkar.volleyballreferee.engine.game.set;
+
+import static org.junit.Assert.*;
+
+import com.tonkar.volleyballreferee.engine.api.JsonConverters;
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+
+import org.junit.Test;
+
+import java.util.*;
+
+public class PointsLadderTest {
+
+    @Test
+    public void ladder_sameAsList() {
+        Random random = new Random(3L);
+        PointsLadder pointsLadder = new PointsLadder();
+        List<TeamType> expected = new ArrayList<>();
+
+        for (int index = 0; index < 500; index++) {
+            if (!expected.isEmpty() && random.nextInt(4) == 0) {
+                assertEquals(expected.remove(expected.size() - 1), pointsLadder.removeLast());
+            } else {
+                TeamType teamType = random.nextBoolean() ? TeamType.HOME : TeamType.GUEST;
+                expected.add(teamType);
+                pointsLadder.add(teamType);
+            }
+
+            assertEquals(expected, pointsLadder.asList());
+            assertEquals(expected.isEmpty() ? null : expected.get(expected.size() - 1), pointsLadder.getLast());
+        }
+
+        assertEquals(PointsLadder.of(expected), pointsLadder);
+        assertEquals(PointsLadder.of(expected).hashCode(), pointsLadder.hashCode());
+    }
+
+    @Test
+    public void ladder_rankAndSelect() {
+        Random random = new Random(5L);
+        List<TeamType> teamTypes = new ArrayList<>();
+        for (int index = 0; index < 150; index++) {
+            teamTypes.add(random.nextInt(3) == 0 ? TeamType.GUEST : TeamType.HOME);
+        }
+        PointsLadder pointsLadder = PointsLadder.of(teamTypes);
+
+        for (TeamType teamType : TeamType.values()) {
+            int points = 0;
+            assertEquals(-1, pointsLadder.findRally(teamType, 0));
+            for (int rally = 0; rally < teamTypes.size(); rally++) {
+                assertEquals(points, pointsLadder.countPoints(teamType, rally));
+                if (teamType.equals(teamTypes.get(rally))) {
+                    points++;
+                    assertEquals(rally, pointsLadder.findRally(teamType, points));
+                }
+            }
+            assertEquals(points, pointsLadder.countPoints(teamType, teamTypes.size()));
+            assertEquals(-1, pointsLadder.findRally(teamType, points + 1));
+        }
+    }
+
+    @Test
+    public void ladder_runs() {
+        PointsLadder pointsLadder = PointsLadder.of(List.of(TeamType.HOME, TeamType.HOME, TeamType.HOME, TeamType.GUEST, TeamType.GUEST));
+        assertEquals(2, pointsLadder.getCurrentRun());
+        assertEquals(3, pointsLadder.getLongestRun(TeamType.HOME));
+        assertEquals(2, pointsLadder.getLongestRun(TeamType.GUEST));
+        assertEquals(0, new PointsLadder().getCurrentRun());
+    }
+
+    @Test
+    public void ladder_runAfterRemoveLast() {
+        PointsLadder pointsLadder = new PointsLadder();
+        for (int rally = 0; rally < 70; rally++) {
+            pointsLadder.add(TeamType.HOME);
+        }
+        pointsLadder.add(TeamType.GUEST);
+        assertEquals(1, pointsLadder.getCurrentRun());
+
+        pointsLadder.removeLast();
+        assertEquals(70, pointsLadder.getCurrentRun());
+
+        pointsLadder.add(TeamType.GUEST);
+        pointsLadder.add(TeamType.GUEST);
+        pointsLadder.add(TeamType.HOME);
+        pointsLadder.removeLast();
+        assertEquals(2, pointsLadder.getCurrentRun());
+    }
+
+    @Test
+    public void ladder_wireFormat() {
+        IndoorSet set = new IndoorSet(Rules.officialIndoorRules(), 25, TeamType.HOME, null, null);
+        set.addPoint(TeamType.HOME);
+        set.addPoint(TeamType.GUEST);
+        set.addPoint(TeamType.GUEST);
+
+        String json = JsonConverters.GSON.toJson(set, Set.class);
+        assertTrue(json.contains("\"pointsLadder\":[\"H\",\"G\",\"G\"]"));
+
+        Set restoredSet = JsonConverters.GSON.fromJson(json, Set.class);
+        assertEquals(set, restoredSet);
+        assertEquals(List.of(TeamType.HOME, TeamType.GUEST, TeamType.GUEST), restoredSet.getPointsLadder());
+    }
+}
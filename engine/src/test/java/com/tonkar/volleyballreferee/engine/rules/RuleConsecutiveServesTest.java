@@ -2,18 +2,14 @@ package com.tonkar.volleyballreferee.engine.rules;
 
 import static org.junit.Assert.*;
 
-import androidx.test.ext.junit.runners.AndroidJUnit4;
-
 import com.tonkar.volleyballreferee.engine.game.*;
 import com.tonkar.volleyballreferee.engine.team.TeamType;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
 
 import java.util.*;
 
-@RunWith(AndroidJUnit4.class)
 public class RuleConsecutiveServesTest {
 
     @Test
@@ -22,10 +18,10 @@ public class RuleConsecutiveServesTest {
 
         for (int index = 0; index < 15; index++) {
             game.addPoint(TeamType.HOME);
-            assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
-            assertFalse(game.samePlayerHadServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
-            assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
-            assertFalse(game.samePlayerHadServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+            assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
+            assertFalse(game.samePlayerHadServedNConsecutiveTimes(TeamType.HOME));
+            assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
+            assertFalse(game.samePlayerHadServedNConsecutiveTimes(TeamType.GUEST));
         }
     }
 
@@ -35,15 +31,15 @@ public class RuleConsecutiveServesTest {
 
         game.addPoint(TeamType.HOME);
         game.addPoint(TeamType.HOME);
-        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
         game.addPoint(TeamType.HOME);
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
         game.addPoint(TeamType.HOME);
-        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
         game.removeLastPoint();
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
         game.removeLastPoint();
-        assertTrue(game.samePlayerHadServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertTrue(game.samePlayerHadServedNConsecutiveTimes(TeamType.HOME));
     }
 
     @Test
@@ -53,15 +49,15 @@ public class RuleConsecutiveServesTest {
         game.addPoint(TeamType.GUEST);
         game.addPoint(TeamType.GUEST);
         game.addPoint(TeamType.GUEST);
-        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
         game.addPoint(TeamType.GUEST);
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
         game.addPoint(TeamType.HOME);
-        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
         game.removeLastPoint();
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
         game.removeLastPoint();
-        assertTrue(game.samePlayerHadServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertTrue(game.samePlayerHadServedNConsecutiveTimes(TeamType.GUEST));
     }
 
     @Test
@@ -70,18 +66,83 @@ public class RuleConsecutiveServesTest {
 
         game.addPoint(TeamType.HOME);
         game.addPoint(TeamType.HOME);
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
         game.addPoint(TeamType.GUEST);
         game.addPoint(TeamType.GUEST);
-        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
-        assertTrue(game.samePlayerHadServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
+        assertTrue(game.samePlayerHadServedNConsecutiveTimes(TeamType.GUEST));
         game.addPoint(TeamType.GUEST);
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST, game.getPoints(TeamType.GUEST), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.GUEST));
         game.addPoint(TeamType.HOME);
         game.addPoint(TeamType.HOME);
-        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertFalse(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
         game.addPoint(TeamType.HOME);
-        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME, game.getPoints(TeamType.HOME), game.getPointsLadder()));
+        assertTrue(game.samePlayerServedNConsecutiveTimes(TeamType.HOME));
+    }
+
+    @Test
+    public void consecutive_incrementalSameAsLadder() {
+        Random random = new Random(7L);
+
+        for (int limit = 2; limit <= 4; limit++) {
+            IndoorGame game = createGame(limit);
+
+            for (int action = 0; action < 40 && game.getNumberOfSets() == 1; action++) {
+                if (random.nextInt(4) == 0 && !game.getPointsLadder().isEmpty()) {
+                    game.removeLastPoint();
+                } else {
+                    game.addPoint(random.nextBoolean() ? TeamType.HOME : TeamType.GUEST);
+                }
+
+                for (TeamType teamType : TeamType.values()) {
+                    assertEquals(servedNConsecutiveTimes(game, teamType, game.getPoints(teamType), game.getPointsLadder()),
+                                 game.samePlayerServedNConsecutiveTimes(teamType));
+                    assertEquals(hadServedNConsecutiveTimes(game, teamType, game.getPoints(teamType), game.getPointsLadder()),
+                                 game.samePlayerHadServedNConsecutiveTimes(teamType));
+                }
+            }
+        }
+    }
+
+    // Recomputes the consecutive serves from the whole points ladder of the first set, which is served first by HOME
+    private boolean servedNConsecutiveTimes(IndoorGame game, TeamType teamType, int teamPoints, List<TeamType> pointsLadder) {
+        boolean result = false;
+
+        int limit = game.getRules().getCustomConsecutiveServesPerPlayer();
+        if (limit <= teamPoints) {
+            int consecutiveServes = getConsecutiveServes(teamType, pointsLadder);
+
+            if (consecutiveServes > 0 && consecutiveServes % limit == 0) {
+                result = true;
+            }
+        }
+
+        return result;
+    }
+
+    private boolean hadServedNConsecutiveTimes(IndoorGame game, TeamType teamType, int teamPoints, List<TeamType> pointsLadder) {
+        List<TeamType> tempPointsLadder = new ArrayList<>(pointsLadder);
+        tempPointsLadder.add(teamType);
+        return servedNConsecutiveTimes(game, teamType, teamPoints + 1, tempPointsLadder);
+    }
+
+    private int getConsecutiveServes(TeamType teamType, List<TeamType> pointsLadder) {
+        int consecutiveServes = 0;
+        int ladderIndex = pointsLadder.size() - 1;
+
+        if (!pointsLadder.isEmpty() && teamType.equals(pointsLadder.get(ladderIndex))) {
+            while (ladderIndex >= 0 && teamType.equals(pointsLadder.get(ladderIndex))) {
+                consecutiveServes++;
+                ladderIndex--;
+            }
+
+            // Side-out doesn't count as a serve
+            if (ladderIndex >= 0 || !TeamType.HOME.equals(teamType)) {
+                consecutiveServes--;
+            }
+        }
+
+        return consecutiveServes;
     }
 
     private IndoorGame createGame(int consecutiveServes) {
@@ -0,0 +1,125 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class DownloadPipelineTest {
+
+    @Test
+    public void download_boundedConcurrency() throws Exception {
+        ExecutorService network = Executors.newFixedThreadPool(8);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<Integer> downloadedItems = ConcurrentHashMap.newKeySet();
+
+        DownloadPipeline<Integer> pipeline = new DownloadPipeline<>((item, result) -> network.execute(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(2L);
+            downloadedItems.add(item);
+            inFlight.decrementAndGet();
+            result.succeeded();
+        }), 3);
+
+        RecordingListener listener = new RecordingListener();
+        pipeline.start(range(50), listener);
+
+        assertTrue(listener.await());
+        assertEquals(50, downloadedItems.size());
+        assertEquals(50, listener.mLastProgress.get());
+        assertTrue(maxInFlight.get() <= 3);
+        network.shutdown();
+    }
+
+    @Test
+    public void download_retryTransientFailures() throws Exception {
+        Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+        DownloadPipeline<Integer> pipeline = new DownloadPipeline<>((item, result) -> {
+            if (attempts.computeIfAbsent(item, key -> new AtomicInteger()).incrementAndGet() < 3) {
+                result.failed(true);
+            } else {
+                result.succeeded();
+            }
+        }, 2, 3, 1L);
+
+        RecordingListener listener = new RecordingListener();
+        pipeline.start(range(5), listener);
+
+        assertTrue(listener.await());
+        assertEquals(5, listener.mLastProgress.get());
+        attempts.values().forEach(count -> assertEquals(3, count.get()));
+    }
+
+    @Test
+    public void download_stopAfterPermanentFailure() throws Exception {
+        List<Integer> startedItems = Collections.synchronizedList(new ArrayList<>());
+
+        DownloadPipeline<Integer> pipeline = new DownloadPipeline<>((item, result) -> {
+            startedItems.add(item);
+            if (item == 2) {
+                result.failed(false);
+            } else {
+                result.succeeded();
+            }
+        }, 1);
+
+        RecordingListener listener = new RecordingListener();
+        pipeline.start(range(10), listener);
+
+        assertFalse(listener.await());
+        assertEquals(List.of(0, 1, 2), startedItems);
+        assertEquals(2, listener.mLastProgress.get());
+    }
+
+    @Test
+    public void download_empty() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        new DownloadPipeline<Integer>((item, result) -> fail(), 4).start(List.of(), listener);
+
+        assertTrue(listener.await());
+    }
+
+    private static List<Integer> range(int count) {
+        List<Integer> items = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            items.add(index);
+        }
+        return items;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingListener implements DownloadPipeline.Listener {
+
+        private final CountDownLatch mCompleted    = new CountDownLatch(1);
+        private final AtomicInteger  mLastProgress = new AtomicInteger();
+        private final AtomicBoolean  mSucceeded    = new AtomicBoolean();
+
+        @Override
+        public void onProgress(int downloaded, int total) {
+            mLastProgress.accumulateAndGet(downloaded, Math::max);
+        }
+
+        @Override
+        public void onCompleted(boolean succeeded) {
+            mSucceeded.set(succeeded);
+            mCompleted.countDown();
+        }
+
+        private boolean await() throws InterruptedException {
+            assertTrue(mCompleted.await(10, TimeUnit.SECONDS));
+            return mSucceeded.get();
+        }
+    }
+}
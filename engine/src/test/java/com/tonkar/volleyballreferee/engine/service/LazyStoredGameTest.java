@@ -0,0 +1,83 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.reflect.TypeToken;
+import com.tonkar.volleyballreferee.engine.api.*;
+import com.tonkar.volleyballreferee.engine.api.model.*;
+import com.tonkar.volleyballreferee.engine.game.RandomMatchGenerator;
+import com.tonkar.volleyballreferee.engine.team.TeamType;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class LazyStoredGameTest {
+
+    @Test
+    public void lazy_sameAsFullGame() {
+        RandomMatchGenerator generator = new RandomMatchGenerator(47L);
+
+        for (int index = 0; index < 10; index++) {
+            StoredGame game = generator.nextStoredGame();
+            String json = JsonConverters.GSON.toJson(game, GameDto.class);
+            StoredGame fullGame = JsonConverters.GSON.fromJson(json, StoredGame.class);
+            LazyStoredGame lazyGame = new LazyStoredGame(summary(fullGame), json);
+
+            for (int setIndex = 0; setIndex < fullGame.getNumberOfSets(); setIndex++) {
+                assertEquals(fullGame.getPointsLadder(setIndex), lazyGame.getPointsLadder(setIndex));
+            }
+            assertEquals(fullGame.getMatchStatus(), lazyGame.getMatchStatus());
+            assertEquals(fullGame.getEndTime(), lazyGame.getEndTime());
+            assertEquals(fullGame.getGameSummary(), lazyGame.getGameSummary());
+            assertEquals(fullGame.getAllSanctions(TeamType.GUEST), lazyGame.getAllSanctions(TeamType.GUEST));
+            assertEquals(fullGame.getRules(), lazyGame.getRules());
+            assertEquals(fullGame, lazyGame);
+        }
+    }
+
+    @Test
+    public void lazy_summaryWithoutContent() {
+        StoredGame game = new RandomMatchGenerator(53L).nextStoredGame();
+        // The content is never decoded for the summary columns and the team names
+        LazyStoredGame lazyGame = new LazyStoredGame(summary(game), "not a JSON document");
+
+        assertEquals(game.getTeamName(TeamType.HOME), lazyGame.getTeamName(TeamType.HOME));
+        assertEquals(game.getTeamName(TeamType.GUEST), lazyGame.getTeamName(TeamType.GUEST));
+        assertEquals(game.getSets(TeamType.HOME), lazyGame.getSets(TeamType.HOME));
+        assertEquals(game.getScheduledAt(), lazyGame.getScheduledAt());
+        assertEquals(game.getKind(), lazyGame.getKind());
+    }
+
+    @Test
+    public void projection_paths() {
+        JsonProjection projection = new JsonProjection(
+                "{\"id\": \"g\", \"sets\": [{\"ladder\": [\"H\"]}, {\"ladder\": [\"G\", \"H\"]}], \"league\": null, \"rules\": {\"name\": \"r\"}}");
+
+        assertEquals(List.of(TeamType.GUEST, TeamType.HOME), projection.read("sets[1].ladder", new TypeToken<List<TeamType>>() {}.getType()));
+        assertEquals("r", projection.read("rules.name", String.class));
+        assertEquals("g", projection.read("id", String.class));
+        assertNull(projection.read("sets[2].ladder", List.class));
+        assertNull(projection.read("league.name", String.class));
+        assertNull(projection.read("homeTeam", TeamDto.class));
+    }
+
+    private static GameSummaryDto summary(StoredGame game) {
+        GameSummaryDto summary = new GameSummaryDto();
+        summary.setId(game.getId());
+        summary.setCreatedBy(game.getCreatedBy());
+        summary.setCreatedAt(game.getCreatedAt());
+        summary.setUpdatedAt(game.getUpdatedAt());
+        summary.setScheduledAt(game.getScheduledAt());
+        summary.setRefereeName(game.getRefereeName());
+        summary.setKind(game.getKind());
+        summary.setGender(game.getGender());
+        summary.setUsage(game.getUsage());
+        summary.setHomeTeamName(game.getHomeTeam().getName());
+        summary.setGuestTeamName(game.getGuestTeam().getName());
+        summary.setHomeSets(game.getHomeSets());
+        summary.setGuestSets(game.getGuestSets());
+        summary.setScore(game.getScore());
+        return summary;
+    }
+}
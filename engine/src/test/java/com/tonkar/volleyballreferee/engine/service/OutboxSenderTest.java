@@ -0,0 +1,143 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class OutboxSenderTest {
+
+    @Test
+    public void send_inOrderWithSupersededMessages() throws Exception {
+        MemoryStore store = new MemoryStore();
+        List<String> sentContents = Collections.synchronizedList(new ArrayList<>());
+        OutboxSender<String[]> sender = new OutboxSender<>("test-outbox", store, (message, result) -> {
+            sentContents.add(message[1]);
+            result.succeeded();
+        }, () -> true);
+
+        store.put("games/1/set/1", "point 1");
+        store.put("games/1/set/1", "point 2");
+        store.put("games/1", "game");
+        sender.wake();
+
+        store.awaitEmpty();
+        assertEquals(List.of("point 2", "game"), sentContents);
+
+        OutboxSender.Stats stats = sender.takeStats();
+        assertEquals(2L, stats.getSentMessages());
+        assertEquals("point 2".length() + "game".length(), stats.getSentBytes());
+        assertEquals(2, stats.getMaxQueueDepth());
+        assertEquals(0L, sender.takeStats().getSentMessages());
+        sender.shutdown();
+    }
+
+    @Test
+    public void send_retryWithBackoff() throws Exception {
+        MemoryStore store = new MemoryStore();
+        AtomicInteger attempts = new AtomicInteger();
+        OutboxSender<String[]> sender = new OutboxSender<>("test-outbox", store, (message, result) -> {
+            if (attempts.incrementAndGet() < 3) {
+                result.failed(true);
+            } else {
+                result.succeeded();
+            }
+        }, () -> true, 1L, 4L);
+
+        store.put("games/1", "game");
+        sender.wake();
+
+        store.awaitEmpty();
+        assertEquals(3, attempts.get());
+        assertEquals(2L, sender.takeStats().getFailedAttempts());
+        sender.shutdown();
+    }
+
+    @Test
+    public void send_rejectedMessage() throws Exception {
+        MemoryStore store = new MemoryStore();
+        OutboxSender<String[]> sender = new OutboxSender<>("test-outbox", store, (message, result) -> result.failed(false), () -> true);
+
+        store.put("games/1/set/2", "set");
+        sender.wake();
+
+        store.awaitEmpty();
+        assertEquals(List.of("games/1/set/2"), store.mRejectedKeys);
+        assertEquals(1L, sender.takeStats().getRejectedMessages());
+        sender.shutdown();
+    }
+
+    @Test
+    public void send_waitWhileOffline() throws Exception {
+        MemoryStore store = new MemoryStore();
+        AtomicBoolean online = new AtomicBoolean(false);
+        AtomicInteger attempts = new AtomicInteger();
+        OutboxSender<String[]> sender = new OutboxSender<>("test-outbox", store, (message, result) -> {
+            attempts.incrementAndGet();
+            result.succeeded();
+        }, online::get);
+
+        store.put("games/1", "game");
+        sender.wake();
+        Thread.sleep(50L);
+        assertEquals(0, attempts.get());
+        assertEquals(1, store.depth());
+
+        online.set(true);
+        sender.retryNow();
+
+        store.awaitEmpty();
+        assertEquals(1, attempts.get());
+        sender.shutdown();
+    }
+
+    // The messages are a key and a content, a newer message with the same key supersedes the queued one and goes to the end of the queue
+    private static class MemoryStore implements OutboxSender.Store<String[]> {
+
+        private final Map<String, String[]> mMessages     = new LinkedHashMap<>();
+        private final List<String>          mRejectedKeys = Collections.synchronizedList(new ArrayList<>());
+
+        synchronized void put(String key, String content) {
+            mMessages.remove(key);
+            mMessages.put(key, new String[] { key, content });
+        }
+
+        @Override
+        public synchronized String[] next() {
+            return mMessages.values().stream().findFirst().orElse(null);
+        }
+
+        @Override
+        public synchronized void remove(String[] message) {
+            mMessages.remove(message[0], message);
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void reject(String[] message) {
+            mRejectedKeys.add(message[0]);
+            remove(message);
+        }
+
+        @Override
+        public synchronized int depth() {
+            return mMessages.size();
+        }
+
+        @Override
+        public int size(String[] message) {
+            return message[1].length();
+        }
+
+        synchronized void awaitEmpty() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (!mMessages.isEmpty() && System.currentTimeMillis() < deadline) {
+                wait(100L);
+            }
+            assertTrue(mMessages.isEmpty());
+        }
+    }
+}
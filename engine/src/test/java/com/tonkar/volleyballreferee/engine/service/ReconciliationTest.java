@@ -0,0 +1,77 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import static org.junit.Assert.*;
+
+import com.tonkar.volleyballreferee.engine.api.model.TeamSummaryDto;
+
+import org.junit.Test;
+
+import java.util.*;
+
+public class ReconciliationTest {
+
+    @Test
+    public void reconcile_classifyItems() {
+        List<TeamSummaryDto> localTeams = List.of(team("same", 10L, true), team("older", 10L, true), team("newer", 30L, false),
+                                                  team("deleted", 10L, true), team("failed", 10L, false));
+        List<TeamSummaryDto> remoteTeams = List.of(team("remote", 5L, true), team("newer", 20L, true), team("older", 20L, true),
+                                                   team("same", 10L, true));
+
+        Reconciliation<TeamSummaryDto> reconciliation = reconcile(localTeams, remoteTeams, true);
+
+        assertEquals(List.of("older", "remote"), ids(reconciliation.getToDownload()));
+        assertEquals(20L, reconciliation.getToDownload().get(0).getUpdatedAt());
+        assertEquals(List.of("newer"), ids(reconciliation.getToUpdateRemotely()));
+        assertEquals(List.of("deleted"), ids(reconciliation.getToDeleteLocally()));
+        assertEquals(List.of("failed"), ids(reconciliation.getToCreateRemotely()));
+        assertEquals(1, reconciliation.getUnchanged());
+    }
+
+    @Test
+    public void reconcile_withoutUpdateDates() {
+        List<TeamSummaryDto> localTeams = List.of(team("a", 30L, true), team("b", 10L, false));
+        List<TeamSummaryDto> remoteTeams = List.of(team("a", 10L, true), team("c", 10L, true));
+
+        Reconciliation<TeamSummaryDto> reconciliation = reconcile(localTeams, remoteTeams, false);
+
+        assertEquals(List.of("a", "c"), ids(reconciliation.getToDownload()));
+        assertTrue(reconciliation.getToUpdateRemotely().isEmpty());
+        assertEquals(List.of("b"), ids(reconciliation.getToCreateRemotely()));
+    }
+
+    @Test
+    public void reconcile_large() {
+        List<TeamSummaryDto> localTeams = new ArrayList<>();
+        List<TeamSummaryDto> remoteTeams = new ArrayList<>();
+
+        for (int index = 0; index < 100_000; index++) {
+            localTeams.add(team("t" + index, index % 3, true));
+            remoteTeams.add(team("t" + (index + 50_000), 1L, true));
+        }
+
+        Reconciliation<TeamSummaryDto> reconciliation = reconcile(localTeams, remoteTeams, true);
+
+        assertEquals(50_000, reconciliation.getToDeleteLocally().size());
+        assertTrue(reconciliation.getToCreateRemotely().isEmpty());
+        assertEquals(100_000, reconciliation.getToDownload().size() + reconciliation.getToUpdateRemotely().size() + reconciliation.getUnchanged());
+        assertEquals(16_667, reconciliation.getToUpdateRemotely().size());
+    }
+
+    private static Reconciliation<TeamSummaryDto> reconcile(List<TeamSummaryDto> localTeams, List<TeamSummaryDto> remoteTeams,
+                                                            boolean withUpdateDates) {
+        return Reconciliation.reconcile(localTeams, remoteTeams, TeamSummaryDto::getId, withUpdateDates ? TeamSummaryDto::getUpdatedAt : null,
+                                        TeamSummaryDto::isSynced);
+    }
+
+    private static TeamSummaryDto team(String id, long updatedAt, boolean synced) {
+        TeamSummaryDto team = new TeamSummaryDto();
+        team.setId(id);
+        team.setUpdatedAt(updatedAt);
+        team.setSynced(synced);
+        return team;
+    }
+
+    private static List<String> ids(List<TeamSummaryDto> teams) {
+        return teams.stream().map(TeamSummaryDto::getId).toList();
+    }
+}
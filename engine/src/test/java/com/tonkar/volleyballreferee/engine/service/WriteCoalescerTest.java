@@ -0,0 +1,68 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class WriteCoalescerTest {
+
+    private ScheduledExecutorService mExecutor;
+    private List<List<Integer>>      mBatches;
+
+    @Before
+    public void setUp() {
+        mExecutor = Executors.newSingleThreadScheduledExecutor();
+        mBatches = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdownNow();
+    }
+
+    @Test
+    public void coalesce_burstInOneWrite() throws Exception {
+        WriteCoalescer<Integer> writeCoalescer = new WriteCoalescer<>(mExecutor, 50L, mBatches::add);
+
+        for (int item = 1; item <= 5; item++) {
+            writeCoalescer.submit(item);
+        }
+        mExecutor.schedule(() -> {}, 100L, TimeUnit.MILLISECONDS).get();
+
+        assertEquals(List.of(List.of(1, 2, 3, 4, 5)), mBatches);
+        assertEquals(5L, writeCoalescer.getStats().getRequestedWrites());
+        assertEquals(1L, writeCoalescer.getStats().getPerformedWrites());
+        assertTrue(writeCoalescer.getStats().getMaxFlushLatencyMillis() >= 50L);
+    }
+
+    @Test
+    public void coalesce_flushWritesNow() throws Exception {
+        WriteCoalescer<Integer> writeCoalescer = new WriteCoalescer<>(mExecutor, 60_000L, mBatches::add);
+
+        writeCoalescer.submit(1);
+        writeCoalescer.submit(2);
+        writeCoalescer.flush().get();
+        writeCoalescer.submit(3);
+        writeCoalescer.flush().get();
+        writeCoalescer.flush().get();
+
+        assertEquals(List.of(List.of(1, 2), List.of(3)), mBatches);
+        assertEquals(2L, writeCoalescer.getStats().getPerformedWrites());
+    }
+
+    @Test
+    public void coalesce_discard() throws Exception {
+        WriteCoalescer<Integer> writeCoalescer = new WriteCoalescer<>(mExecutor, 60_000L, mBatches::add);
+
+        writeCoalescer.submit(1);
+        writeCoalescer.discard();
+        writeCoalescer.submit(2);
+        writeCoalescer.flush().get();
+
+        assertEquals(List.of(List.of(2)), mBatches);
+        assertEquals(2L, writeCoalescer.getStats().getRequestedWrites());
+    }
+}
@@ -0,0 +1,146 @@
+package com.tonkar.volleyballreferee.engine.service;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class WriteQueueTest {
+
+    private List<String>       mWrites;
+    private List<List<String>> mTransactions;
+    private CountDownLatch     mFirstTransactionLatch;
+
+    @Before
+    public void setUp() {
+        mWrites = new CopyOnWriteArrayList<>();
+        mTransactions = new CopyOnWriteArrayList<>();
+        mFirstTransactionLatch = new CountDownLatch(1);
+    }
+
+    @Test
+    public void write_inSubmissionOrder() throws Exception {
+        WriteQueue writeQueue = new WriteQueue("test-writer", this::runInTransaction);
+
+        Future<Void> lastWrite = null;
+        for (int index = 0; index < 100; index++) {
+            lastWrite = writeQueue.submit(write(String.valueOf(index)));
+        }
+        mFirstTransactionLatch.countDown();
+        lastWrite.get(5L, TimeUnit.SECONDS);
+
+        for (int index = 0; index < 100; index++) {
+            assertEquals(String.valueOf(index), mWrites.get(index));
+        }
+        assertTrue(mTransactions.size() < 100);
+        assertEquals(100L, writeQueue.getStats().getSubmittedWrites());
+        assertEquals(mTransactions.size(), writeQueue.getStats().getCommits());
+    }
+
+    @Test
+    public void write_supersedePendingKey() throws Exception {
+        WriteQueue writeQueue = new WriteQueue("test-writer", this::runInTransaction);
+
+        writeQueue.submit("other", write("blocking"));
+        Future<Void> firstSnapshot = writeQueue.submit("current", write("snapshot 1"));
+        writeQueue.submit(write("event"));
+        Future<Void> secondSnapshot = writeQueue.submit("current", write("snapshot 2"));
+        mFirstTransactionLatch.countDown();
+        secondSnapshot.get(5L, TimeUnit.SECONDS);
+        firstSnapshot.get(5L, TimeUnit.SECONDS);
+
+        assertEquals(List.of("blocking", "event", "snapshot 2"), mWrites);
+        assertEquals(1L, writeQueue.getStats().getSupersededWrites());
+        assertEquals(0, writeQueue.getStats().getQueueDepth());
+    }
+
+    @Test
+    public void write_failureIsolated() throws Exception {
+        WriteQueue writeQueue = new WriteQueue("test-writer", this::runInTransaction);
+        mFirstTransactionLatch.countDown();
+
+        Future<Void> failedWrite = writeQueue.submit(() -> {
+            throw new IllegalStateException("constraint");
+        });
+        Future<Void> nextWrite = writeQueue.submit(write("next"));
+        nextWrite.get(5L, TimeUnit.SECONDS);
+
+        try {
+            failedWrite.get(5L, TimeUnit.SECONDS);
+            fail("The failed write must complete exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(List.of("next"), mWrites);
+    }
+
+    @Test
+    public void write_failureRolledBack() throws Exception {
+        WriteQueue writeQueue = new WriteQueue("test-writer", this::runInTransaction);
+
+        writeQueue.submit(write("blocking"));
+        writeQueue.submit(write("before"));
+        CompletableFuture<Void> failedWrite = writeQueue.submit(() -> {
+            mWrites.add("partial");
+            throw new IllegalStateException("constraint");
+        });
+        Future<Void> nextWrite = writeQueue.submit(write("after"));
+        mFirstTransactionLatch.countDown();
+        nextWrite.get(5L, TimeUnit.SECONDS);
+
+        assertTrue(failedWrite.isCompletedExceptionally());
+        assertEquals(List.of("blocking", "before", "after"), mWrites);
+    }
+
+    @Test
+    public void submitAndWait_failure() {
+        WriteQueue writeQueue = new WriteQueue("test-writer", this::runInTransaction);
+        mFirstTransactionLatch.countDown();
+
+        try {
+            writeQueue.submitAndWait(null, () -> {
+                throw new IllegalStateException("constraint");
+            });
+            fail("The failed write must be thrown to the caller");
+        } catch (IllegalStateException e) {
+            assertEquals("constraint", e.getMessage());
+        }
+    }
+
+    @Test
+    public void submitAndWait_fromWrite() throws Exception {
+        WriteQueue writeQueue = new WriteQueue("test-writer", this::runInTransaction);
+        mFirstTransactionLatch.countDown();
+
+        writeQueue.submitAndWait(null, () -> writeQueue.submitAndWait("nested", write("nested")));
+        writeQueue.submitAndWait(null, write("after"));
+
+        assertEquals(List.of("nested", "after"), mWrites);
+    }
+
+    private Runnable write(String name) {
+        return () -> mWrites.add(name);
+    }
+
+    private void runInTransaction(Runnable transaction) {
+        try {
+            mFirstTransactionLatch.await(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The writes of a failed transaction are rolled back
+        int start = mWrites.size();
+        try {
+            transaction.run();
+        } catch (RuntimeException e) {
+            while (mWrites.size() > start) {
+                mWrites.remove(mWrites.size() - 1);
+            }
+            throw e;
+        }
+        mTransactions.add(new ArrayList<>(mWrites.subList(start, mWrites.size())));
+    }
+}
@@ -2,19 +2,16 @@ package com.tonkar.volleyballreferee.engine.team.composition;
 
 import static org.junit.Assert.*;
 
-import androidx.test.ext.junit.runners.AndroidJUnit4;
-
+import com.tonkar.volleyballreferee.engine.api.JsonConverters;
 import com.tonkar.volleyballreferee.engine.game.ActionOriginType;
 import com.tonkar.volleyballreferee.engine.team.TeamType;
 import com.tonkar.volleyballreferee.engine.team.definition.BeachTeamDefinition;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
 
-import java.util.UUID;
+import java.util.*;
 
-@RunWith(AndroidJUnit4.class)
 public class BeachTeamCompositionTest {
 
     @Test
@@ -76,4 +73,21 @@ public class BeachTeamCompositionTest {
         assertEquals(PositionType.POSITION_1, team.getPlayerPosition(1));
         assertEquals(PositionType.POSITION_2, team.getPlayerPosition(2));
     }
+
+    @Test
+    public void court_afterDeserialization() {
+        BeachTeamComposition team = new BeachTeamComposition(new BeachTeamDefinition(UUID.randomUUID().toString(), "", TeamType.HOME));
+        team.rotateToNextPositions();
+
+        TeamComposition restoredTeam = JsonConverters.GSON.fromJson(JsonConverters.GSON.toJson(team, TeamComposition.class),
+                                                                    TeamComposition.class);
+        assertEquals(2, restoredTeam.getPlayerAtPosition(PositionType.POSITION_1));
+        assertEquals(1, restoredTeam.getPlayerAtPosition(PositionType.POSITION_2));
+        assertEquals(-1, restoredTeam.getPlayerAtPosition(PositionType.BENCH));
+
+        restoredTeam.rotateToNextPositions();
+        assertEquals(1, restoredTeam.getPlayerAtPosition(PositionType.POSITION_1));
+        assertEquals(2, restoredTeam.getPlayerAtPosition(PositionType.POSITION_2));
+        assertEquals(Set.of(1, 2), restoredTeam.getPlayersOnCourt());
+    }
 }
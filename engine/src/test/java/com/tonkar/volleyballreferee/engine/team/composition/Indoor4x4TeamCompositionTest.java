@@ -2,8 +2,6 @@ package com.tonkar.volleyballreferee.engine.team.composition;
 
 import static org.junit.Assert.*;
 
-import androidx.test.ext.junit.runners.AndroidJUnit4;
-
 import com.tonkar.volleyballreferee.engine.game.*;
 import com.tonkar.volleyballreferee.engine.rules.Rules;
 import com.tonkar.volleyballreferee.engine.team.TeamType;
@@ -11,11 +9,9 @@ import com.tonkar.volleyballreferee.engine.team.definition.IndoorTeamDefinition;
 import com.tonkar.volleyballreferee.engine.team.player.PositionType;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
 
 import java.util.*;
 
-@RunWith(AndroidJUnit4.class)
 public class Indoor4x4TeamCompositionTest {
 
     @Test
@@ -2,12 +2,8 @@ package com.tonkar.volleyballreferee.engine.team.player;
 
 import static org.junit.Assert.assertEquals;
 
-import androidx.test.ext.junit.runners.AndroidJUnit4;
-
 import org.junit.Test;
-import org.junit.runner.RunWith;
 
-@RunWith(AndroidJUnit4.class)
 public class IndoorPlayerTest {
 
     @Test
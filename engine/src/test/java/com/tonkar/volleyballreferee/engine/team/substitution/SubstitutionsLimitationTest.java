@@ -0,0 +1,67 @@
+package com.tonkar.volleyballreferee.engine.team.substitution;
+
+import static org.junit.Assert.*;
+
+import com.tonkar.volleyballreferee.engine.api.model.SubstitutionDto;
+
+import org.junit.Test;
+
+import java.util.*;
+
+public class SubstitutionsLimitationTest {
+
+    @Test
+    public void fivb_sameAsList() {
+        checkSameAsList(new FivbSubstitutionsLimitation());
+    }
+
+    @Test
+    public void alternative1_sameAsList() {
+        checkSameAsList(new AlternativeSubstitutionsLimitation1());
+    }
+
+    @Test
+    public void alternative2_sameAsList() {
+        checkSameAsList(new AlternativeSubstitutionsLimitation2());
+    }
+
+    @Test
+    public void none_sameAsList() {
+        checkSameAsList(new NoSubstitutionsLimitation());
+    }
+
+    private void checkSameAsList(SubstitutionsLimitation limitation) {
+        Random random = new Random(12L);
+        List<Integer> freePlayersOnBench = List.of(11, 12);
+
+        for (int round = 0; round < 50; round++) {
+            List<SubstitutionDto> substitutions = new ArrayList<>();
+            SubstitutionsIndex substitutionsIndex = new SubstitutionsIndex(substitutions);
+
+            for (int action = 0; action < 20; action++) {
+                if (random.nextInt(4) == 0 && !substitutions.isEmpty()) {
+                    assertTrue(substitutionsIndex.remove(substitutions.get(random.nextInt(substitutions.size()))));
+                } else {
+                    int playerIn = 1 + random.nextInt(10);
+                    int playerOut = 1 + (playerIn + random.nextInt(9)) % 10;
+                    substitutionsIndex.add(new SubstitutionDto(playerIn, playerOut, action, round));
+                }
+
+                for (int number = 1; number <= 12; number++) {
+                    assertEquals(limitation.isInvolvedInPastSubstitution(substitutions, number),
+                                 limitation.isInvolvedInPastSubstitution(substitutionsIndex, number));
+                    assertEquals(limitation.canSubstitute(substitutions, number), limitation.canSubstitute(substitutionsIndex, number));
+                    assertEquals(limitation.getSubstitutePlayers(substitutions, number, freePlayersOnBench),
+                                 limitation.getSubstitutePlayers(substitutionsIndex, number, freePlayersOnBench));
+                }
+            }
+
+            assertEquals(substitutions, substitutionsIndex.getSubstitutions());
+            SubstitutionsIndex rebuiltIndex = new SubstitutionsIndex(new ArrayList<>(substitutions));
+            for (int number = 1; number <= 12; number++) {
+                assertEquals(substitutionsIndex.countTrips(number), rebuiltIndex.countTrips(number));
+                assertEquals(substitutionsIndex.getPartners(number), rebuiltIndex.getPartners(number));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.tonkar.volleyballreferee.engine.game;
+
+import com.tonkar.volleyballreferee.engine.api.model.TimeoutDto;
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.team.*;
+import com.tonkar.volleyballreferee.engine.team.player.PositionType;
+
+import java.util.*;
+
+/**
+ * Engine invariants that must hold after any sequence of legal actions.
+ */
+public class GameInvariants {
+
+    private GameInvariants() {}
+
+    public static List<String> findViolations(IGame game) {
+        List<String> violations = new ArrayList<>();
+        Rules rules = game.getRules();
+        int numberOfSets = game.getNumberOfSets();
+
+        if (numberOfSets > rules.getSetsPerGame()) {
+            violations.add(String.format("%d sets are played out of %d", numberOfSets, rules.getSetsPerGame()));
+        }
+
+        int homeSets = 0;
+        int guestSets = 0;
+
+        for (int setIndex = 0; setIndex < numberOfSets; setIndex++) {
+            int homePoints = game.getPoints(TeamType.HOME, setIndex);
+            int guestPoints = game.getPoints(TeamType.GUEST, setIndex);
+            List<TeamType> ladder = game.getPointsLadder(setIndex);
+
+            if (ladder.size() != homePoints + guestPoints || Collections.frequency(ladder, TeamType.HOME) != homePoints) {
+                violations.add(String.format("Set %d has a ladder of %d points for a %d-%d score", setIndex, ladder.size(), homePoints, guestPoints));
+            }
+
+            if (!ladder.isEmpty() && !ladder.get(ladder.size() - 1).equals(game.getServingTeam(setIndex))) {
+                violations.add(String.format("Set %d is served by %s who did not score the last point", setIndex, game.getServingTeam(setIndex)));
+            }
+
+            boolean lastSet = setIndex == numberOfSets - 1;
+
+            if (!lastSet || game.isMatchCompleted()) {
+                int pointsToWin = isTieBreakSet(rules, setIndex) ? rules.getPointsInTieBreak() : rules.getPointsPerSet();
+                int winnerPoints = Math.max(homePoints, guestPoints);
+                int loserPoints = Math.min(homePoints, guestPoints);
+
+                if (winnerPoints < pointsToWin || winnerPoints == loserPoints || (rules.isTwoPointsDifference() && winnerPoints - loserPoints < 2)) {
+                    violations.add(String.format("Set %d is completed with a %d-%d score", setIndex, homePoints, guestPoints));
+                }
+                if (homePoints > guestPoints) {
+                    homeSets++;
+                } else {
+                    guestSets++;
+                }
+            }
+
+            for (TeamType teamType : TeamType.values()) {
+                checkTimeouts(game, rules, teamType, setIndex, violations);
+                checkCourt(game, teamType, setIndex, violations);
+            }
+        }
+
+        if (homeSets != game.getSets(TeamType.HOME) || guestSets != game.getSets(TeamType.GUEST)) {
+            violations.add(String.format("Sets are %d-%d but the completed sets give %d-%d", game.getSets(TeamType.HOME), game.getSets(TeamType.GUEST),
+                                         homeSets, guestSets));
+        }
+
+        if (game.isMatchCompleted() && Rules.ALL_SETS_TERMINATION == rules.getMatchTermination() && numberOfSets != rules.getSetsPerGame()) {
+            violations.add(String.format("Match is completed after %d sets out of %d", numberOfSets, rules.getSetsPerGame()));
+        }
+
+        if (game instanceof IClassicTeam classicTeam && !game.isMatchCompleted()) {
+            for (TeamType teamType : TeamType.values()) {
+                if (classicTeam.countRemainingSubstitutions(teamType) < 0) {
+                    violations.add(String.format("%s team has %d remaining substitutions", teamType, classicTeam.countRemainingSubstitutions(teamType)));
+                }
+            }
+        }
+
+        return violations;
+    }
+
+    public static void check(IGame game) {
+        List<String> violations = findViolations(game);
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(String.format("Game %s breaks the engine invariants: %s", game.getId(), violations));
+        }
+    }
+
+    private static boolean isTieBreakSet(Rules rules, int setIndex) {
+        return setIndex == rules.getSetsPerGame() - 1 && rules.isTieBreakInLastSet() && Arrays.asList(3, 5).contains(rules.getSetsPerGame());
+    }
+
+    private static void checkTimeouts(IGame game, Rules rules, TeamType teamType, int setIndex, List<String> violations) {
+        List<TimeoutDto> calledTimeouts = game.getCalledTimeouts(teamType, setIndex);
+        int remainingTimeouts = game.countRemainingTimeouts(teamType, setIndex);
+
+        if (rules.isTeamTimeouts() && (remainingTimeouts < 0 || calledTimeouts.size() + remainingTimeouts != rules.getTeamTimeoutsPerSet())) {
+            violations.add(String.format("%s team has called %d timeouts and has %d remaining in set %d", teamType, calledTimeouts.size(),
+                                         remainingTimeouts, setIndex));
+        }
+    }
+
+    private static void checkCourt(IGame game, TeamType teamType, int setIndex, List<String> violations) {
+        if (game.isStartingLineupConfirmed(teamType, setIndex)) {
+            Set<Integer> players = new HashSet<>();
+
+            for (PositionType positionType : PositionType.listPositions(game.getKind())) {
+                int number = game.getPlayerAtPosition(teamType, positionType, setIndex);
+                if (number < 0 || !players.add(number)) {
+                    violations.add(String.format("%s team has player #%d twice or missing at %s in set %d", teamType, number, positionType,
+                                                 setIndex));
+                }
+            }
+        }
+    }
+}
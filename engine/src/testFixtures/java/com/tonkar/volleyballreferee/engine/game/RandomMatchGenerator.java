@@ -0,0 +1,241 @@
+package com.tonkar.volleyballreferee.engine.game;
+
+import com.tonkar.volleyballreferee.engine.api.model.*;
+import com.tonkar.volleyballreferee.engine.game.sanction.SanctionType;
+import com.tonkar.volleyballreferee.engine.rules.Rules;
+import com.tonkar.volleyballreferee.engine.service.StoredGame;
+import com.tonkar.volleyballreferee.engine.team.*;
+import com.tonkar.volleyballreferee.engine.team.player.PositionType;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Plays random but legal matches for every game type and rules variant. The same seed always plays the same actions.
+ * The engine invariants are checked after every action and the command log is replayed at the end of every match.
+ */
+public class RandomMatchGenerator {
+
+    private static final GameType[] GAME_TYPES = GameType.values();
+
+    private final Random  mRandom;
+    private       boolean mCheckInvariants;
+
+    public RandomMatchGenerator(long seed) {
+        mRandom = new Random(seed);
+        mCheckInvariants = true;
+    }
+
+    public RandomMatchGenerator withInvariantChecks(boolean checkInvariants) {
+        mCheckInvariants = checkInvariants;
+        return this;
+    }
+
+    public Stream<IGame> games(long count) {
+        return Stream.generate(this::nextGame).limit(count);
+    }
+
+    public Stream<StoredGame> storedGames(long count) {
+        return Stream.generate(this::nextStoredGame).limit(count);
+    }
+
+    public StoredGame nextStoredGame() {
+        return StoredGame.fromGame(nextGame());
+    }
+
+    public IGame nextGame() {
+        return nextGame(GAME_TYPES[mRandom.nextInt(GAME_TYPES.length)]);
+    }
+
+    public IGame nextGame(GameType kind) {
+        IGame game = createGame(kind, nextRules(kind));
+
+        game.startMatch();
+        if (mRandom.nextBoolean()) {
+            game.swapServiceAtStart();
+        }
+        check(game);
+
+        while (!game.isMatchCompleted()) {
+            playRandomAction(game);
+            check(game);
+        }
+
+        if (mCheckInvariants && !game.equals(game.replayGameCommands(game.getJournalSeq()))) {
+            throw new IllegalStateException(String.format("Game %s is not restored by replaying its commands", game.getId()));
+        }
+
+        return game;
+    }
+
+    public Rules nextRules(GameType kind) {
+        Rules rules = switch (kind) {
+            case INDOOR -> Rules.officialIndoorRules();
+            case INDOOR_4X4 -> Rules.defaultIndoor4x4Rules();
+            case BEACH -> Rules.officialBeachRules();
+            case SNOW -> Rules.officialSnowRules();
+        };
+
+        rules.setId(nextId());
+        rules.setName(String.format("Random %s rules", kind));
+
+        if (mRandom.nextInt(3) == 0) {
+            rules.setSetsPerGame(1 + 2 * mRandom.nextInt(3));
+            rules.setPointsPerSet(10 + mRandom.nextInt(16));
+            rules.setTieBreakInLastSet(mRandom.nextBoolean());
+            rules.setPointsInTieBreak(10 + mRandom.nextInt(6));
+            rules.setTwoPointsDifference(mRandom.nextInt(4) > 0);
+            rules.setMatchTermination(mRandom.nextBoolean() ? Rules.WIN_TERMINATION : Rules.ALL_SETS_TERMINATION);
+            rules.setTeamTimeouts(mRandom.nextInt(4) > 0);
+            rules.setTeamTimeoutsPerSet(mRandom.nextInt(4));
+            rules.setTechnicalTimeouts(mRandom.nextBoolean());
+            rules.setCustomConsecutiveServesPerPlayer(mRandom.nextBoolean() ? 9999 : 2 + mRandom.nextInt(5));
+
+            if (!GameType.BEACH.equals(kind)) {
+                rules.setSubstitutionsLimitation(1 + mRandom.nextInt(4));
+                rules.setTeamSubstitutionsPerSet(mRandom.nextInt(13));
+            }
+        }
+
+        return rules;
+    }
+
+    private IGame createGame(GameType kind, Rules rules) {
+        final String id = nextId();
+        final long now = System.currentTimeMillis();
+
+        IGame game = switch (kind) {
+            case INDOOR -> GameFactory.createIndoorGame(id, "generator", "", now, now, rules);
+            case INDOOR_4X4 -> GameFactory.createIndoor4x4Game(id, "generator", "", now, now, rules);
+            case BEACH -> GameFactory.createBeachGame(id, "generator", "", now, now, rules);
+            case SNOW -> GameFactory.createSnowGame(id, "generator", "", now, now, rules);
+        };
+
+        for (TeamType teamType : TeamType.values()) {
+            game.setTeamName(teamType, String.format("%s %s", teamType, id.substring(0, 8)));
+
+            if (game instanceof IClassicTeam) {
+                int numberOfPlayers = game.getExpectedNumberOfPlayersOnCourt() + 2 + mRandom.nextInt(6);
+                for (int number = 1; number <= numberOfPlayers; number++) {
+                    game.addPlayer(teamType, number);
+                }
+                if (GameType.INDOOR.equals(kind) && mRandom.nextBoolean()) {
+                    game.addPlayer(teamType, numberOfPlayers + 1);
+                    game.addLibero(teamType, numberOfPlayers + 1);
+                }
+                game.setCaptain(teamType, 1);
+            }
+        }
+
+        return game;
+    }
+
+    private void playRandomAction(IGame game) {
+        if (game instanceof IClassicTeam classicTeam && confirmStartingLineups(game, classicTeam)) {
+            return;
+        }
+
+        TeamType teamType = mRandom.nextBoolean() ? TeamType.HOME : TeamType.GUEST;
+        int action = mRandom.nextInt(100);
+
+        if (action < 80) {
+            game.addPoint(teamType);
+        } else if (action < 85) {
+            if (game.getRules().isTeamTimeouts() && game.countRemainingTimeouts(teamType) > 0) {
+                game.callTimeout(teamType);
+            }
+        } else if (action < 92) {
+            if (game instanceof IClassicTeam classicTeam) {
+                substituteRandomPlayer(game, classicTeam, teamType);
+            }
+        } else if (action < 96) {
+            if (game.getRules().isSanctions()) {
+                giveRandomSanction(game, teamType);
+            }
+        } else {
+            List<GameEvent> gameEvents = game.getLatestGameEvents();
+            if (!gameEvents.isEmpty()) {
+                game.undoGameEvent(gameEvents.get(mRandom.nextInt(gameEvents.size())));
+            }
+        }
+    }
+
+    private boolean confirmStartingLineups(IGame game, IClassicTeam classicTeam) {
+        boolean confirmed = false;
+
+        for (TeamType teamType : TeamType.values()) {
+            if (!game.isStartingLineupConfirmed(teamType)) {
+                List<Integer> players = new ArrayList<>();
+                for (PlayerDto player : game.getPlayers(teamType)) {
+                    if (!game.isLibero(teamType, player.getNum()) && !game.getEvictedPlayersForCurrentSet(teamType, true, true).contains(player.getNum())) {
+                        players.add(player.getNum());
+                    }
+                }
+                players.sort(Comparator.naturalOrder());
+                Collections.shuffle(players, mRandom);
+
+                int index = 0;
+                for (PositionType positionType : PositionType.listPositions(game.getKind())) {
+                    classicTeam.substitutePlayer(teamType, players.get(index++), positionType, ActionOriginType.USER);
+                }
+                classicTeam.confirmStartingLineup(teamType);
+                chooseGameCaptain(classicTeam, teamType);
+                confirmed = true;
+            }
+        }
+
+        return confirmed;
+    }
+
+    private void substituteRandomPlayer(IGame game, IClassicTeam classicTeam, TeamType teamType) {
+        List<PositionType> positions = PositionType.listPositions(game.getKind());
+        PositionType positionType = positions.get(mRandom.nextInt(positions.size()));
+        List<Integer> possibleSubstitutions = new ArrayList<>(classicTeam.getPossibleSubstitutions(teamType, positionType));
+
+        if (!possibleSubstitutions.isEmpty()) {
+            possibleSubstitutions.sort(Comparator.naturalOrder());
+            int number = possibleSubstitutions.get(mRandom.nextInt(possibleSubstitutions.size()));
+            classicTeam.substitutePlayer(teamType, number, positionType, ActionOriginType.USER);
+            chooseGameCaptain(classicTeam, teamType);
+        }
+    }
+
+    private void chooseGameCaptain(IClassicTeam classicTeam, TeamType teamType) {
+        if (!classicTeam.hasGameCaptainOnCourt(teamType)) {
+            List<Integer> possibleCaptains = new ArrayList<>(classicTeam.getPossibleSecondaryCaptains(teamType));
+            if (!possibleCaptains.isEmpty()) {
+                possibleCaptains.sort(Comparator.naturalOrder());
+                classicTeam.setGameCaptain(teamType, possibleCaptains.get(mRandom.nextInt(possibleCaptains.size())));
+            }
+        }
+    }
+
+    // Expulsions and disqualifications are left out as they can leave a team incomplete
+    private void giveRandomSanction(IGame game, TeamType teamType) {
+        if (mRandom.nextBoolean()) {
+            game.giveSanction(teamType, game.getPossibleDelaySanction(teamType), SanctionDto.TEAM);
+        } else {
+            List<Integer> players = new ArrayList<>(game.getPlayersOnCourt(teamType));
+            players.sort(Comparator.naturalOrder());
+            players.add(SanctionDto.COACH);
+            int number = players.get(mRandom.nextInt(players.size()));
+
+            Set<SanctionType> possibleSanctions = game.getPossibleMisconductSanctions(teamType, number);
+            if (possibleSanctions.contains(SanctionType.YELLOW)) {
+                game.giveSanction(teamType, SanctionType.YELLOW, number);
+            } else if (possibleSanctions.contains(SanctionType.RED)) {
+                game.giveSanction(teamType, SanctionType.RED, number);
+            }
+        }
+    }
+
+    private void check(IGame game) {
+        if (mCheckInvariants) {
+            GameInvariants.check(game);
+        }
+    }
+
+    private String nextId() {
+        return new UUID(mRandom.nextLong(), mRandom.nextLong()).toString();
+    }
+}